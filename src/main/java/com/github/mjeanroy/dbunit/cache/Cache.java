@@ -49,6 +49,13 @@ public interface Cache<K, V> {
 	 */
 	V load(K key);
 
+	/**
+	 * Remove entry from the cache, if it exists.
+	 *
+	 * @param key Value identifier.
+	 */
+	void remove(K key);
+
 	/**
 	 * Clear cache.
 	 */
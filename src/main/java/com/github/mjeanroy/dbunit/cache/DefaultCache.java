@@ -93,6 +93,8 @@ class DefaultCache<K, V> implements Cache<K, V> {
 				// Do not return anything and retry
 			}
 			catch (ExecutionException ex) {
+				// Do not keep failures, so that the value is loaded again on next call.
+				map.remove(key, task);
 				throw launderThrowable(ex.getCause());
 			}
 		}
@@ -105,6 +107,11 @@ class DefaultCache<K, V> implements Cache<K, V> {
 		return value;
 	}
 
+	@Override
+	public void remove(K key) {
+		map.remove(key);
+	}
+
 	@Override
 	public void clear() {
 		map.clear();
@@ -54,6 +54,11 @@ class GuavaCache<K, V> implements Cache<K, V> {
 		return cache.getUnchecked(key);
 	}
 
+	@Override
+	public void remove(K key) {
+		cache.invalidate(key);
+	}
+
 	@Override
 	public void clear() {
 		cache.invalidateAll();
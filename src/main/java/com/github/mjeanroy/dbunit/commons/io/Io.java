@@ -31,6 +31,8 @@ import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 
 /**
  * Static IO Utilities.
@@ -69,4 +71,47 @@ public final class Io {
 			throw ex;
 		}
 	}
+
+	/**
+	 * Read {@code stream} entirely and compute the SHA-256 digest of its content, returned
+	 * as an hexadecimal string.
+	 *
+	 * @param stream The input stream.
+	 * @return The hexadecimal digest.
+	 * @throws IOException If an error occurred while reading the stream.
+	 */
+	public static String digest(InputStream stream) throws IOException {
+		final MessageDigest digest = newDigest();
+		final byte[] buffer = new byte[8192];
+
+		try (InputStream input = stream) {
+			int n;
+			while ((n = input.read(buffer)) != -1) {
+				digest.update(buffer, 0, n);
+			}
+		}
+		catch (IOException ex) {
+			log.error(ex.getMessage());
+			throw ex;
+		}
+
+		final byte[] hash = digest.digest();
+		final StringBuilder sb = new StringBuilder(hash.length * 2);
+		for (byte b : hash) {
+			sb.append(Character.forDigit((b >> 4) & 0xF, 16));
+			sb.append(Character.forDigit(b & 0xF, 16));
+		}
+
+		return sb.toString();
+	}
+
+	private static MessageDigest newDigest() {
+		try {
+			return MessageDigest.getInstance("SHA-256");
+		}
+		catch (NoSuchAlgorithmException ex) {
+			// Should not happen, SHA-256 must be supported by every Java platform.
+			throw new IllegalStateException(ex);
+		}
+	}
 }
@@ -62,4 +62,13 @@ public @interface DbUnitConnection {
 	 * @return Password.
 	 */
 	String password();
+
+	/**
+	 * Flag to give each worker thread its own database (see {@code JdbcWorkerConnectionFactory}), so that tests
+	 * can be executed concurrently (for example, with JUnit Jupiter parallel execution). File and server database
+	 * names also include a JVM identifier, so that parallel JVMs (such as surefire forks) do not share databases.
+	 *
+	 * @return The per worker flag.
+	 */
+	boolean perWorker() default false;
 }
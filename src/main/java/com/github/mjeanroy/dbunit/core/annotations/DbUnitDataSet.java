@@ -93,4 +93,21 @@ public @interface DbUnitDataSet {
 	 * @return The inherit flag value.
 	 */
 	boolean inherit() default false;
+
+	/**
+	 * A flag indicating if rows of XML, JSON, YAML and NDJSON datasets should be streamed to the setup operation,
+	 * instead of loading the whole documents in memory. Columns of each table are sensed once, with a first pass
+	 * over each file, so this mode should be used for very large datasets. Datasets in other formats are loaded
+	 * as usual.
+	 *
+	 * Note that a streaming dataset can only be iterated in forward order (iterating it in reverse order, as
+	 * {@code DELETE} does, throws an {@link UnsupportedOperationException}), and its tables cannot be read by name:
+	 * it can be used with the default setup operation ({@code CLEAN_INSERT}) and with operations such as
+	 * {@code INSERT}, {@code REFRESH} or {@code DELETE_ALL}, but not with {@code DELETE}.
+	 *
+	 * The default value is {@code false}.
+	 *
+	 * @return The streaming flag value.
+	 */
+	boolean streaming() default false;
 }
@@ -24,6 +24,7 @@
 
 package com.github.mjeanroy.dbunit.core.annotations;
 
+import com.github.mjeanroy.dbunit.core.sql.SqlBatchExecutor;
 import com.github.mjeanroy.dbunit.core.sql.SqlScriptParserConfiguration;
 
 import java.lang.annotation.Documented;
@@ -81,4 +82,31 @@ public @interface DbUnitInit {
 	 * @return Delimiter.
 	 */
 	char delimiter() default SqlScriptParserConfiguration.DEFAULT_DELIMITER;
+
+	/**
+	 * Flag to run initialization once per JVM: if {@code true}, these SQL scripts are executed only if they have not
+	 * already been executed against the same database (i.e same JDBC URL or same {@link javax.sql.DataSource}) with the
+	 * same content.
+	 *
+	 * <br>
+	 *
+	 * Note that this flag should not be used if the database is dropped and re-created between test classes
+	 * with the same JDBC URL (for example, an in-memory database created for each test class).
+	 *
+	 * @return The flag, defaults to {@code false}.
+	 */
+	boolean runOnce() default false;
+
+	/**
+	 * Maximum number of consecutive DML queries ({@code INSERT}, {@code UPDATE}, {@code DELETE}, {@code MERGE})
+	 * sent to the database in a single JDBC batch, use {@code 1} to execute queries one by one.
+	 *
+	 * <br>
+	 *
+	 * Note that each script is executed in a single transaction when the connection is in auto-commit mode and the
+	 * driver supports transactions.
+	 *
+	 * @return The batch size, defaults to {@link SqlBatchExecutor#DEFAULT_BATCH_SIZE}.
+	 */
+	int batchSize() default SqlBatchExecutor.DEFAULT_BATCH_SIZE;
 }
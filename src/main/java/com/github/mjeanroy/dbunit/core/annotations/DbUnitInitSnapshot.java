@@ -0,0 +1,72 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015-2021 Mickael Jeanroy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.mjeanroy.dbunit.core.annotations;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Capture a snapshot of an embedded database once it has been initialized (with {@link DbUnitInit}
+ * and/or {@link DbUnitLiquibase}), and restore this snapshot in new embedded databases instead of
+ * running initialization again.
+ *
+ * <br>
+ *
+ * This is only supported with in-memory HSQLDB and H2 databases: the snapshot is restored only if the
+ * database is empty (i.e a new database, created for example with {@code EmbeddedDatabaseRule}
+ * or {@code DbUnitEmbeddedDatabaseExtension}), otherwise initialization is executed as usual.
+ *
+ * This annotation can be used on test classes, and is inherited by sub-classes.
+ *
+ * For example:
+ *
+ * <pre><code>
+ *
+ *   &#64;DbUnitInitSnapshot
+ *   &#64;DbUnitLiquibase("/liquibase/changelogs.xml")
+ *   &#64;DbUnitDataSet("/dataset/xml")
+ *   public class TestClass {
+ *     &#64;Rule
+ *     public DbUnitEmbeddedDatabaseRule rule = new DbUnitEmbeddedDatabaseRule();
+ *
+ *     &#64;Test
+ *     public void test1() {
+ *     }
+ *   }
+ *
+ * </code></pre>
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Inherited
+@Documented
+@Target({
+	ElementType.TYPE,
+})
+public @interface DbUnitInitSnapshot {
+}
@@ -0,0 +1,82 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015-2021 Mickael Jeanroy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.mjeanroy.dbunit.core.annotations;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Isolation mode between test methods.
+ *
+ * <br>
+ *
+ * With {@link DbUnitIsolationMode#ROLLBACK} mode:
+ * <ul>
+ *   <li>The class dataset is loaded, and committed, once before the first test.</li>
+ *   <li>Each test is executed in a transaction, on a single connection (the one returned by the runner, for example
+ *   the one injected as a test method parameter with the JUnit Jupiter extension).</li>
+ *   <li>Dataset defined on test method (if any) is loaded in this transaction.</li>
+ *   <li>The transaction is rolled back after each test (instead of executing tear down operation).</li>
+ * </ul>
+ *
+ * Note that the connection handed out during a test cannot be committed nor closed: these operations
+ * are ignored until the transaction is rolled back.
+ *
+ * This annotation can be used on test classes (and is inherited by sub-classes).
+ *
+ * For example:
+ *
+ * <pre><code>
+ *
+ *   &#64;DbUnitIsolation(DbUnitIsolationMode.ROLLBACK)
+ *   &#64;DbUnitDataSet("/dataset/xml")
+ *   &#64;ExtendWith(DbUnitExtension.class)
+ *   class TestClass {
+ *     &#64;Test
+ *     void test1(Connection connection) {
+ *     }
+ *   }
+ *
+ * </code></pre>
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Inherited
+@Documented
+@Target({
+	ElementType.TYPE,
+})
+public @interface DbUnitIsolation {
+
+	/**
+	 * The isolation mode.
+	 *
+	 * @return Isolation mode.
+	 */
+	DbUnitIsolationMode value() default DbUnitIsolationMode.ROLLBACK;
+}
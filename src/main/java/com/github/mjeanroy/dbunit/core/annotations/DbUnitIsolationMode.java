@@ -22,45 +22,31 @@
  * SOFTWARE.
  */
 
-package com.github.mjeanroy.dbunit.core.sql;
-
-import com.github.mjeanroy.dbunit.commons.io.ReaderVisitor;
+package com.github.mjeanroy.dbunit.core.annotations;
 
 /**
- * Visit line from SQL scripts.
+ * Set of isolation modes between test methods.
+ *
+ * @see DbUnitIsolation
  */
-class SqlLineVisitor implements ReaderVisitor {
+public enum DbUnitIsolationMode {
 
 	/**
-	 * Parser Context.
-	 * Will be used during line parsing to handle character and
-	 * compute next state.
+	 * Default mode: the dataset is loaded before each test with the setup operation (see {@link DbUnitSetup}),
+	 * and tear down operation (see {@link DbUnitTearDown}) is executed after each test.
 	 */
-	private final SqlScriptParserContext ctx;
+	NONE,
 
 	/**
-	 * Parser configuration (used to detect delimiter, etc.).
+	 * The class dataset is loaded (and committed) once, then each test is executed in a transaction
+	 * that is rolled back after test execution.
 	 */
-	private final SqlScriptParserConfiguration configuration;
+	ROLLBACK,
 
 	/**
-	 * Create visitor.
-	 *
-	 * @param ctx Parser context.
-	 * @param configuration Parser configuration.
+	 * The dataset is loaded before each test with the setup operation (see {@link DbUnitSetup}), but only tables
+	 * modified (since the dataset was loaded) on the connection handed out by the runner are reloaded.
+	 * Note that modifications executed with other connections are not tracked.
 	 */
-	SqlLineVisitor(SqlScriptParserContext ctx, SqlScriptParserConfiguration configuration) {
-		this.ctx = ctx;
-		this.configuration = configuration;
-	}
-
-	@Override
-	public void visit(String line) {
-		for (int i = 0; i < line.length(); i++) {
-			i = ctx.getState().handleToken(line, i, ctx, configuration);
-		}
-
-		// Append a space.
-		ctx.append(' ');
-	}
+	DIRTY_TABLES
 }
@@ -72,4 +72,18 @@ public @interface DbUnitLiquibase {
 	 * @return List of liquibase change logs.
 	 */
 	String[] value() default {};
+
+	/**
+	 * Flag to run initialization once per JVM: if {@code true}, these liquibase changelogs are executed only if they have not
+	 * already been executed against the same database (i.e same JDBC URL or same {@link javax.sql.DataSource}) with the
+	 * same content.
+	 *
+	 * <br>
+	 *
+	 * Note that this flag should not be used if the database is dropped and re-created between test classes
+	 * with the same JDBC URL (for example, an in-memory database created for each test class).
+	 *
+	 * @return The flag, defaults to {@code false}.
+	 */
+	boolean runOnce() default false;
 }
@@ -32,14 +32,14 @@ import com.github.mjeanroy.dbunit.loggers.Loggers;
 import org.dbunit.dataset.AbstractDataSet;
 import org.dbunit.dataset.Column;
 import org.dbunit.dataset.DataSetException;
-import org.dbunit.dataset.DefaultTable;
-import org.dbunit.dataset.DefaultTableIterator;
 import org.dbunit.dataset.IDataSet;
 import org.dbunit.dataset.ITable;
 import org.dbunit.dataset.ITableIterator;
+import org.dbunit.dataset.ITableMetaData;
+import org.dbunit.dataset.NoSuchTableException;
+import org.dbunit.dataset.OrderedTableNameMap;
 import org.dbunit.dataset.datatype.DataType;
 
-import java.util.ArrayList;
 import java.util.Collection;
 import java.util.LinkedHashSet;
 import java.util.List;
@@ -51,6 +51,13 @@ import static com.github.mjeanroy.dbunit.commons.lang.PreConditions.notNull;
 
 /**
  * Implementation of {@link IDataSet} with a parseable (JSON or YAML for example) file as input.
+ *
+ * <p>
+ *
+ * The whole file is parsed when the dataset is created (tree parsers cannot read a single table), but each
+ * table (see {@link ColumnarTable}) is built from its parsed rows when it is first requested, and its parsed
+ * rows are released once it is built. Tables that are never requested (for example, tables excluded by a filter,
+ * or shadowed in a {@link LazyCompositeDataSet}) are never built, but their parsed rows are kept with the dataset.
  */
 abstract class AbstractParseableDataSet extends AbstractDataSet {
 
@@ -65,9 +72,9 @@ abstract class AbstractParseableDataSet extends AbstractDataSet {
 	private final Resource resource;
 
 	/**
-	 * List of tables in {@code file}.
+	 * Tables in {@code file}, indexed by table names: each table is built on first access.
 	 */
-	private final List<ITable> tables;
+	private final OrderedTableNameMap tables;
 
 	/**
 	 * Create JSON DataSet.
@@ -90,16 +97,21 @@ abstract class AbstractParseableDataSet extends AbstractDataSet {
 	}
 
 	/**
-	 * Create list of {@link ITable} from JSON resource.
+	 * Parse JSON resource and index its tables, tables are built lazily.
 	 *
 	 * @param resource JSON Resource.
 	 * @param parser JSON Parser.
-	 * @return List of {@link ITable}.
+	 * @return Tables, indexed by table names.
 	 * @throws DataSetException If an error occurred during parsing.
 	 */
-	private List<ITable> initialize(Resource resource, DatasetParser parser) throws DataSetException {
-		Map<String, List<Map<String, Object>>> tables = parse(resource, parser);
-		return readTables(tables);
+	private OrderedTableNameMap initialize(Resource resource, DatasetParser parser) throws DataSetException {
+		Map<String, List<Map<String, Object>>> rows = parse(resource, parser);
+		OrderedTableNameMap tables = createTableNameMap();
+		for (Map.Entry<String, List<Map<String, Object>>> entry : rows.entrySet()) {
+			tables.add(entry.getKey(), new LazyTable(entry.getKey(), entry.getValue()));
+		}
+
+		return tables;
 	}
 
 	/**
@@ -123,56 +135,68 @@ abstract class AbstractParseableDataSet extends AbstractDataSet {
 	}
 
 	/**
-	 * Read tables and produce instance of {@link ITable}.
+	 * Read table and produce instance of {@link ITable}.
 	 *
-	 * @param tables Table associated with their rows.
-	 * @return List of {@link ITable}.
+	 * @param tableName Table name.
+	 * @param rows Table rows.
+	 * @return The table.
 	 * @throws DataSetException If an error occurred during extraction.
 	 */
-	private List<ITable> readTables(Map<String, List<Map<String, Object>>> tables) throws DataSetException {
-		Set<Map.Entry<String, List<Map<String, Object>>>> entries = tables.entrySet();
-		List<ITable> results = new ArrayList<>(entries.size());
-
-		for (Map.Entry<String, List<Map<String, Object>>> entry : entries) {
-			String tableName = entry.getKey();
-			List<Map<String, Object>> rows = entry.getValue();
-			log.debug("Extract table '{}'", tableName);
-
-			// Create table.
-			log.trace("Extract columns");
-			Set<Column> columns = rows.stream()
-				.map(Map::keySet)
-				.flatMap(Collection::stream)
-				.map(columnName -> new Column(columnName, DataType.UNKNOWN))
-				.collect(Collectors.toCollection(LinkedHashSet::new));
-
-			DefaultTable dbUnitTable = new DefaultTable(tableName, columns.toArray(new Column[0]));
-			log.trace("Table created, found columns: {}", columns);
-
-			// Fill Row.
-			log.trace("Fill rows");
-			int i = 0;
-			for (Map<String, Object> row : rows) {
-				dbUnitTable.addRow();
-				for (Map.Entry<String, Object> values : row.entrySet()) {
-					String columnName = values.getKey();
-					Object columnValue = values.getValue();
-
-					log.trace(" - Row #{}, set value: {} -> {}", i, columnName, columnValue);
-					dbUnitTable.setValue(i, columnName, columnValue);
-				}
-				i++;
+	private static ITable readTable(String tableName, List<Map<String, Object>> rows) throws DataSetException {
+		log.debug("Extract table '{}'", tableName);
+
+		// Create table.
+		log.trace("Extract columns");
+		Set<Column> columns = rows.stream()
+			.map(Map::keySet)
+			.flatMap(Collection::stream)
+			.map(columnName -> new Column(columnName, DataType.UNKNOWN))
+			.collect(Collectors.toCollection(LinkedHashSet::new));
+
+		ColumnarTable.Builder builder = ColumnarTable.builder(tableName, columns.toArray(new Column[0]), rows.size());
+		log.trace("Table created, found columns: {}", columns);
+
+		// Fill Row.
+		log.trace("Fill rows");
+		int i = 0;
+		for (Map<String, Object> row : rows) {
+			builder.addRow();
+			for (Map.Entry<String, Object> values : row.entrySet()) {
+				String columnName = values.getKey();
+				Object columnValue = values.getValue();
+
+				log.trace(" - Row #{}, set value: {} -> {}", i, columnName, columnValue);
+				builder.setValue(builder.indexOf(columnName), columnValue);
 			}
-
-			results.add(dbUnitTable);
+			i++;
 		}
 
-		return results;
+		return builder.build();
 	}
 
 	@Override
 	protected ITableIterator createIterator(boolean reverse) {
-		return new DefaultTableIterator(tables.toArray(new ITable[0]), reverse);
+		return new LazyTableIterator(this, tables.getTableNames(), reverse);
+	}
+
+	@Override
+	public String[] getTableNames() {
+		return tables.getTableNames();
+	}
+
+	@Override
+	public ITableMetaData getTableMetaData(String tableName) throws DataSetException {
+		return getTable(tableName).getTableMetaData();
+	}
+
+	@Override
+	public ITable getTable(String tableName) throws DataSetException {
+		LazyTable table = (LazyTable) tables.get(tableName);
+		if (table == null) {
+			throw new NoSuchTableException(tableName);
+		}
+
+		return table.get();
 	}
 
 	/**
@@ -183,4 +207,39 @@ abstract class AbstractParseableDataSet extends AbstractDataSet {
 	public Resource getResource() {
 		return resource;
 	}
+
+	/**
+	 * A table, built from its parsed rows on first access.
+	 */
+	private static final class LazyTable {
+
+		/**
+		 * The table name.
+		 */
+		private final String tableName;
+
+		/**
+		 * The parsed rows, released once the table is built.
+		 */
+		private List<Map<String, Object>> rows;
+
+		/**
+		 * The table, {@code null} until it is built.
+		 */
+		private ITable table;
+
+		private LazyTable(String tableName, List<Map<String, Object>> rows) {
+			this.tableName = tableName;
+			this.rows = rows;
+		}
+
+		private synchronized ITable get() throws DataSetException {
+			if (table == null) {
+				table = readTable(tableName, rows);
+				rows = null;
+			}
+
+			return table;
+		}
+	}
 }
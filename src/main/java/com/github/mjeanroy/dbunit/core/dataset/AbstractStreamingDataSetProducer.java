@@ -0,0 +1,297 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015-2021 Mickael Jeanroy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.mjeanroy.dbunit.core.dataset;
+
+import com.github.mjeanroy.dbunit.core.resources.Resource;
+import com.github.mjeanroy.dbunit.loggers.Logger;
+import com.github.mjeanroy.dbunit.loggers.Loggers;
+import org.dbunit.dataset.Column;
+import org.dbunit.dataset.DataSetException;
+import org.dbunit.dataset.DefaultTableMetaData;
+import org.dbunit.dataset.ITableMetaData;
+import org.dbunit.dataset.datatype.DataType;
+import org.dbunit.dataset.stream.DefaultConsumer;
+import org.dbunit.dataset.stream.IDataSetConsumer;
+import org.dbunit.dataset.stream.IDataSetProducer;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static com.github.mjeanroy.dbunit.commons.lang.PreConditions.notNull;
+
+/**
+ * Implementation of {@link IDataSetProducer} reading a parseable (JSON or YAML for example) resource
+ * as a stream of tokens, without building any intermediate structure.
+ *
+ * <p>
+ *
+ * Since each row may define its own columns, the resource is read twice: the first pass only collects
+ * column names of each table, the second pass sends rows to the consumer one by one. Memory consumption
+ * does not depend on the number of rows.
+ */
+abstract class AbstractStreamingDataSetProducer implements IDataSetProducer {
+
+	/**
+	 * Class Logger.
+	 */
+	private static final Logger log = Loggers.getLogger(AbstractStreamingDataSetProducer.class);
+
+	/**
+	 * The input resource.
+	 */
+	private final Resource resource;
+
+	/**
+	 * The consumer, receiving dataset events.
+	 */
+	private IDataSetConsumer consumer;
+
+	/**
+	 * Create producer.
+	 *
+	 * @param resource The input resource.
+	 * @throws NullPointerException If {@code resource} is {@code null}.
+	 */
+	AbstractStreamingDataSetProducer(Resource resource) {
+		this.resource = notNull(resource, "Resource must not be null");
+		this.consumer = new DefaultConsumer();
+	}
+
+	@Override
+	public void setConsumer(IDataSetConsumer consumer) {
+		this.consumer = notNull(consumer, "Consumer must not be null");
+	}
+
+	@Override
+	public void produce() throws DataSetException {
+		log.debug("Producing dataset from: {}", resource);
+
+		ColumnsHandler columnsHandler = new ColumnsHandler();
+		read(resource, columnsHandler);
+
+		consumer.startDataSet();
+		read(resource, new RowsHandler(consumer, columnsHandler.getColumns()));
+		consumer.endDataSet();
+	}
+
+	/**
+	 * Read table metadata only, without producing any row: the resource is read once.
+	 *
+	 * @return The table metadata, in input order.
+	 * @throws DataSetException If an error occurred while reading input, or if input does not respect expected schema.
+	 */
+	List<ITableMetaData> readMetaData() throws DataSetException {
+		ColumnsHandler columnsHandler = new ColumnsHandler();
+		read(resource, columnsHandler);
+
+		Map<String, Column[]> columns = columnsHandler.getColumns();
+		List<ITableMetaData> metaData = new ArrayList<>(columns.size());
+		for (Map.Entry<String, Column[]> entry : columns.entrySet()) {
+			metaData.add(new DefaultTableMetaData(entry.getKey(), entry.getValue()));
+		}
+
+		return metaData;
+	}
+
+	/**
+	 * Read given resource from start to end and notify given handler.
+	 *
+	 * @param resource The input resource.
+	 * @param handler The handler.
+	 * @throws DataSetException If an error occurred while reading input, or if input does not respect expected schema.
+	 */
+	abstract void read(Resource resource, Handler handler) throws DataSetException;
+
+	/**
+	 * Gets {@link #resource}.
+	 *
+	 * @return {@link #resource}.
+	 */
+	public Resource getResource() {
+		return resource;
+	}
+
+	/**
+	 * Callbacks notified while reading input.
+	 */
+	interface Handler {
+
+		/**
+		 * Notify start of a table.
+		 *
+		 * @param tableName The table name.
+		 * @throws DataSetException If an error occurred.
+		 */
+		void startTable(String tableName) throws DataSetException;
+
+		/**
+		 * Notify value of a column in current row.
+		 *
+		 * @param columnName The column name.
+		 * @param value The value.
+		 * @throws DataSetException If an error occurred.
+		 */
+		void value(String columnName, Object value) throws DataSetException;
+
+		/**
+		 * Notify end of current row.
+		 *
+		 * @throws DataSetException If an error occurred.
+		 */
+		void endRow() throws DataSetException;
+
+		/**
+		 * Notify end of current table.
+		 *
+		 * @throws DataSetException If an error occurred.
+		 */
+		void endTable() throws DataSetException;
+	}
+
+	/**
+	 * Handler collecting column names of each table.
+	 */
+	private static final class ColumnsHandler implements Handler {
+
+		/**
+		 * Column names of each table, in input order.
+		 */
+		private final Map<String, Set<String>> tables;
+
+		/**
+		 * Column names of current table.
+		 */
+		private Set<String> current;
+
+		private ColumnsHandler() {
+			this.tables = new LinkedHashMap<>();
+		}
+
+		@Override
+		public void startTable(String tableName) {
+			current = tables.computeIfAbsent(tableName, (name) -> new LinkedHashSet<>());
+		}
+
+		@Override
+		public void value(String columnName, Object value) {
+			current.add(columnName);
+		}
+
+		@Override
+		public void endRow() {
+		}
+
+		@Override
+		public void endTable() {
+			current = null;
+		}
+
+		/**
+		 * Get columns of each table.
+		 *
+		 * @return Columns of each table, in input order.
+		 */
+		private Map<String, Column[]> getColumns() {
+			log.trace("Found columns: {}", tables);
+
+			Map<String, Column[]> columns = new LinkedHashMap<>();
+			for (Map.Entry<String, Set<String>> entry : tables.entrySet()) {
+				columns.put(entry.getKey(), entry.getValue().stream()
+					.map(columnName -> new Column(columnName, DataType.UNKNOWN))
+					.toArray(Column[]::new));
+			}
+
+			return columns;
+		}
+	}
+
+	/**
+	 * Handler sending tables and rows to the consumer.
+	 */
+	private static final class RowsHandler implements Handler {
+
+		/**
+		 * The consumer.
+		 */
+		private final IDataSetConsumer consumer;
+
+		/**
+		 * Columns of each table.
+		 */
+		private final Map<String, Column[]> columns;
+
+		/**
+		 * Index of each column in current table.
+		 */
+		private final Map<String, Integer> indexes;
+
+		/**
+		 * Current row.
+		 */
+		private Object[] row;
+
+		private RowsHandler(IDataSetConsumer consumer, Map<String, Column[]> columns) {
+			this.consumer = consumer;
+			this.columns = columns;
+			this.indexes = new HashMap<>();
+		}
+
+		@Override
+		public void startTable(String tableName) throws DataSetException {
+			log.debug("Producing table '{}'", tableName);
+
+			Column[] tableColumns = columns.get(tableName);
+
+			indexes.clear();
+			for (int i = 0; i < tableColumns.length; i++) {
+				indexes.put(tableColumns[i].getColumnName(), i);
+			}
+
+			row = new Object[tableColumns.length];
+			consumer.startTable(new DefaultTableMetaData(tableName, tableColumns));
+		}
+
+		@Override
+		public void value(String columnName, Object value) {
+			row[indexes.get(columnName)] = value;
+		}
+
+		@Override
+		public void endRow() throws DataSetException {
+			consumer.row(row);
+			row = new Object[row.length];
+		}
+
+		@Override
+		public void endTable() throws DataSetException {
+			consumer.endTable();
+			row = null;
+		}
+	}
+}
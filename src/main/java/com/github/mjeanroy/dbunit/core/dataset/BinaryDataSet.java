@@ -0,0 +1,587 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015-2021 Mickael Jeanroy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.mjeanroy.dbunit.core.dataset;
+
+import com.github.mjeanroy.dbunit.core.resources.Resource;
+import com.github.mjeanroy.dbunit.loggers.Logger;
+import com.github.mjeanroy.dbunit.loggers.Loggers;
+import org.dbunit.dataset.AbstractDataSet;
+import org.dbunit.dataset.AbstractTable;
+import org.dbunit.dataset.Column;
+import org.dbunit.dataset.DataSetException;
+import org.dbunit.dataset.DefaultTableMetaData;
+import org.dbunit.dataset.ITable;
+import org.dbunit.dataset.ITableIterator;
+import org.dbunit.dataset.ITableMetaData;
+import org.dbunit.dataset.NoSuchTableException;
+import org.dbunit.dataset.OrderedTableNameMap;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.Buffer;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.Date;
+
+import static com.github.mjeanroy.dbunit.commons.lang.PreConditions.notNull;
+import static com.github.mjeanroy.dbunit.core.dataset.BinaryDataSetFormat.KIND_BOOLEAN;
+import static com.github.mjeanroy.dbunit.core.dataset.BinaryDataSetFormat.KIND_DOUBLE;
+import static com.github.mjeanroy.dbunit.core.dataset.BinaryDataSetFormat.KIND_EMPTY;
+import static com.github.mjeanroy.dbunit.core.dataset.BinaryDataSetFormat.KIND_INT;
+import static com.github.mjeanroy.dbunit.core.dataset.BinaryDataSetFormat.KIND_LONG;
+import static com.github.mjeanroy.dbunit.core.dataset.BinaryDataSetFormat.KIND_MIXED;
+import static com.github.mjeanroy.dbunit.core.dataset.BinaryDataSetFormat.KIND_STRING;
+import static com.github.mjeanroy.dbunit.core.dataset.BinaryDataSetFormat.MAGIC;
+import static com.github.mjeanroy.dbunit.core.dataset.BinaryDataSetFormat.TAG_BIG_INTEGER;
+import static com.github.mjeanroy.dbunit.core.dataset.BinaryDataSetFormat.TAG_BOOLEAN;
+import static com.github.mjeanroy.dbunit.core.dataset.BinaryDataSetFormat.TAG_BYTES;
+import static com.github.mjeanroy.dbunit.core.dataset.BinaryDataSetFormat.TAG_DATE;
+import static com.github.mjeanroy.dbunit.core.dataset.BinaryDataSetFormat.TAG_DECIMAL;
+import static com.github.mjeanroy.dbunit.core.dataset.BinaryDataSetFormat.TAG_DOUBLE;
+import static com.github.mjeanroy.dbunit.core.dataset.BinaryDataSetFormat.TAG_INT;
+import static com.github.mjeanroy.dbunit.core.dataset.BinaryDataSetFormat.TAG_LONG;
+import static com.github.mjeanroy.dbunit.core.dataset.BinaryDataSetFormat.TAG_NULL;
+import static com.github.mjeanroy.dbunit.core.dataset.BinaryDataSetFormat.TAG_STRING;
+import static com.github.mjeanroy.dbunit.core.dataset.BinaryDataSetFormat.VERSION;
+import static com.github.mjeanroy.dbunit.core.dataset.BinaryDataSetFormat.bitmapSize;
+import static com.github.mjeanroy.dbunit.core.dataset.BinaryDataSetFormat.dataType;
+
+/**
+ * Implementation of {@link org.dbunit.dataset.IDataSet} reading a binary (precompiled) dataset, created
+ * with {@link DataSetCompiler} (see {@link BinaryDataSetFormat} for a description of the format).
+ *
+ * <p>
+ *
+ * When the resource is a file, it is memory-mapped. Only the table directory is read when the dataset
+ * is created: tables read their values directly from the binary content, and values (including strings
+ * of the dictionary) are decoded when they are read.
+ */
+public class BinaryDataSet extends AbstractDataSet {
+
+	/**
+	 * Class Logger.
+	 */
+	private static final Logger log = Loggers.getLogger(BinaryDataSet.class);
+
+	/**
+	 * The binary resource.
+	 */
+	private final Resource resource;
+
+	/**
+	 * The binary content.
+	 *
+	 * Note that {@code position(int)} is called on {@link Buffer}: it is overridden (with a covariant return type)
+	 * since Java 9, and would not be found on Java 8 otherwise.
+	 */
+	private final ByteBuffer buffer;
+
+	/**
+	 * Position of each string of the dictionary.
+	 */
+	private final int[] stringPositions;
+
+	/**
+	 * Decoded strings of the dictionary.
+	 */
+	private final String[] strings;
+
+	/**
+	 * Metadata of each table.
+	 */
+	private final ITableMetaData[] metaData;
+
+	/**
+	 * Storage kind of each column, of each table.
+	 */
+	private final byte[][] kinds;
+
+	/**
+	 * Number of rows of each table.
+	 */
+	private final int[] rowCounts;
+
+	/**
+	 * Position of each table block.
+	 */
+	private final int[] positions;
+
+	/**
+	 * Decoded tables.
+	 */
+	private final ITable[] tables;
+
+	/**
+	 * Index of each table, indexed by table name.
+	 */
+	private final OrderedTableNameMap indexes;
+
+	/**
+	 * Create dataset.
+	 *
+	 * @param resource The binary resource.
+	 * @param caseSensitiveTableNames Case Insensitivity Flag.
+	 * @throws DataSetException If the resource cannot be read, or is not a valid binary dataset.
+	 */
+	BinaryDataSet(Resource resource, boolean caseSensitiveTableNames) throws DataSetException {
+		super(caseSensitiveTableNames);
+
+		this.resource = notNull(resource, "Binary resource must not be null");
+		this.buffer = open(resource);
+
+		try {
+			if (buffer.getInt() != MAGIC) {
+				throw new DataSetException("Resource " + resource + " is not a binary dataset");
+			}
+
+			int version = buffer.getInt();
+			if (version != VERSION) {
+				throw new DataSetException("Binary dataset " + resource + " has an unsupported version: " + version);
+			}
+
+			int stringCount = buffer.getInt();
+			this.stringPositions = new int[stringCount];
+			this.strings = new String[stringCount];
+			for (int i = 0; i < stringCount; i++) {
+				stringPositions[i] = buffer.position();
+				((Buffer) buffer).position(buffer.position() + 4 + buffer.getInt());
+			}
+
+			int tableCount = buffer.getInt();
+			this.metaData = new ITableMetaData[tableCount];
+			this.kinds = new byte[tableCount][];
+			this.rowCounts = new int[tableCount];
+			this.positions = new int[tableCount];
+			this.tables = new ITable[tableCount];
+			this.indexes = createTableNameMap();
+
+			for (int i = 0; i < tableCount; i++) {
+				String tableName = string(buffer.getInt());
+				rowCounts[i] = buffer.getInt();
+
+				int columnCount = buffer.getInt();
+				Column[] columns = new Column[columnCount];
+				kinds[i] = new byte[columnCount];
+				for (int j = 0; j < columnCount; j++) {
+					String columnName = string(buffer.getInt());
+					columns[j] = new Column(columnName, dataType(string(buffer.getInt())));
+					kinds[i][j] = buffer.get();
+				}
+
+				positions[i] = buffer.getInt();
+				metaData[i] = new DefaultTableMetaData(tableName, columns);
+				indexes.add(tableName, i);
+			}
+
+			int dataStart = buffer.position();
+			for (int i = 0; i < tableCount; i++) {
+				positions[i] += dataStart;
+			}
+		}
+		catch (BufferUnderflowException | IllegalArgumentException | IndexOutOfBoundsException ex) {
+			log.error(ex.getMessage(), ex);
+			throw new DataSetException("Binary dataset " + resource + " is corrupted", ex);
+		}
+	}
+
+	@Override
+	protected ITableIterator createIterator(boolean reverse) {
+		return new BinaryTableIterator(reverse);
+	}
+
+	@Override
+	public String[] getTableNames() {
+		return indexes.getTableNames();
+	}
+
+	@Override
+	public ITableMetaData getTableMetaData(String tableName) throws DataSetException {
+		return metaData[indexOf(tableName)];
+	}
+
+	@Override
+	public ITable getTable(String tableName) throws DataSetException {
+		return table(indexOf(tableName));
+	}
+
+	/**
+	 * Gets {@link #resource}.
+	 *
+	 * @return {@link #resource}.
+	 */
+	public Resource getResource() {
+		return resource;
+	}
+
+	private int indexOf(String tableName) throws NoSuchTableException {
+		if (!indexes.containsTable(tableName)) {
+			throw new NoSuchTableException(tableName);
+		}
+
+		return (Integer) indexes.get(tableName);
+	}
+
+	/**
+	 * Get the decoded string of the dictionary.
+	 *
+	 * @param ref The string reference.
+	 * @return The string.
+	 */
+	private synchronized String string(int ref) {
+		String value = strings[ref];
+		if (value == null) {
+			int position = stringPositions[ref];
+			byte[] bytes = new byte[buffer.getInt(position)];
+			ByteBuffer b = buffer.duplicate();
+			((Buffer) b).position(position + 4);
+			b.get(bytes);
+			value = new String(bytes, StandardCharsets.UTF_8);
+			strings[ref] = value;
+		}
+
+		return value;
+	}
+
+	/**
+	 * Get the table at given index, create it if it has not been created yet.
+	 *
+	 * @param index The table index.
+	 * @return The table.
+	 * @throws DataSetException If the table is corrupted.
+	 */
+	private synchronized ITable table(int index) throws DataSetException {
+		if (tables[index] == null) {
+			log.debug("Indexing table '{}' from: {}", metaData[index].getTableName(), resource);
+
+			try {
+				tables[index] = new BinaryTable(index);
+			}
+			catch (BufferUnderflowException | IndexOutOfBoundsException ex) {
+				log.error(ex.getMessage(), ex);
+				throw new DataSetException("Binary dataset " + resource + " is corrupted", ex);
+			}
+		}
+
+		return tables[index];
+	}
+
+	/**
+	 * Decode the tagged value at given position.
+	 *
+	 * @param position The position of the value tag.
+	 * @return The value.
+	 * @throws DataSetException If the tag is unknown.
+	 */
+	private Object decodeTaggedValue(int position) throws DataSetException {
+		byte tag = buffer.get(position);
+		int value = position + 1;
+
+		switch (tag) {
+			case TAG_NULL:
+				return null;
+			case TAG_INT:
+				return buffer.getInt(value);
+			case TAG_LONG:
+				return buffer.getLong(value);
+			case TAG_DOUBLE:
+				return buffer.getDouble(value);
+			case TAG_BOOLEAN:
+				return buffer.get(value) != 0;
+			case TAG_STRING:
+				return string(buffer.getInt(value));
+			case TAG_DECIMAL:
+				return new BigDecimal(string(buffer.getInt(value)));
+			case TAG_BIG_INTEGER:
+				return new BigInteger(string(buffer.getInt(value)));
+			case TAG_BYTES:
+				byte[] bytes = new byte[buffer.getInt(value)];
+				ByteBuffer b = buffer.duplicate();
+				((Buffer) b).position(value + 4);
+				b.get(bytes);
+				return bytes;
+			case TAG_DATE:
+				return new Date(buffer.getLong(value));
+			default:
+				throw new DataSetException("Binary dataset " + resource + " contains an unknown value tag: " + tag);
+		}
+	}
+
+	/**
+	 * Get the size, in bytes, of the tagged value at given position (including the tag).
+	 *
+	 * @param position The position of the value tag.
+	 * @return The size of the value.
+	 * @throws DataSetException If the tag is unknown.
+	 */
+	private int taggedValueSize(int position) throws DataSetException {
+		byte tag = buffer.get(position);
+		switch (tag) {
+			case TAG_NULL:
+				return 1;
+			case TAG_BOOLEAN:
+				return 2;
+			case TAG_INT:
+			case TAG_STRING:
+			case TAG_DECIMAL:
+			case TAG_BIG_INTEGER:
+				return 5;
+			case TAG_LONG:
+			case TAG_DOUBLE:
+			case TAG_DATE:
+				return 9;
+			case TAG_BYTES:
+				return 5 + buffer.getInt(position + 1);
+			default:
+				throw new DataSetException("Binary dataset " + resource + " contains an unknown value tag: " + tag);
+		}
+	}
+
+	/**
+	 * Check if the bit at given index, of the bitmap starting at given position, is set.
+	 *
+	 * @param position The bitmap position.
+	 * @param index The bit index.
+	 * @return {@code true} if the bit is set, {@code false} otherwise.
+	 */
+	private boolean isSet(int position, int index) {
+		return (buffer.get(position + index / 8) & (1 << (index % 8))) != 0;
+	}
+
+	/**
+	 * Open given resource: files are memory-mapped, other resources are read in memory.
+	 *
+	 * @param resource The resource.
+	 * @return The resource content.
+	 * @throws DataSetException If the resource cannot be read.
+	 */
+	private static ByteBuffer open(Resource resource) throws DataSetException {
+		File file = toFile(resource);
+
+		try {
+			if (file != null && file.isFile()) {
+				log.debug("Mapping binary dataset: {}", file);
+				try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+					return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+				}
+			}
+
+			log.debug("Reading binary dataset: {}", resource);
+			try (InputStream stream = resource.openStream()) {
+				ByteArrayOutputStream out = new ByteArrayOutputStream();
+				byte[] chunk = new byte[8192];
+				int read;
+				while ((read = stream.read(chunk)) != -1) {
+					out.write(chunk, 0, read);
+				}
+
+				return ByteBuffer.wrap(out.toByteArray());
+			}
+		}
+		catch (IOException ex) {
+			log.error(ex.getMessage(), ex);
+			throw new DataSetException(ex);
+		}
+	}
+
+	private static File toFile(Resource resource) {
+		try {
+			return resource.toFile();
+		}
+		catch (RuntimeException ex) {
+			log.trace("Resource {} does not reside in the file system", resource);
+			return null;
+		}
+	}
+
+	/**
+	 * Table reading its values from the binary content: values are never copied, each value is decoded
+	 * when it is read.
+	 */
+	private final class BinaryTable extends AbstractTable {
+
+		/**
+		 * Table metadata.
+		 */
+		private final ITableMetaData tableMetaData;
+
+		/**
+		 * Storage kind of each column.
+		 */
+		private final byte[] columnKinds;
+
+		/**
+		 * Number of rows.
+		 */
+		private final int rowCount;
+
+		/**
+		 * Size of the null bitmap of each column.
+		 */
+		private final int bitmapSize;
+
+		/**
+		 * Position of each column block.
+		 */
+		private final int[] columnPositions;
+
+		/**
+		 * Position of each value of mixed columns ({@code null} for other columns): values of these
+		 * columns do not have the same size, so they cannot be found from the row index.
+		 */
+		private final int[][] valuePositions;
+
+		private BinaryTable(int index) throws DataSetException {
+			this.tableMetaData = metaData[index];
+			this.columnKinds = kinds[index];
+			this.rowCount = rowCounts[index];
+			this.bitmapSize = bitmapSize(rowCount);
+			this.columnPositions = new int[columnKinds.length];
+			this.valuePositions = new int[columnKinds.length][];
+
+			int position = positions[index];
+			for (int i = 0; i < columnKinds.length; i++) {
+				columnPositions[i] = position;
+
+				switch (columnKinds[i]) {
+					case KIND_EMPTY:
+						break;
+					case KIND_INT:
+						position += bitmapSize + 4 * rowCount;
+						break;
+					case KIND_LONG:
+					case KIND_DOUBLE:
+						position += bitmapSize + 8 * rowCount;
+						break;
+					case KIND_BOOLEAN:
+						position += 2 * bitmapSize;
+						break;
+					case KIND_STRING:
+						position += 4 * rowCount;
+						break;
+					case KIND_MIXED:
+						valuePositions[i] = new int[rowCount];
+						for (int row = 0; row < rowCount; row++) {
+							valuePositions[i][row] = position;
+							position += taggedValueSize(position);
+						}
+						break;
+					default:
+						throw new DataSetException("Binary dataset " + resource + " contains an unknown column kind: " + columnKinds[i]);
+				}
+			}
+
+			if (position > buffer.limit()) {
+				throw new BufferUnderflowException();
+			}
+		}
+
+		@Override
+		public ITableMetaData getTableMetaData() {
+			return tableMetaData;
+		}
+
+		@Override
+		public int getRowCount() {
+			return rowCount;
+		}
+
+		@Override
+		public Object getValue(int row, String column) throws DataSetException {
+			assertValidRowIndex(row);
+
+			int index = getColumnIndex(column);
+			int position = columnPositions[index];
+
+			switch (columnKinds[index]) {
+				case KIND_EMPTY:
+					return null;
+				case KIND_INT:
+					return isSet(position, row) ? buffer.getInt(position + bitmapSize + 4 * row) : null;
+				case KIND_LONG:
+					return isSet(position, row) ? buffer.getLong(position + bitmapSize + 8 * row) : null;
+				case KIND_DOUBLE:
+					return isSet(position, row) ? buffer.getDouble(position + bitmapSize + 8 * row) : null;
+				case KIND_BOOLEAN:
+					return isSet(position, row) ? isSet(position + bitmapSize, row) : null;
+				case KIND_STRING:
+					int ref = buffer.getInt(position + 4 * row);
+					return ref < 0 ? null : string(ref);
+				default:
+					return decodeTaggedValue(valuePositions[index][row]);
+			}
+		}
+	}
+
+	/**
+	 * Iterator over tables, creating each table when it is read.
+	 */
+	private final class BinaryTableIterator implements ITableIterator {
+
+		/**
+		 * Iteration order flag.
+		 */
+		private final boolean reverse;
+
+		/**
+		 * Number of tables already visited.
+		 */
+		private int visited;
+
+		private BinaryTableIterator(boolean reverse) {
+			this.reverse = reverse;
+			this.visited = 0;
+		}
+
+		@Override
+		public boolean next() {
+			if (visited >= metaData.length) {
+				return false;
+			}
+
+			visited++;
+			return true;
+		}
+
+		@Override
+		public ITableMetaData getTableMetaData() {
+			return metaData[index()];
+		}
+
+		@Override
+		public ITable getTable() throws DataSetException {
+			return table(index());
+		}
+
+		private int index() {
+			return reverse ? metaData.length - visited : visited - 1;
+		}
+	}
+}
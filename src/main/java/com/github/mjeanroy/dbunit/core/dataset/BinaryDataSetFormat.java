@@ -0,0 +1,161 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015-2021 Mickael Jeanroy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.mjeanroy.dbunit.core.dataset;
+
+import org.dbunit.dataset.datatype.DataType;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Constants of the binary (precompiled) dataset format, shared by {@link BinaryDataSetWriter} and {@link BinaryDataSet}.
+ *
+ * <p>
+ *
+ * A binary dataset file is made of (all numbers are big-endian):
+ *
+ * <ol>
+ *   <li>A header: the {@link #MAGIC} number, followed by the format {@link #VERSION}.</li>
+ *   <li>
+ *     A string dictionary: the number of strings, followed by each string (length and UTF-8 bytes).
+ *     Table names, column names, data type names and string values are stored once in this dictionary,
+ *     and referenced by their index everywhere else.
+ *   </li>
+ *   <li>
+ *     The table directory: the number of tables, followed by each table definition (name, number of rows, columns
+ *     with their name, data type and storage kind), and the offset of the table block.
+ *   </li>
+ *   <li>
+ *     The table blocks: each block contains column blocks, one after the other, encoded according
+ *     to the column storage kind.
+ *   </li>
+ * </ol>
+ */
+final class BinaryDataSetFormat {
+
+	/**
+	 * The file extension of binary datasets.
+	 */
+	static final String EXTENSION = ".dbunit";
+
+	/**
+	 * The magic number, at the beginning of each file.
+	 */
+	static final int MAGIC = 0x44425542;
+
+	/**
+	 * The current format version.
+	 */
+	static final int VERSION = 1;
+
+	/**
+	 * Column without any (non null) value.
+	 */
+	static final byte KIND_EMPTY = 0;
+
+	/**
+	 * Column of integers: a null bitmap, followed by one {@code int} per row.
+	 */
+	static final byte KIND_INT = 1;
+
+	/**
+	 * Column of longs: a null bitmap, followed by one {@code long} per row.
+	 */
+	static final byte KIND_LONG = 2;
+
+	/**
+	 * Column of doubles: a null bitmap, followed by one {@code double} per row.
+	 */
+	static final byte KIND_DOUBLE = 3;
+
+	/**
+	 * Column of booleans: a null bitmap, followed by a value bitmap.
+	 */
+	static final byte KIND_BOOLEAN = 4;
+
+	/**
+	 * Column of strings: one dictionary reference per row ({@code -1} for {@code null} values).
+	 */
+	static final byte KIND_STRING = 5;
+
+	/**
+	 * Column mixing several types: each value is prefixed by its tag.
+	 */
+	static final byte KIND_MIXED = 6;
+
+	// Tags of values in mixed columns.
+	static final byte TAG_NULL = 0;
+	static final byte TAG_INT = 1;
+	static final byte TAG_LONG = 2;
+	static final byte TAG_DOUBLE = 3;
+	static final byte TAG_BOOLEAN = 4;
+	static final byte TAG_STRING = 5;
+	static final byte TAG_DECIMAL = 6;
+	static final byte TAG_BIG_INTEGER = 7;
+	static final byte TAG_BYTES = 8;
+	static final byte TAG_DATE = 9;
+
+	/**
+	 * Data types, indexed by name.
+	 */
+	private static final Map<String, DataType> DATA_TYPES = new HashMap<>();
+
+	static {
+		DataType[] dataTypes = new DataType[]{
+			DataType.UNKNOWN, DataType.CHAR, DataType.VARCHAR, DataType.LONGVARCHAR, DataType.CLOB, DataType.NUMERIC,
+			DataType.DECIMAL, DataType.BOOLEAN, DataType.BIT, DataType.TINYINT, DataType.SMALLINT, DataType.INTEGER,
+			DataType.BIGINT, DataType.BIGINT_AUX_LONG, DataType.REAL, DataType.FLOAT, DataType.DOUBLE, DataType.DATE,
+			DataType.TIME, DataType.TIMESTAMP, DataType.BINARY, DataType.VARBINARY, DataType.LONGVARBINARY, DataType.BLOB,
+			DataType.NCHAR, DataType.NVARCHAR, DataType.LONGNVARCHAR,
+		};
+
+		for (DataType dataType : dataTypes) {
+			DATA_TYPES.putIfAbsent(dataType.toString(), dataType);
+		}
+	}
+
+	// Ensure non instantiation.
+	private BinaryDataSetFormat() {
+	}
+
+	/**
+	 * Get the data type with given name, {@link DataType#UNKNOWN} if it is not a standard data type.
+	 *
+	 * @param name The data type name.
+	 * @return The data type.
+	 */
+	static DataType dataType(String name) {
+		return DATA_TYPES.getOrDefault(name, DataType.UNKNOWN);
+	}
+
+	/**
+	 * Get the size, in bytes, of a bitmap of given size.
+	 *
+	 * @param size The number of bits.
+	 * @return The number of bytes.
+	 */
+	static int bitmapSize(int size) {
+		return (size + 7) / 8;
+	}
+}
@@ -0,0 +1,333 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015-2021 Mickael Jeanroy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.mjeanroy.dbunit.core.dataset;
+
+import com.github.mjeanroy.dbunit.loggers.Logger;
+import com.github.mjeanroy.dbunit.loggers.Loggers;
+import org.dbunit.dataset.Column;
+import org.dbunit.dataset.DataSetException;
+import org.dbunit.dataset.IDataSet;
+import org.dbunit.dataset.ITable;
+import org.dbunit.dataset.ITableIterator;
+import org.dbunit.dataset.ITableMetaData;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.github.mjeanroy.dbunit.commons.lang.PreConditions.notNull;
+import static com.github.mjeanroy.dbunit.core.dataset.BinaryDataSetFormat.KIND_BOOLEAN;
+import static com.github.mjeanroy.dbunit.core.dataset.BinaryDataSetFormat.KIND_DOUBLE;
+import static com.github.mjeanroy.dbunit.core.dataset.BinaryDataSetFormat.KIND_EMPTY;
+import static com.github.mjeanroy.dbunit.core.dataset.BinaryDataSetFormat.KIND_INT;
+import static com.github.mjeanroy.dbunit.core.dataset.BinaryDataSetFormat.KIND_LONG;
+import static com.github.mjeanroy.dbunit.core.dataset.BinaryDataSetFormat.KIND_MIXED;
+import static com.github.mjeanroy.dbunit.core.dataset.BinaryDataSetFormat.KIND_STRING;
+import static com.github.mjeanroy.dbunit.core.dataset.BinaryDataSetFormat.MAGIC;
+import static com.github.mjeanroy.dbunit.core.dataset.BinaryDataSetFormat.TAG_BIG_INTEGER;
+import static com.github.mjeanroy.dbunit.core.dataset.BinaryDataSetFormat.TAG_BOOLEAN;
+import static com.github.mjeanroy.dbunit.core.dataset.BinaryDataSetFormat.TAG_BYTES;
+import static com.github.mjeanroy.dbunit.core.dataset.BinaryDataSetFormat.TAG_DATE;
+import static com.github.mjeanroy.dbunit.core.dataset.BinaryDataSetFormat.TAG_DECIMAL;
+import static com.github.mjeanroy.dbunit.core.dataset.BinaryDataSetFormat.TAG_DOUBLE;
+import static com.github.mjeanroy.dbunit.core.dataset.BinaryDataSetFormat.TAG_INT;
+import static com.github.mjeanroy.dbunit.core.dataset.BinaryDataSetFormat.TAG_LONG;
+import static com.github.mjeanroy.dbunit.core.dataset.BinaryDataSetFormat.TAG_NULL;
+import static com.github.mjeanroy.dbunit.core.dataset.BinaryDataSetFormat.TAG_STRING;
+import static com.github.mjeanroy.dbunit.core.dataset.BinaryDataSetFormat.VERSION;
+import static com.github.mjeanroy.dbunit.core.dataset.BinaryDataSetFormat.bitmapSize;
+
+/**
+ * Write an {@link IDataSet} using the binary dataset format (see {@link BinaryDataSetFormat}).
+ */
+final class BinaryDataSetWriter {
+
+	/**
+	 * Class Logger.
+	 */
+	private static final Logger log = Loggers.getLogger(BinaryDataSetWriter.class);
+
+	/**
+	 * The string dictionary: each string associated to its reference.
+	 */
+	private final Map<String, Integer> dictionary;
+
+	/**
+	 * The table definitions, serialized.
+	 */
+	private final ByteArrayOutputStream tables;
+
+	/**
+	 * The table blocks, serialized.
+	 */
+	private final ByteArrayOutputStream blocks;
+
+	/**
+	 * The number of tables.
+	 */
+	private int tableCount;
+
+	private BinaryDataSetWriter() {
+		this.dictionary = new LinkedHashMap<>();
+		this.tables = new ByteArrayOutputStream();
+		this.blocks = new ByteArrayOutputStream();
+		this.tableCount = 0;
+	}
+
+	/**
+	 * Write given dataset to given output.
+	 *
+	 * @param dataSet The dataset.
+	 * @param output The output, not closed by this method.
+	 * @throws DataSetException If the dataset cannot be read, or contains values that cannot be serialized.
+	 * @throws IOException If an error occurred while writing output.
+	 */
+	static void write(IDataSet dataSet, OutputStream output) throws DataSetException, IOException {
+		notNull(dataSet, "DataSet must not be null");
+		notNull(output, "Output must not be null");
+
+		BinaryDataSetWriter writer = new BinaryDataSetWriter();
+
+		ITableIterator it = dataSet.iterator();
+		while (it.next()) {
+			writer.writeTable(it.getTable());
+		}
+
+		writer.writeTo(output);
+	}
+
+	private void writeTable(ITable table) throws DataSetException, IOException {
+		ITableMetaData metaData = table.getTableMetaData();
+		Column[] columns = metaData.getColumns();
+		int rowCount = table.getRowCount();
+
+		log.debug("Writing table '{}' ({} rows)", metaData.getTableName(), rowCount);
+
+		DataOutputStream definition = new DataOutputStream(tables);
+		definition.writeInt(ref(metaData.getTableName()));
+		definition.writeInt(rowCount);
+		definition.writeInt(columns.length);
+
+		DataOutputStream block = new DataOutputStream(blocks);
+		int offset = blocks.size();
+
+		for (Column column : columns) {
+			Object[] values = new Object[rowCount];
+			for (int row = 0; row < rowCount; row++) {
+				values[row] = table.getValue(row, column.getColumnName());
+			}
+
+			byte kind = kindOf(values);
+			definition.writeInt(ref(column.getColumnName()));
+			definition.writeInt(ref(column.getDataType().toString()));
+			definition.writeByte(kind);
+
+			writeColumn(block, kind, values);
+		}
+
+		definition.writeInt(offset);
+		block.flush();
+		definition.flush();
+		tableCount++;
+	}
+
+	private void writeColumn(DataOutputStream out, byte kind, Object[] values) throws DataSetException, IOException {
+		switch (kind) {
+			case KIND_EMPTY:
+				return;
+
+			case KIND_INT:
+				out.write(nullBitmap(values));
+				for (Object value : values) {
+					out.writeInt(value == null ? 0 : (Integer) value);
+				}
+				return;
+
+			case KIND_LONG:
+				out.write(nullBitmap(values));
+				for (Object value : values) {
+					out.writeLong(value == null ? 0L : (Long) value);
+				}
+				return;
+
+			case KIND_DOUBLE:
+				out.write(nullBitmap(values));
+				for (Object value : values) {
+					out.writeDouble(value == null ? 0D : (Double) value);
+				}
+				return;
+
+			case KIND_BOOLEAN:
+				out.write(nullBitmap(values));
+				byte[] bitmap = new byte[bitmapSize(values.length)];
+				for (int i = 0; i < values.length; i++) {
+					if (Boolean.TRUE.equals(values[i])) {
+						bitmap[i / 8] |= 1 << (i % 8);
+					}
+				}
+				out.write(bitmap);
+				return;
+
+			case KIND_STRING:
+				for (Object value : values) {
+					out.writeInt(value == null ? -1 : ref((String) value));
+				}
+				return;
+
+			default:
+				for (Object value : values) {
+					writeTaggedValue(out, value);
+				}
+		}
+	}
+
+	private void writeTaggedValue(DataOutputStream out, Object value) throws DataSetException, IOException {
+		if (value == null) {
+			out.writeByte(TAG_NULL);
+		}
+		else if (value instanceof Integer) {
+			out.writeByte(TAG_INT);
+			out.writeInt((Integer) value);
+		}
+		else if (value instanceof Long) {
+			out.writeByte(TAG_LONG);
+			out.writeLong((Long) value);
+		}
+		else if (value instanceof Double) {
+			out.writeByte(TAG_DOUBLE);
+			out.writeDouble((Double) value);
+		}
+		else if (value instanceof Boolean) {
+			out.writeByte(TAG_BOOLEAN);
+			out.writeBoolean((Boolean) value);
+		}
+		else if (value instanceof String) {
+			out.writeByte(TAG_STRING);
+			out.writeInt(ref((String) value));
+		}
+		else if (value instanceof BigDecimal) {
+			out.writeByte(TAG_DECIMAL);
+			out.writeInt(ref(value.toString()));
+		}
+		else if (value instanceof BigInteger) {
+			out.writeByte(TAG_BIG_INTEGER);
+			out.writeInt(ref(value.toString()));
+		}
+		else if (value instanceof byte[]) {
+			byte[] bytes = (byte[]) value;
+			out.writeByte(TAG_BYTES);
+			out.writeInt(bytes.length);
+			out.write(bytes);
+		}
+		else if (value.getClass() == Date.class) {
+			out.writeByte(TAG_DATE);
+			out.writeLong(((Date) value).getTime());
+		}
+		else {
+			throw new DataSetException("Cannot write value of type " + value.getClass().getName() + " in binary dataset: " + value);
+		}
+	}
+
+	private void writeTo(OutputStream output) throws IOException {
+		DataOutputStream out = new DataOutputStream(output);
+		out.writeInt(MAGIC);
+		out.writeInt(VERSION);
+
+		out.writeInt(dictionary.size());
+		for (String value : dictionary.keySet()) {
+			byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+			out.writeInt(bytes.length);
+			out.write(bytes);
+		}
+
+		out.writeInt(tableCount);
+		tables.writeTo(out);
+		blocks.writeTo(out);
+		out.flush();
+	}
+
+	private int ref(String value) {
+		return dictionary.computeIfAbsent(value, (v) -> dictionary.size());
+	}
+
+	private static byte[] nullBitmap(Object[] values) {
+		byte[] bitmap = new byte[bitmapSize(values.length)];
+		for (int i = 0; i < values.length; i++) {
+			if (values[i] != null) {
+				bitmap[i / 8] |= 1 << (i % 8);
+			}
+		}
+
+		return bitmap;
+	}
+
+	private static byte kindOf(Object[] values) {
+		List<Class<?>> types = new ArrayList<>(2);
+		for (Object value : values) {
+			if (value != null && !types.contains(value.getClass())) {
+				types.add(value.getClass());
+			}
+		}
+
+		if (types.isEmpty()) {
+			return KIND_EMPTY;
+		}
+
+		if (types.size() > 1) {
+			return KIND_MIXED;
+		}
+
+		Class<?> type = types.get(0);
+		if (type == Integer.class) {
+			return KIND_INT;
+		}
+
+		if (type == Long.class) {
+			return KIND_LONG;
+		}
+
+		if (type == Double.class) {
+			return KIND_DOUBLE;
+		}
+
+		if (type == Boolean.class) {
+			return KIND_BOOLEAN;
+		}
+
+		if (type == String.class) {
+			return KIND_STRING;
+		}
+
+		return KIND_MIXED;
+	}
+}
@@ -0,0 +1,500 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015-2021 Mickael Jeanroy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.mjeanroy.dbunit.core.dataset;
+
+import org.dbunit.dataset.AbstractTable;
+import org.dbunit.dataset.Column;
+import org.dbunit.dataset.DataSetException;
+import org.dbunit.dataset.DefaultTableMetaData;
+import org.dbunit.dataset.ITableMetaData;
+import org.dbunit.dataset.NoSuchColumnException;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+import static com.github.mjeanroy.dbunit.commons.lang.PreConditions.notNull;
+
+/**
+ * Implementation of {@link org.dbunit.dataset.ITable} storing values column by column, used for parsed (JSON, YAML) datasets.
+ *
+ * <p>
+ *
+ * Compared to {@link org.dbunit.dataset.DefaultTable}:
+ *
+ * <ul>
+ *   <li>Column indexes are computed once, so {@link #getValue(int, String)} is a map lookup followed by an array access.</li>
+ *   <li>Integer, long, double and boolean columns are stored in primitive arrays.</li>
+ *   <li>String columns are dictionary-encoded: each distinct value is stored once.</li>
+ * </ul>
+ *
+ * A column mixing several types of values is stored as an array of objects. In any case,
+ * {@link #getValue(int, String)} returns the value that has been given to the builder.
+ */
+final class ColumnarTable extends AbstractTable {
+
+	/**
+	 * Table metadata.
+	 */
+	private final ITableMetaData metaData;
+
+	/**
+	 * Index of each column, indexed by upper case column name.
+	 */
+	private final Map<String, Integer> indexes;
+
+	/**
+	 * Values of each column.
+	 */
+	private final ColumnValues[] values;
+
+	/**
+	 * Number of rows.
+	 */
+	private final int rowCount;
+
+	private ColumnarTable(ITableMetaData metaData, Map<String, Integer> indexes, ColumnValues[] values, int rowCount) {
+		this.metaData = metaData;
+		this.indexes = indexes;
+		this.values = values;
+		this.rowCount = rowCount;
+	}
+
+	/**
+	 * Create a builder of table.
+	 *
+	 * @param tableName The table name.
+	 * @param columns The table columns.
+	 * @param rowCount The number of rows.
+	 * @return The builder.
+	 */
+	static Builder builder(String tableName, Column[] columns, int rowCount) {
+		return new Builder(tableName, columns, rowCount);
+	}
+
+	@Override
+	public ITableMetaData getTableMetaData() {
+		return metaData;
+	}
+
+	@Override
+	public int getRowCount() {
+		return rowCount;
+	}
+
+	@Override
+	public Object getValue(int row, String column) throws DataSetException {
+		assertValidRowIndex(row);
+		return values[indexOf(metaData, indexes, column)].get(row);
+	}
+
+	/**
+	 * Get the index of given column.
+	 *
+	 * @param metaData The table metadata.
+	 * @param indexes Index of each column, indexed by upper case column name.
+	 * @param column The column name.
+	 * @return The column index.
+	 * @throws NoSuchColumnException If the column does not exist.
+	 */
+	private static int indexOf(ITableMetaData metaData, Map<String, Integer> indexes, String column) throws NoSuchColumnException {
+		Integer index = indexes.get(column.toUpperCase(Locale.ENGLISH));
+		if (index == null) {
+			throw new NoSuchColumnException(metaData.getTableName(), column);
+		}
+
+		return index;
+	}
+
+	/**
+	 * Builder of {@link ColumnarTable}: rows are added one after the other, and values of the current
+	 * row are set by column index.
+	 */
+	static final class Builder {
+
+		/**
+		 * Table metadata.
+		 */
+		private final ITableMetaData metaData;
+
+		/**
+		 * Index of each column, indexed by upper case column name.
+		 */
+		private final Map<String, Integer> indexes;
+
+		/**
+		 * Values of each column.
+		 */
+		private final ColumnValues[] values;
+
+		/**
+		 * The number of rows.
+		 */
+		private final int rowCount;
+
+		/**
+		 * The current row.
+		 */
+		private int row;
+
+		private Builder(String tableName, Column[] columns, int rowCount) {
+			notNull(tableName, "Table name must not be null");
+			notNull(columns, "Columns must not be null");
+
+			this.metaData = new DefaultTableMetaData(tableName, columns);
+			this.indexes = new HashMap<>();
+			this.values = new ColumnValues[columns.length];
+			this.rowCount = rowCount;
+			this.row = -1;
+
+			for (int i = 0; i < columns.length; i++) {
+				indexes.put(columns[i].getColumnName().toUpperCase(Locale.ENGLISH), i);
+				values[i] = new EmptyValues(rowCount);
+			}
+		}
+
+		/**
+		 * Get the index of given column.
+		 *
+		 * @param column The column name.
+		 * @return The column index.
+		 * @throws NoSuchColumnException If the column does not exist.
+		 */
+		int indexOf(String column) throws NoSuchColumnException {
+			return ColumnarTable.indexOf(metaData, indexes, column);
+		}
+
+		/**
+		 * Start a new row.
+		 *
+		 * @return The builder.
+		 */
+		Builder addRow() {
+			if (row + 1 >= rowCount) {
+				throw new IllegalStateException("Cannot add more than " + rowCount + " rows to table " + metaData.getTableName());
+			}
+
+			row++;
+			return this;
+		}
+
+		/**
+		 * Set value of given column in the current row.
+		 *
+		 * @param column The column index.
+		 * @param value The value.
+		 * @return The builder.
+		 */
+		Builder setValue(int column, Object value) {
+			if (row < 0) {
+				throw new IllegalStateException("Row must be added before setting a value");
+			}
+
+			if (value != null && !values[column].set(row, value)) {
+				// Value does not fit current storage, fallback to an array of objects.
+				ColumnValues objects = new ObjectValues(rowCount);
+				for (int i = 0; i < row; i++) {
+					objects.set(i, values[column].get(i));
+				}
+
+				objects.set(row, value);
+				values[column] = objects;
+			}
+
+			return this;
+		}
+
+		/**
+		 * Build the table.
+		 *
+		 * @return The table.
+		 */
+		ColumnarTable build() {
+			ColumnValues[] compacted = new ColumnValues[values.length];
+			for (int i = 0; i < values.length; i++) {
+				compacted[i] = values[i].compact();
+			}
+
+			return new ColumnarTable(metaData, indexes, compacted, row + 1);
+		}
+	}
+
+	/**
+	 * Values of a column.
+	 */
+	private abstract static class ColumnValues {
+
+		/**
+		 * Get value at given row.
+		 *
+		 * @param row The row index.
+		 * @return The value.
+		 */
+		abstract Object get(int row);
+
+		/**
+		 * Set (non null) value at given row.
+		 *
+		 * @param row The row index.
+		 * @param value The value.
+		 * @return {@code true} if value has been stored, {@code false} if value type is not supported.
+		 */
+		abstract boolean set(int row, Object value);
+
+		/**
+		 * Release memory that is only needed while values are set.
+		 *
+		 * @return The values.
+		 */
+		ColumnValues compact() {
+			return this;
+		}
+	}
+
+	/**
+	 * Column without any value yet: storage is selected with the first value.
+	 */
+	private static final class EmptyValues extends ColumnValues {
+		private final int size;
+		private ColumnValues delegate;
+
+		private EmptyValues(int size) {
+			this.size = size;
+		}
+
+		@Override
+		Object get(int row) {
+			return delegate == null ? null : delegate.get(row);
+		}
+
+		@Override
+		boolean set(int row, Object value) {
+			if (delegate == null) {
+				delegate = create(value, size);
+			}
+
+			return delegate.set(row, value);
+		}
+
+		@Override
+		ColumnValues compact() {
+			return delegate == null ? this : delegate.compact();
+		}
+
+		private static ColumnValues create(Object value, int size) {
+			if (value instanceof Integer) {
+				return new IntValues(size);
+			}
+
+			if (value instanceof Long) {
+				return new LongValues(size);
+			}
+
+			if (value instanceof Double) {
+				return new DoubleValues(size);
+			}
+
+			if (value instanceof Boolean) {
+				return new BooleanValues(size);
+			}
+
+			if (value instanceof String) {
+				return new StringValues(size);
+			}
+
+			return new ObjectValues(size);
+		}
+	}
+
+	private static final class IntValues extends ColumnValues {
+		private final int[] values;
+		private final BitSet present;
+
+		private IntValues(int size) {
+			this.values = new int[size];
+			this.present = new BitSet(size);
+		}
+
+		@Override
+		Object get(int row) {
+			return present.get(row) ? values[row] : null;
+		}
+
+		@Override
+		boolean set(int row, Object value) {
+			if (value instanceof Integer) {
+				values[row] = (Integer) value;
+				present.set(row);
+				return true;
+			}
+
+			return false;
+		}
+	}
+
+	private static final class LongValues extends ColumnValues {
+		private final long[] values;
+		private final BitSet present;
+
+		private LongValues(int size) {
+			this.values = new long[size];
+			this.present = new BitSet(size);
+		}
+
+		@Override
+		Object get(int row) {
+			return present.get(row) ? values[row] : null;
+		}
+
+		@Override
+		boolean set(int row, Object value) {
+			if (value instanceof Long) {
+				values[row] = (Long) value;
+				present.set(row);
+				return true;
+			}
+
+			return false;
+		}
+	}
+
+	private static final class DoubleValues extends ColumnValues {
+		private final double[] values;
+		private final BitSet present;
+
+		private DoubleValues(int size) {
+			this.values = new double[size];
+			this.present = new BitSet(size);
+		}
+
+		@Override
+		Object get(int row) {
+			return present.get(row) ? values[row] : null;
+		}
+
+		@Override
+		boolean set(int row, Object value) {
+			if (value instanceof Double) {
+				values[row] = (Double) value;
+				present.set(row);
+				return true;
+			}
+
+			return false;
+		}
+	}
+
+	private static final class BooleanValues extends ColumnValues {
+		private final BitSet values;
+		private final BitSet present;
+
+		private BooleanValues(int size) {
+			this.values = new BitSet(size);
+			this.present = new BitSet(size);
+		}
+
+		@Override
+		Object get(int row) {
+			return present.get(row) ? values.get(row) : null;
+		}
+
+		@Override
+		boolean set(int row, Object value) {
+			if (value instanceof Boolean) {
+				values.set(row, (Boolean) value);
+				present.set(row);
+				return true;
+			}
+
+			return false;
+		}
+	}
+
+	/**
+	 * Dictionary-encoded strings: code {@code 0} is used for {@code null} values.
+	 */
+	private static final class StringValues extends ColumnValues {
+		private final int[] codes;
+		private final ArrayList<String> dictionary;
+		private Map<String, Integer> lookup;
+
+		private StringValues(int size) {
+			this.codes = new int[size];
+			this.dictionary = new ArrayList<>();
+			this.dictionary.add(null);
+			this.lookup = new HashMap<>();
+		}
+
+		@Override
+		Object get(int row) {
+			return dictionary.get(codes[row]);
+		}
+
+		@Override
+		boolean set(int row, Object value) {
+			if (!(value instanceof String)) {
+				return false;
+			}
+
+			String str = (String) value;
+			Integer code = lookup.get(str);
+			if (code == null) {
+				code = dictionary.size();
+				dictionary.add(str);
+				lookup.put(str, code);
+			}
+
+			codes[row] = code;
+			return true;
+		}
+
+		@Override
+		ColumnValues compact() {
+			lookup = null;
+			dictionary.trimToSize();
+			return this;
+		}
+	}
+
+	private static final class ObjectValues extends ColumnValues {
+		private final Object[] values;
+
+		private ObjectValues(int size) {
+			this.values = new Object[size];
+		}
+
+		@Override
+		Object get(int row) {
+			return values[row];
+		}
+
+		@Override
+		boolean set(int row, Object value) {
+			values[row] = value;
+			return true;
+		}
+	}
+}
@@ -0,0 +1,508 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015-2021 Mickael Jeanroy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.mjeanroy.dbunit.core.dataset;
+
+import com.github.mjeanroy.dbunit.core.resources.Resource;
+import com.github.mjeanroy.dbunit.loggers.Logger;
+import com.github.mjeanroy.dbunit.loggers.Loggers;
+import org.dbunit.dataset.Column;
+import org.dbunit.dataset.DataSetException;
+import org.dbunit.dataset.DefaultTableMetaData;
+import org.dbunit.dataset.datatype.DataType;
+import org.dbunit.dataset.stream.DefaultConsumer;
+import org.dbunit.dataset.stream.IDataSetConsumer;
+import org.dbunit.dataset.stream.IDataSetProducer;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.github.mjeanroy.dbunit.commons.lang.PreConditions.notNull;
+
+/**
+ * Implementation of {@link IDataSetProducer} reading a single CSV resource, containing one table.
+ *
+ * <p>
+ *
+ * The table name is the name of the resource, without the {@code .csv} extension, and columns are
+ * read from the first line. The delimiter (a comma, a semicolon or a tab) is detected in the first line.
+ * Values can be enclosed with double quotes (a double quote inside a quoted value is escaped
+ * with another double quote), and the unquoted {@code null} value is read as {@code null}, as
+ * {@link org.dbunit.dataset.csv.CsvDataSet} does.
+ *
+ * <p>
+ *
+ * Resource bytes are read and decoded in large buffers, using a {@link FileChannel} for files
+ * and an input stream for other resources (such as a resource in a JAR file), and rows are sent to the
+ * consumer as soon as they are read: memory consumption does not depend on the number of rows.
+ */
+public class CsvDataSetProducer implements IDataSetProducer {
+
+	/**
+	 * Class Logger.
+	 */
+	private static final Logger log = Loggers.getLogger(CsvDataSetProducer.class);
+
+	/**
+	 * The CSV extension.
+	 */
+	private static final String EXTENSION = ".csv";
+
+	/**
+	 * The value read as {@code null}.
+	 */
+	private static final String NULL = "null";
+
+	/**
+	 * Size of the byte and char buffers.
+	 */
+	private static final int BUFFER_SIZE = 64 * 1024;
+
+	/**
+	 * The input resource.
+	 */
+	private final Resource resource;
+
+	/**
+	 * The consumer, receiving dataset events.
+	 */
+	private IDataSetConsumer consumer;
+
+	/**
+	 * Create producer.
+	 *
+	 * @param resource The input resource.
+	 * @throws NullPointerException If {@code resource} is {@code null}.
+	 */
+	public CsvDataSetProducer(Resource resource) {
+		this.resource = notNull(resource, "Resource must not be null");
+		this.consumer = new DefaultConsumer();
+	}
+
+	@Override
+	public void setConsumer(IDataSetConsumer consumer) {
+		this.consumer = notNull(consumer, "Consumer must not be null");
+	}
+
+	@Override
+	public void produce() throws DataSetException {
+		log.debug("Producing dataset from: {}", resource);
+
+		try (CsvReader reader = new CsvReader(openChannel(resource))) {
+			List<Object> fields = new ArrayList<>();
+			if (!reader.readRecord(fields)) {
+				throw new DataSetException("CSV resource " + resource + " must start with a header line");
+			}
+
+			Column[] columns = new Column[fields.size()];
+			for (int i = 0; i < columns.length; i++) {
+				Object columnName = fields.get(i);
+				if (columnName == null || columnName.toString().trim().isEmpty()) {
+					throw new DataSetException("Column #" + (i + 1) + " of CSV resource " + resource + " must have a name");
+				}
+
+				columns[i] = new Column(columnName.toString().trim(), DataType.UNKNOWN);
+			}
+
+			String tableName = tableName(resource);
+			log.trace("Reading table {}, found columns: {}", tableName, fields);
+
+			consumer.startDataSet();
+			consumer.startTable(new DefaultTableMetaData(tableName, columns));
+
+			while (reader.readRecord(fields)) {
+				// Skip blank lines.
+				if (fields.size() == 1 && columns.length > 1 && "".equals(fields.get(0))) {
+					continue;
+				}
+
+				if (fields.size() > columns.length) {
+					throw new DataSetException(
+						"Line " + reader.getLine() + " of CSV resource " + resource + " has " + fields.size() + " values, expected " + columns.length
+					);
+				}
+
+				// Missing trailing values are read as null.
+				consumer.row(fields.toArray(new Object[columns.length]));
+			}
+
+			consumer.endTable();
+			consumer.endDataSet();
+		}
+		catch (IOException ex) {
+			log.error(ex.getMessage(), ex);
+			throw new DataSetException(ex);
+		}
+	}
+
+	/**
+	 * Gets {@link #resource}.
+	 *
+	 * @return {@link #resource}.
+	 */
+	public Resource getResource() {
+		return resource;
+	}
+
+	/**
+	 * Get the table name of given CSV resource.
+	 *
+	 * @param resource The resource.
+	 * @return The table name.
+	 */
+	static String tableName(Resource resource) {
+		String fileName = resource.getFilename();
+		return fileName.toLowerCase().endsWith(EXTENSION) ? fileName.substring(0, fileName.length() - EXTENSION.length()) : fileName;
+	}
+
+	/**
+	 * Open given resource: resources on the file system are read with a {@link FileChannel}.
+	 *
+	 * @param resource The resource.
+	 * @return The channel.
+	 * @throws IOException If the resource cannot be opened.
+	 */
+	private static ReadableByteChannel openChannel(Resource resource) throws IOException {
+		File file = toFile(resource);
+		return file == null ? Channels.newChannel(resource.openStream()) : FileChannel.open(file.toPath(), StandardOpenOption.READ);
+	}
+
+	private static File toFile(Resource resource) {
+		if (!resource.exists()) {
+			return null;
+		}
+
+		try {
+			return resource.toFile();
+		}
+		catch (RuntimeException ex) {
+			log.trace("Resource {} does not reside in the file system", resource);
+			return null;
+		}
+	}
+
+	/**
+	 * CSV tokenizer, decoding UTF-8 bytes in large buffers: unquoted values are sliced from the decoded
+	 * chars, instead of being copied char by char.
+	 */
+	private static final class CsvReader implements AutoCloseable {
+
+		/**
+		 * Candidate delimiters, used until the delimiter is detected.
+		 */
+		private static final String DELIMITERS = ",;\t";
+
+		/**
+		 * The input channel.
+		 */
+		private final ReadableByteChannel channel;
+
+		/**
+		 * The UTF-8 decoder.
+		 */
+		private final CharsetDecoder decoder;
+
+		/**
+		 * Bytes read from the channel, not yet decoded.
+		 *
+		 * Note that {@code flip}, {@code clear} and {@code position} are called on {@link Buffer}: these methods are
+		 * overridden (with a covariant return type) since Java 9, and would not be found on Java 8 otherwise.
+		 */
+		private final ByteBuffer bytes;
+
+		/**
+		 * Decoded chars.
+		 */
+		private final CharBuffer chars;
+
+		/**
+		 * The current value, used only when a value cannot be sliced from {@link #chars} (i.e values spanning
+		 * several chunks of input, or quoted values).
+		 */
+		private final StringBuilder value;
+
+		/**
+		 * The delimiter, {@code -1} until it is detected.
+		 */
+		private int delimiter;
+
+		/**
+		 * Flag set when the channel has been fully read.
+		 */
+		private boolean endOfInput;
+
+		/**
+		 * Flag set when all bytes have been decoded.
+		 */
+		private boolean decoded;
+
+		/**
+		 * Current line number (starting at 1).
+		 */
+		private int line;
+
+		private CsvReader(ReadableByteChannel channel) {
+			this.channel = channel;
+			this.decoder = StandardCharsets.UTF_8.newDecoder();
+			this.bytes = ByteBuffer.allocate(BUFFER_SIZE);
+			this.chars = CharBuffer.allocate(BUFFER_SIZE);
+			this.value = new StringBuilder();
+			this.delimiter = -1;
+			this.line = 0;
+
+			// Buffer starts empty.
+			((Buffer) this.chars).flip();
+		}
+
+		/**
+		 * Read the next record.
+		 *
+		 * @param fields The list filled with record values.
+		 * @return {@code true} if a record has been read, {@code false} at the end of the input.
+		 * @throws IOException If the input cannot be read, or if it is malformed.
+		 */
+		private boolean readRecord(List<Object> fields) throws IOException {
+			fields.clear();
+			line++;
+
+			// Skip the UTF-8 byte order mark.
+			if (line == 1 && peek() == '\uFEFF') {
+				read();
+			}
+
+			if (peek() < 0) {
+				return false;
+			}
+
+			int terminator;
+			do {
+				terminator = readField(fields);
+			}
+			while (terminator > 0 && terminator != '\n');
+
+			return true;
+		}
+
+		/**
+		 * Read the next field of current record, and the character following this field.
+		 *
+		 * @param fields The list filled with record values.
+		 * @return The delimiter, {@code '\n'} at the end of the record, or {@code -1} at the end of the input.
+		 * @throws IOException If the input cannot be read, or if it is malformed.
+		 */
+		private int readField(List<Object> fields) throws IOException {
+			value.setLength(0);
+
+			if (peek() != '"') {
+				return readValue(fields, false);
+			}
+
+			read();
+
+			// Read until the closing quote, a double quote inside the value being escaped with another double quote.
+			while (true) {
+				char[] buf = chars.array();
+				int start = chars.position();
+				int limit = chars.limit();
+				int i = start;
+				while (i < limit && buf[i] != '"') {
+					i++;
+				}
+
+				value.append(buf, start, i - start);
+				((Buffer) chars).position(i);
+
+				if (i == limit) {
+					if (!fill()) {
+						throw new IOException("Unterminated quoted value at line " + line);
+					}
+				}
+				else {
+					read();
+					if (peek() != '"') {
+						break;
+					}
+
+					read();
+					value.append('"');
+				}
+			}
+
+			// Characters following the closing quote are part of the value.
+			return readValue(fields, true);
+		}
+
+		/**
+		 * Read the (remaining) unquoted characters of current field: the value is sliced from the decoded
+		 * chars, unless it spans several chunks of input, or follows a quoted value.
+		 *
+		 * @param fields The list filled with record values.
+		 * @param quoted Flag set if the value started with a quoted value.
+		 * @return The delimiter, {@code '\n'} at the end of the record, or {@code -1} at the end of the input.
+		 * @throws IOException If the input cannot be read.
+		 */
+		private int readValue(List<Object> fields, boolean quoted) throws IOException {
+			while (true) {
+				char[] buf = chars.array();
+				int start = chars.position();
+				int limit = chars.limit();
+				int i = start;
+				while (i < limit && !isSeparator(buf[i])) {
+					i++;
+				}
+
+				((Buffer) chars).position(i);
+
+				if (i < limit) {
+					String str = value.length() == 0 ? new String(buf, start, i - start) : value.append(buf, start, i - start).toString();
+					fields.add(value(str, quoted));
+					return readSeparator();
+				}
+
+				value.append(buf, start, i - start);
+				if (!fill()) {
+					fields.add(value(value.toString(), quoted));
+					return -1;
+				}
+			}
+		}
+
+		/**
+		 * Read the delimiter or the line separator following a value.
+		 *
+		 * @return The delimiter, or {@code '\n'} at the end of the record.
+		 * @throws IOException If the input cannot be read.
+		 */
+		private int readSeparator() throws IOException {
+			int c = read();
+			if (c != '\n' && c != '\r') {
+				return c;
+			}
+
+			if (c == '\r' && peek() == '\n') {
+				read();
+			}
+
+			if (delimiter < 0) {
+				delimiter = ',';
+			}
+
+			return '\n';
+		}
+
+		/**
+		 * Get the current line number.
+		 *
+		 * @return The line number.
+		 */
+		private int getLine() {
+			return line;
+		}
+
+		private static Object value(String str, boolean quoted) {
+			return !quoted && NULL.equals(str) ? null : str;
+		}
+
+		private boolean isSeparator(char c) {
+			return c == '\n' || c == '\r' || isDelimiter(c);
+		}
+
+		private boolean isDelimiter(int c) {
+			if (delimiter >= 0) {
+				return c == delimiter;
+			}
+
+			if (DELIMITERS.indexOf(c) >= 0) {
+				delimiter = c;
+				return true;
+			}
+
+			return false;
+		}
+
+		private int read() throws IOException {
+			if (!chars.hasRemaining() && !fill()) {
+				return -1;
+			}
+
+			return chars.get();
+		}
+
+		private int peek() throws IOException {
+			if (!chars.hasRemaining() && !fill()) {
+				return -1;
+			}
+
+			return chars.get(chars.position());
+		}
+
+		/**
+		 * Read and decode the next chunk of input.
+		 *
+		 * @return {@code true} if chars are available, {@code false} at the end of the input.
+		 * @throws IOException If the input cannot be read, or cannot be decoded.
+		 */
+		private boolean fill() throws IOException {
+			((Buffer) chars).clear();
+
+			while (chars.position() == 0 && !decoded) {
+				if (!endOfInput && channel.read(bytes) < 0) {
+					endOfInput = true;
+				}
+
+				((Buffer) bytes).flip();
+				CoderResult result = decoder.decode(bytes, chars, endOfInput);
+				bytes.compact();
+
+				if (result.isError()) {
+					result.throwException();
+				}
+
+				if (endOfInput && result.isUnderflow()) {
+					decoder.flush(chars);
+					decoded = true;
+				}
+			}
+
+			((Buffer) chars).flip();
+			return chars.hasRemaining();
+		}
+
+		@Override
+		public void close() throws IOException {
+			channel.close();
+		}
+	}
+}
@@ -0,0 +1,236 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015-2021 Mickael Jeanroy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.mjeanroy.dbunit.core.dataset;
+
+import com.github.mjeanroy.dbunit.cache.Cache;
+import com.github.mjeanroy.dbunit.cache.CacheFactory;
+import com.github.mjeanroy.dbunit.cache.CacheLoader;
+import com.github.mjeanroy.dbunit.commons.lang.ToStringBuilder;
+import com.github.mjeanroy.dbunit.core.resources.Resource;
+import com.github.mjeanroy.dbunit.loggers.Logger;
+import com.github.mjeanroy.dbunit.loggers.Loggers;
+import org.dbunit.dataset.DataSetException;
+import org.dbunit.dataset.IDataSet;
+
+import java.io.File;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Cache of parsed datasets, shared in the JVM, so that each dataset file is parsed once.
+ *
+ * <br>
+ *
+ * Cache entries are identified by the resource, the dataset type, and the resource version:
+ * <ul>
+ *   <li>For resources stored on the file system, the last modified date and the size of the file.</li>
+ *   <li>Other resources (in a JAR, or an URL) are not expected to be updated during the JVM lifetime.</li>
+ * </ul>
+ *
+ * So a dataset file updated during the JVM lifetime is parsed again, and replaces the previous entry: the cache
+ * holds at most one dataset per resource. A dataset that cannot be parsed is not cached.
+ */
+final class DataSetCache {
+
+	/**
+	 * Class Logger.
+	 */
+	private static final Logger log = Loggers.getLogger(DataSetCache.class);
+
+	/**
+	 * The cache instance.
+	 */
+	private static final Cache<DataSetKey, IDataSet> CACHE = CacheFactory.newCache(DataSetLoader.INSTANCE);
+
+	/**
+	 * The current key (i.e with the resource version) of each cached dataset, indexed by the key without version.
+	 */
+	private static final ConcurrentMap<DataSetKey, DataSetKey> VERSIONS = new ConcurrentHashMap<>();
+
+	// Ensure non instantiation.
+	private DataSetCache() {
+	}
+
+	/**
+	 * Get the dataset of given resource, parse it if it is not available in the cache.
+	 *
+	 * @param resource The resource.
+	 * @param type The dataset type.
+	 * @return The dataset.
+	 * @throws DataSetException If the dataset cannot be created.
+	 */
+	static IDataSet load(Resource resource, DataSetType type) throws DataSetException {
+		final DataSetKey key = new DataSetKey(resource, type, version(resource, type));
+		final DataSetKey previous = VERSIONS.put(new DataSetKey(resource, type, null), key);
+		if (previous != null && !previous.equals(key)) {
+			log.debug("Dataset {} has been updated, remove previous version from the cache", resource);
+			CACHE.remove(previous);
+		}
+
+		try {
+			return CACHE.load(key);
+		}
+		catch (RuntimeException ex) {
+			Throwable cause = ex;
+			while (cause != null) {
+				if (cause instanceof DataSetException) {
+					throw (DataSetException) cause;
+				}
+
+				cause = cause.getCause();
+			}
+
+			throw ex;
+		}
+	}
+
+	/**
+	 * Clear the cache.
+	 */
+	static void clear() {
+		VERSIONS.clear();
+		CACHE.clear();
+	}
+
+	/**
+	 * Get the number of cached datasets.
+	 *
+	 * @return The cache size.
+	 */
+	static long size() {
+		return CACHE.size();
+	}
+
+	/**
+	 * Compute the version of given resource, {@code null} if the resource does not reside in the file system.
+	 *
+	 * @param resource The resource.
+	 * @param type The dataset type.
+	 * @return The resource version.
+	 */
+	private static String version(Resource resource, DataSetType type) {
+		final File file = toFile(resource);
+		if (file == null) {
+			return null;
+		}
+
+		// CSV dataset is created from all the files in the parent directory.
+		if (type == DataSetType.CSV) {
+			final StringBuilder sb = new StringBuilder();
+			final File[] files = file.getParentFile().listFiles();
+			if (files != null) {
+				for (File f : files) {
+					sb.append(version(f)).append(";");
+				}
+			}
+
+			return sb.toString();
+		}
+
+		return version(file);
+	}
+
+	private static String version(File file) {
+		return file.getName() + ":" + file.lastModified() + ":" + file.length();
+	}
+
+	private static File toFile(Resource resource) {
+		try {
+			return resource.toFile();
+		}
+		catch (RuntimeException ex) {
+			log.trace("Resource {} does not reside in the file system", resource);
+			return null;
+		}
+	}
+
+	/**
+	 * The cache loader, parsing datasets.
+	 */
+	private static final class DataSetLoader implements CacheLoader<DataSetKey, IDataSet> {
+
+		/**
+		 * The singleton instance.
+		 */
+		private static final DataSetLoader INSTANCE = new DataSetLoader();
+
+		@Override
+		public IDataSet load(DataSetKey key) throws Exception {
+			log.debug("Parsing dataset: {}", key.resource);
+			IDataSet dataSet = key.type.create(key.resource);
+
+			// Initialize internal (lazy) state before sharing the dataset.
+			dataSet.getTableNames();
+
+			return dataSet;
+		}
+	}
+
+	/**
+	 * The cache key.
+	 */
+	private static final class DataSetKey {
+		private final Resource resource;
+		private final DataSetType type;
+		private final String version;
+
+		private DataSetKey(Resource resource, DataSetType type, String version) {
+			this.resource = resource;
+			this.type = type;
+			this.version = version;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (o == this) {
+				return true;
+			}
+
+			if (o instanceof DataSetKey) {
+				DataSetKey k = (DataSetKey) o;
+				return Objects.equals(resource, k.resource)
+					&& Objects.equals(type, k.type)
+					&& Objects.equals(version, k.version);
+			}
+
+			return false;
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(resource, type, version);
+		}
+
+		@Override
+		public String toString() {
+			return ToStringBuilder.create(getClass())
+				.append("resource", resource)
+				.append("type", type)
+				.append("version", version)
+				.build();
+		}
+	}
+}
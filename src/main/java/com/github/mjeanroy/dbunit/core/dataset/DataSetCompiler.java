@@ -0,0 +1,378 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015-2021 Mickael Jeanroy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.mjeanroy.dbunit.core.dataset;
+
+import com.github.mjeanroy.dbunit.core.resources.Resource;
+import com.github.mjeanroy.dbunit.core.resources.ResourceLoader;
+import com.github.mjeanroy.dbunit.loggers.Logger;
+import com.github.mjeanroy.dbunit.loggers.Loggers;
+import org.dbunit.dataset.DataSetException;
+import org.dbunit.dataset.IDataSet;
+import org.dbunit.dataset.csv.CsvDataSet;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.github.mjeanroy.dbunit.commons.lang.PreConditions.notNull;
+
+/**
+ * Compile text datasets (JSON, YAML, XML and CSV) to binary datasets (see {@link BinaryDataSet}), that
+ * are much faster to load.
+ *
+ * <p>
+ *
+ * Each dataset file of the input directory (and its sub-directories) is compiled to a file with the same
+ * relative path, suffixed by {@code .dbunit} (for example, {@code dataset/users.json} is compiled to
+ * {@code dataset/users.json.dbunit}). Only dataset inputs are compiled: XML files must be FlatXML datasets
+ * (i.e with a {@code dataset} root element) and JSON or YAML files must not be Liquibase changelogs. Other
+ * files (such as logging configuration files or Liquibase changelogs) are skipped with a warning.
+ *
+ * <p>
+ *
+ * A compiled file is used instead of its source, by {@link DataSetFactory} and {@link DirectoryDataSet},
+ * unless the source has been modified after the compiled file.
+ *
+ * <p>
+ *
+ * As with {@link DataSetFactory}, a CSV dataset is a directory containing a {@code table-ordering.txt} file
+ * (see {@link CsvDataSet}): such a directory is compiled to a single file (for example, {@code dataset/csv}
+ * is compiled to {@code dataset/csv.dbunit}), and CSV files are never compiled one by one.
+ *
+ * <p>
+ *
+ * The compiler can be executed during the build, for example with the {@code exec-maven-plugin}:
+ *
+ * <pre><code>
+ *   &lt;plugin&gt;
+ *     &lt;groupId&gt;org.codehaus.mojo&lt;/groupId&gt;
+ *     &lt;artifactId&gt;exec-maven-plugin&lt;/artifactId&gt;
+ *     &lt;executions&gt;
+ *       &lt;execution&gt;
+ *         &lt;phase&gt;process-test-resources&lt;/phase&gt;
+ *         &lt;goals&gt;
+ *           &lt;goal&gt;java&lt;/goal&gt;
+ *         &lt;/goals&gt;
+ *         &lt;configuration&gt;
+ *           &lt;mainClass&gt;com.github.mjeanroy.dbunit.core.dataset.DataSetCompiler&lt;/mainClass&gt;
+ *           &lt;classpathScope&gt;test&lt;/classpathScope&gt;
+ *           &lt;arguments&gt;
+ *             &lt;argument&gt;${project.basedir}/src/test/resources&lt;/argument&gt;
+ *             &lt;argument&gt;${project.build.testOutputDirectory}&lt;/argument&gt;
+ *           &lt;/arguments&gt;
+ *         &lt;/configuration&gt;
+ *       &lt;/execution&gt;
+ *     &lt;/executions&gt;
+ *   &lt;/plugin&gt;
+ * </code></pre>
+ */
+public final class DataSetCompiler {
+
+	/**
+	 * Class Logger.
+	 */
+	private static final Logger log = Loggers.getLogger(DataSetCompiler.class);
+
+	/**
+	 * The file defining a CSV dataset directory.
+	 */
+	private static final String CSV_TABLE_ORDERING = "table-ordering.txt";
+
+	/**
+	 * The root element of FlatXML datasets.
+	 */
+	private static final String FLAT_XML_ROOT = "dataset";
+
+	/**
+	 * The root element (or key) of Liquibase changelogs.
+	 */
+	private static final String LIQUIBASE_CHANGELOG = "databaseChangeLog";
+
+	// Ensure non instantiation.
+	private DataSetCompiler() {
+	}
+
+	/**
+	 * Compile datasets: first argument is the input directory, second argument is the output directory.
+	 *
+	 * @param args Arguments.
+	 * @throws Exception If a dataset cannot be compiled.
+	 */
+	public static void main(String[] args) throws Exception {
+		if (args.length != 2) {
+			throw new IllegalArgumentException("Usage: DataSetCompiler <input directory> <output directory>");
+		}
+
+		List<File> outputs = compileDirectory(new File(args[0]), new File(args[1]));
+		log.info("Compiled {} dataset(s)", outputs.size());
+	}
+
+	/**
+	 * Compile all datasets found in given input directory (and its sub-directories).
+	 *
+	 * @param input The input directory.
+	 * @param output The output directory.
+	 * @return The compiled files.
+	 * @throws DataSetException If a dataset cannot be read.
+	 * @throws IOException If a compiled file cannot be written.
+	 */
+	public static List<File> compileDirectory(File input, File output) throws DataSetException, IOException {
+		notNull(input, "Input directory must not be null");
+		notNull(output, "Output directory must not be null");
+
+		if (!input.isDirectory()) {
+			throw new IllegalArgumentException("Input " + input + " is not a directory");
+		}
+
+		List<File> outputs = new ArrayList<>();
+		compileDirectory(input, output, outputs);
+		return outputs;
+	}
+
+	private static void compileDirectory(File input, File output, List<File> outputs) throws DataSetException, IOException {
+		File[] files = input.listFiles();
+		if (files == null) {
+			return;
+		}
+
+		for (File file : files) {
+			File target = new File(output, file.getName() + BinaryDataSetFormat.EXTENSION);
+			if (file.isDirectory()) {
+				if (new File(file, CSV_TABLE_ORDERING).isFile()) {
+					compile(new CsvDataSet(file), target);
+					outputs.add(target);
+				}
+
+				compileDirectory(file, new File(output, file.getName()), outputs);
+			}
+			else if (isTextDataSet(file) && tryCompile(file, target)) {
+				outputs.add(target);
+			}
+		}
+	}
+
+	/**
+	 * Compile given file found while scanning a directory: files that cannot be read as a dataset (for example,
+	 * an XML configuration file next to XML datasets) and Liquibase changelogs are skipped.
+	 *
+	 * @param input The file.
+	 * @param output The compiled file.
+	 * @return {@code true} if the file has been compiled, {@code false} if it has been skipped.
+	 * @throws IOException If the compiled file cannot be written.
+	 */
+	private static boolean tryCompile(File input, File output) throws IOException {
+		try {
+			DataSetType type = typeOf(input);
+			if (type == DataSetType.XML && !FLAT_XML_ROOT.equals(rootElement(input))) {
+				log.warn("Skipping {}, file is not a FlatXML dataset", input);
+				return false;
+			}
+
+			IDataSet dataSet = type.create(ResourceLoader.FILE_SYSTEM.load(input.getAbsolutePath()));
+			if (isChangeLog(dataSet)) {
+				log.warn("Skipping {}, file is a Liquibase changelog", input);
+				return false;
+			}
+
+			compile(dataSet, output);
+			return true;
+		}
+		catch (DataSetException | XMLStreamException | RuntimeException ex) {
+			log.warn("Skipping {}, file cannot be read as a dataset: {}", input, ex.getMessage());
+			Files.deleteIfExists(output.toPath());
+			return false;
+		}
+	}
+
+	/**
+	 * Check if given dataset has been read from a Liquibase changelog, written in JSON or YAML
+	 * (i.e contains a {@code databaseChangeLog} table).
+	 *
+	 * @param dataSet The dataset.
+	 * @return {@code true} if the dataset is a Liquibase changelog, {@code false} otherwise.
+	 * @throws DataSetException If the dataset cannot be read.
+	 */
+	private static boolean isChangeLog(IDataSet dataSet) throws DataSetException {
+		for (String tableName : dataSet.getTableNames()) {
+			if (LIQUIBASE_CHANGELOG.equalsIgnoreCase(tableName)) {
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	/**
+	 * Read the name of the root element of given XML file.
+	 *
+	 * @param file The XML file.
+	 * @return The name of the root element, {@code null} if the file does not have any element.
+	 * @throws XMLStreamException If the XML file is malformed.
+	 * @throws IOException If the file cannot be read.
+	 */
+	private static String rootElement(File file) throws XMLStreamException, IOException {
+		XMLInputFactory factory = XMLInputFactory.newInstance();
+		factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+		factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+
+		try (InputStream stream = new FileInputStream(file)) {
+			XMLStreamReader reader = factory.createXMLStreamReader(stream);
+			try {
+				while (reader.hasNext()) {
+					if (reader.next() == XMLStreamConstants.START_ELEMENT) {
+						return reader.getLocalName();
+					}
+				}
+
+				return null;
+			}
+			finally {
+				reader.close();
+			}
+		}
+	}
+
+	/**
+	 * Compile given dataset file (JSON, YAML or XML).
+	 *
+	 * @param input The dataset file.
+	 * @param output The compiled file.
+	 * @throws DataSetException If the dataset cannot be read.
+	 * @throws IOException If the compiled file cannot be written.
+	 */
+	public static void compile(File input, File output) throws DataSetException, IOException {
+		notNull(input, "Input file must not be null");
+
+		Resource resource = ResourceLoader.FILE_SYSTEM.load(input.getAbsolutePath());
+		compile(typeOf(input).create(resource), output);
+	}
+
+	/**
+	 * Compile given dataset.
+	 *
+	 * @param dataSet The dataset.
+	 * @param output The compiled file.
+	 * @throws DataSetException If the dataset cannot be read.
+	 * @throws IOException If the compiled file cannot be written.
+	 */
+	public static void compile(IDataSet dataSet, File output) throws DataSetException, IOException {
+		notNull(output, "Output file must not be null");
+
+		log.debug("Compiling dataset to: {}", output);
+
+		File parent = output.getAbsoluteFile().getParentFile();
+		if (!parent.isDirectory() && !parent.mkdirs()) {
+			throw new IOException("Cannot create directory " + parent);
+		}
+
+		try (OutputStream out = new BufferedOutputStream(new FileOutputStream(output))) {
+			BinaryDataSetWriter.write(dataSet, out);
+		}
+	}
+
+	/**
+	 * Find the compiled file of given dataset file, if it exists and is up to date (see {@link #isUpToDate(Resource, Resource)}).
+	 *
+	 * @param source The dataset file.
+	 * @return The compiled file, {@code null} if the dataset has not been compiled, or if the dataset does not
+	 *         reside in the file system.
+	 */
+	static Resource findCompiled(Resource source) {
+		File sourceFile = toFile(source);
+		if (sourceFile == null) {
+			return null;
+		}
+
+		File compiledFile = new File(sourceFile.getPath() + BinaryDataSetFormat.EXTENSION);
+		if (!compiledFile.isFile()) {
+			return null;
+		}
+
+		Resource compiled = ResourceLoader.FILE_SYSTEM.load(compiledFile.getAbsolutePath());
+		if (!isUpToDate(compiled, source)) {
+			log.warn("Compiled dataset {} is older than {}, source file is used", compiled, source);
+			return null;
+		}
+
+		return compiled;
+	}
+
+	/**
+	 * Check if given compiled file is up to date, i.e has not been modified before its source file. If
+	 * the modification dates cannot be read (for example, resources inside a JAR file, built together),
+	 * the compiled file is assumed to be up to date.
+	 *
+	 * @param compiled The compiled file.
+	 * @param source The source file.
+	 * @return {@code true} if the compiled file is up to date, {@code false} otherwise.
+	 */
+	static boolean isUpToDate(Resource compiled, Resource source) {
+		File compiledFile = toFile(compiled);
+		File sourceFile = toFile(source);
+		return compiledFile == null || sourceFile == null || compiledFile.lastModified() >= sourceFile.lastModified();
+	}
+
+	private static File toFile(Resource resource) {
+		try {
+			return resource.toFile();
+		}
+		catch (RuntimeException ex) {
+			log.trace("Resource {} does not reside in the file system", resource);
+			return null;
+		}
+	}
+
+	private static boolean isTextDataSet(File file) {
+		String name = file.getName().toLowerCase();
+		return name.endsWith(".json") || name.endsWith(".yml") || name.endsWith(".yaml") || name.endsWith(".xml");
+	}
+
+	private static DataSetType typeOf(File file) throws DataSetException {
+		String name = file.getName().toLowerCase();
+		if (name.endsWith(".json")) {
+			return DataSetType.JSON;
+		}
+
+		if (name.endsWith(".yml") || name.endsWith(".yaml")) {
+			return DataSetType.YAML;
+		}
+
+		if (name.endsWith(".xml")) {
+			return DataSetType.XML;
+		}
+
+		throw new DataSetException("Cannot compile dataset " + file + ", only JSON, YAML and XML files are supported");
+	}
+}
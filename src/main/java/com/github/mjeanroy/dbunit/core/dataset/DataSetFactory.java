@@ -28,13 +28,14 @@ import com.github.mjeanroy.dbunit.core.resources.Resource;
 import com.github.mjeanroy.dbunit.core.resources.ResourceLoader;
 import com.github.mjeanroy.dbunit.loggers.Logger;
 import com.github.mjeanroy.dbunit.loggers.Loggers;
-import org.dbunit.dataset.CompositeDataSet;
 import org.dbunit.dataset.DataSetException;
 import org.dbunit.dataset.IDataSet;
 import org.dbunit.dataset.csv.CsvDataSet;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.List;
 
 import static com.github.mjeanroy.dbunit.commons.lang.PreConditions.notNull;
 
@@ -54,21 +55,80 @@ public final class DataSetFactory {
 
 	/**
 	 * Create data set from collection of file path.
+	 * Files are parsed in parallel, tables are returned in the order of given paths.
 	 *
 	 * @param paths List of file paths.
 	 * @return Instance of {@link IDataSet}.
 	 * @throws DataSetException If data set cannot be created.
 	 */
 	public static IDataSet createDataSet(String[] paths) throws DataSetException {
+		List<Resource> resources = new ArrayList<>(paths.length);
+		for (String path : paths) {
+			resources.add(loadResource(path));
+		}
+
+		return createDataSet(ParallelDataSetLoader.load(resources));
+	}
+
+	/**
+	 * Create data set from collection of file path, streaming rows of JSON, YAML, XML and NDJSON files
+	 * instead of loading them in memory (see {@link JsonDataSetProducer}, {@link YamlDataSetProducer},
+	 * {@link StreamingFlatXmlDataSet} and {@link NdjsonDataSetProducer}).
+	 *
+	 * <br>
+	 *
+	 * Note that the returned dataset can only be iterated in forward order: it can be used with
+	 * operations such as {@code CLEAN_INSERT}, {@code INSERT}, {@code REFRESH} or {@code DELETE_ALL}.
+	 *
+	 * @param paths List of file paths.
+	 * @return Instance of {@link IDataSet}.
+	 * @throws DataSetException If data set cannot be created.
+	 */
+	public static IDataSet createStreamingDataSet(String[] paths) throws DataSetException {
 		IDataSet[] dataSets = new IDataSet[paths.length];
 		int i = 0;
 		for (String path : paths) {
-			dataSets[i++] = createDataSet(path);
+			Resource resource = loadResource(path);
+			DataSetType type = extractFileType(resource);
+			if (type == DataSetType.JSON) {
+				log.trace(" - Stream JSON data set: {}", resource);
+				dataSets[i++] = DataSetCache.load(resource, DataSetType.JSON_STREAMING);
+			}
+			else if (type == DataSetType.YAML) {
+				log.trace(" - Stream YAML data set: {}", resource);
+				dataSets[i++] = DataSetCache.load(resource, DataSetType.YAML_STREAMING);
+			}
+			else if (type == DataSetType.XML) {
+				log.trace(" - Stream XML data set: {}", resource);
+				dataSets[i++] = DataSetCache.load(resource, DataSetType.XML_STREAMING);
+			}
+			else if (type == DataSetType.NDJSON) {
+				log.trace(" - Stream NDJSON data set: {}", resource);
+				dataSets[i++] = DataSetCache.load(resource, DataSetType.NDJSON_STREAMING);
+			}
+			else {
+				dataSets[i++] = createDataSet(resource);
+			}
 		}
 
 		return createDataSet(dataSets);
 	}
 
+	/**
+	 * Create data set from a single CSV file: unlike the default CSV data set (see {@link CsvDataSet}),
+	 * no {@code table-ordering.txt} file is needed, the table name is the file name and the
+	 * columns are read from the header line (see {@link CsvFileDataSet}).
+	 *
+	 * @param path CSV file path.
+	 * @return Instance of {@link IDataSet}.
+	 * @throws DataSetException If data set cannot be created.
+	 */
+	public static IDataSet createCsvFileDataSet(String path) throws DataSetException {
+		Resource resource = loadResource(path);
+		log.debug("Create CSV data set from file: {}", resource);
+		return DataSetCache.load(resource, DataSetType.CSV_FILE);
+	}
+
 	/**
 	 * Create data set from collection of file path.
 	 *
@@ -77,7 +137,7 @@ public final class DataSetFactory {
 	 * @throws DataSetException If data set cannot be created.
 	 */
 	public static IDataSet createDataSet(Collection<IDataSet> dataSets) throws DataSetException {
-		return new CompositeDataSet(dataSets.toArray(new IDataSet[0]));
+		return createDataSet(dataSets.toArray(new IDataSet[0]));
 	}
 
 	/**
@@ -111,7 +171,14 @@ public final class DataSetFactory {
 	 * @throws DataSetException If data set cannot be created.
 	 */
 	static IDataSet createDataSet(IDataSet[] dataSets) throws DataSetException {
-		return new CompositeDataSet(dataSets);
+		// Streaming datasets cannot be read by a composite dataset, since it reads all tables.
+		for (IDataSet dataSet : dataSets) {
+			if (dataSet instanceof StreamingFlatXmlDataSet || dataSet instanceof StreamingProducerDataSet || dataSet instanceof StreamingCompositeDataSet) {
+				return new StreamingCompositeDataSet(dataSets);
+			}
+		}
+
+		return new LazyCompositeDataSet(dataSets, false);
 	}
 
 	/**
@@ -123,6 +190,16 @@ public final class DataSetFactory {
 	 * @throws DataSetException If data set cannot be created.
 	 */
 	static IDataSet createDataSet(String path) throws DataSetException {
+		return createDataSet(loadResource(path));
+	}
+
+	/**
+	 * Load resource from file path.
+	 *
+	 * @param path File path.
+	 * @return The resource.
+	 */
+	private static Resource loadResource(String path) {
 		notNull(path, "Path must not be null to create data set");
 		ResourceLoader loader = ResourceLoader.find(path);
 		if (loader == null) {
@@ -130,8 +207,7 @@ public final class DataSetFactory {
 			loader = ResourceLoader.CLASSPATH;
 		}
 
-		Resource resource = loader.load(path);
-		return createDataSet(resource);
+		return loader.load(path);
 	}
 
 	/**
@@ -146,15 +222,32 @@ public final class DataSetFactory {
 	 *     then an instance of {@link JsonDataSet} is returned.
 	 *   </li>
 	 *   <li>
+	 *     If {@code file} is a JSON Lines file (i.e with {@code ndjson} or {@code jsonl} extension,
+	 *     then an instance of {@link NdjsonDataSet} is returned.
+	 *   </li>
+	 *   <li>
 	 *     If {@code file} is an XML file (i.e with {@code xml} extension,
 	 *     then an instance of {@link org.dbunit.dataset.xml.FlatXmlDataSet} is returned.
 	 *   </li>
 	 *   <li>
-	 *     If {@code file} is a CSV file (i.e with {@code csv} extension,
-	 *     then an instance of {@link CsvDataSet} is returned.
+	 *     If {@code file} is a CSV file (i.e with {@code csv} extension, then an instance of {@link CsvDataSet} is returned
+	 *     if its directory contains a {@code table-ordering.txt} file, otherwise an instance of {@link CsvFileDataSet}
+	 *     is returned.
+	 *   </li>
+	 *   <li>
+	 *     If {@code file} is a binary dataset (i.e with {@code dbunit} extension, see {@link DataSetCompiler}),
+	 *     then an instance of {@link BinaryDataSet} is returned.
 	 *   </li>
 	 * </ul>
 	 *
+	 * When a file has been compiled with {@link DataSetCompiler} (i.e a file with the same name and the
+	 * {@code .dbunit} suffix exists next to it), the compiled file is used instead, unless the source file
+	 * has been modified after the compiled file.
+	 *
+	 * <br>
+	 *
+	 * Parsed datasets are cached (see {@link DataSetCache}), so a dataset file is parsed once.
+	 *
 	 * @param resource Resource.
 	 * @return Instance of {@link IDataSet}.
 	 * @throws DataSetException If data set cannot be created.
@@ -166,9 +259,23 @@ public final class DataSetFactory {
 		DataSetType type = extractFileType(resource);
 
 		log.trace(" - Found type: {}", type);
-		log.trace(" -> Create associated DataSet implementation");
 
-		return type.create(resource);
+		// Directory dataset is not cached, since each file in the directory is.
+		if (type == DataSetType.DIRECTORY) {
+			log.trace(" -> Create associated DataSet implementation");
+			return type.create(resource);
+		}
+
+		if (type != DataSetType.BINARY) {
+			Resource compiled = DataSetCompiler.findCompiled(resource);
+			if (compiled != null) {
+				log.trace(" -> Use compiled data set: {}", compiled);
+				return DataSetCache.load(compiled, DataSetType.BINARY);
+			}
+		}
+
+		log.trace(" -> Get associated DataSet implementation from cache");
+		return DataSetCache.load(resource, type);
 	}
 
 	/**
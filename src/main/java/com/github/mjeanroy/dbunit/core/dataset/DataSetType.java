@@ -25,9 +25,11 @@
 package com.github.mjeanroy.dbunit.core.dataset;
 
 import static com.github.mjeanroy.dbunit.commons.lang.PreConditions.notNull;
+import static com.github.mjeanroy.dbunit.core.resources.CompressedResources.decompress;
 
 import java.io.File;
 
+import com.github.mjeanroy.dbunit.core.resources.CompressedResources;
 import com.github.mjeanroy.dbunit.core.resources.Resource;
 import com.github.mjeanroy.dbunit.loggers.Logger;
 import com.github.mjeanroy.dbunit.loggers.Loggers;
@@ -52,6 +54,23 @@ enum DataSetType {
 		}
 	},
 
+	/**
+	 * JSON dataset, streaming rows instead of loading the whole document in memory.
+	 * This type is never detected from the resource name, it must be selected explicitly
+	 * (see {@link DataSetFactory#createStreamingDataSet(String[])}).
+	 */
+	JSON_STREAMING {
+		@Override
+		boolean doMatch(Resource resource) {
+			return false;
+		}
+
+		@Override
+		IDataSet doCreate(Resource resource) throws Exception {
+			return new StreamingProducerDataSet(resource, false, () -> new JsonDataSetProducer(resource));
+		}
+	},
+
 	YAML {
 		@Override
 		boolean doMatch(Resource resource) {
@@ -65,6 +84,27 @@ enum DataSetType {
 		}
 	},
 
+	/**
+	 * YAML dataset, streaming rows instead of loading the whole document in memory.
+	 * This type is never detected from the resource name, it must be selected explicitly
+	 * (see {@link DataSetFactory#createStreamingDataSet(String[])}).
+	 */
+	YAML_STREAMING {
+		@Override
+		boolean doMatch(Resource resource) {
+			return false;
+		}
+
+		@Override
+		IDataSet doCreate(Resource resource) throws Exception {
+			return new StreamingProducerDataSet(resource, false, () -> new YamlDataSetProducer(resource));
+		}
+	},
+
+	/**
+	 * FlatXML dataset: the whole document is loaded (all tables are built) when the dataset is created,
+	 * use {@link #XML_STREAMING} to read large documents.
+	 */
 	XML {
 		@Override
 		boolean doMatch(Resource resource) {
@@ -79,6 +119,52 @@ enum DataSetType {
 		}
 	},
 
+	/**
+	 * FlatXML dataset, streaming rows instead of loading the whole document in memory.
+	 * This type is never detected from the resource name, it must be selected explicitly
+	 * (see {@link DataSetFactory#createStreamingDataSet(String[])}).
+	 */
+	XML_STREAMING {
+		@Override
+		boolean doMatch(Resource resource) {
+			return false;
+		}
+
+		@Override
+		IDataSet doCreate(Resource resource) throws Exception {
+			return new StreamingFlatXmlDataSet(resource, false);
+		}
+	},
+
+	NDJSON {
+		@Override
+		boolean doMatch(Resource resource) {
+			return NdjsonDataSetProducer.isNdjson(resource);
+		}
+
+		@Override
+		IDataSet doCreate(Resource resource) throws Exception {
+			return new NdjsonDataSet(resource, false);
+		}
+	},
+
+	/**
+	 * NDJSON dataset, streaming rows instead of loading them in memory.
+	 * This type is never detected from the resource name, it must be selected explicitly
+	 * (see {@link DataSetFactory#createStreamingDataSet(String[])}).
+	 */
+	NDJSON_STREAMING {
+		@Override
+		boolean doMatch(Resource resource) {
+			return false;
+		}
+
+		@Override
+		IDataSet doCreate(Resource resource) throws Exception {
+			return new StreamingProducerDataSet(resource, false, () -> new NdjsonDataSetProducer(resource));
+		}
+	},
+
 	DIRECTORY {
 		@Override
 		boolean doMatch(Resource resource) {
@@ -91,6 +177,18 @@ enum DataSetType {
 		}
 	},
 
+	BINARY {
+		@Override
+		boolean doMatch(Resource resource) {
+			return resource.getFilename().toLowerCase().endsWith(BinaryDataSetFormat.EXTENSION);
+		}
+
+		@Override
+		IDataSet doCreate(Resource resource) throws Exception {
+			return new BinaryDataSet(resource, false);
+		}
+	},
+
 	CSV {
 		@Override
 		boolean doMatch(Resource resource) {
@@ -99,11 +197,33 @@ enum DataSetType {
 
 		@Override
 		IDataSet doCreate(Resource resource) throws Exception {
-			final File file = resource.toFile();
-			final String parent = file.getParent();
-			final File parentDirectory = new File(parent);
+			// A CSV file is read with the files of its directory when this directory defines the table ordering,
+			// otherwise (for example, a compressed file, or a file inside a JAR), it is read as a single table.
+			final File parentDirectory = csvDirectory(resource);
+			if (parentDirectory == null) {
+				return new CsvFileDataSet(resource, false);
+			}
+
 			return new CsvDataSet(parentDirectory);
 		}
+	},
+
+	/**
+	 * CSV dataset read from a single file, the table name being the file name (see {@link CsvFileDataSet}).
+	 * This type is never detected from the resource name: a {@code .csv} resource is read as a single file by
+	 * {@link #CSV} when its directory does not contain a {@code table-ordering.txt} file, or it can be selected
+	 * explicitly (see {@link DataSetFactory#createCsvFileDataSet(String)}).
+	 */
+	CSV_FILE {
+		@Override
+		boolean doMatch(Resource resource) {
+			return false;
+		}
+
+		@Override
+		IDataSet doCreate(Resource resource) throws Exception {
+			return new CsvFileDataSet(resource, false);
+		}
 	};
 
 	/**
@@ -111,22 +231,29 @@ enum DataSetType {
 	 */
 	private static final Logger log = Loggers.getLogger(DataSetType.class);
 
+	/**
+	 * The file defining a CSV dataset directory.
+	 */
+	private static final String CSV_TABLE_ORDERING = "table-ordering.txt";
+
 	DataSetType() {
 	}
 
 	/**
 	 * Check if given resource match type.
+	 * Compressed resources are matched using their name without the compression suffix (i.e {@code users.json.gz} is a JSON resource).
 	 *
 	 * @param resource Resource.
 	 * @return {@code true} if resource match given type, {@code false} otherwise.
 	 */
 	public boolean match(Resource resource) {
 		notNull(resource, "File should not be null");
-		return doMatch(resource);
+		return doMatch(decompress(resource));
 	}
 
 	/**
 	 * Create data set from given resource.
+	 * Compressed resources (see {@link CompressedResources}) are decompressed while they are read.
 	 *
 	 * @param resource Resource.
 	 * @return Instance of {@link org.dbunit.dataset.IDataSet}.
@@ -134,7 +261,7 @@ enum DataSetType {
 	public IDataSet create(Resource resource) throws DataSetException {
 		notNull(resource, "File should not be null");
 		try {
-			return doCreate(resource);
+			return doCreate(decompress(resource));
 		}
 		catch (DataSetException ex) {
 			log.error(ex.getMessage(), ex);
@@ -146,6 +273,27 @@ enum DataSetType {
 		}
 	}
 
+	/**
+	 * Get the directory of given CSV resource, if this directory is a CSV dataset, i.e contains a {@code table-ordering.txt}
+	 * file (see {@link CsvDataSet}).
+	 *
+	 * @param resource The CSV resource.
+	 * @return The directory, {@code null} if the resource does not reside in the file system, or if its directory is not a CSV dataset.
+	 */
+	private static File csvDirectory(Resource resource) {
+		final File file;
+		try {
+			file = resource.toFile();
+		}
+		catch (RuntimeException ex) {
+			log.trace("Resource {} does not reside in the file system", resource);
+			return null;
+		}
+
+		final File parentDirectory = file.getAbsoluteFile().getParentFile();
+		return parentDirectory != null && new File(parentDirectory, CSV_TABLE_ORDERING).isFile() ? parentDirectory : null;
+	}
+
 	/**
 	 * Check if given file match data set type.
 	 *
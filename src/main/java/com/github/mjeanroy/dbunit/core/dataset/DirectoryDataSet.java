@@ -26,7 +26,8 @@ package com.github.mjeanroy.dbunit.core.dataset;
 
 import com.github.mjeanroy.dbunit.commons.lang.ToStringBuilder;
 import com.github.mjeanroy.dbunit.core.resources.Resource;
-import org.dbunit.dataset.CompositeDataSet;
+import com.github.mjeanroy.dbunit.loggers.Logger;
+import com.github.mjeanroy.dbunit.loggers.Loggers;
 import org.dbunit.dataset.DataSetException;
 import org.dbunit.dataset.IDataSet;
 import org.dbunit.dataset.ITable;
@@ -36,19 +37,28 @@ import org.dbunit.dataset.ITableMetaData;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import static com.github.mjeanroy.dbunit.commons.lang.PreConditions.checkArgument;
 import static com.github.mjeanroy.dbunit.commons.lang.PreConditions.notNull;
-import static com.github.mjeanroy.dbunit.core.dataset.DataSetFactory.createDataSet;
 
 /**
  * Directory dataSet.
  * This dataSet implementation will scan directory, extract all files
- * and create appropriate dataSet implementation for each files.
+ * and create appropriate dataSet implementation for each files (files are parsed in parallel).
+ * When a file has been compiled with {@link DataSetCompiler} (i.e a file with the same name
+ * and the {@code .dbunit} suffix exists), the compiled file is used instead, unless the source file
+ * has been modified after the compiled file.
  */
 public class DirectoryDataSet implements IDataSet {
 
+	/**
+	 * Class Logger.
+	 */
+	private static final Logger log = Loggers.getLogger(DirectoryDataSet.class);
+
 	/**
 	 * Directory.
 	 */
@@ -57,7 +67,7 @@ public class DirectoryDataSet implements IDataSet {
 	/**
 	 * Internal data set.
 	 */
-	private final CompositeDataSet dataSet;
+	private final LazyCompositeDataSet dataSet;
 
 	/**
 	 * Create dataSet.
@@ -74,18 +84,39 @@ public class DirectoryDataSet implements IDataSet {
 		// List all files and create composite data set.
 		Collection<Resource> subResources = resource.listResources();
 
+		// Files compiled with DataSetCompiler replace their source, unless the source has been updated since.
+		Map<String, Resource> resourcesByName = new HashMap<>();
+		for (Resource subResource : subResources) {
+			resourcesByName.put(subResource.getFilename(), subResource);
+		}
+
+		List<Resource> resources = new ArrayList<>(subResources.size());
+		for (Resource subResource : subResources) {
+			String fileName = subResource.getFilename();
+			Resource compiled = resourcesByName.get(fileName + BinaryDataSetFormat.EXTENSION);
+			if (compiled != null && DataSetCompiler.isUpToDate(compiled, subResource)) {
+				continue;
+			}
+
+			if (fileName.endsWith(BinaryDataSetFormat.EXTENSION)) {
+				Resource source = resourcesByName.get(fileName.substring(0, fileName.length() - BinaryDataSetFormat.EXTENSION.length()));
+				// The source file is used instead, a warning is logged when it is loaded (see DataSetFactory).
+				if (source != null && !DataSetCompiler.isUpToDate(subResource, source)) {
+					continue;
+				}
+			}
+
+			resources.add(subResource);
+		}
+
 		// Sort alphabetically
-		List<Resource> resources = new ArrayList<>(subResources);
 		resources.sort(comparator);
 
-		IDataSet[] dataSets = new IDataSet[resources.size()];
-		int i = 0;
-		for (Resource subResource : resources) {
-			dataSets[i++] = createDataSet(subResource);
-		}
+		// Files are parsed in parallel, in the sorted order.
+		IDataSet[] dataSets = ParallelDataSetLoader.load(resources);
 
 		this.resource = resource;
-		this.dataSet = new CompositeDataSet(dataSets, true, caseSensitiveTableNames);
+		this.dataSet = new LazyCompositeDataSet(dataSets, caseSensitiveTableNames);
 	}
 
 	@Override
@@ -0,0 +1,154 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015-2021 Mickael Jeanroy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.mjeanroy.dbunit.core.dataset;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.github.mjeanroy.dbunit.commons.reflection.ClassUtils;
+import com.github.mjeanroy.dbunit.core.resources.Resource;
+import com.github.mjeanroy.dbunit.loggers.Logger;
+import com.github.mjeanroy.dbunit.loggers.Loggers;
+import org.dbunit.dataset.DataSetException;
+import org.dbunit.dataset.stream.IDataSetProducer;
+import org.dbunit.dataset.stream.StreamingDataSet;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Implementation of {@link IDataSetProducer} reading a JSON resource with a token stream, without
+ * building any intermediate structure (such as the map of rows produced by {@link com.github.mjeanroy.dbunit.json.JsonParser}).
+ *
+ * <p>
+ *
+ * Input must respect the schema described in {@link JsonDataSet}.
+ *
+ * <p>
+ *
+ * This producer is typically used with a {@link StreamingDataSet}: such a dataset can be iterated
+ * only once, in forward order, so it should be used with operations such as {@code INSERT} or {@code REFRESH}.
+ *
+ * <p>
+ *
+ * Note that this implementation requires Jackson (V2) to be available in the classpath.
+ */
+public class JsonDataSetProducer extends AbstractStreamingDataSetProducer {
+
+	/**
+	 * Class Logger.
+	 */
+	private static final Logger log = Loggers.getLogger(JsonDataSetProducer.class);
+
+	/**
+	 * Determines whether JACKSON 2 (streaming API) is available in the classpath.
+	 */
+	private static final boolean JACKSON2_AVAILABLE = ClassUtils.isPresent("com.fasterxml.jackson.core.JsonFactory");
+
+	/**
+	 * Create producer.
+	 *
+	 * @param resource The JSON resource.
+	 * @throws NullPointerException If {@code resource} is {@code null}.
+	 * @throws UnsupportedOperationException If Jackson (V2) is not available in the classpath.
+	 */
+	public JsonDataSetProducer(Resource resource) {
+		super(resource);
+
+		if (!JACKSON2_AVAILABLE) {
+			throw new UnsupportedOperationException("Cannot create JSON producer, please add jackson to your classpath");
+		}
+	}
+
+	@Override
+	void read(Resource resource, Handler handler) throws DataSetException {
+		try (InputStream stream = resource.openStream(); JsonParser parser = new JsonFactory().createParser(stream)) {
+			expect(parser, parser.nextToken(), JsonToken.START_OBJECT);
+
+			while (parser.nextToken() == JsonToken.FIELD_NAME) {
+				handler.startTable(parser.getCurrentName());
+				expect(parser, parser.nextToken(), JsonToken.START_ARRAY);
+
+				JsonToken token;
+				while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+					expect(parser, token, JsonToken.START_OBJECT);
+
+					while (parser.nextToken() == JsonToken.FIELD_NAME) {
+						String columnName = parser.getCurrentName();
+						handler.value(columnName, readValue(parser, parser.nextToken()));
+					}
+
+					handler.endRow();
+				}
+
+				handler.endTable();
+			}
+		}
+		catch (IOException ex) {
+			log.error(ex.getMessage(), ex);
+			throw new DataSetException(ex);
+		}
+	}
+
+	/**
+	 * Read scalar value at current position.
+	 *
+	 * @param parser The JSON parser.
+	 * @param token The current token.
+	 * @return The value.
+	 * @throws IOException If an error occurred while reading JSON input.
+	 * @throws DataSetException If current token is not a scalar value.
+	 */
+	static Object readValue(JsonParser parser, JsonToken token) throws IOException, DataSetException {
+		switch (token) {
+			case VALUE_STRING:
+				return parser.getText();
+			case VALUE_NUMBER_INT:
+			case VALUE_NUMBER_FLOAT:
+				return parser.getNumberValue();
+			case VALUE_TRUE:
+				return Boolean.TRUE;
+			case VALUE_FALSE:
+				return Boolean.FALSE;
+			case VALUE_NULL:
+				return null;
+			default:
+				throw new DataSetException("Unexpected JSON token " + token + " at " + parser.getCurrentLocation() + ", expected scalar value");
+		}
+	}
+
+	/**
+	 * Ensure that given token is the expected one.
+	 *
+	 * @param parser The JSON parser.
+	 * @param token The current token.
+	 * @param expected The expected token.
+	 * @throws DataSetException If {@code token} is not {@code expected}.
+	 */
+	static void expect(JsonParser parser, JsonToken token, JsonToken expected) throws DataSetException {
+		if (token != expected) {
+			throw new DataSetException("Unexpected JSON token " + token + " at " + parser.getCurrentLocation() + ", expected " + expected);
+		}
+	}
+}
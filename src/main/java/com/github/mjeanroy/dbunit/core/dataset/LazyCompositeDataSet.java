@@ -0,0 +1,212 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015-2021 Mickael Jeanroy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.mjeanroy.dbunit.core.dataset;
+
+import com.github.mjeanroy.dbunit.commons.lang.ToStringBuilder;
+import com.github.mjeanroy.dbunit.loggers.Logger;
+import com.github.mjeanroy.dbunit.loggers.Loggers;
+import org.dbunit.dataset.AbstractDataSet;
+import org.dbunit.dataset.CompositeTable;
+import org.dbunit.dataset.DataSetException;
+import org.dbunit.dataset.IDataSet;
+import org.dbunit.dataset.ITable;
+import org.dbunit.dataset.ITableIterator;
+import org.dbunit.dataset.ITableMetaData;
+import org.dbunit.dataset.NoSuchTableException;
+import org.dbunit.dataset.OrderedTableNameMap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static com.github.mjeanroy.dbunit.commons.lang.PreConditions.notNull;
+
+/**
+ * Implementation of {@link IDataSet} combining several datasets, such as {@link org.dbunit.dataset.CompositeDataSet}.
+ *
+ * <p>
+ *
+ * Contrary to {@link org.dbunit.dataset.CompositeDataSet}, tables are not read when the dataset is created: table names
+ * of each dataset are indexed, and a table is read (and combined with tables having the same name in other datasets) only
+ * when it is requested, or when an iterator reaches it.
+ *
+ * <p>
+ *
+ * Each dataset decides when its own tables are built: JSON and YAML datasets build a table when it is first
+ * requested (see {@link AbstractParseableDataSet}), so tables that are never requested (for example, tables
+ * excluded by a filter, or shadowed by another dataset) are never built. Flat XML datasets (like any
+ * {@link org.dbunit.dataset.CachedDataSet}) load all their tables when they are created: for those, only
+ * combining tables is deferred.
+ */
+public class LazyCompositeDataSet extends AbstractDataSet {
+
+	/**
+	 * Class Logger.
+	 */
+	private static final Logger log = Loggers.getLogger(LazyCompositeDataSet.class);
+
+	/**
+	 * The datasets.
+	 */
+	private final IDataSet[] dataSets;
+
+	/**
+	 * The tables, indexed by table names, in the order of appearance.
+	 */
+	private final OrderedTableNameMap tables;
+
+	/**
+	 * Create dataset.
+	 *
+	 * @param dataSets The datasets.
+	 * @param caseSensitiveTableNames Case sensitivity flag.
+	 * @throws DataSetException If table names of a dataset cannot be read.
+	 */
+	LazyCompositeDataSet(IDataSet[] dataSets, boolean caseSensitiveTableNames) throws DataSetException {
+		super(caseSensitiveTableNames);
+		this.dataSets = notNull(dataSets, "DataSets must not be null");
+		this.tables = indexTables(dataSets);
+	}
+
+	/**
+	 * Index table names of given datasets.
+	 *
+	 * @param dataSets The datasets.
+	 * @return The table index.
+	 * @throws DataSetException If table names of a dataset cannot be read.
+	 */
+	private OrderedTableNameMap indexTables(IDataSet[] dataSets) throws DataSetException {
+		OrderedTableNameMap tables = createTableNameMap();
+		for (IDataSet dataSet : dataSets) {
+			for (String tableName : dataSet.getTableNames()) {
+				LazyTable table = (LazyTable) tables.get(tableName);
+				if (table == null) {
+					table = new LazyTable();
+					tables.add(tableName, table);
+				}
+
+				table.add(dataSet, tableName);
+			}
+		}
+
+		return tables;
+	}
+
+	@Override
+	protected ITableIterator createIterator(boolean reverse) {
+		return new LazyTableIterator(this, tables.getTableNames(), reverse);
+	}
+
+	@Override
+	public String[] getTableNames() {
+		return tables.getTableNames();
+	}
+
+	@Override
+	public ITableMetaData getTableMetaData(String tableName) throws DataSetException {
+		return lookup(tableName).getTableMetaData();
+	}
+
+	@Override
+	public ITable getTable(String tableName) throws DataSetException {
+		return lookup(tableName).getTable();
+	}
+
+	private LazyTable lookup(String tableName) throws NoSuchTableException {
+		LazyTable table = (LazyTable) tables.get(tableName);
+		if (table == null) {
+			throw new NoSuchTableException(tableName);
+		}
+
+		return table;
+	}
+
+	@Override
+	public String toString() {
+		return ToStringBuilder.create(getClass())
+			.append("dataSets", Arrays.asList(dataSets))
+			.append("caseSensitiveTableNames", isCaseSensitiveTableNames())
+			.build();
+	}
+
+	/**
+	 * A table, defined in one or several datasets.
+	 */
+	private static final class LazyTable {
+
+		/**
+		 * The datasets defining this table.
+		 */
+		private final List<IDataSet> dataSets;
+
+		/**
+		 * The table names, as defined in each dataset.
+		 */
+		private final List<String> tableNames;
+
+		/**
+		 * The materialized table, {@code null} until it is requested.
+		 */
+		private ITable table;
+
+		private LazyTable() {
+			this.dataSets = new ArrayList<>(1);
+			this.tableNames = new ArrayList<>(1);
+		}
+
+		private void add(IDataSet dataSet, String tableName) {
+			dataSets.add(dataSet);
+			tableNames.add(tableName);
+		}
+
+		private ITableMetaData getTableMetaData() throws DataSetException {
+			// Combined tables use the metadata of the first table.
+			return dataSets.get(0).getTableMetaData(tableNames.get(0));
+		}
+
+		private synchronized ITable getTable() throws DataSetException {
+			if (table == null) {
+				table = materialize();
+			}
+
+			return table;
+		}
+
+		private ITable materialize() throws DataSetException {
+			int size = dataSets.size();
+			log.trace("Materializing table '{}' from {} dataset(s)", tableNames.get(0), size);
+
+			if (size == 1) {
+				return dataSets.get(0).getTable(tableNames.get(0));
+			}
+
+			ITable[] tables = new ITable[size];
+			for (int i = 0; i < size; ++i) {
+				tables[i] = dataSets.get(i).getTable(tableNames.get(i));
+			}
+
+			return new CompositeTable(tables[0].getTableMetaData(), tables);
+		}
+	}
+}
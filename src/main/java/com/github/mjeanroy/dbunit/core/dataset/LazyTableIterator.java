@@ -0,0 +1,101 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015-2021 Mickael Jeanroy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.mjeanroy.dbunit.core.dataset;
+
+import org.dbunit.dataset.DataSetException;
+import org.dbunit.dataset.IDataSet;
+import org.dbunit.dataset.ITable;
+import org.dbunit.dataset.ITableIterator;
+import org.dbunit.dataset.ITableMetaData;
+
+import static com.github.mjeanroy.dbunit.commons.lang.PreConditions.notNull;
+
+/**
+ * Implementation of {@link ITableIterator} iterating over table names of a dataset: a table
+ * is read from the dataset (and materialized, for lazy datasets) only when the iterator reaches it.
+ */
+final class LazyTableIterator implements ITableIterator {
+
+	/**
+	 * The dataset.
+	 */
+	private final IDataSet dataSet;
+
+	/**
+	 * Table names, in dataset order.
+	 */
+	private final String[] tableNames;
+
+	/**
+	 * Iteration order flag.
+	 */
+	private final boolean reverse;
+
+	/**
+	 * Number of tables already visited.
+	 */
+	private int visited;
+
+	/**
+	 * Create iterator.
+	 *
+	 * @param dataSet The dataset.
+	 * @param tableNames The table names, in dataset order.
+	 * @param reverse {@code true} to iterate in reverse order, {@code false} otherwise.
+	 */
+	LazyTableIterator(IDataSet dataSet, String[] tableNames, boolean reverse) {
+		this.dataSet = notNull(dataSet, "DataSet must not be null");
+		this.tableNames = notNull(tableNames, "Table names must not be null");
+		this.reverse = reverse;
+		this.visited = 0;
+	}
+
+	@Override
+	public boolean next() {
+		if (visited >= tableNames.length) {
+			return false;
+		}
+
+		visited++;
+		return true;
+	}
+
+	@Override
+	public ITableMetaData getTableMetaData() throws DataSetException {
+		return dataSet.getTableMetaData(currentTableName());
+	}
+
+	@Override
+	public ITable getTable() throws DataSetException {
+		return dataSet.getTable(currentTableName());
+	}
+
+	private String currentTableName() {
+		if (visited == 0) {
+			throw new IllegalStateException("Iterator must be moved to the first table");
+		}
+
+		return tableNames[reverse ? tableNames.length - visited : visited - 1];
+	}
+}
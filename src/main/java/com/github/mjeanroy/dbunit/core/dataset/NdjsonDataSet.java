@@ -0,0 +1,75 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015-2021 Mickael Jeanroy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.mjeanroy.dbunit.core.dataset;
+
+import com.github.mjeanroy.dbunit.commons.lang.ToStringBuilder;
+import com.github.mjeanroy.dbunit.core.resources.Resource;
+import org.dbunit.dataset.CachedDataSet;
+import org.dbunit.dataset.DataSetException;
+import org.dbunit.dataset.IDataSet;
+
+/**
+ * Implementation of {@link IDataSet} with a JSON Lines (NDJSON) file as input
+ * (see {@link NdjsonDataSetProducer} for the supported format).
+ *
+ * <p>
+ *
+ * This implementation reads all rows in memory: use {@link DataSetFactory#createStreamingDataSet(String[])}
+ * to stream rows of very large tables instead.
+ */
+public class NdjsonDataSet extends CachedDataSet {
+
+	/**
+	 * The NDJSON resource.
+	 */
+	private final Resource resource;
+
+	/**
+	 * Create NDJSON DataSet.
+	 *
+	 * @param resource Input resource.
+	 * @param caseSensitiveTableNames Case Insensitivity Flag.
+	 * @throws DataSetException If NDJSON parsing fail.
+	 */
+	NdjsonDataSet(Resource resource, boolean caseSensitiveTableNames) throws DataSetException {
+		super(new NdjsonDataSetProducer(resource), caseSensitiveTableNames);
+		this.resource = resource;
+	}
+
+	/**
+	 * Gets {@link #resource}.
+	 *
+	 * @return {@link #resource}.
+	 */
+	public Resource getResource() {
+		return resource;
+	}
+
+	@Override
+	public String toString() {
+		return ToStringBuilder.create(getClass())
+			.append("resource", resource)
+			.build();
+	}
+}
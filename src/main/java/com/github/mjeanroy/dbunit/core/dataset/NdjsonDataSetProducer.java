@@ -0,0 +1,186 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015-2021 Mickael Jeanroy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.mjeanroy.dbunit.core.dataset;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.github.mjeanroy.dbunit.commons.reflection.ClassUtils;
+import com.github.mjeanroy.dbunit.core.resources.Resource;
+import com.github.mjeanroy.dbunit.loggers.Logger;
+import com.github.mjeanroy.dbunit.loggers.Loggers;
+import org.dbunit.dataset.DataSetException;
+import org.dbunit.dataset.stream.IDataSetProducer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.github.mjeanroy.dbunit.core.dataset.JsonDataSetProducer.expect;
+import static com.github.mjeanroy.dbunit.core.dataset.JsonDataSetProducer.readValue;
+
+/**
+ * Implementation of {@link IDataSetProducer} reading a JSON Lines (NDJSON) resource: each line is a JSON
+ * object describing one row, such as:
+ *
+ * <pre><code>
+ *   {"id": 1, "name": "John Doe"}
+ *   {"id": 2, "name": "Jane Doe"}
+ * </code></pre>
+ *
+ * By default, rows are inserted in the table named after the resource (without the {@code .ndjson} or {@code .jsonl}
+ * extension), unless a line defines a {@code table} field: in this case, this field is the table name (and is not a column):
+ *
+ * <pre><code>
+ *   {"table": "users", "id": 1, "name": "John Doe"}
+ *   {"table": "movies", "id": 1, "title": "Star Wars"}
+ * </code></pre>
+ *
+ * Lines are read one by one, and rows are sent to the consumer as soon as they are read: memory consumption does not
+ * depend on the number of rows.
+ *
+ * <p>
+ *
+ * Note that this implementation requires Jackson (V2) to be available in the classpath.
+ */
+public class NdjsonDataSetProducer extends AbstractStreamingDataSetProducer {
+
+	/**
+	 * Class Logger.
+	 */
+	private static final Logger log = Loggers.getLogger(NdjsonDataSetProducer.class);
+
+	/**
+	 * Determines whether JACKSON 2 (streaming API) is available in the classpath.
+	 */
+	private static final boolean JACKSON2_AVAILABLE = ClassUtils.isPresent("com.fasterxml.jackson.core.JsonFactory");
+
+	/**
+	 * The field defining the table of a row.
+	 */
+	private static final String TABLE_FIELD = "table";
+
+	/**
+	 * Supported extensions.
+	 */
+	private static final String[] EXTENSIONS = {".ndjson", ".jsonl"};
+
+	/**
+	 * Create producer.
+	 *
+	 * @param resource The NDJSON resource.
+	 * @throws NullPointerException If {@code resource} is {@code null}.
+	 * @throws UnsupportedOperationException If Jackson (V2) is not available in the classpath.
+	 */
+	public NdjsonDataSetProducer(Resource resource) {
+		super(resource);
+
+		if (!JACKSON2_AVAILABLE) {
+			throw new UnsupportedOperationException("Cannot create NDJSON producer, please add jackson to your classpath");
+		}
+	}
+
+	/**
+	 * Check if given resource is a NDJSON resource, i.e if it has the {@code .ndjson} or the {@code .jsonl} extension.
+	 *
+	 * @param resource The resource.
+	 * @return {@code true} if the resource is a NDJSON resource, {@code false} otherwise.
+	 */
+	static boolean isNdjson(Resource resource) {
+		return extension(resource.getFilename()) != null;
+	}
+
+	@Override
+	void read(Resource resource, Handler handler) throws DataSetException {
+		String defaultTableName = defaultTableName(resource);
+
+		try (InputStream stream = resource.openStream(); JsonParser parser = new JsonFactory().createParser(stream)) {
+			List<String> columns = new ArrayList<>();
+			List<Object> values = new ArrayList<>();
+			String currentTable = null;
+
+			JsonToken token;
+			while ((token = parser.nextToken()) != null) {
+				expect(parser, token, JsonToken.START_OBJECT);
+
+				columns.clear();
+				values.clear();
+				String tableName = defaultTableName;
+
+				while (parser.nextToken() == JsonToken.FIELD_NAME) {
+					String columnName = parser.getCurrentName();
+					Object value = readValue(parser, parser.nextToken());
+					if (TABLE_FIELD.equals(columnName) && value instanceof String) {
+						tableName = (String) value;
+					}
+					else {
+						columns.add(columnName);
+						values.add(value);
+					}
+				}
+
+				if (!tableName.equals(currentTable)) {
+					if (currentTable != null) {
+						handler.endTable();
+					}
+
+					handler.startTable(tableName);
+					currentTable = tableName;
+				}
+
+				for (int i = 0; i < columns.size(); i++) {
+					handler.value(columns.get(i), values.get(i));
+				}
+
+				handler.endRow();
+			}
+
+			if (currentTable != null) {
+				handler.endTable();
+			}
+		}
+		catch (IOException ex) {
+			log.error(ex.getMessage(), ex);
+			throw new DataSetException(ex);
+		}
+	}
+
+	private static String defaultTableName(Resource resource) {
+		String fileName = resource.getFilename();
+		String extension = extension(fileName);
+		return extension == null ? fileName : fileName.substring(0, fileName.length() - extension.length());
+	}
+
+	private static String extension(String fileName) {
+		String lowerCaseName = fileName.toLowerCase();
+		for (String extension : EXTENSIONS) {
+			if (lowerCaseName.endsWith(extension)) {
+				return extension;
+			}
+		}
+
+		return null;
+	}
+}
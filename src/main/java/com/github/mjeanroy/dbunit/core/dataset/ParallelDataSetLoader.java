@@ -0,0 +1,191 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015-2021 Mickael Jeanroy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.mjeanroy.dbunit.core.dataset;
+
+import com.github.mjeanroy.dbunit.core.resources.Resource;
+import com.github.mjeanroy.dbunit.loggers.Logger;
+import com.github.mjeanroy.dbunit.loggers.Loggers;
+import org.dbunit.dataset.DataSetException;
+import org.dbunit.dataset.IDataSet;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+
+import static com.github.mjeanroy.dbunit.commons.lang.Exceptions.launderThrowable;
+
+/**
+ * Parse independent dataset resources in parallel.
+ *
+ * <br>
+ *
+ * Resources are parsed using a shared {@link ForkJoinPool}, bounded by the number of available processors: nested
+ * directories are parsed in the same pool, using work-stealing instead of blocking a thread. Datasets
+ * are returned in the order of the given resources, so table ordering remains deterministic.
+ */
+final class ParallelDataSetLoader {
+
+	/**
+	 * Class Logger.
+	 */
+	private static final Logger log = Loggers.getLogger(ParallelDataSetLoader.class);
+
+	// Ensure non instantiation.
+	private ParallelDataSetLoader() {
+	}
+
+	/**
+	 * Create datasets of given resources, in the same order.
+	 *
+	 * @param resources The resources.
+	 * @return The datasets.
+	 * @throws DataSetException If a dataset cannot be created.
+	 */
+	static IDataSet[] load(List<Resource> resources) throws DataSetException {
+		int size = resources.size();
+		IDataSet[] dataSets = new IDataSet[size];
+
+		// Do not pay for a thread hop when there is nothing to parallelize.
+		if (size <= 1 || PoolHolder.POOL.getParallelism() <= 1) {
+			for (int i = 0; i < size; ++i) {
+				dataSets[i] = DataSetFactory.createDataSet(resources.get(i));
+			}
+
+			return dataSets;
+		}
+
+		log.trace("Parsing {} datasets in parallel", size);
+
+		List<DataSetTask> tasks = new ArrayList<>(size);
+		for (Resource resource : resources) {
+			tasks.add(new DataSetTask(resource));
+		}
+
+		try {
+			// Nested directories are parsed using work-stealing in the same pool, but tasks must never run in
+			// another pool (such as the JUnit Jupiter parallel execution pool): the waiting worker could run
+			// other tests in the meantime, breaking state bound to the current thread.
+			if (ForkJoinTask.getPool() == PoolHolder.POOL) {
+				ForkJoinTask.invokeAll(tasks);
+			}
+			else {
+				PoolHolder.POOL.invoke(new InvokeAllTask(tasks));
+			}
+		}
+		catch (DataSetTaskException ex) {
+			throw ex.getCause();
+		}
+		catch (RuntimeException ex) {
+			throw launderThrowable(unwrap(ex));
+		}
+
+		for (int i = 0; i < size; ++i) {
+			dataSets[i] = tasks.get(i).getRawResult();
+		}
+
+		return dataSets;
+	}
+
+	/**
+	 * Get the original exception thrown by a task: fork-join tasks may re-create
+	 * exceptions thrown in another thread, keeping the original one as the cause.
+	 *
+	 * @param ex The exception.
+	 * @return The original exception.
+	 * @throws DataSetException If the original exception is a {@link DataSetException}.
+	 */
+	private static Throwable unwrap(RuntimeException ex) throws DataSetException {
+		Throwable cause = ex;
+		while (cause != null) {
+			if (cause instanceof DataSetTaskException) {
+				throw ((DataSetTaskException) cause).getCause();
+			}
+
+			cause = cause.getCause();
+		}
+
+		return ex;
+	}
+
+	/**
+	 * The pool, created on first use.
+	 */
+	private static final class PoolHolder {
+		private static final ForkJoinPool POOL = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+	}
+
+	/**
+	 * Task invoking all dataset tasks from within the pool.
+	 */
+	private static final class InvokeAllTask extends RecursiveTask<Void> {
+		private final List<DataSetTask> tasks;
+
+		private InvokeAllTask(List<DataSetTask> tasks) {
+			this.tasks = tasks;
+		}
+
+		@Override
+		protected Void compute() {
+			invokeAll(tasks);
+			return null;
+		}
+	}
+
+	/**
+	 * Task creating the dataset of a single resource.
+	 */
+	private static final class DataSetTask extends RecursiveTask<IDataSet> {
+		private final Resource resource;
+
+		private DataSetTask(Resource resource) {
+			this.resource = resource;
+		}
+
+		@Override
+		protected IDataSet compute() {
+			try {
+				return DataSetFactory.createDataSet(resource);
+			}
+			catch (DataSetException ex) {
+				throw new DataSetTaskException(ex);
+			}
+		}
+	}
+
+	/**
+	 * Unchecked wrapper of {@link DataSetException}, thrown by {@link DataSetTask}.
+	 */
+	private static final class DataSetTaskException extends RuntimeException {
+		private DataSetTaskException(DataSetException cause) {
+			super(cause);
+		}
+
+		@Override
+		public synchronized DataSetException getCause() {
+			return (DataSetException) super.getCause();
+		}
+	}
+}
@@ -0,0 +1,156 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015-2021 Mickael Jeanroy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.mjeanroy.dbunit.core.dataset;
+
+import org.dbunit.dataset.AbstractDataSet;
+import org.dbunit.dataset.DataSetException;
+import org.dbunit.dataset.IDataSet;
+import org.dbunit.dataset.ITable;
+import org.dbunit.dataset.ITableIterator;
+import org.dbunit.dataset.ITableMetaData;
+import org.dbunit.dataset.NoSuchTableException;
+import org.dbunit.dataset.OrderedTableNameMap;
+
+import static com.github.mjeanroy.dbunit.commons.lang.PreConditions.notNull;
+
+/**
+ * Implementation of {@link IDataSet} iterating over a sequence of datasets, one after the other.
+ *
+ * <p>
+ *
+ * Contrary to {@link org.dbunit.dataset.CompositeDataSet}, tables are never read when the dataset is created:
+ * this implementation is used to combine streaming datasets (such as {@link StreamingFlatXmlDataSet}) that can
+ * only be iterated in forward order. Tables defined in several datasets are not merged, they are returned
+ * once per dataset.
+ */
+class StreamingCompositeDataSet extends AbstractDataSet {
+
+	/**
+	 * The datasets, in iteration order.
+	 */
+	private final IDataSet[] dataSets;
+
+	/**
+	 * Create dataset.
+	 *
+	 * @param dataSets The datasets, in iteration order.
+	 */
+	StreamingCompositeDataSet(IDataSet[] dataSets) {
+		super(false);
+		this.dataSets = notNull(dataSets, "DataSets must not be null");
+	}
+
+	@Override
+	protected ITableIterator createIterator(boolean reverse) throws DataSetException {
+		if (reverse) {
+			throw new UnsupportedOperationException("Reverse iterator is not supported by streaming dataset");
+		}
+
+		return new SequenceIterator();
+	}
+
+	@Override
+	public String[] getTableNames() throws DataSetException {
+		return readMetaData().getTableNames();
+	}
+
+	@Override
+	public ITableMetaData getTableMetaData(String tableName) throws DataSetException {
+		OrderedTableNameMap metaData = readMetaData();
+		if (!metaData.containsTable(tableName)) {
+			throw new NoSuchTableException(tableName);
+		}
+
+		return (ITableMetaData) metaData.get(tableName);
+	}
+
+	@Override
+	public ITable getTable(String tableName) {
+		throw new UnsupportedOperationException("Table cannot be read from a streaming dataset, iterate over dataset instead");
+	}
+
+	/**
+	 * Read table metadata of all datasets: the first metadata found for a table is kept.
+	 *
+	 * @return The table metadata, indexed by table names.
+	 * @throws DataSetException If an error occurred while reading metadata.
+	 */
+	private OrderedTableNameMap readMetaData() throws DataSetException {
+		OrderedTableNameMap metaData = createTableNameMap();
+		for (IDataSet dataSet : dataSets) {
+			for (String tableName : dataSet.getTableNames()) {
+				if (!metaData.containsTable(tableName)) {
+					metaData.add(tableName, dataSet.getTableMetaData(tableName));
+				}
+			}
+		}
+
+		return metaData;
+	}
+
+	/**
+	 * Iterator chaining iterators of each dataset.
+	 */
+	private final class SequenceIterator implements ITableIterator {
+
+		/**
+		 * Index of current dataset.
+		 */
+		private int index;
+
+		/**
+		 * Iterator of current dataset.
+		 */
+		private ITableIterator current;
+
+		private SequenceIterator() {
+			this.index = 0;
+			this.current = null;
+		}
+
+		@Override
+		public boolean next() throws DataSetException {
+			while (current == null || !current.next()) {
+				if (index >= dataSets.length) {
+					current = null;
+					return false;
+				}
+
+				current = dataSets[index++].iterator();
+			}
+
+			return true;
+		}
+
+		@Override
+		public ITableMetaData getTableMetaData() throws DataSetException {
+			return current.getTableMetaData();
+		}
+
+		@Override
+		public ITable getTable() throws DataSetException {
+			return current.getTable();
+		}
+	}
+}
@@ -0,0 +1,259 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015-2021 Mickael Jeanroy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.mjeanroy.dbunit.core.dataset;
+
+import com.github.mjeanroy.dbunit.core.resources.Resource;
+import com.github.mjeanroy.dbunit.loggers.Logger;
+import com.github.mjeanroy.dbunit.loggers.Loggers;
+import org.dbunit.dataset.AbstractDataSet;
+import org.dbunit.dataset.Column;
+import org.dbunit.dataset.DataSetException;
+import org.dbunit.dataset.DefaultDataSet;
+import org.dbunit.dataset.DefaultTable;
+import org.dbunit.dataset.IDataSet;
+import org.dbunit.dataset.ITable;
+import org.dbunit.dataset.ITableIterator;
+import org.dbunit.dataset.ITableMetaData;
+import org.dbunit.dataset.datatype.DataType;
+import org.dbunit.dataset.stream.IDataSetConsumer;
+import org.dbunit.dataset.stream.IDataSetProducer;
+import org.dbunit.dataset.stream.StreamingIterator;
+import org.dbunit.dataset.xml.FlatXmlProducer;
+import org.xml.sax.Attributes;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.helpers.DefaultHandler;
+
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.parsers.SAXParser;
+import javax.xml.parsers.SAXParserFactory;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+import static com.github.mjeanroy.dbunit.commons.lang.PreConditions.notNull;
+
+/**
+ * Implementation of {@link IDataSet} streaming rows of a FlatXML resource, instead of loading the whole
+ * document in memory (as {@link org.dbunit.dataset.xml.FlatXmlDataSet} does).
+ *
+ * <p>
+ *
+ * Column sensing is done once, when the dataset is created: this first pass only collects column names of each
+ * table. Each iteration then streams rows from a new {@link FlatXmlProducer}, configured with the sensed
+ * columns, so memory consumption does not depend on the number of rows.
+ *
+ * <p>
+ *
+ * Note that such a dataset can only be iterated in forward order, and tables cannot be read with {@link #getTable(String)}:
+ * it can be used with operations such as {@code CLEAN_INSERT}, {@code INSERT}, {@code REFRESH} or {@code DELETE_ALL}.
+ */
+public class StreamingFlatXmlDataSet extends AbstractDataSet {
+
+	/**
+	 * Class Logger.
+	 */
+	private static final Logger log = Loggers.getLogger(StreamingFlatXmlDataSet.class);
+
+	/**
+	 * The FlatXML root element.
+	 */
+	private static final String DATASET = "dataset";
+
+	/**
+	 * The XML resource.
+	 */
+	private final Resource resource;
+
+	/**
+	 * The sensed metadata: a dataset containing all tables, without any rows.
+	 */
+	private final IDataSet metaDataSet;
+
+	/**
+	 * Create dataset, and sense columns of each table.
+	 *
+	 * @param resource The XML resource.
+	 * @param caseSensitiveTableNames Case Insensitivity Flag.
+	 * @throws DataSetException If XML parsing fail.
+	 */
+	StreamingFlatXmlDataSet(Resource resource, boolean caseSensitiveTableNames) throws DataSetException {
+		super(caseSensitiveTableNames);
+		this.resource = notNull(resource, "XML resource must not be null");
+		this.metaDataSet = senseColumns(resource, caseSensitiveTableNames);
+	}
+
+	@Override
+	protected ITableIterator createIterator(boolean reverse) throws DataSetException {
+		if (reverse) {
+			throw new UnsupportedOperationException("Reverse iterator is not supported by streaming dataset");
+		}
+
+		return new StreamingIterator(new ResourceProducer());
+	}
+
+	@Override
+	public String[] getTableNames() throws DataSetException {
+		return metaDataSet.getTableNames();
+	}
+
+	@Override
+	public ITableMetaData getTableMetaData(String tableName) throws DataSetException {
+		return metaDataSet.getTableMetaData(tableName);
+	}
+
+	@Override
+	public ITable getTable(String tableName) {
+		throw new UnsupportedOperationException("Table cannot be read from a streaming dataset, iterate over dataset instead");
+	}
+
+	/**
+	 * Gets {@link #resource}.
+	 *
+	 * @return {@link #resource}.
+	 */
+	public Resource getResource() {
+		return resource;
+	}
+
+	/**
+	 * Read XML resource once and extract column names of each table.
+	 *
+	 * @param resource The XML resource.
+	 * @param caseSensitiveTableNames Case Insensitivity Flag.
+	 * @return A dataset containing all tables, without any rows.
+	 * @throws DataSetException If an error occurred while reading XML input.
+	 */
+	private static IDataSet senseColumns(Resource resource, boolean caseSensitiveTableNames) throws DataSetException {
+		log.debug("Sensing columns of: {}", resource);
+
+		ColumnSensingHandler handler = new ColumnSensingHandler();
+
+		try (InputStream stream = resource.openStream()) {
+			SAXParserFactory factory = SAXParserFactory.newInstance();
+			factory.setValidating(false);
+			factory.setFeature("http://apache.org/xml/features/nonvalidating/load-external-dtd", false);
+
+			SAXParser parser = factory.newSAXParser();
+			parser.parse(new InputSource(stream), handler);
+		}
+		catch (IOException | SAXException | ParserConfigurationException ex) {
+			log.error(ex.getMessage(), ex);
+			throw new DataSetException(ex);
+		}
+
+		log.trace("Found columns: {}", handler.tables);
+
+		DefaultDataSet metaDataSet = new DefaultDataSet(caseSensitiveTableNames);
+		for (Map.Entry<String, Set<String>> entry : handler.tables.entrySet()) {
+			Column[] columns = entry.getValue().stream()
+				.map(columnName -> new Column(columnName, DataType.UNKNOWN))
+				.toArray(Column[]::new);
+
+			metaDataSet.addTable(new DefaultTable(entry.getKey(), columns));
+		}
+
+		return metaDataSet;
+	}
+
+	/**
+	 * SAX Handler collecting attribute names of each table element.
+	 */
+	private static final class ColumnSensingHandler extends DefaultHandler {
+
+		/**
+		 * Column names of each table, in input order.
+		 */
+		private final Map<String, Set<String>> tables;
+
+		/**
+		 * Current element depth.
+		 */
+		private int depth;
+
+		private ColumnSensingHandler() {
+			this.tables = new LinkedHashMap<>();
+			this.depth = 0;
+		}
+
+		@Override
+		public void startElement(String uri, String localName, String qName, Attributes attributes) throws SAXException {
+			depth++;
+
+			if (depth == 1) {
+				if (!DATASET.equals(qName)) {
+					throw new SAXException("Unexpected root element '" + qName + "', expected '" + DATASET + "'");
+				}
+
+				return;
+			}
+
+			if (depth == 2) {
+				Set<String> columns = tables.computeIfAbsent(qName, (name) -> new LinkedHashSet<>());
+				for (int i = 0; i < attributes.getLength(); i++) {
+					columns.add(attributes.getQName(i));
+				}
+			}
+		}
+
+		@Override
+		public void endElement(String uri, String localName, String qName) {
+			depth--;
+		}
+	}
+
+	/**
+	 * Producer opening the XML resource and streaming its rows using sensed columns.
+	 */
+	private final class ResourceProducer implements IDataSetProducer {
+
+		/**
+		 * The consumer.
+		 */
+		private IDataSetConsumer consumer;
+
+		@Override
+		public void setConsumer(IDataSetConsumer consumer) {
+			this.consumer = consumer;
+		}
+
+		@Override
+		public void produce() throws DataSetException {
+			log.debug("Streaming rows of: {}", resource);
+
+			try (InputStream stream = resource.openStream()) {
+				FlatXmlProducer producer = new FlatXmlProducer(new InputSource(stream), metaDataSet);
+				producer.setConsumer(consumer);
+				producer.produce();
+			}
+			catch (IOException ex) {
+				log.error(ex.getMessage(), ex);
+				throw new DataSetException(ex);
+			}
+		}
+	}
+}
@@ -0,0 +1,177 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015-2021 Mickael Jeanroy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.mjeanroy.dbunit.core.dataset;
+
+import com.github.mjeanroy.dbunit.commons.lang.ToStringBuilder;
+import com.github.mjeanroy.dbunit.core.resources.Resource;
+import com.github.mjeanroy.dbunit.loggers.Logger;
+import com.github.mjeanroy.dbunit.loggers.Loggers;
+import org.dbunit.dataset.AbstractDataSet;
+import org.dbunit.dataset.DataSetException;
+import org.dbunit.dataset.IDataSet;
+import org.dbunit.dataset.ITable;
+import org.dbunit.dataset.ITableIterator;
+import org.dbunit.dataset.ITableMetaData;
+import org.dbunit.dataset.NoSuchTableException;
+import org.dbunit.dataset.OrderedTableNameMap;
+import org.dbunit.dataset.stream.DefaultConsumer;
+import org.dbunit.dataset.stream.IDataSetProducer;
+import org.dbunit.dataset.stream.StreamingIterator;
+
+import static com.github.mjeanroy.dbunit.commons.lang.PreConditions.notNull;
+
+/**
+ * Implementation of {@link IDataSet} streaming rows of a resource from a new {@link IDataSetProducer} each time the
+ * dataset is iterated: contrary to {@link org.dbunit.dataset.stream.StreamingDataSet}, this dataset can be iterated
+ * several times (for example, to delete then insert rows).
+ *
+ * <p>
+ *
+ * Table metadata are read (once) by running a producer, without keeping any row.
+ *
+ * <p>
+ *
+ * Note that such a dataset can only be iterated in forward order, and tables cannot be read with {@link #getTable(String)}:
+ * it can be used with operations such as {@code CLEAN_INSERT}, {@code INSERT}, {@code REFRESH} or {@code DELETE_ALL}.
+ */
+class StreamingProducerDataSet extends AbstractDataSet {
+
+	/**
+	 * Class Logger.
+	 */
+	private static final Logger log = Loggers.getLogger(StreamingProducerDataSet.class);
+
+	/**
+	 * The input resource.
+	 */
+	private final Resource resource;
+
+	/**
+	 * The producer factory.
+	 */
+	private final FactoryFunction<IDataSetProducer> producers;
+
+	/**
+	 * Table metadata, read on first access.
+	 */
+	private OrderedTableNameMap metaData;
+
+	/**
+	 * Create dataset.
+	 *
+	 * @param resource The input resource.
+	 * @param caseSensitiveTableNames Case Insensitivity Flag.
+	 * @param producers The producer factory, creating producers reading {@code resource}.
+	 */
+	StreamingProducerDataSet(Resource resource, boolean caseSensitiveTableNames, FactoryFunction<IDataSetProducer> producers) {
+		super(caseSensitiveTableNames);
+		this.resource = notNull(resource, "Resource must not be null");
+		this.producers = notNull(producers, "Producer factory must not be null");
+	}
+
+	@Override
+	protected ITableIterator createIterator(boolean reverse) throws DataSetException {
+		if (reverse) {
+			throw new UnsupportedOperationException("Reverse iterator is not supported by streaming dataset");
+		}
+
+		log.debug("Streaming rows of: {}", resource);
+		return new StreamingIterator(producers.apply());
+	}
+
+	@Override
+	public String[] getTableNames() throws DataSetException {
+		return readMetaData().getTableNames();
+	}
+
+	@Override
+	public ITableMetaData getTableMetaData(String tableName) throws DataSetException {
+		OrderedTableNameMap metaData = readMetaData();
+		if (!metaData.containsTable(tableName)) {
+			throw new NoSuchTableException(tableName);
+		}
+
+		return (ITableMetaData) metaData.get(tableName);
+	}
+
+	@Override
+	public ITable getTable(String tableName) {
+		throw new UnsupportedOperationException("Table cannot be read from a streaming dataset, iterate over dataset instead");
+	}
+
+	/**
+	 * Gets {@link #resource}.
+	 *
+	 * @return {@link #resource}.
+	 */
+	Resource getResource() {
+		return resource;
+	}
+
+	/**
+	 * Read table metadata: the first metadata found for a table is kept.
+	 *
+	 * @return The table metadata, indexed by table names.
+	 * @throws DataSetException If an error occurred while reading input.
+	 */
+	private synchronized OrderedTableNameMap readMetaData() throws DataSetException {
+		if (metaData == null) {
+			log.debug("Reading table metadata of: {}", resource);
+
+			OrderedTableNameMap tables = createTableNameMap();
+			IDataSetProducer producer = producers.apply();
+
+			// Streaming producers can read metadata without reading rows.
+			if (producer instanceof AbstractStreamingDataSetProducer) {
+				for (ITableMetaData tableMetaData : ((AbstractStreamingDataSetProducer) producer).readMetaData()) {
+					tables.add(tableMetaData.getTableName(), tableMetaData);
+				}
+			}
+			else {
+				producer.setConsumer(new DefaultConsumer() {
+					@Override
+					public void startTable(ITableMetaData tableMetaData) throws DataSetException {
+						String tableName = tableMetaData.getTableName();
+						if (!tables.containsTable(tableName)) {
+							tables.add(tableName, tableMetaData);
+						}
+					}
+				});
+
+				producer.produce();
+			}
+
+			metaData = tables;
+		}
+
+		return metaData;
+	}
+
+	@Override
+	public String toString() {
+		return ToStringBuilder.create(getClass())
+			.append("resource", resource)
+			.build();
+	}
+}
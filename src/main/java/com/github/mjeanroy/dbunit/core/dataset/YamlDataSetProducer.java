@@ -0,0 +1,183 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015-2021 Mickael Jeanroy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.mjeanroy.dbunit.core.dataset;
+
+import com.github.mjeanroy.dbunit.commons.reflection.ClassUtils;
+import com.github.mjeanroy.dbunit.core.resources.Resource;
+import com.github.mjeanroy.dbunit.loggers.Logger;
+import com.github.mjeanroy.dbunit.loggers.Loggers;
+import org.dbunit.dataset.DataSetException;
+import org.dbunit.dataset.stream.IDataSetProducer;
+import org.dbunit.dataset.stream.StreamingDataSet;
+import org.yaml.snakeyaml.Yaml;
+import org.yaml.snakeyaml.constructor.SafeConstructor;
+import org.yaml.snakeyaml.error.YAMLException;
+import org.yaml.snakeyaml.events.Event;
+import org.yaml.snakeyaml.events.ScalarEvent;
+import org.yaml.snakeyaml.nodes.NodeId;
+import org.yaml.snakeyaml.nodes.ScalarNode;
+import org.yaml.snakeyaml.nodes.Tag;
+import org.yaml.snakeyaml.resolver.Resolver;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.util.Iterator;
+
+/**
+ * Implementation of {@link IDataSetProducer} reading a YAML resource with the SnakeYAML event API, without
+ * building any intermediate structure (such as the map of rows produced by {@link com.github.mjeanroy.dbunit.yaml.YamlParser}).
+ *
+ * <p>
+ *
+ * Input must respect the schema described in {@link YamlDataSet}. Scalar values are resolved exactly as
+ * {@link Yaml#load(java.io.Reader)} would do (integers, floats, booleans, timestamps, etc.). Anchors and aliases
+ * are not supported.
+ *
+ * <p>
+ *
+ * This producer is typically used with a {@link StreamingDataSet}: such a dataset can be iterated
+ * only once, in forward order, so it should be used with operations such as {@code INSERT} or {@code REFRESH}.
+ *
+ * <p>
+ *
+ * Note that this implementation requires SnakeYAML to be available in the classpath.
+ */
+public class YamlDataSetProducer extends AbstractStreamingDataSetProducer {
+
+	/**
+	 * Class Logger.
+	 */
+	private static final Logger log = Loggers.getLogger(YamlDataSetProducer.class);
+
+	/**
+	 * Determines whether SnakeYAML is available in the classpath.
+	 */
+	private static final boolean SNAKE_YAML_AVAILABLE = ClassUtils.isPresent("org.yaml.snakeyaml.Yaml");
+
+	/**
+	 * Create producer.
+	 *
+	 * @param resource The YAML resource.
+	 * @throws NullPointerException If {@code resource} is {@code null}.
+	 * @throws UnsupportedOperationException If SnakeYAML is not available in the classpath.
+	 */
+	public YamlDataSetProducer(Resource resource) {
+		super(resource);
+
+		if (!SNAKE_YAML_AVAILABLE) {
+			throw new UnsupportedOperationException("Cannot create YAML producer, please add snakeyaml to your classpath");
+		}
+	}
+
+	@Override
+	void read(Resource resource, Handler handler) throws DataSetException {
+		try (InputStream stream = resource.openStream(); InputStreamReader reader = new InputStreamReader(stream); BufferedReader buf = new BufferedReader(reader)) {
+			Iterator<Event> events = new Yaml().parse(buf).iterator();
+			ScalarConstructor constructor = new ScalarConstructor();
+
+			expect(events.next(), Event.ID.StreamStart);
+
+			Event event = events.next();
+			if (event.is(Event.ID.StreamEnd)) {
+				log.debug("Empty YAML document: {}", resource);
+				return;
+			}
+
+			expect(event, Event.ID.DocumentStart);
+			expect(events.next(), Event.ID.MappingStart);
+
+			while ((event = events.next()).is(Event.ID.Scalar)) {
+				handler.startTable(((ScalarEvent) event).getValue());
+				expect(events.next(), Event.ID.SequenceStart);
+
+				while (!(event = events.next()).is(Event.ID.SequenceEnd)) {
+					expect(event, Event.ID.MappingStart);
+
+					while ((event = events.next()).is(Event.ID.Scalar)) {
+						String columnName = ((ScalarEvent) event).getValue();
+						Event value = events.next();
+						expect(value, Event.ID.Scalar);
+						handler.value(columnName, constructor.construct((ScalarEvent) value));
+					}
+
+					expect(event, Event.ID.MappingEnd);
+					handler.endRow();
+				}
+
+				handler.endTable();
+			}
+
+			expect(event, Event.ID.MappingEnd);
+		}
+		catch (IOException | YAMLException ex) {
+			log.error(ex.getMessage(), ex);
+			throw new DataSetException(ex);
+		}
+	}
+
+	/**
+	 * Ensure that given event is of expected type.
+	 *
+	 * @param event The current event.
+	 * @param expected The expected event type.
+	 * @throws DataSetException If {@code event} is not of {@code expected} type.
+	 */
+	private static void expect(Event event, Event.ID expected) throws DataSetException {
+		if (!event.is(expected)) {
+			throw new DataSetException("Unexpected YAML event " + event + " at " + event.getStartMark() + ", expected " + expected);
+		}
+	}
+
+	/**
+	 * Construct scalar values from YAML events, using the same rules as {@link Yaml#load(java.io.Reader)}.
+	 */
+	private static final class ScalarConstructor extends SafeConstructor {
+
+		/**
+		 * The tag resolver, used for scalars without explicit tag.
+		 */
+		private final Resolver resolver;
+
+		private ScalarConstructor() {
+			this.resolver = new Resolver();
+		}
+
+		/**
+		 * Construct value of given scalar.
+		 *
+		 * @param event The scalar event.
+		 * @return The value.
+		 */
+		private Object construct(ScalarEvent event) {
+			String tag = event.getTag();
+			String value = event.getValue();
+			boolean resolved = tag == null || tag.equals("!");
+			Tag nodeTag = resolved ? resolver.resolve(NodeId.scalar, value, event.getImplicit().canOmitTagInPlainScalar()) : new Tag(tag);
+			ScalarNode node = new ScalarNode(nodeTag, resolved, value, event.getStartMark(), event.getEndMark(), event.getScalarStyle());
+			return constructObject(node);
+		}
+	}
+}
@@ -0,0 +1,265 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015-2021 Mickael Jeanroy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.mjeanroy.dbunit.core.jdbc;
+
+import com.github.mjeanroy.dbunit.commons.lang.ToStringBuilder;
+
+import java.lang.management.ManagementFactory;
+import java.sql.Connection;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.github.mjeanroy.dbunit.commons.lang.PreConditions.checkArgument;
+import static com.github.mjeanroy.dbunit.commons.lang.PreConditions.notNull;
+import static com.github.mjeanroy.dbunit.core.jdbc.JdbcConfiguration.newJdbcConfiguration;
+
+/**
+ * Implementation of {@link JdbcConnectionFactory} giving each worker thread its own database: the database
+ * name of the {@link JdbcConfiguration} URL is suffixed with the worker index (for example,
+ * {@code jdbc:hsqldb:mem:testdb} becomes {@code jdbc:hsqldb:mem:testdb_1}, {@code jdbc:hsqldb:mem:testdb_2}, etc.).
+ * A URL without database name (for example, {@code jdbc:h2:mem:}) is rejected.
+ *
+ * <br>
+ *
+ * This factory is intended to be used with in-memory databases (such as HSQLDB or H2) and JUnit Jupiter parallel
+ * execution: each worker thread runs tests against its own database (initialized once by the DbUnit runner), so
+ * tests can be executed concurrently.
+ *
+ * <br>
+ *
+ * In-memory databases are private to the JVM, but file and server databases are shared between JVMs (for example,
+ * between parallel surefire forks): for those, the database name is also suffixed with the JVM identifier, i.e the
+ * {@value #FORK_PROPERTY} system property if it is defined, the process id otherwise (for example,
+ * {@code jdbc:postgresql://localhost:5432/testdb} becomes {@code jdbc:postgresql://localhost:5432/testdb_2_1} with
+ * {@code -Ddbunit.forkNumber=2}). Note that with server databases, derived databases must already exist, so the
+ * {@value #FORK_PROPERTY} system property should be defined (for example, with {@code ${surefire.forkNumber}}).
+ */
+public class JdbcWorkerConnectionFactory extends AbstractJdbcConnectionFactory {
+
+	/**
+	 * The JDBC URL property defining the database name (for example, with SQL Server).
+	 */
+	private static final String DATABASE_NAME_PROPERTY = "databasename=";
+
+	/**
+	 * The system property defining the JVM identifier, used to derive file and server database names.
+	 */
+	public static final String FORK_PROPERTY = "dbunit.forkNumber";
+
+	/**
+	 * The JVM identifier: the {@link #FORK_PROPERTY} system property, or the process id.
+	 */
+	private static final String FORK = forkNumber();
+
+	/**
+	 * The worker index counter.
+	 */
+	private static final AtomicInteger WORKERS = new AtomicInteger(0);
+
+	/**
+	 * The worker index of each thread, assigned the first time a thread request a connection.
+	 */
+	private static final ThreadLocal<Integer> WORKER = ThreadLocal.withInitial(WORKERS::incrementAndGet);
+
+	/**
+	 * JDBC Configuration.
+	 */
+	private final JdbcConfiguration configuration;
+
+	/**
+	 * The connection factory of each worker, indexed by worker index.
+	 */
+	private final Map<Integer, JdbcConnectionFactory> factories;
+
+	/**
+	 * Create new factory.
+	 *
+	 * @param configuration JDBC Configuration.
+	 */
+	public JdbcWorkerConnectionFactory(JdbcConfiguration configuration) {
+		super();
+		this.configuration = notNull(configuration, "JDBC Configuration must not be null");
+		checkArgument(findDatabaseName(configuration.getUrl()) != null, "Cannot find database name in JDBC URL: %s", configuration.getUrl());
+		this.factories = new ConcurrentHashMap<>();
+	}
+
+	/**
+	 * Get the connection factory of the current worker.
+	 *
+	 * @return The connection factory.
+	 */
+	public JdbcConnectionFactory getWorkerFactory() {
+		return factories.computeIfAbsent(WORKER.get(), this::createWorkerFactory);
+	}
+
+	@Override
+	protected Connection createConnection() {
+		return getWorkerFactory().getConnection();
+	}
+
+	private JdbcConnectionFactory createWorkerFactory(int worker) {
+		return new JdbcDefaultConnectionFactory(newJdbcConfiguration(
+			workerUrl(configuration.getUrl(), FORK, worker),
+			configuration.getUser(),
+			configuration.getPassword()
+		));
+	}
+
+	/**
+	 * Compute the URL of given worker: the database name is suffixed with the worker index, and with the JVM
+	 * identifier unless the database is an in-memory database.
+	 *
+	 * @param url The JDBC URL.
+	 * @param fork The JVM identifier.
+	 * @param worker The worker index.
+	 * @return The worker URL.
+	 * @throws IllegalArgumentException If the database name cannot be found in given URL.
+	 */
+	static String workerUrl(String url, String fork, int worker) {
+		final int[] databaseName = findDatabaseName(url);
+		checkArgument(databaseName != null, "Cannot find database name in JDBC URL: %s", url);
+		final String suffix = isInMemory(url) ? "_" + worker : "_" + fork + "_" + worker;
+		return url.substring(0, databaseName[1]) + suffix + url.substring(databaseName[1]);
+	}
+
+	/**
+	 * Check if given JDBC URL is an in-memory H2 or HSQLDB database URL.
+	 *
+	 * @param url The JDBC URL.
+	 * @return {@code true} if the database is an in-memory database, {@code false} otherwise.
+	 */
+	private static boolean isInMemory(String url) {
+		final String lowerCaseUrl = url.toLowerCase(Locale.ROOT);
+		return (lowerCaseUrl.startsWith("jdbc:h2:") || lowerCaseUrl.startsWith("jdbc:hsqldb:")) && lowerCaseUrl.contains(":mem:");
+	}
+
+	/**
+	 * Get the JVM identifier: the {@link #FORK_PROPERTY} system property if it is defined, the process id otherwise.
+	 *
+	 * @return The JVM identifier.
+	 */
+	private static String forkNumber() {
+		final String forkNumber = System.getProperty(FORK_PROPERTY);
+		if (forkNumber != null && !forkNumber.trim().isEmpty()) {
+			return forkNumber.trim();
+		}
+
+		// The runtime name is "pid@hostname" with HotSpot and OpenJ9.
+		final String name = ManagementFactory.getRuntimeMXBean().getName();
+		final int at = name.indexOf('@');
+		return at > 0 ? name.substring(0, at) : name;
+	}
+
+	/**
+	 * Find the database name in given JDBC URL, i.e:
+	 *
+	 * <ul>
+	 *   <li>The {@code databaseName} property (for example, {@code jdbc:sqlserver://localhost:1433;databaseName=testdb}).</li>
+	 *   <li>The name following {@code mem:} or {@code file:} with H2 or HSQLDB (for example, {@code jdbc:h2:mem:testdb}).</li>
+	 *   <li>The path segment following the host (for example, {@code jdbc:postgresql://localhost:5432/testdb}).</li>
+	 * </ul>
+	 *
+	 * @param url The JDBC URL.
+	 * @return The start (inclusive) and end (exclusive) index of the database name, {@code null} if it cannot be found.
+	 */
+	private static int[] findDatabaseName(String url) {
+		final String lowerCaseUrl = url.toLowerCase(Locale.ROOT);
+
+		final int property = lowerCaseUrl.indexOf(DATABASE_NAME_PROPERTY);
+		if (property > 0 && isPropertySeparator(lowerCaseUrl.charAt(property - 1))) {
+			return range(url, property + DATABASE_NAME_PROPERTY.length(), ";&");
+		}
+
+		if (lowerCaseUrl.startsWith("jdbc:h2:") || lowerCaseUrl.startsWith("jdbc:hsqldb:")) {
+			for (String prefix : new String[]{"mem:", "file:"}) {
+				final int index = lowerCaseUrl.indexOf(prefix);
+				if (index > 0 && lowerCaseUrl.charAt(index - 1) == ':') {
+					return range(url, index + prefix.length(), ";?");
+				}
+			}
+
+			return null;
+		}
+
+		final int authority = url.indexOf("//");
+		if (authority < 0) {
+			return null;
+		}
+
+		final int path = url.indexOf('/', authority + 2);
+		return path < 0 ? null : range(url, path + 1, ";?");
+	}
+
+	private static boolean isPropertySeparator(char c) {
+		return c == ';' || c == '?' || c == '&';
+	}
+
+	/**
+	 * Get the range of the value starting at given index, ending with one of given separators (or at the end
+	 * of the URL).
+	 *
+	 * @param url The JDBC URL.
+	 * @param start The start index.
+	 * @param separators The separators.
+	 * @return The range, {@code null} if the value is empty.
+	 */
+	private static int[] range(String url, int start, String separators) {
+		int end = start;
+		while (end < url.length() && separators.indexOf(url.charAt(end)) < 0) {
+			++end;
+		}
+
+		return end > start ? new int[]{start, end} : null;
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (o == this) {
+			return true;
+		}
+
+		if (o instanceof JdbcWorkerConnectionFactory) {
+			JdbcWorkerConnectionFactory f = (JdbcWorkerConnectionFactory) o;
+			return Objects.equals(configuration, f.configuration);
+		}
+
+		return false;
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(configuration);
+	}
+
+	@Override
+	public String toString() {
+		return ToStringBuilder.create(getClass())
+			.append("configuration", configuration)
+			.build();
+	}
+}
@@ -0,0 +1,326 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015-2021 Mickael Jeanroy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.mjeanroy.dbunit.core.operation;
+
+import com.github.mjeanroy.dbunit.loggers.Logger;
+import com.github.mjeanroy.dbunit.loggers.Loggers;
+import org.dbunit.DatabaseUnitException;
+import org.dbunit.database.DatabaseConfig;
+import org.dbunit.database.IDatabaseConnection;
+import org.dbunit.dataset.Column;
+import org.dbunit.dataset.Columns;
+import org.dbunit.dataset.IDataSet;
+import org.dbunit.dataset.ITable;
+import org.dbunit.dataset.ITableIterator;
+import org.dbunit.dataset.ITableMetaData;
+import org.dbunit.dataset.RowOutOfBoundsException;
+import org.dbunit.operation.AbstractOperation;
+
+import java.sql.SQLException;
+import java.util.BitSet;
+
+/**
+ * Insert dataset tables using the fastest bulk mechanism available for the database, detected
+ * from the connection URL (see {@link BulkLoader}):
+ *
+ * <ul>
+ *   <li>Embedded H2 databases: large tables are written to a temporary CSV file, loaded with a single {@code CSVREAD} query.</li>
+ *   <li>Other databases: rows are inserted with JDBC batches of prepared statements.</li>
+ * </ul>
+ *
+ * Values are converted with the data type of the database columns, and columns without value are left out of the
+ * {@code INSERT} statement so that the database default applies (consecutive rows with the same columns are
+ * inserted together, see {@link BulkTable}). Tables are inserted in the dataset order (as {@link org.dbunit.operation.DatabaseOperation#INSERT} does).
+ *
+ * This class is stateless and thread-safe.
+ */
+final class BulkInsertOperation extends AbstractOperation {
+
+	/**
+	 * Class Logger.
+	 */
+	private static final Logger log = Loggers.getLogger(BulkInsertOperation.class);
+
+	/**
+	 * The default minimum number of rows of a table to use native bulk mechanisms.
+	 */
+	static final int DEFAULT_THRESHOLD = 1000;
+
+	/**
+	 * The minimum number of rows of a table to use native bulk mechanisms: smaller tables are
+	 * inserted with JDBC batches.
+	 */
+	private final int threshold;
+
+	/**
+	 * Create operation, with the default threshold.
+	 */
+	BulkInsertOperation() {
+		this(DEFAULT_THRESHOLD);
+	}
+
+	/**
+	 * Create operation.
+	 *
+	 * @param threshold The minimum number of rows of a table to use native bulk mechanisms.
+	 */
+	BulkInsertOperation(int threshold) {
+		this.threshold = threshold;
+	}
+
+	@Override
+	public void execute(IDatabaseConnection connection, IDataSet dataSet) throws DatabaseUnitException, SQLException {
+		final BulkLoader loader = BulkLoader.of(connection.getConnection().getMetaData().getURL());
+		final IDataSet databaseDataSet = connection.createDataSet();
+		final int batchSize = readBatchSize(connection);
+
+		final ITableIterator iterator = dataSet.iterator();
+		while (iterator.next()) {
+			final ITable table = iterator.getTable();
+			final ITableMetaData tableMetaData = table.getTableMetaData();
+			final ITableMetaData metaData = databaseDataSet.getTableMetaData(tableMetaData.getTableName());
+			final Column[] columns = Columns.findColumnsByName(tableMetaData.getColumns(), metaData);
+			if (columns.length == 0) {
+				continue;
+			}
+
+			final String tableName = getQualifiedName(connection.getSchema(), metaData.getTableName(), connection);
+			final String[] columnNames = columnNames(connection, columns);
+			for (BulkTable run = BulkTable.of(tableName, columnNames, columns, table); run != null; run = run.next()) {
+				final BulkLoader runLoader = loader.supports(run, threshold) ? loader : BulkLoader.JDBC_BATCH;
+				log.debug("Insert rows into {} using {}", tableName, runLoader);
+				runLoader.load(connection.getConnection(), run, batchSize);
+			}
+		}
+	}
+
+	private String[] columnNames(IDatabaseConnection connection, Column[] columns) {
+		final String[] names = new String[columns.length];
+		for (int i = 0; i < columns.length; ++i) {
+			names[i] = getQualifiedName(null, columns[i].getColumnName(), connection);
+		}
+
+		return names;
+	}
+
+	private static int readBatchSize(IDatabaseConnection connection) {
+		final Object batchSize = connection.getConfig().getProperty(DatabaseConfig.PROPERTY_BATCH_SIZE);
+		return batchSize instanceof Integer && (Integer) batchSize > 0 ? (Integer) batchSize : 100;
+	}
+
+	/**
+	 * A run of consecutive rows of a dataset table that have a value for the same columns, with the
+	 * database columns to insert.
+	 *
+	 * <br>
+	 *
+	 * Columns without value (i.e {@link ITable#NO_VALUE}) are left out of the run, so that the database
+	 * default applies, and a new run starts each time the set of columns changes (as
+	 * {@link org.dbunit.operation.DatabaseOperation#INSERT} does with its "ignore mapping").
+	 */
+	static final class BulkTable {
+		private final String tableName;
+		private final String[] allColumnNames;
+		private final Column[] allColumns;
+		private final ITable table;
+		private final int firstRow;
+		private final BitSet mapping;
+		private final String[] columnNames;
+		private final Column[] columns;
+
+		/**
+		 * The number of rows of the run, {@code -1} until it is known.
+		 */
+		private int rowCount;
+
+		private BulkTable(String tableName, String[] allColumnNames, Column[] allColumns, ITable table, int firstRow, BitSet mapping) {
+			this.tableName = tableName;
+			this.allColumnNames = allColumnNames;
+			this.allColumns = allColumns;
+			this.table = table;
+			this.firstRow = firstRow;
+			this.mapping = mapping;
+			this.columnNames = new String[mapping.cardinality()];
+			this.columns = new Column[columnNames.length];
+			this.rowCount = -1;
+
+			for (int i = mapping.nextSetBit(0), j = 0; i >= 0; i = mapping.nextSetBit(i + 1), j++) {
+				columnNames[j] = allColumnNames[i];
+				columns[j] = allColumns[i];
+			}
+		}
+
+		/**
+		 * Create the first run of given table.
+		 *
+		 * @param tableName The qualified (and escaped) table name.
+		 * @param columnNames The qualified (and escaped) column names.
+		 * @param columns The database columns, in the same order as {@code columnNames}.
+		 * @param table The dataset table.
+		 * @return The first run, {@code null} if the table is empty.
+		 * @throws DatabaseUnitException If the table cannot be read.
+		 */
+		static BulkTable of(String tableName, String[] columnNames, Column[] columns, ITable table) throws DatabaseUnitException {
+			return of(tableName, columnNames, columns, table, 0);
+		}
+
+		private static BulkTable of(String tableName, String[] columnNames, Column[] columns, ITable table, int firstRow) throws DatabaseUnitException {
+			final BitSet mapping = mapping(table, columns, firstRow);
+			if (mapping == null) {
+				return null;
+			}
+
+			final BulkTable run = new BulkTable(tableName, columnNames, columns, table, firstRow, mapping);
+
+			// Tables with random access can be scanned ahead, so that the row count of the run is known
+			// before it is loaded.
+			final int tableRowCount = tableRowCount(table);
+			if (tableRowCount >= 0) {
+				int row = firstRow + 1;
+				while (row < tableRowCount && mapping.equals(mapping(table, columns, row))) {
+					row++;
+				}
+
+				run.rowCount = row - firstRow;
+			}
+
+			return run;
+		}
+
+		/**
+		 * Create the run following this one: this method must be called once all rows of this run have
+		 * been read.
+		 *
+		 * @return The next run, {@code null} if this run is the last one.
+		 * @throws DatabaseUnitException If the table cannot be read.
+		 */
+		BulkTable next() throws DatabaseUnitException {
+			return of(tableName, allColumnNames, allColumns, table, firstRow + rowCount);
+		}
+
+		/**
+		 * Get the qualified (and escaped) table name.
+		 *
+		 * @return The table name.
+		 */
+		String getTableName() {
+			return tableName;
+		}
+
+		/**
+		 * Get the qualified (and escaped) names of the columns of this run.
+		 *
+		 * @return The column names.
+		 */
+		String[] getColumnNames() {
+			return columnNames;
+		}
+
+		/**
+		 * Get the database columns of this run.
+		 *
+		 * @return The columns.
+		 */
+		Column[] getColumns() {
+			return columns;
+		}
+
+		/**
+		 * Get the number of rows of this run, or {@code -1} if the table can only be read once (i.e a streaming table).
+		 *
+		 * @return The number of rows.
+		 */
+		int getRowCount() {
+			return rowCount;
+		}
+
+		/**
+		 * Check if given row exists in this run: this method reads rows in order, so that it can be used with
+		 * streaming tables.
+		 *
+		 * @param row The row index, relative to the first row of the run.
+		 * @return {@code true} if the row exists, {@code false} otherwise.
+		 * @throws DatabaseUnitException If the table cannot be read.
+		 */
+		boolean hasRow(int row) throws DatabaseUnitException {
+			if (rowCount >= 0) {
+				return row < rowCount;
+			}
+
+			if (mapping.equals(mapping(table, allColumns, firstRow + row))) {
+				return true;
+			}
+
+			rowCount = row;
+			return false;
+		}
+
+		/**
+		 * Get the value of given column, converted with the column data type.
+		 *
+		 * @param row The row index, relative to the first row of the run.
+		 * @param column The column index, in the columns of this run.
+		 * @return The value, may be {@code null}.
+		 * @throws DatabaseUnitException If the value cannot be read or converted.
+		 */
+		Object getValue(int row, int column) throws DatabaseUnitException {
+			return columns[column].getDataType().typeCast(table.getValue(firstRow + row, columns[column].getColumnName()));
+		}
+
+		/**
+		 * Get the columns that have a value in given row.
+		 *
+		 * @param table The dataset table.
+		 * @param columns The database columns.
+		 * @param row The row index.
+		 * @return The index of columns with a value, {@code null} if the row does not exist.
+		 * @throws DatabaseUnitException If the table cannot be read.
+		 */
+		private static BitSet mapping(ITable table, Column[] columns, int row) throws DatabaseUnitException {
+			final BitSet mapping = new BitSet(columns.length);
+
+			try {
+				for (int i = 0; i < columns.length; ++i) {
+					if (table.getValue(row, columns[i].getColumnName()) != ITable.NO_VALUE) {
+						mapping.set(i);
+					}
+				}
+			}
+			catch (RowOutOfBoundsException ex) {
+				return null;
+			}
+
+			return mapping;
+		}
+
+		private static int tableRowCount(ITable table) {
+			try {
+				return table.getRowCount();
+			}
+			catch (UnsupportedOperationException ex) {
+				return -1;
+			}
+		}
+	}
+}
@@ -0,0 +1,312 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015-2021 Mickael Jeanroy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.mjeanroy.dbunit.core.operation;
+
+import com.github.mjeanroy.dbunit.core.operation.BulkInsertOperation.BulkTable;
+import com.github.mjeanroy.dbunit.loggers.Logger;
+import com.github.mjeanroy.dbunit.loggers.Loggers;
+import org.dbunit.DatabaseUnitException;
+import org.dbunit.dataset.Column;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * The mechanisms used by {@link BulkInsertOperation} to insert dataset tables.
+ */
+enum BulkLoader {
+
+	/**
+	 * Embedded H2 database (i.e not a remote {@code tcp:} or {@code ssl:} server): the table is written to a temporary
+	 * CSV file, and inserted with a single {@code INSERT INTO ... SELECT * FROM CSVREAD(...)} query, so that rows
+	 * are parsed and inserted by the engine itself.
+	 *
+	 * <br>
+	 *
+	 * Only tables whose columns can be safely represented as text (numbers, strings, booleans, dates) are
+	 * supported, others are inserted with JDBC batches.
+	 */
+	H2 {
+		@Override
+		boolean match(String url) {
+			return url.startsWith("jdbc:h2:") && !url.startsWith("jdbc:h2:tcp:") && !url.startsWith("jdbc:h2:ssl:");
+		}
+
+		@Override
+		boolean supports(BulkTable table, int threshold) {
+			final int rowCount = table.getRowCount();
+			if (rowCount >= 0 && rowCount < threshold) {
+				return false;
+			}
+
+			for (Column column : table.getColumns()) {
+				if (!TEXT_TYPES.contains(column.getDataType().getSqlType())) {
+					return false;
+				}
+			}
+
+			return true;
+		}
+
+		@Override
+		void load(Connection connection, BulkTable table, int batchSize) throws DatabaseUnitException, SQLException {
+			final Path file = createTempFile();
+
+			try {
+				final int rows = writeCsv(file, table);
+				if (rows == 0) {
+					return;
+				}
+
+				final String[] csvColumns = new String[table.getColumns().length];
+				for (int i = 0; i < csvColumns.length; ++i) {
+					csvColumns[i] = "C" + i;
+				}
+
+				final String sql = "INSERT INTO " + table.getTableName() +
+					" (" + String.join(", ", table.getColumnNames()) + ")" +
+					" SELECT * FROM CSVREAD(" + quote(file.toAbsolutePath().toString()) + ", " + quote(String.join(",", csvColumns)) + ", 'charset=UTF-8')";
+
+				log.debug("Load {} row(s) into {} from {}", rows, table.getTableName(), file);
+
+				try (Statement statement = connection.createStatement()) {
+					statement.executeUpdate(sql);
+				}
+			}
+			finally {
+				deleteQuietly(file);
+			}
+		}
+
+		private Path createTempFile() throws DatabaseUnitException {
+			try {
+				return Files.createTempFile("dbunit-", ".csv");
+			}
+			catch (IOException ex) {
+				throw new DatabaseUnitException(ex);
+			}
+		}
+
+		private int writeCsv(Path file, BulkTable table) throws DatabaseUnitException {
+			final int columnCount = table.getColumns().length;
+
+			try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+				int row = 0;
+				while (table.hasRow(row)) {
+					for (int i = 0; i < columnCount; ++i) {
+						if (i > 0) {
+							writer.write(',');
+						}
+
+						writeValue(writer, table.getValue(row, i));
+					}
+
+					writer.write('\n');
+					row++;
+				}
+
+				return row;
+			}
+			catch (IOException ex) {
+				throw new DatabaseUnitException(ex);
+			}
+		}
+
+		/**
+		 * Write CSV value: {@code null} is written as an empty (unquoted) value, other values are
+		 * always quoted.
+		 */
+		private void writeValue(Writer writer, Object value) throws IOException {
+			if (value == null) {
+				return;
+			}
+
+			final String text = value instanceof BigDecimal ? ((BigDecimal) value).toPlainString() : value.toString();
+
+			writer.write('"');
+			for (int i = 0; i < text.length(); ++i) {
+				final char c = text.charAt(i);
+				if (c == '"') {
+					writer.write('"');
+				}
+
+				writer.write(c);
+			}
+
+			writer.write('"');
+		}
+
+		private String quote(String value) {
+			return "'" + value.replace("'", "''") + "'";
+		}
+
+		private void deleteQuietly(Path file) {
+			try {
+				Files.deleteIfExists(file);
+			}
+			catch (IOException ex) {
+				log.warn("Cannot delete temporary file {}", file);
+			}
+		}
+	},
+
+	/**
+	 * Any database: rows are inserted with JDBC batches of prepared statements.
+	 */
+	JDBC_BATCH {
+		@Override
+		boolean match(String url) {
+			return true;
+		}
+
+		@Override
+		boolean supports(BulkTable table, int threshold) {
+			return true;
+		}
+
+		@Override
+		void load(Connection connection, BulkTable table, int batchSize) throws DatabaseUnitException, SQLException {
+			final Column[] columns = table.getColumns();
+			final String[] parameters = new String[columns.length];
+			Arrays.fill(parameters, "?");
+
+			final String sql = "INSERT INTO " + table.getTableName() +
+				" (" + String.join(", ", table.getColumnNames()) + ")" +
+				" VALUES (" + String.join(", ", parameters) + ")";
+
+			try (PreparedStatement statement = connection.prepareStatement(sql)) {
+				int row = 0;
+				while (table.hasRow(row)) {
+					for (int i = 0; i < columns.length; ++i) {
+						columns[i].getDataType().setSqlValue(table.getValue(row, i), i + 1, statement);
+					}
+
+					statement.addBatch();
+					row++;
+
+					if (row % batchSize == 0) {
+						statement.executeBatch();
+					}
+				}
+
+				if (row % batchSize != 0) {
+					statement.executeBatch();
+				}
+
+				log.debug("Inserted {} row(s) into {}", row, table.getTableName());
+			}
+		}
+	};
+
+	/**
+	 * Class Logger.
+	 */
+	private static final Logger log = Loggers.getLogger(BulkLoader.class);
+
+	/**
+	 * SQL types whose values can be safely written as text, and converted back by the database.
+	 */
+	private static final Set<Integer> TEXT_TYPES = new HashSet<>(Arrays.asList(
+		Types.CHAR,
+		Types.VARCHAR,
+		Types.LONGVARCHAR,
+		Types.NCHAR,
+		Types.NVARCHAR,
+		Types.LONGNVARCHAR,
+		Types.CLOB,
+		Types.NCLOB,
+		Types.TINYINT,
+		Types.SMALLINT,
+		Types.INTEGER,
+		Types.BIGINT,
+		Types.REAL,
+		Types.FLOAT,
+		Types.DOUBLE,
+		Types.NUMERIC,
+		Types.DECIMAL,
+		Types.BIT,
+		Types.BOOLEAN,
+		Types.DATE,
+		Types.TIME,
+		Types.TIMESTAMP
+	));
+
+	/**
+	 * Find the loader of given JDBC URL, defaults to {@link #JDBC_BATCH}.
+	 *
+	 * @param url The JDBC URL.
+	 * @return The loader.
+	 */
+	static BulkLoader of(String url) {
+		if (url != null) {
+			for (BulkLoader loader : values()) {
+				if (loader.match(url)) {
+					return loader;
+				}
+			}
+		}
+
+		return JDBC_BATCH;
+	}
+
+	/**
+	 * Check if the loader can be used with given JDBC URL.
+	 *
+	 * @param url The JDBC URL.
+	 * @return {@code true} if the loader can be used, {@code false} otherwise.
+	 */
+	abstract boolean match(String url);
+
+	/**
+	 * Check if the loader should be used to load given table.
+	 *
+	 * @param table The table.
+	 * @param threshold The minimum number of rows to use native bulk mechanisms.
+	 * @return {@code true} if the loader should be used, {@code false} otherwise.
+	 */
+	abstract boolean supports(BulkTable table, int threshold);
+
+	/**
+	 * Insert all rows of given table.
+	 *
+	 * @param connection The SQL connection.
+	 * @param table The table.
+	 * @param batchSize The JDBC batch size.
+	 * @throws DatabaseUnitException If dataset values cannot be read.
+	 * @throws SQLException If a query failed.
+	 */
+	abstract void load(Connection connection, BulkTable table, int batchSize) throws DatabaseUnitException, SQLException;
+}
@@ -24,6 +24,7 @@
 
 package com.github.mjeanroy.dbunit.core.operation;
 
+import org.dbunit.operation.CompositeOperation;
 import org.dbunit.operation.DatabaseOperation;
 
 /**
@@ -38,7 +39,34 @@ public enum DbUnitOperation {
 	INSERT(DatabaseOperation.INSERT),
 	TRUNCATE_TABLE(DatabaseOperation.TRUNCATE_TABLE),
 	REFRESH(DatabaseOperation.REFRESH),
-	UPDATE(DatabaseOperation.UPDATE);
+	UPDATE(DatabaseOperation.UPDATE),
+
+	/**
+	 * Synchronize tables with the dataset: only rows that differ (by primary key) are deleted, updated or inserted.
+	 */
+	SYNC(new SyncOperation()),
+
+	/**
+	 * Insert dataset tables with the bulk mechanism of the database (detected from the connection URL): embedded H2
+	 * databases load large tables from a temporary CSV file, other databases use JDBC batches.
+	 */
+	BULK_INSERT(new BulkInsertOperation()),
+
+	/**
+	 * Delete all rows of dataset tables, then insert dataset tables as {@link #BULK_INSERT} does.
+	 */
+	CLEAN_BULK_INSERT(new CompositeOperation(DatabaseOperation.DELETE_ALL, BULK_INSERT.operation)),
+
+	/**
+	 * Insert dataset tables with multi-row {@code INSERT ... VALUES (...), (...)} statements, sized to the limits
+	 * of the database (detected from the connection URL).
+	 */
+	MULTI_ROW_INSERT(new MultiRowInsertOperation()),
+
+	/**
+	 * Delete all rows of dataset tables, then insert dataset tables as {@link #MULTI_ROW_INSERT} does.
+	 */
+	CLEAN_MULTI_ROW_INSERT(new CompositeOperation(DatabaseOperation.DELETE_ALL, MULTI_ROW_INSERT.operation));
 
 	/**
 	 * Internal DBUnit {@link DatabaseOperation}.
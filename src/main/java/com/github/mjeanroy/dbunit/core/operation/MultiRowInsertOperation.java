@@ -0,0 +1,277 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015-2021 Mickael Jeanroy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.mjeanroy.dbunit.core.operation;
+
+import com.github.mjeanroy.dbunit.core.operation.BulkInsertOperation.BulkTable;
+import com.github.mjeanroy.dbunit.loggers.Logger;
+import com.github.mjeanroy.dbunit.loggers.Loggers;
+import org.dbunit.DatabaseUnitException;
+import org.dbunit.database.IDatabaseConnection;
+import org.dbunit.dataset.Column;
+import org.dbunit.dataset.Columns;
+import org.dbunit.dataset.IDataSet;
+import org.dbunit.dataset.ITable;
+import org.dbunit.dataset.ITableIterator;
+import org.dbunit.dataset.ITableMetaData;
+import org.dbunit.operation.AbstractOperation;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+/**
+ * Insert dataset tables with multi-row {@code INSERT INTO table (columns) VALUES (...), (...), ...} statements, so
+ * that many rows are sent to the database in a single round trip.
+ *
+ * <br>
+ *
+ * The number of rows per statement is computed from the limits of the database (detected from the connection URL,
+ * see {@link Dialect}): the maximum number of bind parameters per statement, and the maximum number of rows of a
+ * {@code VALUES} clause. The prepared statement of full chunks is reused for the whole table, the remaining rows
+ * are inserted with a last, smaller, statement.
+ *
+ * Values are converted with the data type of the database columns, and columns without value are left out of the
+ * {@code INSERT} statement so that the database default applies (consecutive rows with the same columns are
+ * inserted together). Tables are inserted in the dataset order (as {@link org.dbunit.operation.DatabaseOperation#INSERT} does).
+ *
+ * This class is stateless and thread-safe.
+ */
+final class MultiRowInsertOperation extends AbstractOperation {
+
+	/**
+	 * Class Logger.
+	 */
+	private static final Logger log = Loggers.getLogger(MultiRowInsertOperation.class);
+
+	@Override
+	public void execute(IDatabaseConnection connection, IDataSet dataSet) throws DatabaseUnitException, SQLException {
+		final Dialect dialect = Dialect.of(connection.getConnection().getMetaData().getURL());
+		final IDataSet databaseDataSet = connection.createDataSet();
+
+		final ITableIterator iterator = dataSet.iterator();
+		while (iterator.next()) {
+			final ITable table = iterator.getTable();
+			final ITableMetaData tableMetaData = table.getTableMetaData();
+			final ITableMetaData metaData = databaseDataSet.getTableMetaData(tableMetaData.getTableName());
+			final Column[] columns = Columns.findColumnsByName(tableMetaData.getColumns(), metaData);
+			if (columns.length == 0) {
+				continue;
+			}
+
+			final String[] columnNames = new String[columns.length];
+			for (int i = 0; i < columns.length; ++i) {
+				columnNames[i] = getQualifiedName(null, columns[i].getColumnName(), connection);
+			}
+
+			final String tableName = getQualifiedName(connection.getSchema(), metaData.getTableName(), connection);
+			for (BulkTable run = BulkTable.of(tableName, columnNames, columns, table); run != null; run = run.next()) {
+				insert(connection.getConnection(), run, dialect.rowsPerStatement(run.getColumns().length));
+			}
+		}
+	}
+
+	private static void insert(Connection connection, BulkTable table, int rowsPerStatement) throws DatabaseUnitException, SQLException {
+		final Column[] columns = table.getColumns();
+		final Object[] values = new Object[rowsPerStatement * columns.length];
+
+		PreparedStatement statement = null;
+
+		try {
+			int row = 0;
+			int pending = 0;
+
+			while (table.hasRow(row)) {
+				for (int i = 0; i < columns.length; ++i) {
+					values[pending * columns.length + i] = table.getValue(row, i);
+				}
+
+				row++;
+				pending++;
+
+				if (pending == rowsPerStatement) {
+					if (statement == null) {
+						statement = connection.prepareStatement(sql(table, rowsPerStatement));
+					}
+
+					execute(statement, columns, values, pending);
+					pending = 0;
+				}
+			}
+
+			if (pending > 0) {
+				try (PreparedStatement remaining = connection.prepareStatement(sql(table, pending))) {
+					execute(remaining, columns, values, pending);
+				}
+			}
+
+			log.debug("Inserted {} row(s) into {} ({} row(s) per statement)", row, table.getTableName(), rowsPerStatement);
+		}
+		finally {
+			if (statement != null) {
+				statement.close();
+			}
+		}
+	}
+
+	private static void execute(PreparedStatement statement, Column[] columns, Object[] values, int rows) throws DatabaseUnitException, SQLException {
+		int index = 0;
+		for (int row = 0; row < rows; ++row) {
+			for (Column column : columns) {
+				column.getDataType().setSqlValue(values[index], index + 1, statement);
+				index++;
+			}
+		}
+
+		statement.executeUpdate();
+	}
+
+	/**
+	 * Build the {@code INSERT} statement of given table, for a given number of rows.
+	 *
+	 * @param table The table.
+	 * @param rows The number of rows.
+	 * @return The SQL statement.
+	 */
+	private static String sql(BulkTable table, int rows) {
+		final String[] columnNames = table.getColumnNames();
+		final StringBuilder sb = new StringBuilder(64 + rows * (columnNames.length * 3 + 4));
+		sb.append("INSERT INTO ").append(table.getTableName());
+		sb.append(" (").append(String.join(", ", columnNames)).append(") VALUES ");
+
+		for (int row = 0; row < rows; ++row) {
+			if (row > 0) {
+				sb.append(", ");
+			}
+
+			sb.append('(');
+			for (int i = 0; i < columnNames.length; ++i) {
+				if (i > 0) {
+					sb.append(", ");
+				}
+
+				sb.append('?');
+			}
+
+			sb.append(')');
+		}
+
+		return sb.toString();
+	}
+
+	/**
+	 * The limits of multi-row {@code INSERT} statements, by database.
+	 */
+	enum Dialect {
+
+		/**
+		 * SQL Server: at most 2100 parameters per statement, and 1000 rows per {@code VALUES} clause. The limit includes
+		 * the parameters added by the driver (for example, with {@code sp_prepexec}), so a lower ceiling is used.
+		 */
+		MSSQL("jdbc:sqlserver:", 2000, 1000),
+
+		/**
+		 * PostgreSQL: parameter count is sent as a 16-bit integer by the JDBC driver.
+		 */
+		POSTGRESQL("jdbc:postgresql:", 32767, 1000),
+
+		/**
+		 * MySQL: parameter count is sent as a 16-bit unsigned integer by the server protocol.
+		 */
+		MYSQL("jdbc:mysql:", 65535, 1000),
+
+		/**
+		 * MariaDB: same protocol as MySQL.
+		 */
+		MARIADB("jdbc:mariadb:", 65535, 1000),
+
+		/**
+		 * Oracle: multi-row {@code VALUES} clause is not supported, rows are inserted one by one.
+		 */
+		ORACLE("jdbc:oracle:", 65535, 1),
+
+		/**
+		 * H2: no practical parameter limit.
+		 */
+		H2("jdbc:h2:", 65535, 1000),
+
+		/**
+		 * HSQLDB: no practical parameter limit.
+		 */
+		HSQLDB("jdbc:hsqldb:", 65535, 1000),
+
+		/**
+		 * Other databases: use conservative limits (SQLite default limit is 999 parameters).
+		 */
+		DEFAULT("", 999, 1000);
+
+		/**
+		 * The JDBC URL prefix.
+		 */
+		private final String urlPrefix;
+
+		/**
+		 * The maximum number of bind parameters per statement.
+		 */
+		private final int maxParameters;
+
+		/**
+		 * The maximum number of rows per statement.
+		 */
+		private final int maxRows;
+
+		Dialect(String urlPrefix, int maxParameters, int maxRows) {
+			this.urlPrefix = urlPrefix;
+			this.maxParameters = maxParameters;
+			this.maxRows = maxRows;
+		}
+
+		/**
+		 * Find the dialect of given JDBC URL, defaults to {@link #DEFAULT}.
+		 *
+		 * @param url The JDBC URL.
+		 * @return The dialect.
+		 */
+		static Dialect of(String url) {
+			if (url != null) {
+				for (Dialect dialect : values()) {
+					if (url.startsWith(dialect.urlPrefix)) {
+						return dialect;
+					}
+				}
+			}
+
+			return DEFAULT;
+		}
+
+		/**
+		 * Compute the number of rows per statement, for a table with given number of columns.
+		 *
+		 * @param columnCount The number of columns.
+		 * @return The number of rows per statement, at least one.
+		 */
+		int rowsPerStatement(int columnCount) {
+			return Math.max(1, Math.min(maxRows, maxParameters / Math.max(1, columnCount)));
+		}
+	}
+}
@@ -0,0 +1,589 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015-2021 Mickael Jeanroy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.mjeanroy.dbunit.core.operation;
+
+import com.github.mjeanroy.dbunit.loggers.Logger;
+import com.github.mjeanroy.dbunit.loggers.Loggers;
+import org.dbunit.DatabaseUnitException;
+import org.dbunit.database.DatabaseConfig;
+import org.dbunit.database.IDatabaseConnection;
+import org.dbunit.dataset.Column;
+import org.dbunit.dataset.Columns;
+import org.dbunit.dataset.DataSetException;
+import org.dbunit.dataset.IDataSet;
+import org.dbunit.dataset.ITable;
+import org.dbunit.dataset.ITableIterator;
+import org.dbunit.dataset.ITableMetaData;
+import org.dbunit.dataset.datatype.DataType;
+import org.dbunit.dataset.datatype.TypeCastException;
+import org.dbunit.operation.AbstractOperation;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Synchronize database tables with the dataset: current rows of each dataset table are read and compared
+ * (by primary key) to the dataset rows, and only the required {@code DELETE}, {@code UPDATE} and {@code INSERT}
+ * statements are executed.
+ *
+ * <br>
+ *
+ * Rows are deleted in the reverse order of dataset tables, then updated and inserted in the dataset order
+ * (as {@link org.dbunit.operation.DatabaseOperation#CLEAN_INSERT} does). Tables without primary key (or whose
+ * primary key is not part of the dataset) are cleaned and fully inserted.
+ *
+ * <br>
+ *
+ * Every column of the table is compared: a column that is not defined in the dataset row is expected to contain
+ * its default value (or {@code NULL}), as it would after a {@code CLEAN_INSERT}, and is reset with {@code DEFAULT}
+ * otherwise. When the default value is not a literal (such as {@code CURRENT_TIMESTAMP}), the column is always
+ * reset. Auto-increment columns that are not defined in the dataset are left unchanged.
+ *
+ * <br>
+ *
+ * Each table is read with a single streamed {@code SELECT} (using the DbUnit fetch size): rows that are not part of
+ * the dataset must be found to be deleted, so reading the table by key ranges would still read every row, and values
+ * are compared directly instead of comparing a hash of each row, since computing the hash requires the same values.
+ *
+ * This class is stateless and thread-safe.
+ */
+final class SyncOperation extends AbstractOperation {
+
+	/**
+	 * Class Logger.
+	 */
+	private static final Logger log = Loggers.getLogger(SyncOperation.class);
+
+	@Override
+	public void execute(IDatabaseConnection connection, IDataSet dataSet) throws DatabaseUnitException, SQLException {
+		final IDataSet databaseDataSet = connection.createDataSet();
+		final List<TableDiff> diffs = new ArrayList<>();
+		for (List<ITable> tables : groupTables(dataSet).values()) {
+			diffs.add(diff(connection, databaseDataSet, tables));
+		}
+
+		final int batchSize = readBatchSize(connection);
+
+		for (int i = diffs.size() - 1; i >= 0; --i) {
+			delete(connection, diffs.get(i), batchSize);
+		}
+
+		for (TableDiff diff : diffs) {
+			update(connection, diff, batchSize);
+			insert(connection, diff, batchSize);
+		}
+	}
+
+	/**
+	 * Group dataset tables by (case insensitive) name, preserving dataset order.
+	 *
+	 * @param dataSet The dataset.
+	 * @return Tables, indexed by name.
+	 */
+	private static Map<String, List<ITable>> groupTables(IDataSet dataSet) throws DataSetException {
+		final Map<String, List<ITable>> tables = new LinkedHashMap<>();
+		final ITableIterator iterator = dataSet.iterator();
+		while (iterator.next()) {
+			final ITable table = iterator.getTable();
+			final String tableName = table.getTableMetaData().getTableName().toUpperCase(Locale.ROOT);
+			tables.computeIfAbsent(tableName, key -> new ArrayList<>()).add(table);
+		}
+
+		return tables;
+	}
+
+	/**
+	 * Compute the difference between the dataset rows and the current database rows.
+	 *
+	 * @param connection The database connection.
+	 * @param databaseDataSet The database dataset, used to read table metadata.
+	 * @param tables The dataset tables (with the same name).
+	 * @return The difference.
+	 */
+	private TableDiff diff(IDatabaseConnection connection, IDataSet databaseDataSet, List<ITable> tables) throws DatabaseUnitException, SQLException {
+		final ITableMetaData metaData = databaseDataSet.getTableMetaData(tables.get(0).getTableMetaData().getTableName());
+		final Column[] primaryKeys = metaData.getPrimaryKeys();
+		final TableDiff diff = new TableDiff(getQualifiedName(connection.getSchema(), metaData.getTableName(), connection), primaryKeys);
+
+		// Keep dataset order, so that rows are inserted in the order they are defined.
+		final Map<RowKey, Row> expected = new LinkedHashMap<>();
+		boolean matchByKey = primaryKeys.length > 0;
+
+		for (ITable table : tables) {
+			final RowLayout layout = new RowLayout(Columns.findColumnsByName(table.getTableMetaData().getColumns(), metaData), metaData);
+			for (Column primaryKey : primaryKeys) {
+				matchByKey = matchByKey && Columns.getColumn(primaryKey.getColumnName(), layout.columns) != null;
+			}
+
+			for (int i = 0; i < table.getRowCount(); ++i) {
+				final Row row = new Row(table, i, layout);
+				diff.inserts.add(row);
+				if (matchByKey) {
+					final RowKey key = row.key(primaryKeys);
+					if (expected.put(key, row) != null) {
+						throw new DataSetException("Duplicate primary key " + key + " in dataset table " + metaData.getTableName());
+					}
+				}
+			}
+		}
+
+		if (!matchByKey) {
+			log.debug("Cannot match rows of table {} by primary key, table will be cleaned", metaData.getTableName());
+			diff.deleteAll = true;
+			return diff;
+		}
+
+		diff.inserts.clear();
+		scan(connection, diff, metaData, expected);
+		diff.inserts.addAll(expected.values());
+		return diff;
+	}
+
+	/**
+	 * Read current rows of the table, and compare them with expected rows: expected rows found in the table are removed
+	 * from the {@code expected} map (and added to the updates if at least one value differs), and rows that are not
+	 * expected are added to the deletes.
+	 */
+	private void scan(IDatabaseConnection connection, TableDiff diff, ITableMetaData metaData, Map<RowKey, Row> expected) throws DatabaseUnitException, SQLException {
+		final Column[] columns = metaData.getColumns();
+		final Map<String, Integer> indexes = new HashMap<>();
+		for (int i = 0; i < columns.length; ++i) {
+			indexes.put(columns[i].getColumnName().toUpperCase(Locale.ROOT), i);
+		}
+
+		final String sql = "SELECT " + columnNames(connection, columns, ", ") + " FROM " + diff.tableName;
+		final Connection jdbcConnection = connection.getConnection();
+
+		try (Statement statement = jdbcConnection.createStatement()) {
+			statement.setFetchSize(readFetchSize(connection));
+
+			try (ResultSet rs = statement.executeQuery(sql)) {
+				while (rs.next()) {
+					final Object[] values = new Object[columns.length];
+					for (int i = 0; i < columns.length; ++i) {
+						values[i] = columns[i].getDataType().getSqlValue(i + 1, rs);
+					}
+
+					final Object[] keyValues = new Object[diff.primaryKeys.length];
+					for (int i = 0; i < keyValues.length; ++i) {
+						keyValues[i] = values[indexes.get(diff.primaryKeys[i].getColumnName().toUpperCase(Locale.ROOT))];
+					}
+
+					final Row row = expected.remove(RowKey.of(diff.primaryKeys, keyValues));
+					if (row == null) {
+						diff.deletes.add(keyValues);
+					}
+					else if (!row.isEqualTo(values, indexes)) {
+						diff.updates.add(row);
+					}
+				}
+			}
+		}
+	}
+
+	private void delete(IDatabaseConnection connection, TableDiff diff, int batchSize) throws DatabaseUnitException, SQLException {
+		if (diff.deleteAll) {
+			log.debug("Delete all rows from {}", diff.tableName);
+			try (Statement statement = connection.getConnection().createStatement()) {
+				statement.executeUpdate("DELETE FROM " + diff.tableName);
+			}
+
+			return;
+		}
+
+		if (diff.deletes.isEmpty()) {
+			return;
+		}
+
+		log.debug("Delete {} row(s) from {}", diff.deletes.size(), diff.tableName);
+
+		final String sql = "DELETE FROM " + diff.tableName + " WHERE " + columnNames(connection, diff.primaryKeys, " = ? AND ") + " = ?";
+		try (PreparedStatement statement = connection.getConnection().prepareStatement(sql)) {
+			int count = 0;
+			for (Object[] keyValues : diff.deletes) {
+				for (int i = 0; i < keyValues.length; ++i) {
+					diff.primaryKeys[i].getDataType().setSqlValue(keyValues[i], i + 1, statement);
+				}
+
+				count = addBatch(statement, count, batchSize);
+			}
+
+			statement.executeBatch();
+		}
+	}
+
+	private void update(IDatabaseConnection connection, TableDiff diff, int batchSize) throws DatabaseUnitException, SQLException {
+		if (diff.updates.isEmpty()) {
+			return;
+		}
+
+		log.debug("Update {} row(s) of {}", diff.updates.size(), diff.tableName);
+
+		for (Map.Entry<RowLayout, List<Row>> entry : groupByLayout(diff.updates).entrySet()) {
+			final RowLayout layout = entry.getKey();
+			final List<Column> values = new ArrayList<>();
+			for (Column column : layout.columns) {
+				if (Columns.getColumn(column.getColumnName(), diff.primaryKeys) == null) {
+					values.add(column);
+				}
+			}
+
+			final List<String> assignments = new ArrayList<>(values.size() + layout.omitted.length);
+			for (Column column : values) {
+				assignments.add(getQualifiedName(null, column.getColumnName(), connection) + " = ?");
+			}
+
+			// Columns not defined in the dataset are reset, as they would be with a CLEAN_INSERT.
+			for (Column column : layout.omitted) {
+				assignments.add(getQualifiedName(null, column.getColumnName(), connection) + " = DEFAULT");
+			}
+
+			if (assignments.isEmpty()) {
+				continue;
+			}
+
+			final Column[] valueColumns = values.toArray(new Column[0]);
+			final String sql = "UPDATE " + diff.tableName +
+				" SET " + String.join(", ", assignments) +
+				" WHERE " + columnNames(connection, diff.primaryKeys, " = ? AND ") + " = ?";
+
+			try (PreparedStatement statement = connection.getConnection().prepareStatement(sql)) {
+				int count = 0;
+				for (Row row : entry.getValue()) {
+					int index = 1;
+					for (Column column : valueColumns) {
+						row.setValue(column, index++, statement);
+					}
+
+					for (Column column : diff.primaryKeys) {
+						row.setValue(column, index++, statement);
+					}
+
+					count = addBatch(statement, count, batchSize);
+				}
+
+				statement.executeBatch();
+			}
+		}
+	}
+
+	private void insert(IDatabaseConnection connection, TableDiff diff, int batchSize) throws DatabaseUnitException, SQLException {
+		if (diff.inserts.isEmpty()) {
+			return;
+		}
+
+		log.debug("Insert {} row(s) into {}", diff.inserts.size(), diff.tableName);
+
+		for (Map.Entry<RowLayout, List<Row>> entry : groupByLayout(diff.inserts).entrySet()) {
+			final Column[] columns = entry.getKey().columns;
+			final String[] parameters = new String[columns.length];
+			Arrays.fill(parameters, "?");
+
+			final String sql = "INSERT INTO " + diff.tableName +
+				" (" + columnNames(connection, columns, ", ") + ")" +
+				" VALUES (" + String.join(", ", parameters) + ")";
+
+			try (PreparedStatement statement = connection.getConnection().prepareStatement(sql)) {
+				int count = 0;
+				for (Row row : entry.getValue()) {
+					for (int i = 0; i < columns.length; ++i) {
+						row.setValue(columns[i], i + 1, statement);
+					}
+
+					count = addBatch(statement, count, batchSize);
+				}
+
+				statement.executeBatch();
+			}
+		}
+	}
+
+	private static int addBatch(PreparedStatement statement, int count, int batchSize) throws SQLException {
+		statement.addBatch();
+		if ((count + 1) % batchSize == 0) {
+			statement.executeBatch();
+		}
+
+		return count + 1;
+	}
+
+	private static Map<RowLayout, List<Row>> groupByLayout(List<Row> rows) {
+		final Map<RowLayout, List<Row>> outputs = new LinkedHashMap<>();
+		for (Row row : rows) {
+			outputs.computeIfAbsent(row.layout, key -> new ArrayList<>()).add(row);
+		}
+
+		return outputs;
+	}
+
+	private String columnNames(IDatabaseConnection connection, Column[] columns, String separator) {
+		final List<String> names = new ArrayList<>(columns.length);
+		for (Column column : columns) {
+			names.add(getQualifiedName(null, column.getColumnName(), connection));
+		}
+
+		return String.join(separator, names);
+	}
+
+	private static int readBatchSize(IDatabaseConnection connection) {
+		final Object batchSize = connection.getConfig().getProperty(DatabaseConfig.PROPERTY_BATCH_SIZE);
+		return batchSize instanceof Integer && (Integer) batchSize > 0 ? (Integer) batchSize : 100;
+	}
+
+	private static int readFetchSize(IDatabaseConnection connection) {
+		final Object fetchSize = connection.getConfig().getProperty(DatabaseConfig.PROPERTY_FETCH_SIZE);
+		return fetchSize instanceof Integer && (Integer) fetchSize > 0 ? (Integer) fetchSize : 100;
+	}
+
+	/**
+	 * The difference between a dataset table and the database table.
+	 */
+	private static final class TableDiff {
+		private final String tableName;
+		private final Column[] primaryKeys;
+		private final List<Object[]> deletes;
+		private final List<Row> updates;
+		private final List<Row> inserts;
+		private boolean deleteAll;
+
+		private TableDiff(String tableName, Column[] primaryKeys) {
+			this.tableName = tableName;
+			this.primaryKeys = primaryKeys;
+			this.deletes = new ArrayList<>();
+			this.updates = new ArrayList<>();
+			this.inserts = new ArrayList<>();
+			this.deleteAll = false;
+		}
+	}
+
+	/**
+	 * The columns of the rows of a dataset table: the columns defined in the dataset, and the other columns of
+	 * the database table with their expected (default) value.
+	 */
+	private static final class RowLayout {
+		/**
+		 * Value used when the default value of a column cannot be evaluated.
+		 */
+		private static final Object UNKNOWN = new Object();
+
+		/**
+		 * Pattern matching a numeric literal.
+		 */
+		private static final Pattern NUMBER_PATTERN = Pattern.compile("^[+-]?(?:\\d+\\.?\\d*|\\.\\d+)(?:[eE][+-]?\\d+)?$");
+
+		/**
+		 * Pattern matching a string literal, with an optional (PostgreSQL) cast.
+		 */
+		private static final Pattern STRING_PATTERN = Pattern.compile("^'((?:[^']|'')*)'(?:::[\\w\\s]+)?$");
+
+		private final Column[] columns;
+		private final Column[] omitted;
+		private final Object[] defaults;
+
+		private RowLayout(Column[] columns, ITableMetaData metaData) throws DataSetException {
+			final List<Column> omitted = new ArrayList<>();
+			for (Column column : metaData.getColumns()) {
+				if (Columns.getColumn(column.getColumnName(), columns) == null && column.getAutoIncrement() != Column.AutoIncrement.YES) {
+					omitted.add(column);
+				}
+			}
+
+			this.columns = columns;
+			this.omitted = omitted.toArray(new Column[0]);
+			this.defaults = new Object[this.omitted.length];
+			for (int i = 0; i < this.omitted.length; ++i) {
+				this.defaults[i] = defaultValue(this.omitted[i]);
+			}
+		}
+
+		/**
+		 * Evaluate the default value of given column: {@code null} if the column does not have a default value, the
+		 * default value if it is a literal, {@link #UNKNOWN} otherwise.
+		 *
+		 * @param column The column.
+		 * @return The default value.
+		 */
+		private static Object defaultValue(Column column) {
+			if (!column.hasDefaultValue()) {
+				return null;
+			}
+
+			String value = column.getDefaultValue().trim();
+			while (value.length() > 1 && value.startsWith("(") && value.endsWith(")")) {
+				value = value.substring(1, value.length() - 1).trim();
+			}
+
+			if (value.equalsIgnoreCase("NULL")) {
+				return null;
+			}
+
+			final Object literal;
+			final Matcher matcher = STRING_PATTERN.matcher(value);
+			if (matcher.matches()) {
+				literal = matcher.group(1).replace("''", "'");
+			}
+			else if (NUMBER_PATTERN.matcher(value).matches() || value.equalsIgnoreCase("TRUE") || value.equalsIgnoreCase("FALSE")) {
+				literal = value;
+			}
+			else {
+				return UNKNOWN;
+			}
+
+			try {
+				return column.getDataType().typeCast(literal);
+			}
+			catch (TypeCastException ex) {
+				return UNKNOWN;
+			}
+		}
+	}
+
+	/**
+	 * A dataset row.
+	 */
+	private static final class Row {
+		private final ITable table;
+		private final int row;
+		private final RowLayout layout;
+		private final Column[] columns;
+
+		private Row(ITable table, int row, RowLayout layout) {
+			this.table = table;
+			this.row = row;
+			this.layout = layout;
+			this.columns = layout.columns;
+		}
+
+		private Object getValue(Column column) throws DataSetException {
+			final Object value = table.getValue(row, column.getColumnName());
+			return value == ITable.NO_VALUE ? null : value;
+		}
+
+		private void setValue(Column column, int index, PreparedStatement statement) throws DataSetException, SQLException {
+			column.getDataType().setSqlValue(getValue(column), index, statement);
+		}
+
+		private RowKey key(Column[] primaryKeys) throws DataSetException {
+			final Object[] values = new Object[primaryKeys.length];
+			for (int i = 0; i < primaryKeys.length; ++i) {
+				values[i] = getValue(Columns.getColumn(primaryKeys[i].getColumnName(), columns));
+			}
+
+			return RowKey.of(primaryKeys, values);
+		}
+
+		private boolean isEqualTo(Object[] values, Map<String, Integer> indexes) throws DataSetException {
+			for (Column column : columns) {
+				final Object actual = values[indexes.get(column.getColumnName().toUpperCase(Locale.ROOT))];
+				if (column.getDataType().compare(getValue(column), actual) != 0) {
+					return false;
+				}
+			}
+
+			for (int i = 0; i < layout.omitted.length; ++i) {
+				final Column column = layout.omitted[i];
+				final Object expected = layout.defaults[i];
+				final Object actual = values[indexes.get(column.getColumnName().toUpperCase(Locale.ROOT))];
+				if (expected == RowLayout.UNKNOWN || !isSameValue(column, expected, actual)) {
+					return false;
+				}
+			}
+
+			return true;
+		}
+
+		private static boolean isSameValue(Column column, Object expected, Object actual) {
+			try {
+				return column.getDataType().compare(expected, actual) == 0;
+			}
+			catch (TypeCastException ex) {
+				return false;
+			}
+		}
+	}
+
+	/**
+	 * A row key (i.e primary key values), normalized so that values read from the dataset and values read
+	 * from the database can be compared.
+	 */
+	private static final class RowKey {
+		private final List<Object> values;
+
+		private RowKey(List<Object> values) {
+			this.values = values;
+		}
+
+		private static RowKey of(Column[] primaryKeys, Object[] values) throws TypeCastException {
+			final List<Object> outputs = new ArrayList<>(values.length);
+			for (int i = 0; i < values.length; ++i) {
+				outputs.add(normalize(primaryKeys[i].getDataType(), values[i]));
+			}
+
+			return new RowKey(outputs);
+		}
+
+		private static Object normalize(DataType dataType, Object value) throws TypeCastException {
+			final Object typedValue = dataType.typeCast(value);
+			if (typedValue instanceof Number) {
+				return new BigDecimal(typedValue.toString()).stripTrailingZeros();
+			}
+
+			if (typedValue instanceof byte[]) {
+				return ByteBuffer.wrap((byte[]) typedValue);
+			}
+
+			return typedValue;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			return o instanceof RowKey && values.equals(((RowKey) o).values);
+		}
+
+		@Override
+		public int hashCode() {
+			return values.hashCode();
+		}
+
+		@Override
+		public String toString() {
+			return values.toString();
+		}
+	}
+}
@@ -37,6 +37,8 @@ import com.github.mjeanroy.dbunit.exception.AbstractParserException;
 import com.github.mjeanroy.dbunit.loggers.Logger;
 import com.github.mjeanroy.dbunit.loggers.Loggers;
 
+import static com.github.mjeanroy.dbunit.core.resources.CompressedResources.decompress;
+
 /**
  * Abstract implementation of {@link DatasetParser} that create {@link Reader} from
  * given {@link Resource} and execute {@link #doParse(Reader)}.
@@ -45,6 +47,10 @@ import com.github.mjeanroy.dbunit.loggers.Loggers;
  *
  * Note that exceptions thrown from {@link #doParse(Reader)} method will automatically
  * be wrapped into {@link JsonException}.
+ *
+ * <p>
+ *
+ * Compressed resources (such as {@code users.json.gz}) are decompressed while they are read.
  */
 public abstract class AbstractDatasetParser implements DatasetParser {
 
@@ -55,7 +61,7 @@ public abstract class AbstractDatasetParser implements DatasetParser {
 
 	@Override
 	public Map<String, List<Map<String, Object>>> parse(Resource resource) {
-		try (InputStream stream = resource.openStream(); InputStreamReader reader = new InputStreamReader(stream); BufferedReader buf = new BufferedReader(reader)) {
+		try (InputStream stream = decompress(resource).openStream(); InputStreamReader reader = new InputStreamReader(stream); BufferedReader buf = new BufferedReader(reader)) {
 			return doParse(buf);
 		}
 		catch (Exception ex) {
@@ -0,0 +1,219 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015-2021 Mickael Jeanroy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.mjeanroy.dbunit.core.resources;
+
+import com.github.mjeanroy.dbunit.commons.lang.ToStringBuilder;
+
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collection;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.ZipInputStream;
+
+import static com.github.mjeanroy.dbunit.commons.lang.PreConditions.notNull;
+import static java.util.Collections.emptyList;
+
+/**
+ * Implementation of {@link Resource} decompressing a compressed resource (such as {@code users.json.gz}):
+ * <ul>
+ *   <li>The file name is the name of the original resource, without the compression suffix (i.e {@code users.json}).</li>
+ *   <li>The stream is decompressed while it is read, the resource is never fully inflated in memory.</li>
+ * </ul>
+ *
+ * Since the resource content is not the content of the underlying file, {@link #toFile()} is not supported.
+ */
+class CompressedResource implements Resource {
+
+	/**
+	 * Size of the buffer used to read compressed stream.
+	 */
+	private static final int BUFFER_SIZE = 64 * 1024;
+
+	/**
+	 * The compressed resource.
+	 */
+	private final Resource resource;
+
+	/**
+	 * The compression format.
+	 */
+	private final Compression compression;
+
+	/**
+	 * Create resource.
+	 *
+	 * @param resource The compressed resource.
+	 * @param compression The compression format.
+	 */
+	CompressedResource(Resource resource, Compression compression) {
+		this.resource = notNull(resource, "Compressed resource must not be null");
+		this.compression = notNull(compression, "Compression must not be null");
+	}
+
+	@Override
+	public boolean exists() {
+		return resource.exists();
+	}
+
+	@Override
+	public File toFile() {
+		throw new UnsupportedOperationException("Compressed resource " + resource.getPath() + " cannot be read as a file");
+	}
+
+	@Override
+	public InputStream openStream() throws IOException {
+		InputStream stream = resource.openStream();
+		try {
+			return compression.decompress(new BufferedInputStream(stream, BUFFER_SIZE), resource);
+		}
+		catch (IOException | RuntimeException ex) {
+			stream.close();
+			throw ex;
+		}
+	}
+
+	@Override
+	public String getFilename() {
+		return compression.strip(resource.getFilename());
+	}
+
+	@Override
+	public String getPath() {
+		return resource.getPath();
+	}
+
+	@Override
+	public boolean isDirectory() {
+		return false;
+	}
+
+	@Override
+	public Collection<Resource> listResources() {
+		return emptyList();
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (o == this) {
+			return true;
+		}
+
+		if (o instanceof CompressedResource) {
+			CompressedResource r = (CompressedResource) o;
+			return resource.equals(r.resource) && compression == r.compression;
+		}
+
+		return false;
+	}
+
+	@Override
+	public int hashCode() {
+		return resource.hashCode();
+	}
+
+	@Override
+	public String toString() {
+		return ToStringBuilder.create(getClass())
+			.append("resource", resource)
+			.append("compression", compression)
+			.build();
+	}
+
+	/**
+	 * Supported compression formats.
+	 */
+	enum Compression {
+		GZIP(".gz") {
+			@Override
+			InputStream decompress(InputStream stream, Resource resource) throws IOException {
+				return new GZIPInputStream(stream, BUFFER_SIZE);
+			}
+		},
+
+		ZIP(".zip") {
+			@Override
+			InputStream decompress(InputStream stream, Resource resource) throws IOException {
+				// Only the first entry of the archive is read.
+				ZipInputStream zip = new ZipInputStream(stream);
+				if (zip.getNextEntry() == null) {
+					throw new IOException("Zip resource " + resource.getPath() + " does not contain any entry");
+				}
+
+				return zip;
+			}
+		};
+
+		/**
+		 * The file name suffix.
+		 */
+		private final String suffix;
+
+		Compression(String suffix) {
+			this.suffix = suffix;
+		}
+
+		/**
+		 * Find the compression format of given file name.
+		 *
+		 * @param filename The file name.
+		 * @return The compression format, {@code null} if the file name does not have a compression suffix.
+		 */
+		static Compression of(String filename) {
+			if (filename == null) {
+				return null;
+			}
+
+			String lowerCaseName = filename.toLowerCase();
+			for (Compression compression : values()) {
+				if (lowerCaseName.endsWith(compression.suffix) && lowerCaseName.length() > compression.suffix.length()) {
+					return compression;
+				}
+			}
+
+			return null;
+		}
+
+		/**
+		 * Remove compression suffix from given file name.
+		 *
+		 * @param filename The file name.
+		 * @return The file name without compression suffix.
+		 */
+		String strip(String filename) {
+			return filename.substring(0, filename.length() - suffix.length());
+		}
+
+		/**
+		 * Decompress given stream.
+		 *
+		 * @param stream The compressed stream.
+		 * @param resource The compressed resource.
+		 * @return The decompressed stream.
+		 * @throws IOException If the stream cannot be read.
+		 */
+		abstract InputStream decompress(InputStream stream, Resource resource) throws IOException;
+	}
+}
@@ -0,0 +1,83 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015-2021 Mickael Jeanroy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.mjeanroy.dbunit.core.resources;
+
+import com.github.mjeanroy.dbunit.core.resources.CompressedResource.Compression;
+
+import static com.github.mjeanroy.dbunit.commons.lang.PreConditions.notNull;
+
+/**
+ * Static utilities to read compressed resources.
+ *
+ * <br>
+ *
+ * Supported formats are gzip (files with the {@code .gz} suffix, such as {@code users.json.gz}), and
+ * zip archives (files with the {@code .zip} suffix, such as {@code users.json.zip}): in this case, the
+ * first entry of the archive is read.
+ */
+public final class CompressedResources {
+
+	// Ensure non instantiation.
+	private CompressedResources() {
+	}
+
+	/**
+	 * Check if given resource is compressed, i.e if its file name ends with a compression suffix.
+	 *
+	 * @param resource The resource.
+	 * @return {@code true} if the resource is compressed, {@code false} otherwise.
+	 */
+	public static boolean isCompressed(Resource resource) {
+		notNull(resource, "Resource must not be null");
+		return !resource.isDirectory() && Compression.of(resource.getFilename()) != null;
+	}
+
+	/**
+	 * Check if given resource is the decompressed view of a compressed resource (see {@link #decompress(Resource)}):
+	 * such a resource can only be read as a stream.
+	 *
+	 * @param resource The resource.
+	 * @return {@code true} if the resource is a decompressed view, {@code false} otherwise.
+	 */
+	public static boolean isDecompressed(Resource resource) {
+		notNull(resource, "Resource must not be null");
+		return resource instanceof CompressedResource;
+	}
+
+	/**
+	 * Get the decompressed view of given resource: if the resource is not compressed, it is returned as is.
+	 *
+	 * @param resource The resource.
+	 * @return The decompressed resource.
+	 */
+	public static Resource decompress(Resource resource) {
+		notNull(resource, "Resource must not be null");
+		if (resource.isDirectory()) {
+			return resource;
+		}
+
+		Compression compression = Compression.of(resource.getFilename());
+		return compression == null ? resource : new CompressedResource(resource, compression);
+	}
+}
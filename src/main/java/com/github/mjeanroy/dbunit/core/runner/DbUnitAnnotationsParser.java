@@ -42,10 +42,13 @@ import com.github.mjeanroy.dbunit.core.configuration.DbUnitFetchSizeInterceptor;
 import com.github.mjeanroy.dbunit.core.configuration.DbUnitMetadataHandlerInterceptor;
 import com.github.mjeanroy.dbunit.core.configuration.DbUnitQualifiedTableNamesInterceptor;
 import com.github.mjeanroy.dbunit.core.dataset.DataSetFactory;
+import com.github.mjeanroy.dbunit.core.jdbc.JdbcConfiguration;
 import com.github.mjeanroy.dbunit.core.jdbc.JdbcConnectionFactory;
 import com.github.mjeanroy.dbunit.core.jdbc.JdbcDefaultConnectionFactory;
+import com.github.mjeanroy.dbunit.core.jdbc.JdbcWorkerConnectionFactory;
 import com.github.mjeanroy.dbunit.core.replacement.Replacements;
 import com.github.mjeanroy.dbunit.core.replacement.ReplacementsProvider;
+import com.github.mjeanroy.dbunit.core.resources.ResourceLoader;
 import com.github.mjeanroy.dbunit.core.sql.SqlScriptParserConfiguration;
 import com.github.mjeanroy.dbunit.exception.DbUnitException;
 import com.github.mjeanroy.dbunit.loggers.Logger;
@@ -60,8 +63,8 @@ import java.util.Arrays;
 import java.util.List;
 import java.util.stream.Collectors;
 
+import static com.github.mjeanroy.dbunit.commons.lang.Objects.firstNonNull;
 import static com.github.mjeanroy.dbunit.core.jdbc.JdbcConfiguration.newJdbcConfiguration;
-import static com.github.mjeanroy.dbunit.core.sql.SqlScriptParser.parseScript;
 import static java.util.Arrays.asList;
 import static java.util.Collections.emptyList;
 
@@ -92,7 +95,9 @@ final class DbUnitAnnotationsParser {
 		}
 
 		try {
-			return DataSetFactory.createDataSet(annotation.value());
+			return annotation.streaming() ?
+				DataSetFactory.createStreamingDataSet(annotation.value()) :
+				DataSetFactory.createDataSet(annotation.value());
 		}
 		catch (DataSetException ex) {
 			log.error(ex.getMessage(), ex);
@@ -147,7 +152,8 @@ final class DbUnitAnnotationsParser {
 	}
 
 	/**
-	 * Read and parse SQL initialization scripts configured (with {@link DbUnitInit} annotation).
+	 * Read SQL initialization scripts configured (with {@link DbUnitInit} annotation): scripts are parsed
+	 * when they are executed.
 	 *
 	 * @param annotation The configured annotation.
 	 * @return The list of SQL Scripts.
@@ -160,9 +166,11 @@ final class DbUnitAnnotationsParser {
 		final char delimiter = annotation.delimiter();
 		final SqlScriptParserConfiguration configuration = SqlScriptParserConfiguration.builder().setDelimiter(delimiter).build();
 		final String[] sql = annotation.sql();
+		final boolean runOnce = annotation.runOnce();
+		final int batchSize = annotation.batchSize();
 		return Arrays.stream(sql)
-			.map(input -> parseScript(input, configuration))
-			.map(SqlScript::new)
+			.map(input -> firstNonNull(ResourceLoader.find(input), ResourceLoader.CLASSPATH).load(input))
+			.map(resource -> new SqlScript(resource, configuration, runOnce, batchSize))
 			.collect(Collectors.toList());
 	}
 
@@ -177,8 +185,9 @@ final class DbUnitAnnotationsParser {
 			return emptyList();
 		}
 
+		final boolean runOnce = annotation.runOnce();
 		return Arrays.stream(annotation.value())
-			.map(LiquibaseChangeLog::new)
+			.map(changeLog -> new LiquibaseChangeLog(changeLog, runOnce))
 			.collect(Collectors.toList());
 	}
 
@@ -193,11 +202,15 @@ final class DbUnitAnnotationsParser {
 			return null;
 		}
 
-		return new JdbcDefaultConnectionFactory(newJdbcConfiguration(
+		JdbcConfiguration configuration = newJdbcConfiguration(
 			annotation.url(),
 			annotation.user(),
-			annotation.password())
+			annotation.password()
 		);
+
+		return annotation.perWorker() ?
+			new JdbcWorkerConnectionFactory(configuration) :
+			new JdbcDefaultConnectionFactory(configuration);
 	}
 
 	/**
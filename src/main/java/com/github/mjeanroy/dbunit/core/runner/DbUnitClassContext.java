@@ -25,6 +25,7 @@
 package com.github.mjeanroy.dbunit.core.runner;
 
 import com.github.mjeanroy.dbunit.commons.lang.ToStringBuilder;
+import com.github.mjeanroy.dbunit.core.annotations.DbUnitIsolationMode;
 import com.github.mjeanroy.dbunit.core.configuration.DbUnitConfigInterceptor;
 import com.github.mjeanroy.dbunit.core.jdbc.JdbcConnectionFactory;
 import com.github.mjeanroy.dbunit.core.replacement.Replacements;
@@ -43,6 +44,8 @@ import static java.util.Collections.unmodifiableList;
  *   <li>The JDBC Connection Factory.</li>
  *   <li>SQL Initialization Scripts.</li>
  *   <li>The liquibase changelogs.</li>
+ *   <li>The flag to capture (and restore) embedded database snapshot after initialization.</li>
+ *   <li>The isolation mode between test methods.</li>
  *   <li>The list of dataset replacements.</li>
  *   <li>The list of configuration interceptors.</li>
  * </ul>
@@ -69,6 +72,16 @@ final class DbUnitClassContext {
 	 */
 	private final List<LiquibaseChangeLog> liquibaseChangeLogs;
 
+	/**
+	 * Flag to capture (and restore) embedded database snapshot after initialization.
+	 */
+	private final boolean initSnapshot;
+
+	/**
+	 * The isolation mode between test methods.
+	 */
+	private final DbUnitIsolationMode isolation;
+
 	/**
 	 * The list of replacements values, may be empty.
 	 */
@@ -86,6 +99,8 @@ final class DbUnitClassContext {
 	 * @param connectionFactory The custom JDBC connection factory.
 	 * @param initScripts The list of initialization scripts to run.
 	 * @param liquibaseChangeLogs The liquibase changelogs.
+	 * @param initSnapshot Flag to capture (and restore) embedded database snapshot after initialization.
+	 * @param isolation The isolation mode between test methods.
 	 * @param replacements The list of replacement value.
 	 * @param interceptors The list of DbUnit configuration interceptor.
 	 */
@@ -94,6 +109,8 @@ final class DbUnitClassContext {
 		JdbcConnectionFactory connectionFactory,
 		List<SqlScript> initScripts,
 		List<LiquibaseChangeLog> liquibaseChangeLogs,
+		boolean initSnapshot,
+		DbUnitIsolationMode isolation,
 		List<Replacements> replacements,
 		List<DbUnitConfigInterceptor> interceptors) {
 
@@ -101,6 +118,8 @@ final class DbUnitClassContext {
 		this.connectionFactory = connectionFactory;
 		this.initScripts = unmodifiableList(new ArrayList<>(initScripts));
 		this.liquibaseChangeLogs = unmodifiableList(new ArrayList<>(liquibaseChangeLogs));
+		this.initSnapshot = initSnapshot;
+		this.isolation = isolation;
 		this.replacements = unmodifiableList(new ArrayList<>(replacements));
 		this.interceptors = unmodifiableList(new ArrayList<>(interceptors));
 	}
@@ -123,6 +142,24 @@ final class DbUnitClassContext {
 		return liquibaseChangeLogs;
 	}
 
+	/**
+	 * Get {@link #initSnapshot}
+	 *
+	 * @return {@link #initSnapshot}
+	 */
+	boolean isInitSnapshot() {
+		return initSnapshot;
+	}
+
+	/**
+	 * Get {@link #isolation}
+	 *
+	 * @return {@link #isolation}
+	 */
+	DbUnitIsolationMode getIsolation() {
+		return isolation;
+	}
+
 	/**
 	 * Get {@link #dataSet}
 	 *
@@ -172,6 +209,8 @@ final class DbUnitClassContext {
 				&& Objects.equals(connectionFactory, ctx.connectionFactory)
 				&& Objects.equals(initScripts, ctx.initScripts)
 				&& Objects.equals(liquibaseChangeLogs, ctx.liquibaseChangeLogs)
+				&& initSnapshot == ctx.initSnapshot
+				&& Objects.equals(isolation, ctx.isolation)
 				&& Objects.equals(interceptors, ctx.interceptors);
 		}
 
@@ -186,6 +225,8 @@ final class DbUnitClassContext {
 			connectionFactory,
 			initScripts,
 			liquibaseChangeLogs,
+			initSnapshot,
+			isolation,
 			interceptors
 		);
 	}
@@ -197,6 +238,8 @@ final class DbUnitClassContext {
 			.append("connectionFactory", connectionFactory)
 			.append("initScripts", initScripts)
 			.append("liquibaseChangeLogs", liquibaseChangeLogs)
+			.append("initSnapshot", initSnapshot)
+			.append("isolation", isolation)
 			.append("replacements", replacements)
 			.append("interceptors", interceptors)
 			.build();
@@ -29,6 +29,9 @@ import com.github.mjeanroy.dbunit.core.annotations.DbUnitConfig;
 import com.github.mjeanroy.dbunit.core.annotations.DbUnitConnection;
 import com.github.mjeanroy.dbunit.core.annotations.DbUnitDataSet;
 import com.github.mjeanroy.dbunit.core.annotations.DbUnitInit;
+import com.github.mjeanroy.dbunit.core.annotations.DbUnitInitSnapshot;
+import com.github.mjeanroy.dbunit.core.annotations.DbUnitIsolation;
+import com.github.mjeanroy.dbunit.core.annotations.DbUnitIsolationMode;
 import com.github.mjeanroy.dbunit.core.annotations.DbUnitLiquibase;
 import com.github.mjeanroy.dbunit.core.annotations.DbUnitReplacements;
 import com.github.mjeanroy.dbunit.core.configuration.DbUnitConfigInterceptor;
@@ -76,6 +79,8 @@ final class DbUnitClassContextFactory {
 			final JdbcConnectionFactory connectionFactory = extractJdbcConnectionFactory(type);
 			final List<SqlScript> initScripts = extractSqlScript(type);
 			final List<LiquibaseChangeLog> liquibaseChangeLogs = extractLiquibaseChangeLogs(type);
+			final boolean initSnapshot = findAnnotation(type, DbUnitInitSnapshot.class) != null;
+			final DbUnitIsolationMode isolation = readIsolation(type);
 			final List<Replacements> replacements = extractReplacements(type);
 			final List<DbUnitConfigInterceptor> interceptors = readConfig(type);
 
@@ -84,6 +89,8 @@ final class DbUnitClassContextFactory {
 				connectionFactory,
 				initScripts,
 				liquibaseChangeLogs,
+				initSnapshot,
+				isolation,
 				replacements,
 				interceptors
 			);
@@ -130,6 +137,18 @@ final class DbUnitClassContextFactory {
 		return DbUnitAnnotationsParser.extractLiquibaseChangeLogs(annotation);
 	}
 
+	/**
+	 * Read isolation mode between test methods, returns {@link DbUnitIsolationMode#NONE} if class is not
+	 * annotated with {@link DbUnitIsolation}.
+	 *
+	 * @param testClass The tested class.
+	 * @return The isolation mode.
+	 */
+	private static DbUnitIsolationMode readIsolation(Class<?> testClass) {
+		DbUnitIsolation annotation = findAnnotation(testClass, DbUnitIsolation.class);
+		return annotation == null ? DbUnitIsolationMode.NONE : annotation.value();
+	}
+
 	/**
 	 * Extract {@link JdbcConnectionFactory} configuration from test annotated with {@link DbUnitConnection}.
 	 *
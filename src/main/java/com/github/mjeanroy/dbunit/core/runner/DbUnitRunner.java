@@ -28,9 +28,11 @@ import com.github.mjeanroy.dbunit.commons.reflection.Annotations;
 import com.github.mjeanroy.dbunit.core.annotations.DbUnitConfig;
 import com.github.mjeanroy.dbunit.core.annotations.DbUnitConnection;
 import com.github.mjeanroy.dbunit.core.annotations.DbUnitDataSet;
+import com.github.mjeanroy.dbunit.core.annotations.DbUnitIsolationMode;
 import com.github.mjeanroy.dbunit.core.configuration.DbUnitConfigInterceptor;
 import com.github.mjeanroy.dbunit.core.jdbc.JdbcConnectionFactory;
 import com.github.mjeanroy.dbunit.core.jdbc.JdbcDataSourceConnectionFactory;
+import com.github.mjeanroy.dbunit.core.jdbc.JdbcWorkerConnectionFactory;
 import com.github.mjeanroy.dbunit.core.replacement.Replacements;
 import com.github.mjeanroy.dbunit.exception.DbUnitException;
 import com.github.mjeanroy.dbunit.exception.JdbcException;
@@ -47,8 +49,11 @@ import javax.sql.DataSource;
 import java.lang.reflect.Method;
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static com.github.mjeanroy.dbunit.commons.lang.PreConditions.notNull;
 
@@ -78,6 +83,30 @@ public class DbUnitRunner {
 	 */
 	private final JdbcConnectionFactory factory;
 
+	/**
+	 * The test transactions (with {@link DbUnitIsolationMode#ROLLBACK} isolation mode), bound to the thread
+	 * executing the test method.
+	 */
+	private final ThreadLocal<RollbackTransaction> transactions;
+
+	/**
+	 * The connection factories of databases on which class dataset has already been loaded (with
+	 * {@link DbUnitIsolationMode#ROLLBACK} isolation mode).
+	 */
+	private final Set<JdbcConnectionFactory> classDataSetLoaded;
+
+	/**
+	 * The dirty tables trackers (with {@link DbUnitIsolationMode#DIRTY_TABLES} isolation mode), indexed by
+	 * the connection factory of each database.
+	 */
+	private final Map<JdbcConnectionFactory, DirtyTablesTracker> dirtyTables;
+
+	/**
+	 * The connection factories of databases already initialized (with SQL scripts and/or liquibase changelogs):
+	 * with {@link JdbcWorkerConnectionFactory}, each worker database is initialized the first time it is used.
+	 */
+	private final Set<JdbcConnectionFactory> initialized;
+
 	/**
 	 * Create runner.
 	 *
@@ -94,7 +123,7 @@ public class DbUnitRunner {
 	 * @throws DbUnitException If dataSet parsing failed.
 	 */
 	public DbUnitRunner(Class<?> testClass, JdbcConnectionFactory factory) {
-		this(testClass, notNull(factory, "JDBC Connection Factory must be specified"), DbUnitClassContextFactory.from(testClass));
+		this(testClass, notNull(factory, "JDBC Connection Factory must be specified"), DbUnitClassContextFactory.from(testClass), null);
 	}
 
 	/**
@@ -116,17 +145,44 @@ public class DbUnitRunner {
 	 * @param testClass The tested class.
 	 */
 	public DbUnitRunner(Class<?> testClass) {
-		this(testClass, null, DbUnitClassContextFactory.from(testClass));
+		this(testClass, null, DbUnitClassContextFactory.from(testClass), null);
 	}
 
-	private DbUnitRunner(Class<?> testClass, JdbcConnectionFactory connectionFactory, DbUnitClassContext ctx) {
+	/**
+	 * Create runner for a test class nested in the test class of an other runner (for example, a
+	 * JUnit Jupiter {@code @Nested} class).
+	 *
+	 * <br>
+	 *
+	 * The JDBC Connection factory of the {@code parent} runner is used, unless the nested class is annotated
+	 * with its own {@link DbUnitConnection} configuration. Database initialization is skipped if it has already
+	 * been executed by the {@code parent} runner (i.e same connection, same SQL scripts and same liquibase changelogs).
+	 *
+	 * @param testClass The tested class.
+	 * @param parent The runner of the enclosing test class.
+	 */
+	public DbUnitRunner(Class<?> testClass, DbUnitRunner parent) {
+		this(testClass, null, DbUnitClassContextFactory.from(testClass), notNull(parent, "Parent runner must not be null"));
+	}
+
+	private DbUnitRunner(Class<?> testClass, JdbcConnectionFactory connectionFactory, DbUnitClassContext ctx, DbUnitRunner parent) {
 		this.testClass = notNull(testClass, "Test Class must not be null");
 		this.ctx = ctx;
-		this.factory = readConnectionFactory(connectionFactory, ctx);
+		this.factory = readConnectionFactory(connectionFactory, ctx, parent);
+		this.transactions = new ThreadLocal<>();
+		this.classDataSetLoaded = ConcurrentHashMap.newKeySet();
+		this.dirtyTables = new ConcurrentHashMap<>();
+
+		// Then, run SQL and/or liquibase initialization, unless it has already been done by the parent runner.
+		if (parent != null && isInitializedBy(parent)) {
+			log.debug("Database initialization already executed for: {}, skipping", parent.testClass);
+			this.initialized = parent.initialized;
+		}
+		else {
+			this.initialized = ConcurrentHashMap.newKeySet();
+		}
 
-		// Then, run SQL and/or liquibase initialization
-		runSqlScript(this.factory);
-		runLiquibase(this.factory);
+		initialize();
 	}
 
 	/**
@@ -137,10 +193,35 @@ public class DbUnitRunner {
 	 *   <li>Close SQL connection.</li>
 	 * </ol>
 	 *
+	 * With {@link DbUnitIsolationMode#ROLLBACK} isolation mode, class dataset is loaded once, and a transaction
+	 * is started (and method dataset, if any, is loaded in this transaction).
+	 *
+	 * With {@link DbUnitIsolationMode#DIRTY_TABLES} isolation mode, only tables modified since the dataset has been
+	 * loaded are reloaded.
+	 *
 	 * @param testMethod Method to execute.
 	 */
 	public void beforeTest(Method testMethod) {
-		setupOrTearDown(testMethod, SetupDbOperation.getInstance());
+		initialize();
+
+		DbUnitIsolationMode isolation = ctx.getIsolation();
+
+		if (isolation == DbUnitIsolationMode.ROLLBACK) {
+			loadClassDataSet();
+
+			if (testMethod != null) {
+				beginTransaction(testMethod);
+			}
+		}
+		else if (isolation == DbUnitIsolationMode.DIRTY_TABLES) {
+			IDataSet dataSet = readDataSet(testMethod);
+			if (dataSet != null) {
+				setupOrTearDown(testMethod, new DirtyTablesSetupDbOperation(dirtyTables(), dataSet), dataSet);
+			}
+		}
+		else {
+			setupOrTearDown(testMethod, SetupDbOperation.getInstance());
+		}
 	}
 
 	/**
@@ -151,10 +232,21 @@ public class DbUnitRunner {
 	 *   <li>Close SQL connection.</li>
 	 * </ol>
 	 *
+	 * With {@link DbUnitIsolationMode#ROLLBACK} isolation mode, the test transaction is rolled back instead.
+	 *
 	 * @param testMethod Executed method.
 	 */
 	public void afterTest(Method testMethod) {
-		setupOrTearDown(testMethod, TearDownDbOperation.getInstance());
+		if (ctx.getIsolation() != DbUnitIsolationMode.ROLLBACK || testMethod == null) {
+			setupOrTearDown(testMethod, TearDownDbOperation.getInstance());
+			return;
+		}
+
+		RollbackTransaction transaction = transactions.get();
+		if (transaction != null) {
+			transactions.remove();
+			transaction.rollback();
+		}
 	}
 
 	/**
@@ -169,10 +261,105 @@ public class DbUnitRunner {
 	/**
 	 * Get JDBC Connection to the target database.
 	 *
+	 * <br>
+	 *
+	 * With {@link DbUnitIsolationMode#ROLLBACK} isolation mode, the connection of the current test transaction
+	 * is returned during test execution.
+	 *
+	 * With {@link DbUnitIsolationMode#DIRTY_TABLES} isolation mode, the returned connection tracks modified tables.
+	 *
 	 * @return SQL Connection.
 	 */
 	public Connection getConnection() {
-		return factory.getConnection();
+		RollbackTransaction transaction = transactions.get();
+		if (transaction != null) {
+			return transaction.getConnection();
+		}
+
+		Connection connection = factory.getConnection();
+		return ctx.getIsolation() == DbUnitIsolationMode.DIRTY_TABLES ? dirtyTables().wrap(connection) : connection;
+	}
+
+	/**
+	 * Load, and commit, class dataset unless it has already been loaded.
+	 */
+	private synchronized void loadClassDataSet() {
+		JdbcConnectionFactory currentFactory = currentFactory();
+		if (!classDataSetLoaded.contains(currentFactory)) {
+			setupOrTearDown(null, SetupDbOperation.getInstance());
+			classDataSetLoaded.add(currentFactory);
+		}
+	}
+
+	/**
+	 * Get the dirty tables tracker of the current database.
+	 *
+	 * @return The tracker.
+	 */
+	private DirtyTablesTracker dirtyTables() {
+		return dirtyTables.computeIfAbsent(currentFactory(), f -> new DirtyTablesTracker());
+	}
+
+	/**
+	 * Get the connection factory of the current database: with {@link JdbcWorkerConnectionFactory}, this is the
+	 * connection factory of the current worker.
+	 *
+	 * @return The connection factory.
+	 */
+	private JdbcConnectionFactory currentFactory() {
+		return factory instanceof JdbcWorkerConnectionFactory ? ((JdbcWorkerConnectionFactory) factory).getWorkerFactory() : factory;
+	}
+
+	/**
+	 * Run SQL and/or liquibase initialization on the current database, unless it has already been initialized.
+	 */
+	private void initialize() {
+		JdbcConnectionFactory currentFactory = currentFactory();
+		if (initialized.contains(currentFactory)) {
+			return;
+		}
+
+		synchronized (currentFactory) {
+			if (initialized.contains(currentFactory)) {
+				return;
+			}
+
+			if (ctx.isInitSnapshot() && hasInitialization()) {
+				EmbeddedDatabaseSnapshots.initialize(currentFactory, initializationFingerprint(), () -> {
+					runSqlScript(currentFactory);
+					runLiquibase(currentFactory);
+				});
+			}
+			else {
+				runSqlScript(currentFactory);
+				runLiquibase(currentFactory);
+			}
+
+			initialized.add(currentFactory);
+		}
+	}
+
+	/**
+	 * Start the test transaction and load the dataset of given test method (if any) in this transaction.
+	 *
+	 * @param testMethod The test method.
+	 */
+	private void beginTransaction(Method testMethod) {
+		RollbackTransaction transaction = new RollbackTransaction(factory.getConnection());
+		transactions.set(transaction);
+
+		if (Annotations.findAnnotations(testMethod, DbUnitDataSet.class).isEmpty()) {
+			return;
+		}
+
+		try {
+			setupOrTearDown(testMethod, SetupDbOperation.getInstance());
+		}
+		catch (RuntimeException ex) {
+			transactions.remove();
+			transaction.rollback();
+			throw ex;
+		}
 	}
 
 	private void setupOrTearDown(Method testMethod, DbOperation op) {
@@ -182,9 +369,13 @@ public class DbUnitRunner {
 			return;
 		}
 
+		setupOrTearDown(testMethod, op, dataSet);
+	}
+
+	private void setupOrTearDown(Method testMethod, DbOperation op, IDataSet dataSet) {
 		IDatabaseConnection dbConnection = null;
 
-		try (Connection connection = factory.getConnection()) {
+		try (Connection connection = getConnection()) {
 			log.trace(" 1- Get SQL connection");
 			dbConnection = new DatabaseConnection(connection);
 
@@ -296,17 +487,59 @@ public class DbUnitRunner {
 	}
 
 	/**
-	 * Choose connection factory to use: the one given in parameter or the one from the DbUnit test context.
+	 * Check if database initialization is defined (with SQL scripts or liquibase changelogs).
+	 *
+	 * @return {@code true} if initialization is defined, {@code false} otherwise.
+	 */
+	private boolean hasInitialization() {
+		return !ctx.getInitScripts().isEmpty() || !ctx.getLiquibaseChangeLogs().isEmpty();
+	}
+
+	/**
+	 * Compute the fingerprint of the database initialization: SQL scripts queries and liquibase changelogs content.
+	 *
+	 * @return The fingerprint.
+	 */
+	private List<Object> initializationFingerprint() {
+		final List<Object> fingerprint = new ArrayList<>();
+		fingerprint.addAll(ctx.getInitScripts());
+		for (LiquibaseChangeLog changeLog : ctx.getLiquibaseChangeLogs()) {
+			fingerprint.add(LiquibaseChangeLogExecutor.fingerprint(changeLog));
+		}
+
+		return fingerprint;
+	}
+
+	/**
+	 * Check if the database initialization of this runner has already been executed by given runner: it is the
+	 * case if both runners use the same connection and the same initialization scripts.
+	 *
+	 * @param runner The runner.
+	 * @return {@code true} if database is already initialized, {@code false} otherwise.
+	 */
+	private boolean isInitializedBy(DbUnitRunner runner) {
+		return factory.equals(runner.factory)
+			&& ctx.getInitScripts().equals(runner.ctx.getInitScripts())
+			&& ctx.getLiquibaseChangeLogs().equals(runner.ctx.getLiquibaseChangeLogs());
+	}
+
+	/**
+	 * Choose connection factory to use: the one given in parameter, the one from the DbUnit test context or the one
+	 * of the parent runner.
 	 * If no connection factory can be found, a {@link DbUnitException} will be thrown.
 	 *
 	 * @param connectionFactory The (explicit) connection factory.
 	 * @param ctx The DbUnit test context.
+	 * @param parent The parent runner, may be {@code null}.
 	 * @return The connection factory.
 	 */
-	private static JdbcConnectionFactory readConnectionFactory(JdbcConnectionFactory connectionFactory, DbUnitClassContext ctx) {
+	private static JdbcConnectionFactory readConnectionFactory(JdbcConnectionFactory connectionFactory, DbUnitClassContext ctx, DbUnitRunner parent) {
 		if (connectionFactory != null) {
 			return connectionFactory;
 		}
+		else if (parent != null && (ctx.getConnectionFactory() == null || ctx.getConnectionFactory().equals(parent.ctx.getConnectionFactory()))) {
+			return parent.factory;
+		}
 		else if (ctx.getConnectionFactory() != null) {
 			return ctx.getConnectionFactory();
 		}
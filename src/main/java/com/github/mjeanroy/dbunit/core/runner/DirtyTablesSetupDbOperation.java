@@ -0,0 +1,97 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015-2021 Mickael Jeanroy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.mjeanroy.dbunit.core.runner;
+
+import com.github.mjeanroy.dbunit.core.annotations.DbUnitSetup;
+import com.github.mjeanroy.dbunit.core.operation.DbUnitOperation;
+import com.github.mjeanroy.dbunit.loggers.Logger;
+import com.github.mjeanroy.dbunit.loggers.Loggers;
+import org.dbunit.IDatabaseTester;
+import org.dbunit.dataset.FilteredDataSet;
+import org.dbunit.dataset.IDataSet;
+
+import java.lang.reflect.Method;
+
+import static com.github.mjeanroy.dbunit.commons.lang.PreConditions.notNull;
+import static com.github.mjeanroy.dbunit.commons.reflection.Annotations.findAnnotation;
+
+/**
+ * Apply setup operations to the test database, reloading only tables modified since
+ * the dataset has been loaded.
+ *
+ * <br>
+ *
+ * Tables are filtered only when the setup operation is {@link DbUnitOperation#CLEAN_INSERT} and when the
+ * dataset to load is the last one loaded, otherwise the full dataset is loaded with {@link SetupDbOperation}.
+ */
+class DirtyTablesSetupDbOperation implements DbOperation {
+
+	/**
+	 * Class Logger.
+	 */
+	private static final Logger log = Loggers.getLogger(DirtyTablesSetupDbOperation.class);
+
+	/**
+	 * The dirty tables tracker.
+	 */
+	private final DirtyTablesTracker tracker;
+
+	/**
+	 * The dataset to load (before any replacement).
+	 */
+	private final IDataSet dataSet;
+
+	/**
+	 * Create the operation.
+	 *
+	 * @param tracker The dirty tables tracker.
+	 * @param dataSet The dataset to load (before any replacement).
+	 */
+	DirtyTablesSetupDbOperation(DirtyTablesTracker tracker, IDataSet dataSet) {
+		this.tracker = notNull(tracker, "Dirty tables tracker must not be null");
+		this.dataSet = notNull(dataSet, "DataSet must not be null");
+	}
+
+	@Override
+	public void apply(Class<?> testClass, Method method, IDatabaseTester dbTester) throws Exception {
+		DbUnitSetup annotation = findAnnotation(testClass, method, DbUnitSetup.class);
+		boolean cleanInsert = annotation == null || annotation.value() == DbUnitOperation.CLEAN_INSERT;
+
+		if (cleanInsert && tracker.isLoaded(dataSet)) {
+			IDataSet input = dbTester.getDataSet();
+			String[] tableNames = tracker.findDirtyTables(dbTester.getConnection(), input.getTableNames());
+			if (tableNames.length == 0) {
+				log.debug("    - No dirty tables, skip setup operation");
+				return;
+			}
+
+			log.debug("    - Reload dirty tables: {}", (Object) tableNames);
+			dbTester.setDataSet(new FilteredDataSet(tableNames, input));
+		}
+
+		SetupDbOperation.getInstance().apply(testClass, method, dbTester);
+		tracker.loaded(dataSet);
+	}
+}
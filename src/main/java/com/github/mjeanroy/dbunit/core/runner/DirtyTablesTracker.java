@@ -0,0 +1,375 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015-2021 Mickael Jeanroy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.mjeanroy.dbunit.core.runner;
+
+import com.github.mjeanroy.dbunit.loggers.Logger;
+import com.github.mjeanroy.dbunit.loggers.Loggers;
+import org.dbunit.database.IDatabaseConnection;
+import org.dbunit.database.search.TablesDependencyHelper;
+import org.dbunit.dataset.DataSetException;
+import org.dbunit.dataset.IDataSet;
+import org.dbunit.util.search.SearchException;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Track tables modified (with {@code INSERT}, {@code UPDATE}, {@code DELETE}, {@code MERGE} or {@code TRUNCATE}
+ * statements) on SQL connections since the last time a dataset has been loaded.
+ *
+ * <br>
+ *
+ * Tracking is conservative: any statement that cannot be identified as a read-only statement or as a statement
+ * modifying a single table (DDL, stored procedure calls, multi-table {@code UPDATE} or {@code DELETE} statements,
+ * etc.) marks all tables as dirty.
+ *
+ * This class is thread-safe.
+ */
+final class DirtyTablesTracker {
+
+	/**
+	 * Class Logger.
+	 */
+	private static final Logger log = Loggers.getLogger(DirtyTablesTracker.class);
+
+	/**
+	 * Pattern matching statements modifying a table, the first group being the statement keyword and the second
+	 * group being the table name (the PostgreSQL {@code ONLY} keyword, as in {@code UPDATE ONLY t}, is skipped).
+	 */
+	private static final Pattern WRITE_PATTERN = Pattern.compile(
+		"^\\s*(INSERT\\s+INTO|UPDATE|DELETE\\s+FROM|MERGE\\s+INTO|TRUNCATE\\s+TABLE)\\s+(?:ONLY\\s+)?([\\w$.\"`]+)",
+		Pattern.CASE_INSENSITIVE
+	);
+
+	/**
+	 * Pattern matching, after the target of an {@code UPDATE} or a {@code DELETE} statement, a clause that may
+	 * refer to other tables (such as {@code UPDATE t1 JOIN t2 ... SET t2.x = ...}, {@code DELETE FROM t1 USING ...}
+	 * or {@code UPDATE a SET ... FROM t1 a JOIN t2 ...}): the modified tables cannot be identified.
+	 */
+	private static final Pattern MULTI_TABLE_PATTERN = Pattern.compile(
+		"\\b(?:JOIN|USING|FROM)\\b",
+		Pattern.CASE_INSENSITIVE
+	);
+
+	/**
+	 * Pattern matching, after the target of an {@code UPDATE} or a {@code DELETE} statement, a comma-separated
+	 * table list (with optional aliases), such as {@code UPDATE t1, t2 SET ...}.
+	 */
+	private static final Pattern TABLE_LIST_PATTERN = Pattern.compile(
+		"^(?:\\s+(?:AS\\s+)?(?!SET\\b|WHERE\\b)[\\w$\"`]+)?\\s*,",
+		Pattern.CASE_INSENSITIVE
+	);
+
+	/**
+	 * Pattern matching read-only statements.
+	 */
+	private static final Pattern READ_PATTERN = Pattern.compile(
+		"^\\s*(?:SELECT|VALUES|COMMIT|ROLLBACK|SAVEPOINT|RELEASE)\\b",
+		Pattern.CASE_INSENSITIVE
+	);
+
+	/**
+	 * The statement methods executing the SQL query given as first argument.
+	 */
+	private static final Set<String> STATEMENT_METHODS = Collections.unmodifiableSet(new HashSet<>(
+		Arrays.asList("execute", "executeQuery", "executeUpdate", "executeLargeUpdate", "addBatch")
+	));
+
+	/**
+	 * The (normalized) name of tables modified since last load.
+	 */
+	private final Set<String> dirtyTables;
+
+	/**
+	 * Flag indicating that all tables must be considered as dirty.
+	 */
+	private boolean allDirty;
+
+	/**
+	 * The last loaded dataset, {@code null} if no dataset has been loaded yet.
+	 */
+	private IDataSet loaded;
+
+	/**
+	 * Create tracker: until a dataset is loaded, all tables are considered as dirty.
+	 */
+	DirtyTablesTracker() {
+		this.dirtyTables = new HashSet<>();
+		this.allDirty = true;
+		this.loaded = null;
+	}
+
+	/**
+	 * Check if given dataset is the last one loaded.
+	 *
+	 * @param dataSet The dataset.
+	 * @return {@code true} if given dataset is the last loaded dataset, {@code false} otherwise.
+	 */
+	synchronized boolean isLoaded(IDataSet dataSet) {
+		return loaded != null && loaded == dataSet;
+	}
+
+	/**
+	 * Mark given dataset as loaded: all tables are now considered as clean.
+	 *
+	 * @param dataSet The loaded dataset.
+	 */
+	synchronized void loaded(IDataSet dataSet) {
+		this.loaded = dataSet;
+		this.allDirty = false;
+		this.dirtyTables.clear();
+	}
+
+	/**
+	 * Mark tables modified by given SQL statement as dirty.
+	 *
+	 * @param sql The SQL statement.
+	 */
+	synchronized void track(String sql) {
+		if (allDirty || sql == null) {
+			return;
+		}
+
+		Matcher matcher = WRITE_PATTERN.matcher(sql);
+		if (!matcher.find()) {
+			if (!READ_PATTERN.matcher(sql).find()) {
+				log.debug("Cannot find table modified by: {}, mark all tables as dirty", sql);
+				allDirty = true;
+			}
+		}
+		else if (isMultiTable(matcher.group(1), sql.substring(matcher.end()))) {
+			log.debug("Statement may modify several tables: {}, mark all tables as dirty", sql);
+			allDirty = true;
+		}
+		else {
+			dirtyTables.add(normalize(matcher.group(2)));
+		}
+	}
+
+	/**
+	 * Check if given {@code UPDATE} or {@code DELETE} statement may modify other tables than its target: the
+	 * statement refers to a table list, a join, or other tables with a {@code USING} or a {@code FROM} clause.
+	 *
+	 * @param keyword The statement keyword.
+	 * @param remaining The statement, after the target table.
+	 * @return {@code true} if the statement may modify several tables, {@code false} otherwise.
+	 */
+	private static boolean isMultiTable(String keyword, String remaining) {
+		final String statement = keyword.toUpperCase(Locale.ROOT);
+		if (!statement.startsWith("UPDATE") && !statement.startsWith("DELETE")) {
+			return false;
+		}
+
+		return TABLE_LIST_PATTERN.matcher(remaining).find() || MULTI_TABLE_PATTERN.matcher(remaining).find();
+	}
+
+	/**
+	 * Mark all tables as dirty.
+	 */
+	synchronized void trackAll() {
+		allDirty = true;
+	}
+
+	/**
+	 * Find, among given table names, the ones that must be reloaded, i.e the dirty tables, and the tables
+	 * referencing them with a foreign key (since rows of these tables may have been removed with cascade deletion
+	 * or would prevent dirty tables from being cleaned).
+	 *
+	 * @param connection The database connection.
+	 * @param tableNames The table names (in the dataset order).
+	 * @return The table names to reload, in the same order.
+	 */
+	synchronized String[] findDirtyTables(IDatabaseConnection connection, String[] tableNames) {
+		if (allDirty) {
+			return tableNames;
+		}
+
+		if (dirtyTables.isEmpty()) {
+			return new String[0];
+		}
+
+		final Set<String> tables;
+
+		try {
+			tables = findDependentTables(connection);
+		}
+		catch (SQLException | DataSetException | SearchException ex) {
+			log.warn("Cannot find tables depending on dirty tables, reload all tables: {}", ex.getMessage());
+			return tableNames;
+		}
+
+		final List<String> outputs = new ArrayList<>(tableNames.length);
+		for (String tableName : tableNames) {
+			if (tables.contains(normalize(tableName))) {
+				outputs.add(tableName);
+			}
+		}
+
+		return outputs.toArray(new String[0]);
+	}
+
+	private Set<String> findDependentTables(IDatabaseConnection connection) throws SQLException, DataSetException, SearchException {
+		final Set<String> tables = new HashSet<>(dirtyTables);
+
+		for (String tableName : connection.createDataSet().getTableNames()) {
+			if (dirtyTables.contains(normalize(tableName))) {
+				for (String dependentTable : TablesDependencyHelper.getDependsOnTables(connection, tableName)) {
+					tables.add(normalize(dependentTable));
+				}
+			}
+		}
+
+		return tables;
+	}
+
+	/**
+	 * Wrap given connection: statements executed with the returned connection will be tracked.
+	 *
+	 * @param connection The SQL connection.
+	 * @return The tracked connection.
+	 */
+	Connection wrap(Connection connection) {
+		return (Connection) Proxy.newProxyInstance(
+			DirtyTablesTracker.class.getClassLoader(),
+			new Class<?>[]{Connection.class},
+			new ConnectionHandler(connection)
+		);
+	}
+
+	/**
+	 * Normalize table name: remove optional schema, and quotes, and use upper case.
+	 *
+	 * @param tableName The table name.
+	 * @return The normalized table name.
+	 */
+	private static String normalize(String tableName) {
+		final int index = tableName.lastIndexOf('.');
+		final String name = index >= 0 ? tableName.substring(index + 1) : tableName;
+		return name.replace("\"", "").replace("`", "").toUpperCase(Locale.ROOT);
+	}
+
+	private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+		try {
+			return method.invoke(target, args);
+		}
+		catch (InvocationTargetException ex) {
+			throw ex.getCause();
+		}
+	}
+
+	/**
+	 * The {@link InvocationHandler} implementation for SQL connections.
+	 */
+	private final class ConnectionHandler implements InvocationHandler {
+
+		/**
+		 * The underlying SQL connection.
+		 */
+		private final Connection connection;
+
+		private ConnectionHandler(Connection connection) {
+			this.connection = connection;
+		}
+
+		@Override
+		public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+			final String name = method.getName();
+
+			switch (name) {
+				case "equals":
+					return proxy == args[0];
+
+				case "hashCode":
+					return System.identityHashCode(proxy);
+
+				case "prepareStatement":
+					track((String) args[0]);
+					return DirtyTablesTracker.invoke(connection, method, args);
+
+				case "prepareCall":
+					trackAll();
+					return DirtyTablesTracker.invoke(connection, method, args);
+
+				case "createStatement":
+					return Proxy.newProxyInstance(
+						DirtyTablesTracker.class.getClassLoader(),
+						new Class<?>[]{Statement.class},
+						new StatementHandler((Statement) DirtyTablesTracker.invoke(connection, method, args))
+					);
+
+				default:
+					return DirtyTablesTracker.invoke(connection, method, args);
+			}
+		}
+	}
+
+	/**
+	 * The {@link InvocationHandler} implementation for SQL statements.
+	 */
+	private final class StatementHandler implements InvocationHandler {
+
+		/**
+		 * The underlying SQL statement.
+		 */
+		private final Statement statement;
+
+		private StatementHandler(Statement statement) {
+			this.statement = statement;
+		}
+
+		@Override
+		public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+			final String name = method.getName();
+
+			if (name.equals("equals")) {
+				return proxy == args[0];
+			}
+
+			if (name.equals("hashCode")) {
+				return System.identityHashCode(proxy);
+			}
+
+			if (STATEMENT_METHODS.contains(name) && args != null && args.length > 0 && args[0] instanceof String) {
+				track((String) args[0]);
+			}
+
+			return DirtyTablesTracker.invoke(statement, method, args);
+		}
+	}
+}
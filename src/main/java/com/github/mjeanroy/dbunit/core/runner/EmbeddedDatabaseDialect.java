@@ -0,0 +1,346 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015-2021 Mickael Jeanroy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.mjeanroy.dbunit.core.runner;
+
+import com.github.mjeanroy.dbunit.core.runner.EmbeddedDatabaseSnapshot.TableSnapshot;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The embedded databases that can be captured in a {@link EmbeddedDatabaseSnapshot} and restored later.
+ */
+enum EmbeddedDatabaseDialect {
+
+	/**
+	 * HSQLDB in-memory database: the {@code SCRIPT} statement returns the DDL only, so
+	 * table data is captured and restored with plain JDBC queries.
+	 */
+	HSQLDB("jdbc:hsqldb:mem:", "INFORMATION_SCHEMA", "SYSTEM_LOBS") {
+		@Override
+		EmbeddedDatabaseSnapshot capture(Connection connection) throws SQLException {
+			final List<String> statements = new ArrayList<>();
+			for (String statement : script(connection)) {
+				if (isUserStatement(statement)) {
+					statements.add(statement);
+				}
+			}
+
+			final List<TableSnapshot> tables = new ArrayList<>();
+			for (String tableName : findTables(connection)) {
+				tables.add(captureTable(connection, tableName));
+			}
+
+			return new EmbeddedDatabaseSnapshot(statements, tables);
+		}
+
+		@Override
+		void restore(Connection connection, EmbeddedDatabaseSnapshot snapshot) throws SQLException {
+			executeStatements(connection, snapshot.getStatements());
+			executeStatement(connection, "SET DATABASE REFERENTIAL INTEGRITY FALSE");
+
+			try {
+				for (TableSnapshot table : snapshot.getTables()) {
+					restoreTable(connection, table);
+				}
+			}
+			finally {
+				executeStatement(connection, "SET DATABASE REFERENTIAL INTEGRITY TRUE");
+			}
+		}
+
+		@Override
+		void reset(Connection connection) throws SQLException {
+			for (String schema : findSchemas(connection)) {
+				if (!schema.equals("PUBLIC")) {
+					executeStatement(connection, "DROP SCHEMA " + quote(schema) + " CASCADE");
+				}
+			}
+
+			executeStatement(connection, "DROP SCHEMA PUBLIC CASCADE");
+		}
+
+		/**
+		 * Check if given statement (returned by {@code SCRIPT} command) should be part of the snapshot: statements
+		 * related to users, grants or to the system schemas already exist in a new database.
+		 *
+		 * @param statement The statement.
+		 * @return {@code true} if the statement should be restored, {@code false} otherwise.
+		 */
+		private boolean isUserStatement(String statement) {
+			return !statement.startsWith("CREATE USER ")
+				&& !statement.startsWith("ALTER USER ")
+				&& !statement.startsWith("CREATE SCHEMA PUBLIC ")
+				&& !statement.startsWith("GRANT ")
+				&& !statement.startsWith("SET SCHEMA ")
+				&& !statement.startsWith("SET DATABASE UNIQUE NAME ")
+				&& !statement.contains("SYSTEM_LOBS");
+		}
+	},
+
+	/**
+	 * H2 in-memory database: the {@code SCRIPT} statement returns both DDL and data, the snapshot
+	 * is restored by executing each statement (as {@code RUNSCRIPT} would do).
+	 */
+	H2("jdbc:h2:mem:", "INFORMATION_SCHEMA") {
+		@Override
+		EmbeddedDatabaseSnapshot capture(Connection connection) throws SQLException {
+			return new EmbeddedDatabaseSnapshot(script(connection), Collections.<TableSnapshot>emptyList());
+		}
+
+		@Override
+		void restore(Connection connection, EmbeddedDatabaseSnapshot snapshot) throws SQLException {
+			executeStatements(connection, snapshot.getStatements());
+		}
+
+		@Override
+		void reset(Connection connection) throws SQLException {
+			executeStatement(connection, "DROP ALL OBJECTS");
+		}
+	};
+
+	/**
+	 * The JDBC URL prefix of in-memory databases.
+	 */
+	private final String urlPrefix;
+
+	/**
+	 * The system schemas, that are not part of the snapshot.
+	 */
+	private final Set<String> systemSchemas;
+
+	EmbeddedDatabaseDialect(String urlPrefix, String... systemSchemas) {
+		this.urlPrefix = urlPrefix;
+		this.systemSchemas = new HashSet<>(Arrays.asList(systemSchemas));
+	}
+
+	/**
+	 * Find the dialect of given JDBC URL, returns {@code null} if the URL is not an
+	 * in-memory embedded database.
+	 *
+	 * @param url The JDBC URL.
+	 * @return The dialect, may be {@code null}.
+	 */
+	static EmbeddedDatabaseDialect find(String url) {
+		if (url == null) {
+			return null;
+		}
+
+		for (EmbeddedDatabaseDialect dialect : values()) {
+			if (url.startsWith(dialect.urlPrefix)) {
+				return dialect;
+			}
+		}
+
+		return null;
+	}
+
+	/**
+	 * Check if the database is empty, i.e does not contain any table or view.
+	 *
+	 * @param connection The SQL connection.
+	 * @return {@code true} if the database is empty, {@code false} otherwise.
+	 * @throws SQLException If an error occurred while reading database metadata.
+	 */
+	boolean isEmpty(Connection connection) throws SQLException {
+		final DatabaseMetaData metaData = connection.getMetaData();
+		try (ResultSet rs = metaData.getTables(null, null, "%", new String[]{"TABLE", "VIEW"})) {
+			while (rs.next()) {
+				if (!systemSchemas.contains(rs.getString("TABLE_SCHEM"))) {
+					return false;
+				}
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * Capture the snapshot of the database.
+	 *
+	 * @param connection The SQL connection.
+	 * @return The snapshot.
+	 * @throws SQLException If an error occurred while reading the database.
+	 */
+	abstract EmbeddedDatabaseSnapshot capture(Connection connection) throws SQLException;
+
+	/**
+	 * Restore given snapshot into an empty database.
+	 *
+	 * @param connection The SQL connection.
+	 * @param snapshot The snapshot to restore.
+	 * @throws SQLException If an error occurred while restoring the snapshot.
+	 */
+	abstract void restore(Connection connection, EmbeddedDatabaseSnapshot snapshot) throws SQLException;
+
+	/**
+	 * Drop every object of the database, so that it is empty again.
+	 *
+	 * @param connection The SQL connection.
+	 * @throws SQLException If an error occurred while dropping database objects.
+	 */
+	abstract void reset(Connection connection) throws SQLException;
+
+	/**
+	 * Find the user schemas.
+	 *
+	 * @param connection The SQL connection.
+	 * @return The schema names.
+	 * @throws SQLException If an error occurred while reading database metadata.
+	 */
+	List<String> findSchemas(Connection connection) throws SQLException {
+		final List<String> schemas = new ArrayList<>();
+		try (ResultSet rs = connection.getMetaData().getSchemas()) {
+			while (rs.next()) {
+				final String schema = rs.getString("TABLE_SCHEM");
+				if (!systemSchemas.contains(schema)) {
+					schemas.add(schema);
+				}
+			}
+		}
+
+		return schemas;
+	}
+
+	/**
+	 * Find the user tables, returned as quoted and qualified table names.
+	 *
+	 * @param connection The SQL connection.
+	 * @return The table names.
+	 * @throws SQLException If an error occurred while reading database metadata.
+	 */
+	List<String> findTables(Connection connection) throws SQLException {
+		final List<String> tables = new ArrayList<>();
+		try (ResultSet rs = connection.getMetaData().getTables(null, null, "%", new String[]{"TABLE"})) {
+			while (rs.next()) {
+				final String schema = rs.getString("TABLE_SCHEM");
+				if (!systemSchemas.contains(schema)) {
+					tables.add(quote(schema) + "." + quote(rs.getString("TABLE_NAME")));
+				}
+			}
+		}
+
+		return tables;
+	}
+
+	private static List<String> script(Connection connection) throws SQLException {
+		final List<String> statements = new ArrayList<>();
+		try (Statement statement = connection.createStatement(); ResultSet rs = statement.executeQuery("SCRIPT")) {
+			while (rs.next()) {
+				statements.add(rs.getString(1));
+			}
+		}
+
+		return statements;
+	}
+
+	private static TableSnapshot captureTable(Connection connection, String tableName) throws SQLException {
+		try (Statement statement = connection.createStatement(); ResultSet rs = statement.executeQuery("SELECT * FROM " + tableName)) {
+			final ResultSetMetaData metaData = rs.getMetaData();
+			final int columnCount = metaData.getColumnCount();
+			final List<Object[]> rows = new ArrayList<>();
+
+			while (rs.next()) {
+				final Object[] row = new Object[columnCount];
+				for (int i = 0; i < columnCount; i++) {
+					row[i] = readValue(rs, i + 1, metaData.getColumnType(i + 1));
+				}
+
+				rows.add(row);
+			}
+
+			return new TableSnapshot(tableName, columnCount, rows);
+		}
+	}
+
+	private static void restoreTable(Connection connection, TableSnapshot table) throws SQLException {
+		if (table.getRows().isEmpty()) {
+			return;
+		}
+
+		final StringBuilder sql = new StringBuilder("INSERT INTO ").append(table.getTableName()).append(" VALUES (");
+		for (int i = 0; i < table.getColumnCount(); i++) {
+			sql.append(i == 0 ? "?" : ", ?");
+		}
+
+		sql.append(")");
+
+		try (PreparedStatement statement = connection.prepareStatement(sql.toString())) {
+			for (Object[] row : table.getRows()) {
+				for (int i = 0; i < row.length; i++) {
+					statement.setObject(i + 1, row[i]);
+				}
+
+				statement.addBatch();
+			}
+
+			statement.executeBatch();
+		}
+	}
+
+	/**
+	 * Read column value: large objects are read entirely, since they cannot be used once the
+	 * captured database has been closed.
+	 */
+	private static Object readValue(ResultSet rs, int index, int type) throws SQLException {
+		switch (type) {
+			case Types.BLOB:
+				return rs.getBytes(index);
+			case Types.CLOB:
+			case Types.NCLOB:
+				return rs.getString(index);
+			default:
+				return rs.getObject(index);
+		}
+	}
+
+	private static void executeStatements(Connection connection, List<String> queries) throws SQLException {
+		try (Statement statement = connection.createStatement()) {
+			for (String query : queries) {
+				statement.execute(query);
+			}
+		}
+	}
+
+	private static void executeStatement(Connection connection, String query) throws SQLException {
+		executeStatements(connection, Collections.singletonList(query));
+	}
+
+	private static String quote(String identifier) {
+		return "\"" + identifier.replace("\"", "\"\"") + "\"";
+	}
+}
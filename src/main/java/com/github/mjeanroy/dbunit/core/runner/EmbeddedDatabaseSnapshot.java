@@ -0,0 +1,159 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015-2021 Mickael Jeanroy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.mjeanroy.dbunit.core.runner;
+
+import com.github.mjeanroy.dbunit.commons.lang.ToStringBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.github.mjeanroy.dbunit.commons.lang.PreConditions.notNull;
+import static java.util.Collections.unmodifiableList;
+
+/**
+ * A snapshot of an embedded database, captured after database initialization, i.e:
+ * <ul>
+ *   <li>The list of SQL statements re-creating the database schema (and the data, depending on the database).</li>
+ *   <li>The data of each table, when it is not already part of SQL statements.</li>
+ * </ul>
+ */
+final class EmbeddedDatabaseSnapshot {
+
+	/**
+	 * The SQL statements to execute to restore the snapshot.
+	 */
+	private final List<String> statements;
+
+	/**
+	 * The data of each table.
+	 */
+	private final List<TableSnapshot> tables;
+
+	/**
+	 * Create the snapshot.
+	 *
+	 * @param statements SQL statements to execute to restore the snapshot.
+	 * @param tables The data of each table.
+	 */
+	EmbeddedDatabaseSnapshot(List<String> statements, List<TableSnapshot> tables) {
+		this.statements = unmodifiableList(new ArrayList<>(notNull(statements, "Statements must not be null")));
+		this.tables = unmodifiableList(new ArrayList<>(notNull(tables, "Tables must not be null")));
+	}
+
+	/**
+	 * Get {@link #statements}
+	 *
+	 * @return {@link #statements}
+	 */
+	List<String> getStatements() {
+		return statements;
+	}
+
+	/**
+	 * Get {@link #tables}
+	 *
+	 * @return {@link #tables}
+	 */
+	List<TableSnapshot> getTables() {
+		return tables;
+	}
+
+	@Override
+	public String toString() {
+		return ToStringBuilder.create(getClass())
+			.append("statements", statements.size())
+			.append("tables", tables)
+			.build();
+	}
+
+	/**
+	 * The data of a given table.
+	 */
+	static final class TableSnapshot {
+
+		/**
+		 * The qualified table name (already quoted).
+		 */
+		private final String tableName;
+
+		/**
+		 * The number of columns.
+		 */
+		private final int columnCount;
+
+		/**
+		 * The table rows.
+		 */
+		private final List<Object[]> rows;
+
+		/**
+		 * Create the table snapshot.
+		 *
+		 * @param tableName The qualified table name.
+		 * @param columnCount The number of columns.
+		 * @param rows The table rows.
+		 */
+		TableSnapshot(String tableName, int columnCount, List<Object[]> rows) {
+			this.tableName = notNull(tableName, "Table name must not be null");
+			this.columnCount = columnCount;
+			this.rows = unmodifiableList(new ArrayList<>(notNull(rows, "Rows must not be null")));
+		}
+
+		/**
+		 * Get {@link #tableName}
+		 *
+		 * @return {@link #tableName}
+		 */
+		String getTableName() {
+			return tableName;
+		}
+
+		/**
+		 * Get {@link #columnCount}
+		 *
+		 * @return {@link #columnCount}
+		 */
+		int getColumnCount() {
+			return columnCount;
+		}
+
+		/**
+		 * Get {@link #rows}
+		 *
+		 * @return {@link #rows}
+		 */
+		List<Object[]> getRows() {
+			return rows;
+		}
+
+		@Override
+		public String toString() {
+			return ToStringBuilder.create(getClass())
+				.append("tableName", tableName)
+				.append("rows", rows.size())
+				.build();
+		}
+	}
+}
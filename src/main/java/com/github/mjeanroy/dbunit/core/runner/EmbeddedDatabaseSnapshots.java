@@ -0,0 +1,175 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015-2021 Mickael Jeanroy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.mjeanroy.dbunit.core.runner;
+
+import com.github.mjeanroy.dbunit.commons.lang.ToStringBuilder;
+import com.github.mjeanroy.dbunit.core.jdbc.JdbcConnectionFactory;
+import com.github.mjeanroy.dbunit.exception.JdbcException;
+import com.github.mjeanroy.dbunit.loggers.Logger;
+import com.github.mjeanroy.dbunit.loggers.Loggers;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static com.github.mjeanroy.dbunit.commons.lang.PreConditions.notNull;
+
+/**
+ * Registry of {@link EmbeddedDatabaseSnapshot}, captured after database initialization and
+ * identified by a fingerprint of the initialization content.
+ *
+ * <br>
+ *
+ * When a new (i.e empty) embedded database has to be initialized with the same content, the snapshot
+ * is restored instead of running the initialization again.
+ */
+final class EmbeddedDatabaseSnapshots {
+
+	/**
+	 * Class Logger.
+	 */
+	private static final Logger log = Loggers.getLogger(EmbeddedDatabaseSnapshots.class);
+
+	/**
+	 * The captured snapshots.
+	 */
+	private static final ConcurrentMap<Key, EmbeddedDatabaseSnapshot> snapshots = new ConcurrentHashMap<>();
+
+	// Ensure non instantiation.
+	private EmbeddedDatabaseSnapshots() {
+	}
+
+	/**
+	 * Initialize the database:
+	 * <ul>
+	 *   <li>If the database is not an empty in-memory HSQLDB or H2 database, the initialization is executed.</li>
+	 *   <li>If a snapshot has already been captured for the same initialization, it is restored.</li>
+	 *   <li>Otherwise, the initialization is executed and the snapshot is captured for later use.</li>
+	 * </ul>
+	 *
+	 * @param factory The JDBC Connection factory.
+	 * @param fingerprint The fingerprint of the initialization content.
+	 * @param initialization The initialization to run.
+	 * @throws JdbcException If an error occurred while capturing the snapshot.
+	 */
+	static void initialize(JdbcConnectionFactory factory, Object fingerprint, Runnable initialization) {
+		try (Connection connection = factory.getConnection()) {
+			final EmbeddedDatabaseDialect dialect = EmbeddedDatabaseDialect.find(connection.getMetaData().getURL());
+			if (dialect == null || !dialect.isEmpty(connection)) {
+				log.debug("Database is not an empty embedded database, snapshot cannot be used");
+				initialization.run();
+				return;
+			}
+
+			final Key key = new Key(dialect, fingerprint);
+			final EmbeddedDatabaseSnapshot snapshot = snapshots.get(key);
+			if (snapshot != null && restore(connection, dialect, snapshot)) {
+				return;
+			}
+
+			initialization.run();
+
+			log.debug("Capturing snapshot for: {}", key);
+			snapshots.put(key, dialect.capture(connection));
+		}
+		catch (SQLException ex) {
+			log.error(ex.getMessage(), ex);
+			throw new JdbcException(ex);
+		}
+	}
+
+	/**
+	 * Clear all captured snapshots.
+	 */
+	static void clear() {
+		snapshots.clear();
+	}
+
+	/**
+	 * Restore given snapshot, and returns {@code true} if it succeeded: otherwise the database is
+	 * reset so that it can be initialized normally.
+	 */
+	private static boolean restore(Connection connection, EmbeddedDatabaseDialect dialect, EmbeddedDatabaseSnapshot snapshot) throws SQLException {
+		try {
+			log.debug("Restoring snapshot: {}", snapshot);
+			dialect.restore(connection, snapshot);
+			return true;
+		}
+		catch (SQLException ex) {
+			log.warn("Cannot restore database snapshot, database will be initialized instead: {}", ex.getMessage());
+			dialect.reset(connection);
+			return false;
+		}
+	}
+
+	/**
+	 * The registry key.
+	 */
+	private static final class Key {
+		/**
+		 * The database dialect.
+		 */
+		private final EmbeddedDatabaseDialect dialect;
+
+		/**
+		 * The initialization fingerprint.
+		 */
+		private final Object fingerprint;
+
+		private Key(EmbeddedDatabaseDialect dialect, Object fingerprint) {
+			this.dialect = notNull(dialect, "Dialect must not be null");
+			this.fingerprint = notNull(fingerprint, "Fingerprint must not be null");
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (o == this) {
+				return true;
+			}
+
+			if (o instanceof Key) {
+				Key k = (Key) o;
+				return Objects.equals(dialect, k.dialect) && Objects.equals(fingerprint, k.fingerprint);
+			}
+
+			return false;
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(dialect, fingerprint);
+		}
+
+		@Override
+		public String toString() {
+			return ToStringBuilder.create(getClass())
+				.append("dialect", dialect)
+				.append("fingerprint", fingerprint)
+				.build();
+		}
+	}
+}
@@ -0,0 +1,175 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015-2021 Mickael Jeanroy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.mjeanroy.dbunit.core.runner;
+
+import com.github.mjeanroy.dbunit.commons.lang.ToStringBuilder;
+import com.github.mjeanroy.dbunit.core.jdbc.JdbcConnectionFactory;
+import com.github.mjeanroy.dbunit.loggers.Logger;
+import com.github.mjeanroy.dbunit.loggers.Loggers;
+
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+
+import static com.github.mjeanroy.dbunit.commons.lang.Exceptions.launderThrowable;
+import static com.github.mjeanroy.dbunit.commons.lang.PreConditions.notNull;
+
+/**
+ * Registry of database initializations (SQL scripts or liquibase changelogs) already executed in the
+ * current JVM.
+ *
+ * <br>
+ *
+ * An initialization is identified by the database connection (i.e the JDBC connection factory, which
+ * is identified by its JDBC URL or by its {@link javax.sql.DataSource}) and by a fingerprint of the
+ * initialization content.
+ */
+final class InitializationRegistry {
+
+	/**
+	 * Class Logger.
+	 */
+	private static final Logger log = Loggers.getLogger(InitializationRegistry.class);
+
+	/**
+	 * The initializations already executed.
+	 */
+	private static final ConcurrentMap<Key, Future<Void>> initializations = new ConcurrentHashMap<>();
+
+	// Ensure non instantiation.
+	private InitializationRegistry() {
+	}
+
+	/**
+	 * Run given initialization, unless it has already been executed against the same
+	 * database with the same fingerprint.
+	 *
+	 * <br>
+	 *
+	 * If the initialization fails, it is not registered and will be executed again on next call.
+	 *
+	 * @param factory The JDBC Connection factory, identifying the database.
+	 * @param fingerprint The fingerprint of the initialization content.
+	 * @param initialization The initialization to run.
+	 */
+	static void runOnce(JdbcConnectionFactory factory, Object fingerprint, Runnable initialization) {
+		final Key key = new Key(factory, fingerprint);
+
+		// The initialization is run outside of the map (a database initialization may be slow, and may
+		// itself register other initializations), concurrent callers wait for the same task.
+		Future<Void> task = initializations.get(key);
+		if (task != null) {
+			log.debug("Initialization already executed for: {}, skipping", key);
+		}
+		else {
+			final FutureTask<Void> newTask = new FutureTask<>(initialization, null);
+			task = initializations.putIfAbsent(key, newTask);
+			if (task == null) {
+				task = newTask;
+				newTask.run();
+			}
+		}
+
+		boolean interrupted = false;
+		try {
+			while (true) {
+				try {
+					task.get();
+					return;
+				}
+				catch (InterruptedException ex) {
+					interrupted = true;
+				}
+				catch (ExecutionException ex) {
+					initializations.remove(key, task);
+					throw launderThrowable(ex.getCause());
+				}
+			}
+		}
+		finally {
+			if (interrupted) {
+				// Restore interrupt status
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+
+	/**
+	 * Clear the registry, so that each initialization will be executed again.
+	 */
+	static void clear() {
+		initializations.clear();
+	}
+
+	/**
+	 * The registry key.
+	 */
+	private static final class Key {
+		/**
+		 * The JDBC Connection factory.
+		 */
+		private final JdbcConnectionFactory factory;
+
+		/**
+		 * The initialization fingerprint.
+		 */
+		private final Object fingerprint;
+
+		private Key(JdbcConnectionFactory factory, Object fingerprint) {
+			this.factory = notNull(factory, "JDBC Connection Factory must not be null");
+			this.fingerprint = notNull(fingerprint, "Fingerprint must not be null");
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (o == this) {
+				return true;
+			}
+
+			if (o instanceof Key) {
+				Key k = (Key) o;
+				return Objects.equals(factory, k.factory) && Objects.equals(fingerprint, k.fingerprint);
+			}
+
+			return false;
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(factory, fingerprint);
+		}
+
+		@Override
+		public String toString() {
+			return ToStringBuilder.create(getClass())
+				.append("factory", factory)
+				.append("fingerprint", fingerprint)
+				.build();
+		}
+	}
+}
@@ -40,6 +40,11 @@ final class LiquibaseChangeLog {
 	 */
 	private final String changeLog;
 
+	/**
+	 * Flag to execute the changelog once per JVM for a given database.
+	 */
+	private final boolean runOnce;
+
 	/**
 	 * Create the liquibase changelog.
 	 *
@@ -47,7 +52,19 @@ final class LiquibaseChangeLog {
 	 * @throws NullPointerException If {@code changeLog} is {@code null}.
 	 */
 	LiquibaseChangeLog(String changeLog) {
+		this(changeLog, false);
+	}
+
+	/**
+	 * Create the liquibase changelog.
+	 *
+	 * @param changeLog The changelog.
+	 * @param runOnce Flag to execute the changelog once per JVM for a given database.
+	 * @throws NullPointerException If {@code changeLog} is {@code null}.
+	 */
+	LiquibaseChangeLog(String changeLog, boolean runOnce) {
 		this.changeLog = notNull(changeLog, "Liquibase ChangeLog must not be null");
+		this.runOnce = runOnce;
 	}
 
 	/**
@@ -59,6 +76,15 @@ final class LiquibaseChangeLog {
 		return changeLog;
 	}
 
+	/**
+	 * Get {@link #runOnce}
+	 *
+	 * @return {@link #runOnce}
+	 */
+	boolean isRunOnce() {
+		return runOnce;
+	}
+
 	@Override
 	public boolean equals(Object o) {
 		if (o == this) {
@@ -67,7 +93,7 @@ final class LiquibaseChangeLog {
 
 		if (o instanceof LiquibaseChangeLog) {
 			LiquibaseChangeLog c = (LiquibaseChangeLog) o;
-			return Objects.equals(changeLog, c.changeLog);
+			return Objects.equals(changeLog, c.changeLog) && runOnce == c.runOnce;
 		}
 
 		return false;
@@ -75,13 +101,14 @@ final class LiquibaseChangeLog {
 
 	@Override
 	public int hashCode() {
-		return Objects.hash(changeLog);
+		return Objects.hash(changeLog, runOnce);
 	}
 
 	@Override
 	public String toString() {
 		return ToStringBuilder.create(getClass())
 			.append("changeLog", changeLog)
+			.append("runOnce", runOnce)
 			.build();
 	}
 }
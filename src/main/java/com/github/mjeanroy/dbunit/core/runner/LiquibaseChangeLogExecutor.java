@@ -25,6 +25,7 @@
 package com.github.mjeanroy.dbunit.core.runner;
 
 import com.github.mjeanroy.dbunit.core.jdbc.JdbcConnectionFactory;
+import com.github.mjeanroy.dbunit.exception.DbUnitException;
 import com.github.mjeanroy.dbunit.integration.liquibase.LiquibaseUpdater;
 import com.github.mjeanroy.dbunit.loggers.Logger;
 import com.github.mjeanroy.dbunit.loggers.Loggers;
@@ -55,9 +56,37 @@ class LiquibaseChangeLogExecutor {
 		this.factory = notNull(factory, "JDBC Connection factory must not be null");
 	}
 
+	/**
+	 * Execute given changelog, or skip it if the changelog should be executed once and has already
+	 * been executed against the same database.
+	 *
+	 * @param changeLog The liquibase changelog.
+	 */
 	void execute(LiquibaseChangeLog changeLog) {
+		if (changeLog.isRunOnce()) {
+			InitializationRegistry.runOnce(factory, fingerprint(changeLog), () -> doExecute(changeLog));
+		}
+		else {
+			doExecute(changeLog);
+		}
+	}
+
+	private void doExecute(LiquibaseChangeLog changeLog) {
 		log.debug("Running liquibase updater against: {}", changeLog);
 		LiquibaseUpdater liquibaseUpdater = new LiquibaseUpdater(changeLog.getChangeLog(), factory);
 		liquibaseUpdater.update();
 	}
+
+	/**
+	 * Compute the fingerprint of given changelog: the changelog path and the checksum of the resolved
+	 * changelog tree, so that editing an included changelog changes the fingerprint.
+	 *
+	 * @param changeLog The liquibase changelog.
+	 * @return The fingerprint.
+	 * @throws DbUnitException If parsing the changelog failed.
+	 */
+	static String fingerprint(LiquibaseChangeLog changeLog) {
+		final String path = changeLog.getChangeLog();
+		return path + ":" + LiquibaseUpdater.checksum(path);
+	}
 }
@@ -0,0 +1,178 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015-2021 Mickael Jeanroy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.mjeanroy.dbunit.core.runner;
+
+import com.github.mjeanroy.dbunit.exception.JdbcException;
+import com.github.mjeanroy.dbunit.loggers.Logger;
+import com.github.mjeanroy.dbunit.loggers.Loggers;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import static com.github.mjeanroy.dbunit.commons.lang.PreConditions.notNull;
+
+/**
+ * A transaction, opened on a single SQL connection, that will be rolled back once test has been executed.
+ *
+ * <br>
+ *
+ * The connection handed out by {@link #getConnection()} cannot be committed nor closed: {@code commit},
+ * {@code setAutoCommit} and {@code close} invocations are ignored, so that everything executed on this
+ * connection is discarded by {@link #rollback()}.
+ */
+final class RollbackTransaction {
+
+	/**
+	 * Class Logger.
+	 */
+	private static final Logger log = Loggers.getLogger(RollbackTransaction.class);
+
+	/**
+	 * The underlying SQL connection.
+	 */
+	private final Connection connection;
+
+	/**
+	 * The initial auto-commit value of the underlying connection, restored on rollback.
+	 */
+	private final boolean autoCommit;
+
+	/**
+	 * The connection handed out to the test.
+	 */
+	private final Connection proxy;
+
+	/**
+	 * Begin the transaction on given connection.
+	 *
+	 * @param connection The SQL connection.
+	 * @throws JdbcException If the transaction cannot be started.
+	 */
+	RollbackTransaction(Connection connection) {
+		this.connection = notNull(connection, "SQL Connection must not be null");
+
+		try {
+			this.autoCommit = connection.getAutoCommit();
+			this.connection.setAutoCommit(false);
+		}
+		catch (SQLException ex) {
+			close(connection);
+			throw new JdbcException(ex);
+		}
+
+		this.proxy = (Connection) Proxy.newProxyInstance(
+			RollbackTransaction.class.getClassLoader(),
+			new Class<?>[]{Connection.class},
+			new RollbackConnectionHandler(connection)
+		);
+	}
+
+	/**
+	 * Get {@link #proxy}
+	 *
+	 * @return {@link #proxy}
+	 */
+	Connection getConnection() {
+		return proxy;
+	}
+
+	/**
+	 * Rollback the transaction, and close the underlying connection.
+	 *
+	 * @throws JdbcException If the rollback failed.
+	 */
+	void rollback() {
+		try {
+			log.debug("Rollback test transaction");
+			connection.rollback();
+			connection.setAutoCommit(autoCommit);
+		}
+		catch (SQLException ex) {
+			throw new JdbcException(ex);
+		}
+		finally {
+			close(connection);
+		}
+	}
+
+	private static void close(Connection connection) {
+		try {
+			connection.close();
+		}
+		catch (SQLException ex) {
+			// No Worries.
+			log.warn(ex.getMessage());
+		}
+	}
+
+	/**
+	 * The {@link InvocationHandler} implementation, ignoring operations that would end the transaction.
+	 */
+	private static final class RollbackConnectionHandler implements InvocationHandler {
+
+		/**
+		 * The underlying SQL connection.
+		 */
+		private final Connection connection;
+
+		private RollbackConnectionHandler(Connection connection) {
+			this.connection = connection;
+		}
+
+		@Override
+		public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+			final String name = method.getName();
+
+			switch (name) {
+				case "close":
+				case "commit":
+				case "setAutoCommit":
+					log.trace("Ignoring {} on test transaction", name);
+					return null;
+
+				case "isClosed":
+					return connection.isClosed();
+
+				case "equals":
+					return proxy == args[0];
+
+				case "hashCode":
+					return System.identityHashCode(proxy);
+
+				default:
+					try {
+						return method.invoke(connection, args);
+					}
+					catch (InvocationTargetException ex) {
+						throw ex.getCause();
+					}
+			}
+		}
+	}
+}
@@ -24,39 +24,165 @@
 
 package com.github.mjeanroy.dbunit.core.runner;
 
+import com.github.mjeanroy.dbunit.commons.io.Io;
 import com.github.mjeanroy.dbunit.commons.lang.ToStringBuilder;
+import com.github.mjeanroy.dbunit.core.resources.Resource;
+import com.github.mjeanroy.dbunit.core.sql.SqlScriptParser;
+import com.github.mjeanroy.dbunit.core.sql.SqlScriptParserConfiguration;
+import com.github.mjeanroy.dbunit.exception.DbUnitException;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 import java.util.Objects;
+import java.util.stream.Stream;
 
+import static com.github.mjeanroy.dbunit.commons.lang.PreConditions.checkArgument;
 import static com.github.mjeanroy.dbunit.commons.lang.PreConditions.notNull;
+import static com.github.mjeanroy.dbunit.core.sql.SqlBatchExecutor.DEFAULT_BATCH_SIZE;
+import static java.util.Arrays.asList;
 
 /**
- * An SQL Script, containing a list of queries.
+ * An SQL Script, containing a list of queries, or read from a resource: a script read from a resource is parsed
+ * when it is executed (see {@link SqlScriptParser#loadScript(Resource, SqlScriptParserConfiguration)}), so large
+ * scripts are executed while they are parsed.
  */
 final class SqlScript {
 
 	/**
-	 * List of queries in the SQL Script.
+	 * List of queries in the SQL Script, {@code null} if the script is read from {@link #resource}.
 	 */
 	private final List<String> queries;
 
+	/**
+	 * The SQL Script resource, {@code null} if the script is a list of {@link #queries}.
+	 */
+	private final Resource resource;
+
+	/**
+	 * The parser configuration, {@code null} if the script is a list of {@link #queries}.
+	 */
+	private final SqlScriptParserConfiguration configuration;
+
+	/**
+	 * Flag to execute the script once per JVM for a given database.
+	 */
+	private final boolean runOnce;
+
+	/**
+	 * Maximum number of consecutive DML queries executed in a single JDBC batch.
+	 */
+	private final int batchSize;
+
 	/**
 	 * Create the SQL Script.
 	 * @param queries The list of queries.
 	 * @throws NullPointerException If {@code queries} is {@code null}.
 	 */
 	SqlScript(List<String> queries) {
-		this.queries = notNull(queries, "Queries must not be null");
+		this(queries, false);
+	}
+
+	/**
+	 * Create the SQL Script.
+	 * @param queries The list of queries.
+	 * @param runOnce Flag to execute the script once per JVM for a given database.
+	 * @throws NullPointerException If {@code queries} is {@code null}.
+	 */
+	SqlScript(List<String> queries, boolean runOnce) {
+		this(queries, runOnce, DEFAULT_BATCH_SIZE);
+	}
+
+	/**
+	 * Create the SQL Script.
+	 * @param queries The list of queries.
+	 * @param runOnce Flag to execute the script once per JVM for a given database.
+	 * @param batchSize Maximum number of consecutive DML queries executed in a single JDBC batch.
+	 * @throws NullPointerException If {@code queries} is {@code null}.
+	 * @throws IllegalArgumentException If {@code batchSize} is not strictly positive.
+	 */
+	SqlScript(List<String> queries, boolean runOnce, int batchSize) {
+		this(notNull(queries, "Queries must not be null"), null, null, runOnce, batchSize);
+	}
+
+	/**
+	 * Create the SQL Script, read from given resource.
+	 * @param resource The SQL Script resource.
+	 * @param configuration The parser configuration.
+	 * @param runOnce Flag to execute the script once per JVM for a given database.
+	 * @param batchSize Maximum number of consecutive DML queries executed in a single JDBC batch.
+	 * @throws NullPointerException If {@code resource} or {@code configuration} are {@code null}.
+	 * @throws IllegalArgumentException If {@code batchSize} is not strictly positive.
+	 */
+	SqlScript(Resource resource, SqlScriptParserConfiguration configuration, boolean runOnce, int batchSize) {
+		this(null, notNull(resource, "Resource must not be null"), notNull(configuration, "Configuration must not be null"), runOnce, batchSize);
+	}
+
+	private SqlScript(List<String> queries, Resource resource, SqlScriptParserConfiguration configuration, boolean runOnce, int batchSize) {
+		checkArgument(batchSize > 0, "Batch size must be strictly positive");
+		this.queries = queries;
+		this.resource = resource;
+		this.configuration = configuration;
+		this.runOnce = runOnce;
+		this.batchSize = batchSize;
 	}
 
 	/**
-	 * Get {@link #queries}
+	 * Get the list of queries: a script read from a resource is parsed (or read from the cache of parsed scripts).
 	 *
-	 * @return {@link #queries}
+	 * @return The list of queries.
 	 */
 	List<String> getQueries() {
-		return queries;
+		return queries == null ? SqlScriptParser.parseScript(resource, configuration) : queries;
+	}
+
+	/**
+	 * Get the queries as a stream, that should be closed once consumed: a script read from a resource is
+	 * parsed while the stream is consumed, unless it is available in the cache of parsed scripts.
+	 *
+	 * @return The stream of queries.
+	 */
+	Stream<String> streamQueries() {
+		return queries == null ? SqlScriptParser.loadScript(resource, configuration) : queries.stream();
+	}
+
+	/**
+	 * Get the script fingerprint, identifying a script executed once per JVM: the list of queries, or the resource
+	 * path, the parser configuration and the digest of the resource content for a script read from a resource (so
+	 * that editing the script changes the fingerprint).
+	 *
+	 * @return The fingerprint.
+	 * @throws DbUnitException If the resource cannot be read.
+	 */
+	Object getFingerprint() {
+		if (queries != null) {
+			return queries;
+		}
+
+		try (InputStream stream = resource.openStream()) {
+			return asList(resource.getPath(), configuration, Io.digest(stream));
+		}
+		catch (IOException ex) {
+			throw new DbUnitException(ex);
+		}
+	}
+
+	/**
+	 * Get {@link #runOnce}
+	 *
+	 * @return {@link #runOnce}
+	 */
+	boolean isRunOnce() {
+		return runOnce;
+	}
+
+	/**
+	 * Get {@link #batchSize}
+	 *
+	 * @return {@link #batchSize}
+	 */
+	int getBatchSize() {
+		return batchSize;
 	}
 
 	@Override
@@ -67,7 +193,11 @@ final class SqlScript {
 
 		if (o instanceof SqlScript) {
 			SqlScript s = (SqlScript) o;
-			return Objects.equals(queries, s.queries);
+			return Objects.equals(queries, s.queries)
+				&& Objects.equals(resource, s.resource)
+				&& Objects.equals(configuration, s.configuration)
+				&& runOnce == s.runOnce
+				&& batchSize == s.batchSize;
 		}
 
 		return false;
@@ -75,13 +205,17 @@ final class SqlScript {
 
 	@Override
 	public int hashCode() {
-		return Objects.hash(queries);
+		return Objects.hash(queries, resource, configuration, runOnce, batchSize);
 	}
 
 	@Override
 	public String toString() {
 		return ToStringBuilder.create(getClass())
 			.append("queries", queries)
+			.append("resource", resource)
+			.append("configuration", configuration)
+			.append("runOnce", runOnce)
+			.append("batchSize", batchSize)
 			.build();
 	}
 }
@@ -31,12 +31,14 @@ import com.github.mjeanroy.dbunit.loggers.Loggers;
 
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.stream.Stream;
 
 import static com.github.mjeanroy.dbunit.commons.lang.PreConditions.notNull;
-import static com.github.mjeanroy.dbunit.core.sql.SqlScriptParser.executeQueries;
+import static com.github.mjeanroy.dbunit.core.sql.SqlBatchExecutor.executeBatch;
 
 /**
- * Function to execute SQL scripts against SQL connection.
+ * Function to execute SQL scripts against SQL connection: DML queries are executed
+ * using JDBC batches (see {@link com.github.mjeanroy.dbunit.core.sql.SqlBatchExecutor}).
  *
  * <p />
  *
@@ -65,9 +67,24 @@ class SqlScriptExecutor {
 		this.factory = notNull(factory, "JDBC Connection Factory must not be null");
 	}
 
+	/**
+	 * Execute given SQL script, or skip it if the script should be executed once and has already
+	 * been executed against the same database.
+	 *
+	 * @param script The SQL script.
+	 */
 	void execute(SqlScript script) {
-		try (Connection connection = factory.getConnection()) {
-			executeQueries(connection, script.getQueries());
+		if (script.isRunOnce()) {
+			InitializationRegistry.runOnce(factory, script.getFingerprint(), () -> doExecute(script));
+		}
+		else {
+			doExecute(script);
+		}
+	}
+
+	private void doExecute(SqlScript script) {
+		try (Connection connection = factory.getConnection(); Stream<String> queries = script.streamQueries()) {
+			executeBatch(connection, queries.iterator(), script.getBatchSize());
 		}
 		catch (SQLException ex) {
 			log.error(ex.getMessage(), ex);
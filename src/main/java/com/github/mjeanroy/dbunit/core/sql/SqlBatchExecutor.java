@@ -0,0 +1,218 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015-2021 Mickael Jeanroy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.mjeanroy.dbunit.core.sql;
+
+import com.github.mjeanroy.dbunit.core.resources.Resource;
+import com.github.mjeanroy.dbunit.loggers.Logger;
+import com.github.mjeanroy.dbunit.loggers.Loggers;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Iterator;
+import java.util.List;
+
+import static com.github.mjeanroy.dbunit.commons.lang.PreConditions.checkArgument;
+import static com.github.mjeanroy.dbunit.commons.lang.PreConditions.notNull;
+
+/**
+ * Execute SQL queries using JDBC batches.
+ *
+ * <p>
+ *
+ * Consecutive DML queries ({@code INSERT}, {@code UPDATE}, {@code DELETE} and {@code MERGE}) are grouped
+ * into JDBC batches of a given size, other queries (such as DDL queries) are executed one by one, in the
+ * order of the script. If the connection is in auto-commit mode and the driver supports transactions, all queries
+ * are executed in a single transaction, rolled back if a query failed (note that some databases implicitly
+ * commit DDL queries).
+ */
+public final class SqlBatchExecutor {
+
+	/**
+	 * Class Logger.
+	 */
+	private static final Logger log = Loggers.getLogger(SqlBatchExecutor.class);
+
+	/**
+	 * The default batch size.
+	 */
+	public static final int DEFAULT_BATCH_SIZE = 1000;
+
+	/**
+	 * The DML keywords: queries starting with one of these keywords are batched.
+	 */
+	private static final String[] DML_KEYWORDS = {
+		"INSERT",
+		"UPDATE",
+		"DELETE",
+		"MERGE",
+	};
+
+	// Ensure non instantiation.
+	private SqlBatchExecutor() {
+	}
+
+	/**
+	 * Execute queries, in the order of the given list, using JDBC batches (if a query failed, next queries are
+	 * not executed).
+	 *
+	 * @param connection SQL connection.
+	 * @param queries Queries.
+	 * @param batchSize The maximum number of queries in a single batch ({@code 1} disables batching).
+	 * @throws SQLException If a query failed.
+	 * @throws IllegalArgumentException If {@code batchSize} is not strictly positive.
+	 */
+	public static void executeBatch(Connection connection, List<String> queries, int batchSize) throws SQLException {
+		notNull(queries, "Queries must not be null");
+		executeBatch(connection, queries.iterator(), batchSize);
+	}
+
+	/**
+	 * Execute queries using JDBC batches, each query being executed (or added to the current batch) as soon as it is
+	 * read from given iterator: a script can be executed while it is parsed (see {@link SqlScriptParser#streamScript(Resource, SqlScriptParserConfiguration)}).
+	 * If a query failed, next queries are not read.
+	 *
+	 * @param connection SQL connection.
+	 * @param queries Queries.
+	 * @param batchSize The maximum number of queries in a single batch ({@code 1} disables batching).
+	 * @throws SQLException If a query failed.
+	 * @throws IllegalArgumentException If {@code batchSize} is not strictly positive.
+	 */
+	public static void executeBatch(Connection connection, Iterator<String> queries, int batchSize) throws SQLException {
+		notNull(connection, "Connection must not be null");
+		notNull(queries, "Queries must not be null");
+		checkArgument(batchSize > 0, "Batch size must be strictly positive");
+
+		if (!queries.hasNext()) {
+			return;
+		}
+
+		try (Statement statement = connection.createStatement()) {
+			DatabaseMetaData metaData = connection.getMetaData();
+			int size = metaData.supportsBatchUpdates() ? batchSize : 1;
+			boolean transaction = connection.getAutoCommit() && metaData.supportsTransactions();
+			if (!transaction) {
+				execute(statement, queries, size);
+				return;
+			}
+
+			connection.setAutoCommit(false);
+
+			try {
+				execute(statement, queries, size);
+				connection.commit();
+			}
+			catch (SQLException | RuntimeException ex) {
+				rollback(connection);
+				restoreAutoCommit(connection, ex);
+				throw ex;
+			}
+
+			connection.setAutoCommit(true);
+		}
+	}
+
+	private static void execute(Statement statement, Iterator<String> queries, int batchSize) throws SQLException {
+		int pending = 0;
+		int count = 0;
+
+		while (queries.hasNext()) {
+			String query = queries.next();
+			count++;
+
+			if (batchSize > 1 && isDml(query)) {
+				statement.addBatch(query);
+				pending++;
+
+				if (pending == batchSize) {
+					statement.executeBatch();
+					pending = 0;
+				}
+			}
+			else {
+				if (pending > 0) {
+					statement.executeBatch();
+					pending = 0;
+				}
+
+				statement.execute(query);
+			}
+		}
+
+		if (pending > 0) {
+			statement.executeBatch();
+		}
+
+		log.debug("Executed {} queries", count);
+	}
+
+	private static void rollback(Connection connection) {
+		try {
+			connection.rollback();
+		}
+		catch (SQLException ex) {
+			log.warn(ex.getMessage());
+		}
+	}
+
+	/**
+	 * Restore auto-commit mode after a failure: an error is added as a suppressed exception of the original
+	 * failure, so that the original failure is not hidden.
+	 *
+	 * @param connection The connection.
+	 * @param failure The original failure.
+	 */
+	private static void restoreAutoCommit(Connection connection, Exception failure) {
+		try {
+			connection.setAutoCommit(true);
+		}
+		catch (SQLException ex) {
+			failure.addSuppressed(ex);
+		}
+	}
+
+	/**
+	 * Check if given query is a DML query.
+	 *
+	 * @param query The query.
+	 * @return {@code true} if the query is a DML query, {@code false} otherwise.
+	 */
+	static boolean isDml(String query) {
+		int start = 0;
+		int length = query.length();
+		while (start < length && Character.isWhitespace(query.charAt(start))) {
+			start++;
+		}
+
+		for (String keyword : DML_KEYWORDS) {
+			int end = start + keyword.length();
+			if (query.regionMatches(true, start, keyword, 0, keyword.length()) && (end == length || !Character.isLetterOrDigit(query.charAt(end)))) {
+				return true;
+			}
+		}
+
+		return false;
+	}
+}
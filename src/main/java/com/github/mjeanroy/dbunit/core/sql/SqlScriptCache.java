@@ -0,0 +1,295 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015-2021 Mickael Jeanroy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.mjeanroy.dbunit.core.sql;
+
+import com.github.mjeanroy.dbunit.cache.Cache;
+import com.github.mjeanroy.dbunit.cache.CacheFactory;
+import com.github.mjeanroy.dbunit.cache.CacheLoader;
+import com.github.mjeanroy.dbunit.commons.lang.ToStringBuilder;
+import com.github.mjeanroy.dbunit.core.resources.Resource;
+import com.github.mjeanroy.dbunit.exception.SqlParserException;
+import com.github.mjeanroy.dbunit.loggers.Logger;
+import com.github.mjeanroy.dbunit.loggers.Loggers;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Stream;
+
+import static java.util.Collections.unmodifiableList;
+
+/**
+ * Cache of parsed SQL scripts, shared in the JVM, so that a script used by several test classes is parsed once
+ * (including when several test classes load the same script concurrently).
+ *
+ * <br>
+ *
+ * Cache entries are identified by the resource, the parser configuration, and the resource version:
+ * <ul>
+ *   <li>For resources stored on the file system, the last modified date and the size of the file.</li>
+ *   <li>Other resources (in a JAR) are not expected to be updated during the JVM lifetime.</li>
+ * </ul>
+ *
+ * So a script updated during the JVM lifetime is parsed again, and replaces the previous entry. A script that
+ * cannot be parsed is not cached. Scripts larger than {@link #MAX_SCRIPT_SIZE} are not cached: they are parsed
+ * while they are read (see {@link #stream(Resource, SqlScriptParserConfiguration)}).
+ */
+final class SqlScriptCache {
+
+	/**
+	 * Class Logger.
+	 */
+	private static final Logger log = Loggers.getLogger(SqlScriptCache.class);
+
+	/**
+	 * The maximum size (in bytes for files, in characters for other resources) of cached scripts.
+	 */
+	static final long MAX_SCRIPT_SIZE = 1024 * 1024;
+
+	/**
+	 * The cache instance.
+	 */
+	private static final Cache<SqlScriptKey, CachedScript> CACHE = CacheFactory.newCache(SqlScriptLoader.INSTANCE);
+
+	/**
+	 * The current key (i.e with the resource version) of each cached script, indexed by the key without version.
+	 */
+	private static final ConcurrentMap<SqlScriptKey, SqlScriptKey> VERSIONS = new ConcurrentHashMap<>();
+
+	// Ensure non instantiation.
+	private SqlScriptCache() {
+	}
+
+	/**
+	 * Get the queries of given SQL script, parse it if it is not available in the cache (or if it has been
+	 * updated since it has been cached).
+	 *
+	 * @param resource The SQL script.
+	 * @param configuration The parser configuration.
+	 * @return The (unmodifiable) list of queries.
+	 * @throws SqlParserException If the script cannot be read or parsed.
+	 */
+	static List<String> load(Resource resource, SqlScriptParserConfiguration configuration) {
+		final List<String> queries = lookup(resource, configuration);
+		return queries == null ? parse(resource, configuration, Long.MAX_VALUE) : queries;
+	}
+
+	/**
+	 * Get the queries of given SQL script as a stream: queries of cached scripts are read from the cache, and
+	 * scripts too large to be cached are parsed while the stream is consumed.
+	 *
+	 * @param resource The SQL script.
+	 * @param configuration The parser configuration.
+	 * @return The stream of queries, that should be closed once consumed.
+	 * @throws SqlParserException If the script cannot be read or parsed.
+	 */
+	static Stream<String> stream(Resource resource, SqlScriptParserConfiguration configuration) {
+		final List<String> queries = lookup(resource, configuration);
+		if (queries == null) {
+			log.debug("SQL script {} is too large to be cached, it is parsed while it is read", resource);
+			return SqlScriptParser.streamScript(resource, configuration);
+		}
+
+		return queries.stream();
+	}
+
+	/**
+	 * Get the queries of given SQL script from the cache, parse it if it is not available in the cache (or if it has been
+	 * updated since it has been cached).
+	 *
+	 * @param resource The SQL script.
+	 * @param configuration The parser configuration.
+	 * @return The (unmodifiable) list of queries, {@code null} if the script is too large to be cached.
+	 * @throws SqlParserException If the script cannot be read or parsed.
+	 */
+	private static List<String> lookup(Resource resource, SqlScriptParserConfiguration configuration) {
+		final File file = toFile(resource);
+		if (file != null && file.length() > MAX_SCRIPT_SIZE) {
+			return null;
+		}
+
+		final SqlScriptKey key = new SqlScriptKey(resource, configuration, file == null ? null : version(file));
+		final SqlScriptKey previous = VERSIONS.put(new SqlScriptKey(resource, configuration, null), key);
+		if (previous != null && !previous.equals(key)) {
+			log.debug("SQL script {} has been updated, remove previous version from the cache", resource);
+			CACHE.remove(previous);
+		}
+
+		try {
+			return CACHE.load(key).queries;
+		}
+		catch (RuntimeException ex) {
+			Throwable cause = ex;
+			while (cause != null) {
+				if (cause instanceof SqlParserException) {
+					throw (SqlParserException) cause;
+				}
+
+				cause = cause.getCause();
+			}
+
+			throw ex;
+		}
+	}
+
+	/**
+	 * Clear the cache.
+	 */
+	static void clear() {
+		VERSIONS.clear();
+		CACHE.clear();
+	}
+
+	/**
+	 * Get the number of cached scripts.
+	 *
+	 * @return The cache size.
+	 */
+	static long size() {
+		return CACHE.size();
+	}
+
+	/**
+	 * Parse given SQL script, unless it is larger than given size.
+	 *
+	 * @param resource The SQL script.
+	 * @param configuration The parser configuration.
+	 * @param maxSize The maximum size (in characters) of the script.
+	 * @return The (unmodifiable) list of queries, {@code null} if the script is larger than {@code maxSize}.
+	 * @throws SqlParserException If the script cannot be read or parsed.
+	 */
+	private static List<String> parse(Resource resource, SqlScriptParserConfiguration configuration, long maxSize) {
+		log.debug("Parsing SQL script: {}", resource);
+
+		try (Stream<String> stream = SqlScriptParser.streamScript(resource, configuration)) {
+			final List<String> queries = new ArrayList<>();
+			long size = 0;
+
+			final Iterator<String> it = stream.iterator();
+			while (it.hasNext()) {
+				final String query = it.next();
+				size += query.length();
+				if (size > maxSize) {
+					return null;
+				}
+
+				queries.add(query);
+			}
+
+			return unmodifiableList(queries);
+		}
+	}
+
+	private static String version(File file) {
+		return file.lastModified() + ":" + file.length();
+	}
+
+	private static File toFile(Resource resource) {
+		try {
+			return resource.toFile();
+		}
+		catch (RuntimeException ex) {
+			log.trace("Resource {} does not reside in the file system", resource);
+			return null;
+		}
+	}
+
+	/**
+	 * The cache loader, parsing scripts.
+	 */
+	private static final class SqlScriptLoader implements CacheLoader<SqlScriptKey, CachedScript> {
+
+		/**
+		 * The singleton instance.
+		 */
+		private static final SqlScriptLoader INSTANCE = new SqlScriptLoader();
+
+		@Override
+		public CachedScript load(SqlScriptKey key) {
+			// The size of resources that do not reside in the file system is not known before they are read:
+			// large scripts are remembered (without their queries), so they are not read again before being streamed.
+			return new CachedScript(parse(key.resource, key.configuration, MAX_SCRIPT_SIZE));
+		}
+	}
+
+	/**
+	 * A cached script, without queries if the script is too large to be cached.
+	 */
+	private static final class CachedScript {
+		private final List<String> queries;
+
+		private CachedScript(List<String> queries) {
+			this.queries = queries;
+		}
+	}
+
+	/**
+	 * The cache key.
+	 */
+	private static final class SqlScriptKey {
+		private final Resource resource;
+		private final SqlScriptParserConfiguration configuration;
+		private final String version;
+
+		private SqlScriptKey(Resource resource, SqlScriptParserConfiguration configuration, String version) {
+			this.resource = resource;
+			this.configuration = configuration;
+			this.version = version;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (o == this) {
+				return true;
+			}
+
+			if (o instanceof SqlScriptKey) {
+				SqlScriptKey k = (SqlScriptKey) o;
+				return Objects.equals(resource, k.resource)
+					&& Objects.equals(configuration, k.configuration)
+					&& Objects.equals(version, k.version);
+			}
+
+			return false;
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(resource, configuration, version);
+		}
+
+		@Override
+		public String toString() {
+			return ToStringBuilder.create(getClass())
+				.append("resource", resource)
+				.append("configuration", configuration)
+				.append("version", version)
+				.build();
+		}
+	}
+}
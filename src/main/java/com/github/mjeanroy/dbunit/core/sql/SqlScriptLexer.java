@@ -0,0 +1,415 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015-2021 Mickael Jeanroy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.mjeanroy.dbunit.core.sql;
+
+import com.github.mjeanroy.dbunit.exception.SqlParserException;
+import com.github.mjeanroy.dbunit.loggers.Logger;
+import com.github.mjeanroy.dbunit.loggers.Loggers;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import static com.github.mjeanroy.dbunit.commons.lang.PreConditions.notNull;
+
+/**
+ * Single-pass SQL script lexer, iterating over SQL statements while the input is read.
+ *
+ * <p>
+ *
+ * Input is read in a reusable {@code char[]} buffer and the pending statement is accumulated in a reusable
+ * {@link StringBuilder}: the only allocated strings are the parsed statements. Parsing rules are:
+ *
+ * <ul>
+ *   <li>Line comments are ignored until the end of the line.</li>
+ *   <li>Block comments are ignored until the end of the comment.</li>
+ *   <li>Varchar values (between single or double quotes) are kept as is, a quote can be escaped with a backslash or a doubled single quote.</li>
+ *   <li>Each line break is replaced with a space.</li>
+ *   <li>The delimiter ends the current statement (the delimiter is kept), blank statements are ignored.</li>
+ * </ul>
+ *
+ * The lexer closes the reader once the last statement has been read, or when {@link #close()} is called.
+ */
+final class SqlScriptLexer implements Iterator<String>, Closeable {
+
+	/**
+	 * Class Logger.
+	 */
+	private static final Logger log = Loggers.getLogger(SqlScriptLexer.class);
+
+	/**
+	 * Default size of the read buffer.
+	 */
+	private static final int BUFFER_SIZE = 8192;
+
+	/**
+	 * Lexer states.
+	 */
+	private enum State {
+		DEFAULT,
+		LINE_COMMENT,
+		BLOCK_COMMENT,
+		VARCHAR,
+		ESCAPE
+	}
+
+	/**
+	 * The SQL input.
+	 */
+	private final Reader reader;
+
+	/**
+	 * The statement delimiter.
+	 */
+	private final char delimiter;
+
+	/**
+	 * Pattern starting a line comment.
+	 */
+	private final char[] lineComment;
+
+	/**
+	 * Pattern starting a block comment.
+	 */
+	private final char[] startBlockComment;
+
+	/**
+	 * Pattern ending a block comment.
+	 */
+	private final char[] endBlockComment;
+
+	/**
+	 * The read buffer.
+	 */
+	private final char[] buffer;
+
+	/**
+	 * Position of the next char to read in {@link #buffer}.
+	 */
+	private int position;
+
+	/**
+	 * Number of chars available in {@link #buffer}.
+	 */
+	private int limit;
+
+	/**
+	 * Flag set when the reader has been fully read.
+	 */
+	private boolean endOfInput;
+
+	/**
+	 * The pending statement.
+	 */
+	private final StringBuilder query;
+
+	/**
+	 * The current state.
+	 */
+	private State state;
+
+	/**
+	 * The quote opening current varchar value.
+	 */
+	private char openQuote;
+
+	/**
+	 * Flag set when the current line contains at least one char.
+	 */
+	private boolean pendingLine;
+
+	/**
+	 * The next statement, read by {@link #hasNext()}.
+	 */
+	private String next;
+
+	/**
+	 * Flag set once the last statement has been read.
+	 */
+	private boolean done;
+
+	/**
+	 * Create lexer.
+	 *
+	 * @param reader The SQL input.
+	 * @param configuration The parser configuration.
+	 */
+	SqlScriptLexer(Reader reader, SqlScriptParserConfiguration configuration) {
+		this.reader = notNull(reader, "Reader must not be null");
+		this.delimiter = configuration.getDelimiter();
+		this.lineComment = configuration.getLineComment().toCharArray();
+		this.startBlockComment = configuration.getStartBlockComment().toCharArray();
+		this.endBlockComment = configuration.getEndBlockComment().toCharArray();
+
+		int maxPatternLength = Math.max(lineComment.length, Math.max(startBlockComment.length, endBlockComment.length));
+		this.buffer = new char[Math.max(BUFFER_SIZE, maxPatternLength)];
+		this.query = new StringBuilder();
+		this.state = State.DEFAULT;
+	}
+
+	@Override
+	public boolean hasNext() {
+		if (next == null && !done) {
+			try {
+				next = readStatement();
+			}
+			catch (IOException ex) {
+				log.error(ex.getMessage(), ex);
+				closeQuietly();
+				throw new SqlParserException(ex);
+			}
+			catch (RuntimeException ex) {
+				closeQuietly();
+				throw ex;
+			}
+
+			if (next == null) {
+				done = true;
+				closeQuietly();
+			}
+		}
+
+		return next != null;
+	}
+
+	@Override
+	public String next() {
+		if (!hasNext()) {
+			throw new NoSuchElementException();
+		}
+
+		String statement = next;
+		next = null;
+		return statement;
+	}
+
+	@Override
+	public void close() throws IOException {
+		done = true;
+		reader.close();
+	}
+
+	private void closeQuietly() {
+		try {
+			close();
+		}
+		catch (IOException ex) {
+			log.warn(ex.getMessage());
+		}
+	}
+
+	/**
+	 * Read input until the end of the next non blank statement.
+	 *
+	 * @return The statement, {@code null} at the end of the input.
+	 * @throws IOException If the input cannot be read.
+	 */
+	private String readStatement() throws IOException {
+		while (true) {
+			if (!ensure(1)) {
+				return endOfInput();
+			}
+
+			char c = buffer[position];
+
+			// Line breaks are replaced with a space, whatever the current state.
+			if (c == '\n' || c == '\r') {
+				position++;
+				if (c == '\r' && ensure(1) && buffer[position] == '\n') {
+					position++;
+				}
+
+				endOfLine();
+				continue;
+			}
+
+			pendingLine = true;
+
+			switch (state) {
+				case LINE_COMMENT:
+					position++;
+					break;
+
+				case BLOCK_COMMENT:
+					if (matches(endBlockComment)) {
+						position += endBlockComment.length;
+						state = State.DEFAULT;
+					}
+					else {
+						position++;
+					}
+					break;
+
+				case ESCAPE:
+					query.append(c);
+					position++;
+					state = State.VARCHAR;
+					break;
+
+				case VARCHAR:
+					query.append(c);
+					if (c == '\\' || (c == '\'' && ensure(2) && buffer[position + 1] == '\'')) {
+						state = State.ESCAPE;
+					}
+					else if (c == openQuote) {
+						state = State.DEFAULT;
+					}
+
+					position++;
+					break;
+
+				default:
+					if (matches(lineComment)) {
+						position += lineComment.length;
+						state = State.LINE_COMMENT;
+					}
+					else if (matches(startBlockComment)) {
+						position += startBlockComment.length;
+						state = State.BLOCK_COMMENT;
+					}
+					else {
+						query.append(c);
+						position++;
+
+						if (c == '\'' || c == '"') {
+							openQuote = c;
+							state = State.VARCHAR;
+						}
+						else if (c == delimiter) {
+							String statement = flush();
+							if (statement != null) {
+								return statement;
+							}
+						}
+					}
+					break;
+			}
+		}
+	}
+
+	private void endOfLine() {
+		query.append(' ');
+		pendingLine = false;
+		if (state == State.LINE_COMMENT) {
+			state = State.DEFAULT;
+		}
+	}
+
+	private String endOfInput() {
+		if (pendingLine) {
+			endOfLine();
+		}
+
+		if (state == State.LINE_COMMENT) {
+			state = State.DEFAULT;
+		}
+
+		if (state != State.DEFAULT) {
+			throw new SqlParserException("Cannot flush query: " + query);
+		}
+
+		return flush();
+	}
+
+	/**
+	 * Flush pending statement.
+	 *
+	 * @return The trimmed statement, {@code null} if it is blank.
+	 */
+	private String flush() {
+		int start = 0;
+		int end = query.length();
+		while (start < end && query.charAt(start) <= ' ') {
+			start++;
+		}
+
+		while (end > start && query.charAt(end - 1) <= ' ') {
+			end--;
+		}
+
+		String statement = start == end ? null : query.substring(start, end);
+		query.setLength(0);
+
+		if (statement != null) {
+			log.debug("Read query: {}", statement);
+		}
+
+		return statement;
+	}
+
+	/**
+	 * Check if given pattern starts at current position.
+	 *
+	 * @param pattern The pattern.
+	 * @return {@code true} if the pattern starts at current position, {@code false} otherwise.
+	 * @throws IOException If the input cannot be read.
+	 */
+	private boolean matches(char[] pattern) throws IOException {
+		int length = pattern.length;
+		if (length == 0 || buffer[position] != pattern[0] || !ensure(length)) {
+			return false;
+		}
+
+		for (int i = 1; i < length; i++) {
+			if (buffer[position + i] != pattern[i]) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * Ensure that at least {@code count} chars are available in the buffer, reading input if needed.
+	 *
+	 * @param count The number of chars.
+	 * @return {@code true} if chars are available, {@code false} if the end of the input has been reached before.
+	 * @throws IOException If the input cannot be read.
+	 */
+	private boolean ensure(int count) throws IOException {
+		while (limit - position < count) {
+			if (endOfInput) {
+				return false;
+			}
+
+			if (position > 0) {
+				System.arraycopy(buffer, position, buffer, 0, limit - position);
+				limit -= position;
+				position = 0;
+			}
+
+			int read = reader.read(buffer, limit, buffer.length - limit);
+			if (read < 0) {
+				endOfInput = true;
+			}
+			else {
+				limit += read;
+			}
+		}
+
+		return true;
+	}
+}
@@ -32,12 +32,21 @@ import com.github.mjeanroy.dbunit.loggers.Loggers;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
 import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
-import static com.github.mjeanroy.dbunit.commons.io.Io.readLines;
 import static com.github.mjeanroy.dbunit.commons.lang.Objects.firstNonNull;
+import static java.util.Collections.unmodifiableList;
 
 /**
  * Run SQL scripts against SQL {@link java.sql.Connection}.
@@ -59,20 +68,54 @@ public final class SqlScriptParser {
 	 * @throws SqlParserException If an error occurred during parsing.
 	 */
 	public static List<String> parseScript(InputStream stream, SqlScriptParserConfiguration configuration) {
-		SqlScriptParserContext ctx = new SqlScriptParserContext();
+		List<String> queries = new ArrayList<>();
+		SqlScriptLexer lexer = new SqlScriptLexer(new InputStreamReader(stream), configuration);
+		while (lexer.hasNext()) {
+			queries.add(lexer.next());
+		}
+
+		return unmodifiableList(queries);
+	}
+
+	/**
+	 * Parse SQL scripts and return a lazy stream of SQL query: queries are parsed while the stream is consumed,
+	 * and the input stream is closed once all queries have been read or when the returned stream is closed.
+	 *
+	 * @param stream Stream input.
+	 * @param configuration Parsing configuration.
+	 * @return Stream of query parsed in given input.
+	 * @throws SqlParserException If an error occurred during parsing.
+	 */
+	public static Stream<String> streamScript(InputStream stream, SqlScriptParserConfiguration configuration) {
+		SqlScriptLexer lexer = new SqlScriptLexer(new InputStreamReader(stream), configuration);
+		Spliterator<String> spliterator = Spliterators.spliteratorUnknownSize(lexer, Spliterator.ORDERED | Spliterator.NONNULL);
+		return StreamSupport.stream(spliterator, false).onClose(() -> {
+			try {
+				lexer.close();
+			}
+			catch (IOException ex) {
+				throw new UncheckedIOException(ex);
+			}
+		});
+	}
 
+	/**
+	 * Parse SQL scripts file and return a lazy stream of SQL query: queries are parsed while the stream is consumed,
+	 * and the file is closed once all queries have been read or when the returned stream is closed.
+	 *
+	 * @param sqlFile SQL File.
+	 * @param configuration Parsing configuration.
+	 * @return Stream of query parsed in given input.
+	 * @throws SqlParserException If an error occurred during parsing.
+	 */
+	public static Stream<String> streamScript(Resource sqlFile, SqlScriptParserConfiguration configuration) {
 		try {
-			readLines(stream, new SqlLineVisitor(ctx, configuration));
+			return streamScript(sqlFile.openStream(), configuration);
 		}
 		catch (IOException ex) {
 			log.error(ex.getMessage(), ex);
 			throw new SqlParserException(ex);
 		}
-
-		// Flush remaining query.
-		ctx.flush();
-
-		return ctx.getQueries();
 	}
 
 	/**
@@ -91,23 +134,36 @@ public final class SqlScriptParser {
 	/**
 	 * Parse SQL scripts file and return list of SQL query.
 	 *
+	 * <br>
+	 *
+	 * Parsed scripts are cached in the JVM (by resource and configuration, see {@link SqlScriptCache}), so the same
+	 * script is parsed once, unless it is updated.
+	 *
 	 * @param sqlFile SQL File.
 	 * @param configuration Parsing configuration.
 	 * @return List of query parsed in given input.
 	 * @throws SqlParserException If an error occurred during parsing.
 	 */
 	public static List<String> parseScript(Resource sqlFile, SqlScriptParserConfiguration configuration) {
-		try (InputStream stream = sqlFile.openStream()) {
-			return parseScript(stream, configuration);
-		}
-		catch (IOException ex) {
-			log.error(ex.getMessage(), ex);
-			throw new SqlParserException(ex);
-		}
+		return SqlScriptCache.load(sqlFile, configuration);
+	}
+
+	/**
+	 * Get SQL queries of given script file as a stream: as with {@link #parseScript(Resource, SqlScriptParserConfiguration)},
+	 * parsed scripts are cached in the JVM (see {@link SqlScriptCache}), but scripts too large to be cached are
+	 * parsed while the stream is consumed, and are never fully loaded in memory.
+	 *
+	 * @param sqlFile SQL File.
+	 * @param configuration Parsing configuration.
+	 * @return Stream of query parsed in given input, that should be closed once consumed.
+	 * @throws SqlParserException If an error occurred during parsing.
+	 */
+	public static Stream<String> loadScript(Resource sqlFile, SqlScriptParserConfiguration configuration) {
+		return SqlScriptCache.stream(sqlFile, configuration);
 	}
 
 	/**
-	 * Parse SQL scripts and execute queries one by one (if a query failed, next queries are not executed).
+	 * Parse SQL scripts and execute queries one by one, while the script is parsed (if a query failed, next queries are not executed).
 	 *
 	 * @param connection SQL Connection.
 	 * @param stream Stream of SQL Script.
@@ -115,8 +171,7 @@ public final class SqlScriptParser {
 	 * @throws SQLException If a query failed.
 	 */
 	public static void executeScript(Connection connection, InputStream stream, SqlScriptParserConfiguration configuration) throws SQLException {
-		List<String> queries = parseScript(stream, configuration);
-		executeQueries(connection, queries);
+		executeQueries(connection, new SqlScriptLexer(new InputStreamReader(stream), configuration));
 	}
 
 	/**
@@ -128,8 +183,13 @@ public final class SqlScriptParser {
 	 * @throws SQLException If a query failed.
 	 */
 	public static void executeScript(Connection connection, Resource sqlFile, SqlScriptParserConfiguration configuration) throws SQLException {
-		List<String> queries = parseScript(sqlFile, configuration);
-		executeQueries(connection, queries);
+		try (InputStream stream = sqlFile.openStream()) {
+			executeScript(connection, stream, configuration);
+		}
+		catch (IOException ex) {
+			log.error(ex.getMessage(), ex);
+			throw new SqlParserException(ex);
+		}
 	}
 
 	/**
@@ -141,13 +201,27 @@ public final class SqlScriptParser {
 	 * @throws SQLException If a query failed.
 	 */
 	public static void executeScript(Connection connection, String sqlFilePath, SqlScriptParserConfiguration configuration) throws SQLException {
-		List<String> queries = parseScript(sqlFilePath, configuration);
-		executeQueries(connection, queries);
+		ResourceLoader loader = firstNonNull(ResourceLoader.find(sqlFilePath), ResourceLoader.CLASSPATH);
+		executeScript(connection, loader.load(sqlFilePath), configuration);
 	}
 
 	public static void executeQueries(Connection connection, List<String> queries) throws SQLException {
-		for (String query : queries) {
-			connection.prepareStatement(query).execute();
+		executeQueries(connection, queries.iterator());
+	}
+
+	/**
+	 * Execute queries one by one, each query being executed as soon as it is read from given iterator
+	 * (if a query failed, next queries are not executed).
+	 *
+	 * @param connection SQL connection.
+	 * @param queries Queries.
+	 * @throws SQLException If a query failed.
+	 */
+	private static void executeQueries(Connection connection, Iterator<String> queries) throws SQLException {
+		while (queries.hasNext()) {
+			try (PreparedStatement statement = connection.prepareStatement(queries.next())) {
+				statement.execute();
+			}
 		}
 	}
 }
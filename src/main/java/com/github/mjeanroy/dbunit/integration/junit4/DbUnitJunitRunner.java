@@ -38,7 +38,9 @@ import java.util.List;
  * <br>
  *
  * Basically, this class add {@link DbUnitRule} to the test class when this runner is
- * initialized.
+ * initialized: the same rule is used for each test method, and the runner it creates is
+ * shared between each test method of the class, so database initialization is executed
+ * once for the test class.
  *
  * <br>
  *
@@ -60,6 +62,11 @@ import java.util.List;
  */
 public class DbUnitJunitRunner extends BlockJUnit4ClassRunner {
 
+	/**
+	 * The DbUnit rule, shared between each test method.
+	 */
+	private final DbUnitRule rule;
+
 	/**
 	 * Create runner.
 	 *
@@ -68,12 +75,20 @@ public class DbUnitJunitRunner extends BlockJUnit4ClassRunner {
 	 */
 	public DbUnitJunitRunner(Class<?> klass) throws InitializationError {
 		super(klass);
+		this.rule = new DbUnitRule();
+	}
+
+	@Override
+	protected List<TestRule> classRules() {
+		List<TestRule> classRules = super.classRules();
+		classRules.add((statement, description) -> rule.shareRunner(statement, description.getTestClass()));
+		return classRules;
 	}
 
 	@Override
 	protected List<TestRule> getTestRules(Object target) {
 		List<TestRule> testRules = super.getTestRules(target);
-		testRules.add(new DbUnitRule());
+		testRules.add(rule);
 		return testRules;
 	}
 }
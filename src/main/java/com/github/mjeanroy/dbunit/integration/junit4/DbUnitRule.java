@@ -36,9 +36,33 @@ import org.junit.runners.model.Statement;
 import javax.sql.DataSource;
 import java.lang.reflect.Method;
 import java.sql.Connection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * JUnit Rule to setup DbUnit database for each tests.
+ *
+ * <br>
+ *
+ * Database initialization (i.e scripts defined with {@link com.github.mjeanroy.dbunit.core.annotations.DbUnitInit}
+ * or changelogs defined with {@link com.github.mjeanroy.dbunit.core.annotations.DbUnitLiquibase}) is executed
+ * once per test class and per rule instance: when the same rule instance is used as a class rule and as
+ * a method rule, the runner created by the class rule is re-used for each test method:
+ *
+ * <pre><code>
+ *
+ *   public class MyDaoTest {
+ *     &#64;ClassRule
+ *     &#64;Rule
+ *     public static DbUnitRule rule = new DbUnitRule();
+ *
+ *     &#64;Test
+ *     public void test1() {
+ *       // ...
+ *     }
+ *   }
+ *
+ * </code></pre>
  */
 public class DbUnitRule implements TestRule {
 
@@ -47,6 +71,12 @@ public class DbUnitRule implements TestRule {
 	 */
 	private final JdbcConnectionFactory connectionFactory;
 
+	/**
+	 * The runners created by the class rule, indexed by test class: each runner is re-used for each test
+	 * method of this class and removed once the class has been executed.
+	 */
+	private final Map<Class<?>, DbUnitRunner> runners;
+
 	/**
 	 * Create rule using {@link JdbcConfiguration} instance.
 	 *
@@ -63,6 +93,7 @@ public class DbUnitRule implements TestRule {
 	 */
 	public DbUnitRule(JdbcConnectionFactory factory) {
 		this.connectionFactory = factory;
+		this.runners = new ConcurrentHashMap<>();
 	}
 
 	/**
@@ -79,6 +110,7 @@ public class DbUnitRule implements TestRule {
 	 */
 	public DbUnitRule() {
 		this.connectionFactory = null;
+		this.runners = new ConcurrentHashMap<>();
 	}
 
 	@Override
@@ -88,20 +120,94 @@ public class DbUnitRule implements TestRule {
 			public void evaluate() throws Throwable {
 				final Class<?> testClass = description.getTestClass();
 				final String methodName = description.getMethodName();
-				final Method method = methodName == null ? null : testClass.getMethod(methodName);
-				final DbUnitRunner runner = connectionFactory == null ?
-					new DbUnitRunner(testClass) :
-					new DbUnitRunner(testClass, connectionFactory);
+				if (methodName == null) {
+					evaluateClass(statement, testClass);
+				}
+				else {
+					evaluateMethod(statement, testClass, testClass.getMethod(methodName));
+				}
+			}
+		};
+	}
 
-				runner.beforeTest(method);
+	/**
+	 * Evaluate statement for given test class: the runner is created (so database initialization is executed)
+	 * and is kept until the end of the class so that it can be re-used by each test method.
+	 *
+	 * @param statement The statement to evaluate.
+	 * @param testClass The test class.
+	 * @throws Throwable If an error occurred while evaluating statement.
+	 */
+	private void evaluateClass(Statement statement, Class<?> testClass) throws Throwable {
+		final DbUnitRunner runner = createRunner(testClass);
+		runners.put(testClass, runner);
+
+		try {
+			evaluate(statement, runner, null);
+		}
+		finally {
+			runners.remove(testClass);
+		}
+	}
+
+	/**
+	 * Create the statement sharing a runner between each test method of given test class: unlike the class rule,
+	 * nothing is executed before the first test method (database initialization is executed, once, by the first
+	 * test method).
+	 *
+	 * @param statement The statement to evaluate.
+	 * @param testClass The test class.
+	 * @return The statement.
+	 */
+	Statement shareRunner(final Statement statement, final Class<?> testClass) {
+		return new Statement() {
+			@Override
+			public void evaluate() throws Throwable {
+				runners.put(testClass, createRunner(testClass));
 
 				try {
 					statement.evaluate();
 				}
 				finally {
-					runner.afterTest(method);
+					runners.remove(testClass);
 				}
 			}
 		};
 	}
+
+	/**
+	 * Evaluate statement for given test method: the runner of the test class is re-used if it has been created
+	 * by the class rule, otherwise a runner is created for this test method only (a method rule is usually
+	 * instantiated for each test, so there is nothing to share and the runner must not outlive the test).
+	 *
+	 * @param statement The statement to evaluate.
+	 * @param testClass The test class.
+	 * @param method The test method.
+	 * @throws Throwable If an error occurred while evaluating statement.
+	 */
+	private void evaluateMethod(Statement statement, Class<?> testClass, Method method) throws Throwable {
+		DbUnitRunner runner = runners.get(testClass);
+		if (runner == null) {
+			runner = createRunner(testClass);
+		}
+
+		evaluate(statement, runner, method);
+	}
+
+	private DbUnitRunner createRunner(Class<?> testClass) {
+		return connectionFactory == null ?
+			new DbUnitRunner(testClass) :
+			new DbUnitRunner(testClass, connectionFactory);
+	}
+
+	private static void evaluate(Statement statement, DbUnitRunner runner, Method method) throws Throwable {
+		runner.beforeTest(method);
+
+		try {
+			statement.evaluate();
+		}
+		finally {
+			runner.afterTest(method);
+		}
+	}
 }
@@ -24,6 +24,7 @@
 
 package com.github.mjeanroy.dbunit.integration.jupiter;
 
+import com.github.mjeanroy.dbunit.commons.lang.ToStringBuilder;
 import com.github.mjeanroy.dbunit.core.annotations.DbUnitConnection;
 import com.github.mjeanroy.dbunit.core.annotations.DbUnitDataSet;
 import com.github.mjeanroy.dbunit.core.annotations.DbUnitInit;
@@ -50,9 +51,10 @@ import org.junit.jupiter.api.extension.RegisterExtension;
 
 import javax.sql.DataSource;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 import java.lang.reflect.Parameter;
 import java.sql.Connection;
-import java.util.function.Function;
+import java.util.Objects;
 
 import static com.github.mjeanroy.dbunit.commons.lang.PreConditions.notNull;
 
@@ -72,6 +74,12 @@ import static com.github.mjeanroy.dbunit.commons.lang.PreConditions.notNull;
  *   <li>Execute DbUnit TEARDOWN operation, configured with {@link DbUnitTearDown}, <strong>before each</strong> test.</li>
  * </ul>
  *
+ * The DbUnit runner is created once per test class and re-used for each test method, so initialization scripts
+ * are executed once per test class. The runner of a {@link org.junit.jupiter.api.Nested} class re-use the initialization
+ * of the enclosing test class, unless it declares its own connection or initialization scripts.
+ *
+ * <br>
+ *
  * Note that is you are using Spring Test Framework in your application, this extension can be combined with {@link EmbeddedDatabaseExtension}
  * to initiate an embedded database (HSQL or H2 database).
  *
@@ -108,11 +116,6 @@ public class DbUnitExtension implements BeforeAllCallback, AfterAllCallback, Bef
 	 */
 	private static final Namespace NAMESPACE = Namespace.create(DbUnitExtension.class.getName());
 
-	/**
-	 * The key of the {@link DbUnitRunner} instance in the internal store.
-	 */
-	private static final String DB_UNIT_RUNNER_KEY = "dbUnitRunner";
-
 	/**
 	 * The JDBC Connection Factory to use.
 	 */
@@ -157,37 +160,42 @@ public class DbUnitExtension implements BeforeAllCallback, AfterAllCallback, Bef
 
 	@Override
 	public void beforeAll(ExtensionContext context) {
+		getOrInitializeDbUnitExtensionContext(context);
+
 		final Store store = getStore(context);
 		final Class<?> testClass = getTestClass(context);
-		getOrInitializeDbUnitExtensionContext(store, testClass);
+		store.put(new ClassRunnerKey(runnerKey(testClass)), Boolean.TRUE);
 	}
 
 	@Override
 	public void afterAll(ExtensionContext context) {
-		getStore(context).remove(DB_UNIT_RUNNER_KEY);
+		final Store store = getStore(context);
+		final Object key = runnerKey(getTestClass(context));
+		clearStore(store, new ClassRunnerKey(key));
+		clearStore(store, key);
 	}
 
 	@Override
 	public void beforeEach(ExtensionContext context) {
-		final Store store = getStore(context);
-		final Class<?> testClass = getTestClass(context);
-		final DbUnitRunner dbUnitRunner = getOrInitializeDbUnitExtensionContext(store, testClass);
+		final DbUnitRunner dbUnitRunner = getOrInitializeDbUnitExtensionContext(context);
 		final Method testMethod = context.getRequiredTestMethod();
 		dbUnitRunner.beforeTest(testMethod);
 	}
 
 	@Override
 	public void afterEach(ExtensionContext context) {
-		final Store store = getStore(context);
-		final Class<?> testClass = getTestClass(context);
-		final DbUnitRunner dbUnitRunner = getOrInitializeDbUnitExtensionContext(store, testClass);
+		final DbUnitRunner dbUnitRunner = getOrInitializeDbUnitExtensionContext(context);
 		final Method testMethod = context.getRequiredTestMethod();
+		dbUnitRunner.afterTest(testMethod);
 
-		try {
-			dbUnitRunner.afterTest(testMethod);
-		}
-		finally {
-			clearStore(store, testClass);
+		// A runner created with a specific connection that has not been created before all tests (i.e when the extension
+		// is registered as an instance field, with a connection created for each test) is never re-used: remove it so that
+		// it does not remain in the class store until the end of the class.
+		final ExtensionContext classContext = getClassContext(context);
+		final Store store = getStore(classContext);
+		final Object key = runnerKey(getTestClass(classContext));
+		if (key instanceof RunnerKey && store.get(new ClassRunnerKey(key)) == null) {
+			clearStore(store, key);
 		}
 	}
 
@@ -200,22 +208,86 @@ public class DbUnitExtension implements BeforeAllCallback, AfterAllCallback, Bef
 
 	@Override
 	public Object resolveParameter(ParameterContext parameterContext, ExtensionContext extensionContext) throws ParameterResolutionException {
-		final Store store = getStore(extensionContext);
-		final Class<?> testClass = getTestClass(extensionContext);
-		final DbUnitRunner dbUnitRunner = getOrInitializeDbUnitExtensionContext(store, testClass);
+		final DbUnitRunner dbUnitRunner = getOrInitializeDbUnitExtensionContext(extensionContext);
 		return dbUnitRunner.getConnection();
 	}
 
 	/**
-	 * Get or create DbUnit context from store internal store.
+	 * Get or create DbUnit runner from the internal store of the test class context, so that the
+	 * runner is shared between each test method.
 	 *
-	 * @param testClass The extension context.
-	 * @param store The internal store.
+	 * @param context The extension context.
 	 * @return The runner.
 	 */
-	private DbUnitRunner getOrInitializeDbUnitExtensionContext(Store store, Class<?> testClass) {
-		final DbUnitRunnerFactory dbUnitRunnerFactory = new DbUnitRunnerFactory(connectionFactory);
-		return store.getOrComputeIfAbsent(testClass, dbUnitRunnerFactory, DbUnitRunner.class);
+	private DbUnitRunner getOrInitializeDbUnitExtensionContext(ExtensionContext context) {
+		final ExtensionContext classContext = getClassContext(context);
+		final Store store = getStore(classContext);
+		final Class<?> testClass = getTestClass(classContext);
+		return store.getOrComputeIfAbsent(runnerKey(testClass), key -> {
+			final DbUnitRunner parent = findEnclosingRunner(store, testClass);
+			return createRunner(testClass, parent);
+		}, DbUnitRunner.class);
+	}
+
+	/**
+	 * Get the key of the runner of given test class in the internal store: a runner created with a specific
+	 * connection (for example, with an embedded database created for each test) is not shared with runners
+	 * created with another connection.
+	 *
+	 * @param testClass The tested class.
+	 * @return The key.
+	 */
+	private Object runnerKey(Class<?> testClass) {
+		return connectionFactory == null ? testClass : new RunnerKey(testClass, connectionFactory);
+	}
+
+	/**
+	 * Create the runner for given test class.
+	 *
+	 * @param testClass The tested class.
+	 * @param parent The runner of the enclosing class, may be {@code null}.
+	 * @return The runner.
+	 */
+	private DbUnitRunner createRunner(Class<?> testClass, DbUnitRunner parent) {
+		if (parent != null && (connectionFactory == null || connectionFactory.equals(parent.getFactory()))) {
+			return new DbUnitRunner(testClass, parent);
+		}
+
+		return connectionFactory == null ? new DbUnitRunner(testClass) : new DbUnitRunner(testClass, connectionFactory);
+	}
+
+	/**
+	 * Find the runner of the class enclosing given test class (i.e when {@code testClass} is a
+	 * {@link org.junit.jupiter.api.Nested} class), returns {@code null} if there is no such runner.
+	 *
+	 * @param store The internal store.
+	 * @param testClass The tested class.
+	 * @return The runner of the enclosing class, may be {@code null}.
+	 */
+	private DbUnitRunner findEnclosingRunner(Store store, Class<?> testClass) {
+		final Class<?> enclosingClass = testClass.getEnclosingClass();
+		if (enclosingClass == null || Modifier.isStatic(testClass.getModifiers())) {
+			return null;
+		}
+
+		final DbUnitRunner runner = store.get(runnerKey(enclosingClass), DbUnitRunner.class);
+		return runner == null ? store.get(enclosingClass, DbUnitRunner.class) : runner;
+	}
+
+	/**
+	 * Get the extension context of the test class: when given context is a test method context, the
+	 * parent context is returned.
+	 *
+	 * @param context The extension context.
+	 * @return The class extension context.
+	 */
+	private static ExtensionContext getClassContext(ExtensionContext context) {
+		ExtensionContext current = context;
+		while (current.getTestMethod().isPresent() && current.getParent().isPresent()) {
+			current = current.getParent().get();
+		}
+
+		return current;
 	}
 
 	/**
@@ -232,10 +304,10 @@ public class DbUnitExtension implements BeforeAllCallback, AfterAllCallback, Bef
 	 * Clear store from DbUnit runner previously created for given test class.
 	 *
 	 * @param store The internal store.
-	 * @param testClass The tested class.
+	 * @param key The key.
 	 */
-	private static void clearStore(Store store, Class<?> testClass) {
-		store.remove(testClass);
+	private static void clearStore(Store store, Object key) {
+		store.remove(key);
 	}
 
 	/**
@@ -248,16 +320,90 @@ public class DbUnitExtension implements BeforeAllCallback, AfterAllCallback, Bef
 		return context.getStore(NAMESPACE);
 	}
 
-	private static class DbUnitRunnerFactory implements Function<Class<?>, DbUnitRunner> {
+	/**
+	 * The key marking, in the internal store, a runner created before all tests of the class.
+	 */
+	private static final class ClassRunnerKey {
+		/**
+		 * The runner key.
+		 */
+		private final Object runnerKey;
+
+		private ClassRunnerKey(Object runnerKey) {
+			this.runnerKey = runnerKey;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (o == this) {
+				return true;
+			}
+
+			if (o instanceof ClassRunnerKey) {
+				ClassRunnerKey k = (ClassRunnerKey) o;
+				return Objects.equals(runnerKey, k.runnerKey);
+			}
+
+			return false;
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(runnerKey);
+		}
+
+		@Override
+		public String toString() {
+			return ToStringBuilder.create(getClass())
+				.append("runnerKey", runnerKey)
+				.build();
+		}
+	}
+
+	/**
+	 * The key of a runner created with a specific connection in the internal store.
+	 */
+	private static final class RunnerKey {
+		/**
+		 * The tested class.
+		 */
+		private final Class<?> testClass;
+
+		/**
+		 * The JDBC Connection factory.
+		 */
 		private final JdbcConnectionFactory connectionFactory;
 
-		private DbUnitRunnerFactory(JdbcConnectionFactory connectionFactory) {
+		private RunnerKey(Class<?> testClass, JdbcConnectionFactory connectionFactory) {
+			this.testClass = testClass;
 			this.connectionFactory = connectionFactory;
 		}
 
 		@Override
-		public DbUnitRunner apply(Class<?> testClass) {
-			return connectionFactory == null ? new DbUnitRunner(testClass) : new DbUnitRunner(testClass, connectionFactory);
+		public boolean equals(Object o) {
+			if (o == this) {
+				return true;
+			}
+
+			if (o instanceof RunnerKey) {
+				RunnerKey k = (RunnerKey) o;
+				return Objects.equals(testClass, k.testClass) && Objects.equals(connectionFactory, k.connectionFactory);
+			}
+
+			return false;
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(testClass, connectionFactory);
+		}
+
+		@Override
+		public String toString() {
+			return ToStringBuilder.create(getClass())
+				.append("testClass", testClass)
+				.append("connectionFactory", connectionFactory)
+				.build();
 		}
 	}
 }
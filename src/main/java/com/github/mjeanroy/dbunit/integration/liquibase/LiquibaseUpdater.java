@@ -24,6 +24,7 @@
 
 package com.github.mjeanroy.dbunit.integration.liquibase;
 
+import com.github.mjeanroy.dbunit.commons.io.Io;
 import com.github.mjeanroy.dbunit.core.jdbc.JdbcConnectionFactory;
 import com.github.mjeanroy.dbunit.core.resources.Resource;
 import com.github.mjeanroy.dbunit.core.resources.ResourceLoader;
@@ -32,17 +33,24 @@ import com.github.mjeanroy.dbunit.loggers.Logger;
 import com.github.mjeanroy.dbunit.loggers.Loggers;
 import liquibase.Contexts;
 import liquibase.Liquibase;
+import liquibase.changelog.ChangeLogParameters;
+import liquibase.changelog.ChangeSet;
+import liquibase.changelog.DatabaseChangeLog;
 import liquibase.database.DatabaseConnection;
 import liquibase.database.jvm.JdbcConnection;
+import liquibase.parser.ChangeLogParser;
+import liquibase.parser.ChangeLogParserFactory;
 import liquibase.resource.ClassLoaderResourceAccessor;
 import liquibase.resource.CompositeResourceAccessor;
 import liquibase.resource.FileSystemResourceAccessor;
 import liquibase.resource.ResourceAccessor;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
 import java.sql.Connection;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static com.github.mjeanroy.dbunit.commons.lang.Objects.firstNonNull;
 import static com.github.mjeanroy.dbunit.commons.lang.PreConditions.notBlank;
 import static com.github.mjeanroy.dbunit.commons.lang.PreConditions.notNull;
@@ -104,9 +112,44 @@ public class LiquibaseUpdater {
 		}
 	}
 
+	/**
+	 * Compute the checksum of given change log: the change log is parsed by liquibase, so the checksum covers
+	 * the whole changelog tree (i.e included changelogs and referenced SQL files), not only the root file.
+	 * If an error occurred, an instance of {@link DbUnitException} will be thrown.
+	 *
+	 * @param changeLog Change Log path.
+	 * @return The hexadecimal checksum.
+	 * @throws NullPointerException If {@code changeLog} is null.
+	 * @throws IllegalArgumentException If {@code changeLog} is empty or blank.
+	 * @throws DbUnitException If an error occurred while parsing the change log.
+	 */
+	public static String checksum(String changeLog) {
+		final String changeLogFullPath = getChangeLogFullPath(notBlank(changeLog, "Change log path must be defined"));
+		final ResourceAccessor resourceAccessor = createResourceAccessor();
+
+		try {
+			final ChangeLogParser parser = ChangeLogParserFactory.getInstance().getParser(changeLogFullPath, resourceAccessor);
+			final DatabaseChangeLog databaseChangeLog = parser.parse(changeLogFullPath, new ChangeLogParameters(), resourceAccessor);
+			final StringBuilder sb = new StringBuilder();
+			for (ChangeSet changeSet : databaseChangeLog.getChangeSets()) {
+				sb.append(changeSet.getFilePath()).append("::")
+					.append(changeSet.getId()).append("::")
+					.append(changeSet.getAuthor()).append("::")
+					.append(changeSet.generateCheckSum())
+					.append("\n");
+			}
+
+			return Io.digest(new ByteArrayInputStream(sb.toString().getBytes(UTF_8)));
+		}
+		catch (Exception ex) {
+			log.error(ex.getMessage(), ex);
+			throw new DbUnitException(ex);
+		}
+	}
+
 	private void runLiquibaseUpdate(Connection connection) {
 		final DatabaseConnection db = new JdbcConnection(connection);
-		final String changeLogFullPath = getChangeLogFullPath();
+		final String changeLogFullPath = getChangeLogFullPath(changeLog);
 		final ResourceAccessor resourceAccessor = createResourceAccessor();
 
 		log.debug("Run liquibase update from: {}", changeLogFullPath);
@@ -136,7 +179,7 @@ public class LiquibaseUpdater {
 		}
 	}
 
-	private String getChangeLogFullPath() {
+	private static String getChangeLogFullPath(String changeLog) {
 		ResourceLoader loader = firstNonNull(ResourceLoader.find(changeLog), ResourceLoader.CLASSPATH);
 		Resource resource = loader.load(changeLog);
 		File file = resource.toFile();
@@ -28,8 +28,11 @@ import com.github.mjeanroy.dbunit.tests.builders.CacheLoaderMockBuilder;
 import org.junit.jupiter.api.Test;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 abstract class AbstractCacheTest {
 
@@ -75,5 +78,44 @@ abstract class AbstractCacheTest {
 		assertThat(cache.size()).isZero();
 	}
 
+	@Test
+	void it_should_remove_value_from_cache() {
+		String key = "foo";
+		String value = "bar";
+
+		CacheLoader<String, String> loader = new CacheLoaderMockBuilder<String, String>()
+			.add(key, value)
+			.build();
+
+		Cache<String, String> cache = createCache(loader);
+		cache.load(key);
+		assertThat(cache.size()).isEqualTo(1);
+
+		cache.remove(key);
+		assertThat(cache.size()).isZero();
+
+		cache.remove(key);
+		assertThat(cache.size()).isZero();
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void it_should_not_keep_failures_in_cache() throws Exception {
+		String key = "foo";
+		String value = "bar";
+
+		CacheLoader<String, String> loader = mock(CacheLoader.class);
+		when(loader.load(key)).thenThrow(new IllegalStateException("fail")).thenReturn(value);
+
+		Cache<String, String> cache = createCache(loader);
+		assertThatThrownBy(() -> cache.load(key)).hasMessageContaining("fail");
+		assertThat(cache.size()).isZero();
+
+		String r1 = cache.load(key);
+		assertThat(r1).isEqualTo(value);
+		assertThat(cache.size()).isEqualTo(1);
+		verify(loader, times(2)).load(key);
+	}
+
 	abstract Cache<String, String> createCache(CacheLoader<String, String> loader);
 }
@@ -32,7 +32,9 @@ import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
@@ -69,4 +71,10 @@ class IoTest {
 
 		assertThatThrownBy(() -> Io.readLines(buf, visitor)).isInstanceOf(IOException.class);
 	}
+
+	@Test
+	void it_should_compute_digest() throws Exception {
+		final InputStream stream = new ByteArrayInputStream("abc".getBytes(StandardCharsets.UTF_8));
+		assertThat(Io.digest(stream)).isEqualTo("ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad");
+	}
 }
@@ -0,0 +1,188 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015-2021 Mickael Jeanroy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.mjeanroy.dbunit.core.dataset;
+
+import com.github.mjeanroy.dbunit.core.resources.Resource;
+import com.github.mjeanroy.dbunit.core.resources.ResourceLoader;
+import org.dbunit.dataset.Column;
+import org.dbunit.dataset.DataSetException;
+import org.dbunit.dataset.DefaultDataSet;
+import org.dbunit.dataset.DefaultTable;
+import org.dbunit.dataset.IDataSet;
+import org.dbunit.dataset.ITable;
+import org.dbunit.dataset.ITableIterator;
+import org.dbunit.dataset.NoSuchTableException;
+import org.dbunit.dataset.datatype.DataType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import static com.github.mjeanroy.dbunit.tests.utils.TestDatasets.USERS_JSON;
+import static com.github.mjeanroy.dbunit.tests.utils.TestDatasets.USERS_XML;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+class BinaryDataSetTest {
+
+	@TempDir
+	Path tmp;
+
+	@Test
+	void it_should_read_compiled_json_dataset() throws Exception {
+		final BinaryDataSet dataSet = compile(DataSetType.JSON.create(ResourceLoader.CLASSPATH.load(USERS_JSON)));
+
+		assertThat(dataSet.getTableNames()).containsExactly("users");
+		assertThat(dataSet.getTableMetaData("users").getColumns())
+			.extracting("columnName", "dataType")
+			.containsExactly(
+				tuple("id", DataType.UNKNOWN),
+				tuple("name", DataType.UNKNOWN)
+			);
+
+		final ITable table = dataSet.getTable("users");
+		assertThat(table.getRowCount()).isEqualTo(2);
+		assertThat(table.getValue(0, "id")).isEqualTo(1);
+		assertThat(table.getValue(0, "name")).isEqualTo("John Doe");
+		assertThat(table.getValue(1, "id")).isEqualTo(2);
+		assertThat(table.getValue(1, "name")).isEqualTo("Jane Doe");
+	}
+
+	@Test
+	void it_should_read_compiled_xml_dataset() throws Exception {
+		final BinaryDataSet dataSet = compile(DataSetType.XML.create(ResourceLoader.CLASSPATH.load(USERS_XML)));
+
+		assertThat(dataSet.getTableMetaData("users").getColumns()).extracting("dataType").containsOnly(DataType.UNKNOWN);
+
+		final ITable table = dataSet.getTable("USERS");
+		assertThat(table.getRowCount()).isEqualTo(2);
+		assertThat(table.getValue(0, "id")).isEqualTo("1");
+		assertThat(table.getValue(1, "name")).isEqualTo("Jane Doe");
+	}
+
+	@Test
+	void it_should_read_all_value_types() throws Exception {
+		final Date date = new Date();
+		final Column[] columns = new Column[]{
+			new Column("int", DataType.INTEGER),
+			new Column("long", DataType.BIGINT),
+			new Column("double", DataType.DOUBLE),
+			new Column("boolean", DataType.BOOLEAN),
+			new Column("string", DataType.VARCHAR),
+			new Column("mixed", DataType.UNKNOWN),
+			new Column("empty", DataType.UNKNOWN),
+		};
+
+		final DefaultTable input = new DefaultTable("movies", columns);
+		input.addRow(new Object[]{1, 2L, 1.5, true, "Star Wars", new BigDecimal("1.50"), null});
+		input.addRow(new Object[]{null, null, null, false, null, new BigInteger("123456789012345678901234567890"), null});
+		input.addRow(new Object[]{3, 4L, 2.5, null, "Star Wars", date, null});
+		input.addRow(new Object[]{null, null, null, null, null, new byte[]{1, 2}, null});
+
+		final ITable table = compile(new DefaultDataSet(input)).getTable("movies");
+
+		assertThat(table.getRowCount()).isEqualTo(4);
+		assertThat(table.getValue(0, "int")).isEqualTo(1);
+		assertThat(table.getValue(0, "long")).isEqualTo(2L);
+		assertThat(table.getValue(0, "double")).isEqualTo(1.5);
+		assertThat(table.getValue(0, "boolean")).isEqualTo(true);
+		assertThat(table.getValue(0, "string")).isEqualTo("Star Wars");
+		assertThat(table.getValue(0, "mixed")).isEqualTo(new BigDecimal("1.50"));
+		assertThat(table.getValue(1, "int")).isNull();
+		assertThat(table.getValue(1, "long")).isNull();
+		assertThat(table.getValue(1, "double")).isNull();
+		assertThat(table.getValue(1, "boolean")).isEqualTo(false);
+		assertThat(table.getValue(1, "string")).isNull();
+		assertThat(table.getValue(1, "mixed")).isEqualTo(new BigInteger("123456789012345678901234567890"));
+		assertThat(table.getValue(2, "boolean")).isNull();
+		assertThat(table.getValue(2, "mixed")).isEqualTo(date);
+		assertThat(table.getValue(3, "mixed")).isEqualTo(new byte[]{1, 2});
+		assertThat(table.getValue(3, "empty")).isNull();
+	}
+
+	@Test
+	void it_should_iterate_over_tables() throws Exception {
+		final IDataSet input = DataSetFactory.createDataSet(new String[]{USERS_XML, USERS_JSON.replace("01-users", "02-movies")});
+		final BinaryDataSet dataSet = compile(input);
+
+		assertThat(tableNames(dataSet.iterator())).containsExactly("users", "movies");
+		assertThat(tableNames(dataSet.reverseIterator())).containsExactly("movies", "users");
+		assertThat(dataSet.getTable("movies")).isSameAs(dataSet.getTable("movies"));
+	}
+
+	@Test
+	void it_should_fail_with_unknown_table() throws Exception {
+		final BinaryDataSet dataSet = compile(DataSetType.XML.create(ResourceLoader.CLASSPATH.load(USERS_XML)));
+		assertThatThrownBy(() -> dataSet.getTable("movies")).isExactlyInstanceOf(NoSuchTableException.class);
+	}
+
+	@Test
+	void it_should_fail_with_invalid_file() throws Exception {
+		final File file = tmp.resolve("users.json.dbunit").toFile();
+		Files.write(file.toPath(), "{\"users\": []}".getBytes(StandardCharsets.UTF_8));
+		final Resource resource = ResourceLoader.FILE_SYSTEM.load(file.getAbsolutePath());
+
+		assertThatThrownBy(() -> new BinaryDataSet(resource, false))
+			.isExactlyInstanceOf(DataSetException.class)
+			.hasMessageContaining("is not a binary dataset");
+	}
+
+	@Test
+	void it_should_be_created_by_data_set_factory() throws Exception {
+		final BinaryDataSet compiled = compile(DataSetType.XML.create(ResourceLoader.CLASSPATH.load(USERS_XML)));
+		final IDataSet dataSet = DataSetFactory.createDataSet(compiled.getResource());
+
+		assertThat(dataSet).isExactlyInstanceOf(BinaryDataSet.class);
+		assertThat(dataSet.getTableNames()).containsExactly("users");
+	}
+
+	private BinaryDataSet compile(IDataSet dataSet) throws Exception {
+		final File file = tmp.resolve("dataset.dbunit").toFile();
+		try (OutputStream out = new FileOutputStream(file)) {
+			BinaryDataSetWriter.write(dataSet, out);
+		}
+
+		return new BinaryDataSet(ResourceLoader.FILE_SYSTEM.load(file.getAbsolutePath()), false);
+	}
+
+	private static List<String> tableNames(ITableIterator it) throws Exception {
+		final List<String> tableNames = new ArrayList<>();
+		while (it.next()) {
+			tableNames.add(it.getTable().getTableMetaData().getTableName());
+		}
+
+		return tableNames;
+	}
+}
@@ -0,0 +1,127 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015-2021 Mickael Jeanroy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.mjeanroy.dbunit.core.dataset;
+
+import org.dbunit.dataset.Column;
+import org.dbunit.dataset.NoSuchColumnException;
+import org.dbunit.dataset.RowOutOfBoundsException;
+import org.dbunit.dataset.datatype.DataType;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ColumnarTableTest {
+
+	@Test
+	void it_should_create_table() throws Exception {
+		final ColumnarTable table = ColumnarTable.builder("users", columns("id", "name"), 2)
+			.addRow().setValue(0, 1).setValue(1, "John Doe")
+			.addRow().setValue(0, 2).setValue(1, "Jane Doe")
+			.build();
+
+		assertThat(table.getTableMetaData().getTableName()).isEqualTo("users");
+		assertThat(table.getTableMetaData().getColumns()).extracting("columnName").containsExactly("id", "name");
+		assertThat(table.getRowCount()).isEqualTo(2);
+		assertThat(table.getValue(0, "id")).isEqualTo(1);
+		assertThat(table.getValue(0, "name")).isEqualTo("John Doe");
+		assertThat(table.getValue(1, "id")).isEqualTo(2);
+		assertThat(table.getValue(1, "name")).isEqualTo("Jane Doe");
+	}
+
+	@Test
+	void it_should_get_value_with_case_insensitive_column_name() throws Exception {
+		final ColumnarTable table = ColumnarTable.builder("users", columns("id"), 1)
+			.addRow().setValue(0, 1)
+			.build();
+
+		assertThat(table.getValue(0, "ID")).isEqualTo(1);
+	}
+
+	@Test
+	void it_should_keep_value_types() throws Exception {
+		final ColumnarTable table = ColumnarTable.builder("movies", columns("int", "long", "double", "boolean", "string", "decimal"), 2)
+			.addRow().setValue(0, 1).setValue(1, 2L).setValue(2, 1.5).setValue(3, true).setValue(4, "Star Wars").setValue(5, BigDecimal.ONE)
+			.addRow().setValue(3, false).setValue(4, "Star Wars")
+			.build();
+
+		assertThat(table.getValue(0, "int")).isEqualTo(1);
+		assertThat(table.getValue(0, "long")).isEqualTo(2L);
+		assertThat(table.getValue(0, "double")).isEqualTo(1.5);
+		assertThat(table.getValue(0, "boolean")).isEqualTo(true);
+		assertThat(table.getValue(0, "string")).isEqualTo("Star Wars");
+		assertThat(table.getValue(0, "decimal")).isEqualTo(BigDecimal.ONE);
+
+		assertThat(table.getValue(1, "int")).isNull();
+		assertThat(table.getValue(1, "long")).isNull();
+		assertThat(table.getValue(1, "double")).isNull();
+		assertThat(table.getValue(1, "boolean")).isEqualTo(false);
+		assertThat(table.getValue(1, "string")).isSameAs(table.getValue(0, "string"));
+		assertThat(table.getValue(1, "decimal")).isNull();
+	}
+
+	@Test
+	void it_should_store_mixed_values() throws Exception {
+		final ColumnarTable table = ColumnarTable.builder("movies", columns("id"), 3)
+			.addRow().setValue(0, 1)
+			.addRow()
+			.addRow().setValue(0, "3")
+			.build();
+
+		assertThat(table.getValue(0, "id")).isEqualTo(1);
+		assertThat(table.getValue(1, "id")).isNull();
+		assertThat(table.getValue(2, "id")).isEqualTo("3");
+	}
+
+	@Test
+	void it_should_fail_with_unknown_column() {
+		final ColumnarTable table = ColumnarTable.builder("users", columns("id"), 1).addRow().build();
+		assertThatThrownBy(() -> table.getValue(0, "name")).isExactlyInstanceOf(NoSuchColumnException.class);
+	}
+
+	@Test
+	void it_should_fail_with_invalid_row() {
+		final ColumnarTable table = ColumnarTable.builder("users", columns("id"), 1).addRow().build();
+		assertThatThrownBy(() -> table.getValue(1, "id")).isExactlyInstanceOf(RowOutOfBoundsException.class);
+	}
+
+	@Test
+	void it_should_fail_to_add_more_rows_than_expected() {
+		final ColumnarTable.Builder builder = ColumnarTable.builder("users", columns("id"), 1).addRow();
+		assertThatThrownBy(builder::addRow)
+			.isExactlyInstanceOf(IllegalStateException.class)
+			.hasMessage("Cannot add more than 1 rows to table users");
+	}
+
+	private static Column[] columns(String... names) {
+		final Column[] columns = new Column[names.length];
+		for (int i = 0; i < names.length; i++) {
+			columns[i] = new Column(names[i], DataType.UNKNOWN);
+		}
+
+		return columns;
+	}
+}
@@ -0,0 +1,139 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015-2021 Mickael Jeanroy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.mjeanroy.dbunit.core.dataset;
+
+import com.github.mjeanroy.dbunit.core.resources.Resource;
+import com.github.mjeanroy.dbunit.tests.builders.ResourceMockBuilder;
+import org.dbunit.dataset.DataSetException;
+import org.dbunit.dataset.ITable;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import static com.github.mjeanroy.dbunit.tests.utils.TestDatasets.USERS_CSV;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CsvFileDataSetTest {
+
+	@Test
+	void it_should_read_csv_file() throws Exception {
+		final Resource resource = new ResourceMockBuilder().fromClasspath(USERS_CSV).setFilename("users.csv").build();
+		final CsvFileDataSet dataSet = new CsvFileDataSet(resource, false);
+
+		assertThat(dataSet.getResource()).isSameAs(resource);
+		assertThat(dataSet.getTableNames()).containsExactly("users");
+		assertThat(dataSet.getTableMetaData("users").getColumns()).extracting("columnName").containsExactly("id", "name");
+
+		final ITable table = dataSet.getTable("users");
+		assertThat(table.getRowCount()).isEqualTo(2);
+		assertThat(table.getValue(0, "id")).isEqualTo("1");
+		assertThat(table.getValue(0, "name")).isEqualTo("John Doe");
+		assertThat(table.getValue(1, "id")).isEqualTo("2");
+		assertThat(table.getValue(1, "name")).isEqualTo("Jane Doe");
+	}
+
+	@Test
+	void it_should_read_quoted_values_and_nulls_from_stream() throws Exception {
+		final String csv = "\uFEFFid,title,synopsis\r\n" +
+			"1,\"Star Wars, A New Hope\",\"He said \"\"Hello\"\"\"\r\n" +
+			"2,null,\"null\"\r\n" +
+			"\r\n" +
+			"3,\"Multi\nLine\"\r\n" +
+			"4,,";
+
+		final ITable table = new CsvFileDataSet(stream("movies.csv", csv), false).getTable("movies");
+
+		assertThat(table.getTableMetaData().getColumns()).extracting("columnName").containsExactly("id", "title", "synopsis");
+		assertThat(table.getRowCount()).isEqualTo(4);
+		assertThat(table.getValue(0, "title")).isEqualTo("Star Wars, A New Hope");
+		assertThat(table.getValue(0, "synopsis")).isEqualTo("He said \"Hello\"");
+		assertThat(table.getValue(1, "title")).isNull();
+		assertThat(table.getValue(1, "synopsis")).isEqualTo("null");
+		assertThat(table.getValue(2, "id")).isEqualTo("3");
+		assertThat(table.getValue(2, "title")).isEqualTo("Multi\nLine");
+		assertThat(table.getValue(2, "synopsis")).isNull();
+		assertThat(table.getValue(3, "title")).isEqualTo("");
+		assertThat(table.getValue(3, "synopsis")).isEqualTo("");
+	}
+
+	@Test
+	void it_should_read_large_csv() throws Exception {
+		final StringBuilder csv = new StringBuilder("id\tname\n");
+		for (int i = 0; i < 20000; i++) {
+			csv.append(i).append("\tJohn Doe é ").append(i).append("\n");
+		}
+
+		final ITable table = new CsvFileDataSet(stream("users.csv", csv.toString()), false).getTable("users");
+
+		assertThat(table.getRowCount()).isEqualTo(20000);
+		assertThat(table.getValue(19999, "id")).isEqualTo("19999");
+		assertThat(table.getValue(19999, "name")).isEqualTo("John Doe é 19999");
+	}
+
+	@Test
+	void it_should_read_quoted_values_spanning_several_buffers() throws Exception {
+		final StringBuilder value = new StringBuilder();
+		for (int i = 0; i < 10000; i++) {
+			value.append("Star \"Wars\", ");
+		}
+
+		final String csv = "id,title\n" +
+			"1,\"" + value.toString().replace("\"", "\"\"") + "\"\n" +
+			"2,\"" + value.toString().replace("\"", "\"\"") + "\"\n";
+
+		final ITable table = new CsvFileDataSet(stream("movies.csv", csv), false).getTable("movies");
+
+		assertThat(table.getRowCount()).isEqualTo(2);
+		assertThat(table.getValue(0, "title")).isEqualTo(value.toString());
+		assertThat(table.getValue(1, "id")).isEqualTo("2");
+		assertThat(table.getValue(1, "title")).isEqualTo(value.toString());
+	}
+
+	@Test
+	void it_should_fail_with_too_many_values() {
+		final Resource resource = stream("users.csv", "id;name\n1;John;Doe\n");
+
+		assertThatThrownBy(() -> new CsvFileDataSet(resource, false))
+			.isExactlyInstanceOf(DataSetException.class)
+			.hasMessage("Line 2 of CSV resource MockResource has 3 values, expected 2");
+	}
+
+	@Test
+	void it_should_fail_with_unterminated_quoted_value() {
+		final Resource resource = stream("users.csv", "id;name\n1;\"John\n");
+
+		assertThatThrownBy(() -> new CsvFileDataSet(resource, false))
+			.isExactlyInstanceOf(DataSetException.class)
+			.hasMessageContaining("Unterminated quoted value at line 2");
+	}
+
+	private static Resource stream(String filename, String content) {
+		return new ResourceMockBuilder()
+			.withReader(new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)))
+			.setFilename(filename)
+			.build();
+	}
+}
@@ -0,0 +1,98 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015-2021 Mickael Jeanroy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.mjeanroy.dbunit.core.dataset;
+
+import com.github.mjeanroy.dbunit.core.resources.Resource;
+import com.github.mjeanroy.dbunit.core.resources.ResourceLoader;
+import org.dbunit.dataset.DataSetException;
+import org.dbunit.dataset.IDataSet;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static com.github.mjeanroy.dbunit.tests.utils.TestDatasets.USERS_JSON;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DataSetCacheTest {
+
+	@BeforeEach
+	@AfterEach
+	void clear() {
+		DataSetCache.clear();
+	}
+
+	@Test
+	void it_should_parse_dataset_once() throws Exception {
+		final Resource resource = ResourceLoader.CLASSPATH.load(USERS_JSON);
+		final IDataSet dataSet = DataSetCache.load(resource, DataSetType.JSON);
+
+		assertThat(dataSet.getTableNames()).containsExactly("users");
+		assertThat(DataSetCache.load(resource, DataSetType.JSON)).isSameAs(dataSet);
+		assertThat(DataSetCache.size()).isEqualTo(1);
+	}
+
+	@Test
+	void it_should_parse_dataset_again_once_file_has_been_updated(@TempDir Path tmp) throws Exception {
+		final File file = tmp.resolve("dataset.json").toFile();
+		write(file, "{\"users\": [{\"id\": 1}]}");
+
+		final Resource resource = ResourceLoader.FILE_SYSTEM.load(file.getAbsolutePath());
+		final IDataSet dataSet = DataSetCache.load(resource, DataSetType.JSON);
+		assertThat(dataSet.getTableNames()).containsExactly("users");
+
+		write(file, "{\"movies\": [{\"id\": 1}, {\"id\": 2}]}");
+		assertThat(file.setLastModified(file.lastModified() + 2000)).isTrue();
+
+		final IDataSet updatedDataSet = DataSetCache.load(resource, DataSetType.JSON);
+		assertThat(updatedDataSet).isNotSameAs(dataSet);
+		assertThat(updatedDataSet.getTableNames()).containsExactly("movies");
+		assertThat(DataSetCache.size()).isEqualTo(1);
+	}
+
+	@Test
+	void it_should_fail_with_invalid_dataset(@TempDir Path tmp) throws Exception {
+		final File file = tmp.resolve("dataset.json").toFile();
+		write(file, "{\"users\": ");
+
+		final Resource resource = ResourceLoader.FILE_SYSTEM.load(file.getAbsolutePath());
+
+		assertThatThrownBy(() -> DataSetCache.load(resource, DataSetType.JSON)).isInstanceOf(DataSetException.class);
+		assertThat(DataSetCache.size()).isZero();
+
+		write(file, "{\"users\": [{\"id\": 1}]}");
+		assertThat(DataSetCache.load(resource, DataSetType.JSON).getTableNames()).containsExactly("users");
+	}
+
+	private static void write(File file, String content) throws Exception {
+		Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+	}
+}
@@ -0,0 +1,192 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015-2021 Mickael Jeanroy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.mjeanroy.dbunit.core.dataset;
+
+import com.github.mjeanroy.dbunit.core.resources.Resource;
+import com.github.mjeanroy.dbunit.core.resources.ResourceLoader;
+import org.dbunit.dataset.IDataSet;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+
+import static com.github.mjeanroy.dbunit.tests.utils.TestDatasets.XML_DATASET;
+import static com.github.mjeanroy.dbunit.tests.utils.TestUtils.getTestResource;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DataSetCompilerTest {
+
+	@TempDir
+	Path tmp;
+
+	@Test
+	void it_should_compile_directory() throws Exception {
+		final File output = tmp.toFile();
+		final List<File> files = DataSetCompiler.compileDirectory(getTestResource(XML_DATASET), output);
+
+		assertThat(files).extracting("name").containsExactlyInAnyOrder(
+			"01-users.xml.dbunit",
+			"02-movies.xml.dbunit",
+			"03-users-movies.xml.dbunit"
+		);
+
+		final File compiled = new File(output, "01-users.xml.dbunit");
+		final IDataSet dataSet = DataSetFactory.createDataSet(ResourceLoader.FILE_SYSTEM.load(compiled.getAbsolutePath()));
+		assertThat(dataSet).isExactlyInstanceOf(BinaryDataSet.class);
+		assertThat(dataSet.getTableNames()).containsExactly("users");
+		assertThat(dataSet.getTable("users").getRowCount()).isEqualTo(2);
+	}
+
+	@Test
+	void it_should_compile_csv_directory() throws Exception {
+		final File input = tmp.resolve("input").toFile();
+		final File csv = new File(input, "csv");
+		final File output = tmp.resolve("output").toFile();
+		copyDirectory(getTestResource("/dataset/csv"), csv);
+
+		final List<File> files = DataSetCompiler.compileDirectory(input, output);
+
+		final File compiled = new File(output, "csv.dbunit");
+		assertThat(files).containsExactly(compiled);
+
+		final IDataSet dataSet = DataSetFactory.createDataSet(ResourceLoader.FILE_SYSTEM.load(compiled.getAbsolutePath()));
+		assertThat(dataSet.getTableNames()).containsExactly("users");
+		assertThat(dataSet.getTable("users").getRowCount()).isEqualTo(2);
+	}
+
+	@Test
+	void it_should_skip_files_that_are_not_datasets() throws Exception {
+		final File input = tmp.resolve("input").toFile();
+		final File output = tmp.resolve("output").toFile();
+		copyDirectory(getTestResource(XML_DATASET), input);
+		Files.write(new File(input, "logback-test.xml").toPath(), (
+			"<configuration>" +
+				"<appender name=\"STDOUT\" class=\"ch.qos.logback.core.ConsoleAppender\" />" +
+				"<root level=\"INFO\"><appender-ref ref=\"STDOUT\" /></root>" +
+			"</configuration>"
+		).getBytes(StandardCharsets.UTF_8));
+
+		final List<File> files = DataSetCompiler.compileDirectory(input, output);
+
+		assertThat(files).extracting("name").containsExactlyInAnyOrder(
+			"01-users.xml.dbunit",
+			"02-movies.xml.dbunit",
+			"03-users-movies.xml.dbunit"
+		);
+
+		assertThat(new File(output, "logback-test.xml.dbunit")).doesNotExist();
+	}
+
+	@Test
+	void it_should_skip_liquibase_changelogs() throws Exception {
+		final File input = tmp.resolve("input").toFile();
+		final File output = tmp.resolve("output").toFile();
+		copyDirectory(getTestResource(XML_DATASET), input);
+		write(new File(input, "changelog.xml"), (
+			"<databaseChangeLog xmlns=\"http://www.liquibase.org/xml/ns/dbchangelog\">" +
+				"<changeSet id=\"1\" author=\"dbunit\"><sql>SELECT 1</sql></changeSet>" +
+			"</databaseChangeLog>"
+		));
+		write(new File(input, "changelog.json"), (
+			"{\"databaseChangeLog\": [{\"changeSet\": {\"id\": \"1\", \"author\": \"dbunit\"}}]}"
+		));
+
+		final List<File> files = DataSetCompiler.compileDirectory(input, output);
+
+		assertThat(files).extracting("name").containsExactlyInAnyOrder(
+			"01-users.xml.dbunit",
+			"02-movies.xml.dbunit",
+			"03-users-movies.xml.dbunit"
+		);
+
+		assertThat(new File(output, "changelog.xml.dbunit")).doesNotExist();
+		assertThat(new File(output, "changelog.json.dbunit")).doesNotExist();
+	}
+
+	@Test
+	void it_should_use_compiled_file_of_single_dataset() throws Exception {
+		final File directory = tmp.toFile();
+		final File source = new File(directory, "users.json");
+		final File compiled = new File(directory, "users.json.dbunit");
+
+		write(source, "{\"users\": [{\"id\": 1}]}");
+		DataSetCompiler.compile(source, compiled);
+
+		// Source is updated, but older than the compiled file: compiled file is used.
+		write(source, "{\"users\": [{\"id\": 1}, {\"id\": 2}]}");
+		assertThat(source.setLastModified(compiled.lastModified() - 2000)).isTrue();
+
+		final IDataSet dataSet = loadFile(source);
+		assertThat(dataSet).isExactlyInstanceOf(BinaryDataSet.class);
+		assertThat(dataSet.getTable("users").getRowCount()).isEqualTo(1);
+
+		// Source is newer than the compiled file: source is used.
+		assertThat(source.setLastModified(compiled.lastModified() + 2000)).isTrue();
+		assertThat(loadFile(source)).isExactlyInstanceOf(JsonDataSet.class);
+		assertThat(loadFile(source).getTable("users").getRowCount()).isEqualTo(2);
+	}
+
+	@Test
+	void it_should_use_compiled_file_only_if_it_is_up_to_date() throws Exception {
+		final File directory = tmp.toFile();
+		final File source = new File(directory, "users.json");
+		final File compiled = new File(directory, "users.json.dbunit");
+
+		write(source, "{\"users\": [{\"id\": 1}]}");
+		DataSetCompiler.compile(source, compiled);
+
+		// Source is updated, but older than the compiled file: compiled file is used.
+		write(source, "{\"users\": [{\"id\": 1}, {\"id\": 2}]}");
+		assertThat(source.setLastModified(compiled.lastModified() - 2000)).isTrue();
+		assertThat(loadDirectory(directory).getTable("users").getRowCount()).isEqualTo(1);
+
+		// Source is newer than the compiled file: source is used.
+		assertThat(source.setLastModified(compiled.lastModified() + 2000)).isTrue();
+		assertThat(loadDirectory(directory).getTable("users").getRowCount()).isEqualTo(2);
+	}
+
+	private static IDataSet loadFile(File file) throws Exception {
+		return DataSetFactory.createDataSet(ResourceLoader.FILE_SYSTEM.load(file.getAbsolutePath()));
+	}
+
+	private static IDataSet loadDirectory(File directory) throws Exception {
+		return new DirectoryDataSet(ResourceLoader.FILE_SYSTEM.load(directory.getAbsolutePath()), false, Comparator.comparing(Resource::getFilename));
+	}
+
+	private static void write(File file, String content) throws Exception {
+		Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+	}
+
+	private static void copyDirectory(File source, File target) throws Exception {
+		assertThat(target.mkdirs()).isTrue();
+		for (File file : source.listFiles()) {
+			Files.copy(file.toPath(), new File(target, file.getName()).toPath());
+		}
+	}
+}
@@ -26,15 +26,32 @@ package com.github.mjeanroy.dbunit.core.dataset;
 
 import com.github.mjeanroy.dbunit.core.resources.Resource;
 import com.github.mjeanroy.dbunit.tests.builders.ResourceMockBuilder;
+import com.github.mjeanroy.dbunit.tests.jupiter.HsqldbTest;
 import com.github.mjeanroy.dbunit.tests.utils.TestDatasets;
-import org.dbunit.dataset.CompositeDataSet;
+import org.dbunit.Assertion;
+import org.dbunit.database.DatabaseConnection;
+import org.dbunit.database.IDatabaseConnection;
 import org.dbunit.dataset.IDataSet;
+import org.dbunit.dataset.ITable;
+import org.dbunit.dataset.SortedTable;
 import org.dbunit.dataset.csv.CsvDataSet;
 import org.dbunit.dataset.xml.FlatXmlDataSet;
 import org.dbunit.dataset.xml.FlatXmlDataSetBuilder;
+import org.dbunit.operation.DatabaseOperation;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
 
 import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStream;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
 
 import static com.github.mjeanroy.dbunit.tests.utils.TestDatasets.CLASSPATH_MOVIES_XML;
 import static com.github.mjeanroy.dbunit.tests.utils.TestDatasets.CLASSPATH_USERS_XML;
@@ -42,6 +59,7 @@ import static com.github.mjeanroy.dbunit.tests.utils.TestDatasets.MOVIES_XML;
 import static com.github.mjeanroy.dbunit.tests.utils.TestDatasets.USERS_CSV;
 import static com.github.mjeanroy.dbunit.tests.utils.TestDatasets.USERS_JSON;
 import static com.github.mjeanroy.dbunit.tests.utils.TestDatasets.USERS_XML;
+import static com.github.mjeanroy.dbunit.tests.utils.TestDatasets.USERS_YAML;
 import static com.github.mjeanroy.dbunit.tests.utils.TestDatasets.XML_DATASET;
 import static com.github.mjeanroy.dbunit.tests.utils.TestDatasets.moviesXmlAsStream;
 import static com.github.mjeanroy.dbunit.tests.utils.TestDatasets.usersXmlAsStream;
@@ -49,8 +67,67 @@ import static com.github.mjeanroy.dbunit.tests.utils.TestUtils.getTestResource;
 import static java.util.Arrays.asList;
 import static org.assertj.core.api.Assertions.assertThat;
 
+@HsqldbTest
 class DataSetFactoryTest {
 
+	@Test
+	void it_should_compare_json_data_set_with_database_table(EmbeddedDatabase db) throws Exception {
+		final IDataSet dataSet = DataSetFactory.createDataSet(USERS_JSON);
+
+		try (Connection connection = db.getConnection()) {
+			final IDatabaseConnection dbConnection = new DatabaseConnection(connection);
+			DatabaseOperation.CLEAN_INSERT.execute(dbConnection, dataSet);
+
+			final ITable table = dbConnection.createTable("users");
+			Assertion.assertEquals(new SortedTable(dataSet.getTable("users")), table);
+		}
+		finally {
+			try (Connection connection = db.getConnection(); Statement statement = connection.createStatement()) {
+				statement.executeUpdate("DELETE FROM users");
+			}
+		}
+	}
+
+	@Test
+	void it_should_insert_streaming_json_data_set(EmbeddedDatabase db) throws Exception {
+		final IDataSet dataSet = DataSetFactory.createStreamingDataSet(new String[]{USERS_JSON});
+
+		try (Connection connection = db.getConnection()) {
+			final IDatabaseConnection dbConnection = new DatabaseConnection(connection);
+			DatabaseOperation.CLEAN_INSERT.execute(dbConnection, dataSet);
+
+			final ITable table = dbConnection.createQueryTable("users", "SELECT id, name FROM users ORDER BY id");
+			assertThat(table.getRowCount()).isEqualTo(2);
+			assertThat(table.getValue(0, "name")).isEqualTo("John Doe");
+			assertThat(table.getValue(1, "name")).isEqualTo("Jane Doe");
+		}
+		finally {
+			try (Connection connection = db.getConnection(); Statement statement = connection.createStatement()) {
+				statement.executeUpdate("DELETE FROM users");
+			}
+		}
+	}
+
+	@Test
+	void it_should_insert_streaming_yaml_data_set(EmbeddedDatabase db) throws Exception {
+		final IDataSet dataSet = DataSetFactory.createStreamingDataSet(new String[]{USERS_YAML});
+
+		try (Connection connection = db.getConnection()) {
+			final IDatabaseConnection dbConnection = new DatabaseConnection(connection);
+			DatabaseOperation.CLEAN_INSERT.execute(dbConnection, dataSet);
+
+			final ITable table = dbConnection.createQueryTable("users", "SELECT id, name FROM users ORDER BY id");
+			assertThat(table.getRowCount()).isEqualTo(2);
+			assertThat(table.getValue(0, "name")).isEqualTo("John Doe");
+			assertThat(table.getValue(1, "name")).isEqualTo("Jane Doe");
+		}
+		finally {
+			try (Connection connection = db.getConnection(); Statement statement = connection.createStatement()) {
+				statement.executeUpdate("DELETE FROM users");
+			}
+		}
+	}
+
 	@Test
 	void it_should_create_xml_data_set() throws Exception {
 		final Resource resource = new ResourceMockBuilder().fromClasspath(USERS_XML).build();
@@ -93,13 +170,27 @@ class DataSetFactoryTest {
 
 		final IDataSet dataSet = DataSetFactory.createDataSet(path);
 
-		assertThat(dataSet).isExactlyInstanceOf(CompositeDataSet.class);
+		assertThat(dataSet).isExactlyInstanceOf(LazyCompositeDataSet.class);
 		assertThat(dataSet.getTableNames()).isNotEmpty().containsExactlyInAnyOrder(
 			"users",
 			"movies"
 		);
 	}
 
+	@Test
+	void it_should_create_streaming_data_set_from_array_of_path() throws Exception {
+		final String[] path = new String[]{
+			CLASSPATH_USERS_XML,
+			USERS_JSON
+		};
+
+		final IDataSet dataSet = DataSetFactory.createStreamingDataSet(path);
+
+		assertThat(dataSet).isExactlyInstanceOf(StreamingCompositeDataSet.class);
+		assertThat(dataSet.getTableNames()).containsExactly("users");
+		assertThat(dataSet.getTableMetaData("users").getColumns()).extracting("columnName").containsExactly("id", "name");
+	}
+
 	@Test
 	void it_should_create_directory_data_set() throws Exception {
 		final Resource resource = new ResourceMockBuilder()
@@ -128,6 +219,25 @@ class DataSetFactoryTest {
 		assertThat(dataSet).isExactlyInstanceOf(CsvDataSet.class);
 	}
 
+	@Test
+	void it_should_create_csv_file_data_set_without_table_ordering(@TempDir Path tmp) throws Exception {
+		final Path csv = tmp.resolve("users.csv");
+		Files.copy(getTestResource(USERS_CSV).toPath(), csv);
+
+		final IDataSet dataSet = DataSetFactory.createDataSet("file:" + csv);
+
+		assertThat(dataSet).isExactlyInstanceOf(CsvFileDataSet.class);
+		assertThat(dataSet.getTableNames()).containsExactly("users");
+		assertThat(dataSet.getTable("users").getRowCount()).isEqualTo(2);
+	}
+
+	@Test
+	void it_should_create_csv_file_data_set() throws Exception {
+		final IDataSet dataSet = DataSetFactory.createCsvFileDataSet(USERS_CSV);
+		assertThat(dataSet).isExactlyInstanceOf(CsvFileDataSet.class);
+		assertThat(dataSet.getTableNames()).containsExactly("users");
+	}
+
 	@Test
 	void it_should_merge_dataset() throws Exception {
 		final IDataSet first = new FlatXmlDataSetBuilder()
@@ -140,7 +250,7 @@ class DataSetFactoryTest {
 
 		final IDataSet dataSet = DataSetFactory.mergeDataSet(first, second);
 
-		assertThat(dataSet).isExactlyInstanceOf(CompositeDataSet.class);
+		assertThat(dataSet).isExactlyInstanceOf(LazyCompositeDataSet.class);
 		assertThat(dataSet.getTableNames()).isNotEmpty().containsExactlyInAnyOrder(
 			"users",
 			"movies"
@@ -159,7 +269,7 @@ class DataSetFactoryTest {
 
 		final IDataSet dataSet = DataSetFactory.createDataSet(asList(first, second));
 
-		assertThat(dataSet).isExactlyInstanceOf(CompositeDataSet.class);
+		assertThat(dataSet).isExactlyInstanceOf(LazyCompositeDataSet.class);
 		assertThat(dataSet.getTableNames()).isNotEmpty().containsExactlyInAnyOrder(
 			"users",
 			"movies"
@@ -183,10 +293,66 @@ class DataSetFactoryTest {
 
 		final IDataSet dataSet = DataSetFactory.createDataSet(inputs);
 
-		assertThat(dataSet).isExactlyInstanceOf(CompositeDataSet.class);
+		assertThat(dataSet).isExactlyInstanceOf(LazyCompositeDataSet.class);
 		assertThat(dataSet.getTableNames()).isNotEmpty().containsExactlyInAnyOrder(
 			"users",
 			"movies"
 		);
 	}
+
+	@Test
+	void it_should_create_data_set_from_compressed_files(@TempDir Path tmp) throws Exception {
+		gzip(getTestResource(USERS_JSON), tmp.resolve("01-users.json.gz").toFile());
+		zip(getTestResource(MOVIES_XML), tmp.resolve("02-movies.xml.zip").toFile());
+
+		final IDataSet dataSet = DataSetFactory.createDataSet(new String[]{
+			"file:" + tmp.resolve("01-users.json.gz"),
+			"file:" + tmp.resolve("02-movies.xml.zip")
+		});
+
+		assertThat(dataSet.getTableNames()).containsExactly("users", "movies");
+		assertThat(dataSet.getTable("users").getRowCount()).isEqualTo(2);
+		assertThat(dataSet.getTable("movies").getRowCount()).isEqualTo(3);
+	}
+
+	@Test
+	void it_should_create_data_set_from_compressed_csv_files(@TempDir Path tmp) throws Exception {
+		gzip(getTestResource(USERS_CSV), tmp.resolve("users.csv.gz").toFile());
+		zip(getTestResource(USERS_CSV), tmp.resolve("users.csv.zip").toFile());
+
+		final IDataSet gzipDataSet = DataSetFactory.createDataSet("file:" + tmp.resolve("users.csv.gz"));
+		assertThat(gzipDataSet.getTableNames()).containsExactly("users");
+		assertThat(gzipDataSet.getTable("users").getRowCount()).isEqualTo(2);
+
+		final IDataSet zipDataSet = DataSetFactory.createDataSet("file:" + tmp.resolve("users.csv.zip"));
+		assertThat(zipDataSet.getTableNames()).containsExactly("users");
+		assertThat(zipDataSet.getTable("users").getRowCount()).isEqualTo(2);
+	}
+
+	@Test
+	void it_should_create_directory_data_set_with_compressed_files(@TempDir Path tmp) throws Exception {
+		zip(getTestResource(MOVIES_XML), tmp.resolve("movies.xml.zip").toFile());
+		gzip(getTestResource(USERS_CSV), tmp.resolve("users.csv.gz").toFile());
+
+		final IDataSet dataSet = DataSetFactory.createDataSet("file:" + tmp);
+
+		assertThat(dataSet).isExactlyInstanceOf(DirectoryDataSet.class);
+		assertThat(dataSet.getTableNames()).containsExactly("movies", "users");
+		assertThat(dataSet.getTable("movies").getRowCount()).isEqualTo(3);
+		assertThat(dataSet.getTable("users").getRowCount()).isEqualTo(2);
+	}
+
+	private static void gzip(File input, File output) throws Exception {
+		try (OutputStream out = new GZIPOutputStream(new FileOutputStream(output))) {
+			Files.copy(input.toPath(), out);
+		}
+	}
+
+	private static void zip(File input, File output) throws Exception {
+		try (ZipOutputStream out = new ZipOutputStream(new FileOutputStream(output))) {
+			out.putNextEntry(new ZipEntry(input.getName()));
+			Files.copy(input.toPath(), out);
+			out.closeEntry();
+		}
+	}
 }
@@ -108,6 +108,13 @@ class DataSetTypeTest {
 		assertThat(dataSet).isExactlyInstanceOf(CsvDataSet.class);
 	}
 
+	@Test
+	void it_should_create_csv_file_data_set() throws Exception {
+		final Resource resource = new ResourceMockBuilder().fromClasspath(USERS_CSV).build();
+		final IDataSet dataSet = DataSetType.CSV_FILE.create(resource);
+		assertThat(dataSet).isExactlyInstanceOf(CsvFileDataSet.class);
+	}
+
 	@Test
 	void it_should_match_directory_file() {
 		final Resource resource = new ResourceMockBuilder().setFilename("users").setDirectory().build();
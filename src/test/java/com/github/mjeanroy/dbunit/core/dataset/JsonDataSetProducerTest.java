@@ -0,0 +1,122 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015-2021 Mickael Jeanroy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.mjeanroy.dbunit.core.dataset;
+
+import com.github.mjeanroy.dbunit.core.resources.Resource;
+import com.github.mjeanroy.dbunit.core.resources.ResourceLoader;
+import com.github.mjeanroy.dbunit.tests.jupiter.HsqldbTest;
+import org.dbunit.database.DatabaseConnection;
+import org.dbunit.dataset.CachedDataSet;
+import org.dbunit.dataset.DataSetException;
+import org.dbunit.dataset.ITable;
+import org.dbunit.dataset.stream.StreamingDataSet;
+import org.dbunit.operation.DatabaseOperation;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+
+import static com.github.mjeanroy.dbunit.tests.db.TestDbUtils.countUsers;
+import static com.github.mjeanroy.dbunit.tests.utils.TestDatasets.USERS_JSON;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@HsqldbTest
+class JsonDataSetProducerTest {
+
+	@Test
+	void it_should_produce_tables() throws Exception {
+		final Resource resource = ResourceLoader.CLASSPATH.load(USERS_JSON);
+		final CachedDataSet dataSet = new CachedDataSet(new JsonDataSetProducer(resource));
+
+		assertThat(dataSet.getTableNames()).containsExactly("users");
+
+		final ITable table = dataSet.getTable("users");
+		assertThat(table.getTableMetaData().getColumns()).extracting("columnName").containsExactly("id", "name");
+		assertThat(table.getRowCount()).isEqualTo(2);
+		assertThat(table.getValue(0, "id")).isEqualTo(1);
+		assertThat(table.getValue(0, "name")).isEqualTo("John Doe");
+		assertThat(table.getValue(1, "id")).isEqualTo(2);
+		assertThat(table.getValue(1, "name")).isEqualTo("Jane Doe");
+	}
+
+	@Test
+	void it_should_produce_union_of_row_columns(@TempDir Path tmp) throws Exception {
+		final File file = write(tmp, "{\"movies\": [{\"id\": 1, \"title\": \"Star Wars\"}, {\"id\": 2, \"synopsys\": null, \"rating\": 4.5, \"seen\": true}]}");
+		final Resource resource = ResourceLoader.FILE_SYSTEM.load(file.getAbsolutePath());
+		final ITable table = new CachedDataSet(new JsonDataSetProducer(resource)).getTable("movies");
+
+		assertThat(table.getTableMetaData().getColumns()).extracting("columnName").containsExactly("id", "title", "synopsys", "rating", "seen");
+		assertThat(table.getRowCount()).isEqualTo(2);
+		assertThat(table.getValue(0, "title")).isEqualTo("Star Wars");
+		assertThat(table.getValue(0, "rating")).isNull();
+		assertThat(table.getValue(1, "title")).isNull();
+		assertThat(table.getValue(1, "rating")).isEqualTo(4.5);
+		assertThat(table.getValue(1, "seen")).isEqualTo(true);
+	}
+
+	@Test
+	void it_should_fail_with_nested_values(@TempDir Path tmp) throws Exception {
+		final File file = write(tmp, "{\"users\": [{\"id\": {\"value\": 1}}]}");
+		final Resource resource = ResourceLoader.FILE_SYSTEM.load(file.getAbsolutePath());
+		final JsonDataSetProducer producer = new JsonDataSetProducer(resource);
+
+		assertThatThrownBy(() -> new CachedDataSet(producer))
+			.isInstanceOf(DataSetException.class)
+			.hasMessageContaining("START_OBJECT");
+	}
+
+	@Test
+	void it_should_fail_with_invalid_schema(@TempDir Path tmp) throws Exception {
+		final File file = write(tmp, "[{\"id\": 1}]");
+		final Resource resource = ResourceLoader.FILE_SYSTEM.load(file.getAbsolutePath());
+		final JsonDataSetProducer producer = new JsonDataSetProducer(resource);
+
+		assertThatThrownBy(() -> new CachedDataSet(producer))
+			.isInstanceOf(DataSetException.class)
+			.hasMessageContaining("expected START_OBJECT");
+	}
+
+	@Test
+	void it_should_stream_rows_into_database(EmbeddedDatabase db) throws Exception {
+		final Resource resource = ResourceLoader.CLASSPATH.load(USERS_JSON);
+		final StreamingDataSet dataSet = new StreamingDataSet(new JsonDataSetProducer(resource));
+
+		try (Connection connection = db.getConnection()) {
+			DatabaseOperation.INSERT.execute(new DatabaseConnection(connection), dataSet);
+			assertThat(countUsers(connection)).isEqualTo(2);
+		}
+	}
+
+	private static File write(Path tmp, String content) throws Exception {
+		final File file = tmp.resolve("dataset.json").toFile();
+		Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+		return file;
+	}
+}
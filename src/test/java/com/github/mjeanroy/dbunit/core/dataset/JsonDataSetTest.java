@@ -33,6 +33,7 @@ import org.dbunit.dataset.DataSetException;
 import org.dbunit.dataset.ITable;
 import org.dbunit.dataset.ITableIterator;
 import org.dbunit.dataset.ITableMetaData;
+import org.dbunit.dataset.datatype.DataType;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -94,6 +95,14 @@ class JsonDataSetTest {
 		assertThat(table.getRowCount()).isEqualTo(2);
 	}
 
+	@Test
+	void it_should_build_table_once() throws Exception {
+		final Resource resource = new ResourceMockBuilder().fromClasspath(USERS_JSON).build();
+		final JsonDataSet dataSet = new JsonDataSet(resource, false, parser);
+
+		assertThat(dataSet.getTable("users")).isSameAs(dataSet.getTable("users"));
+	}
+
 	@Test
 	void it_should_get_table_metadata() throws Exception {
 		final Resource resource = new ResourceMockBuilder().fromClasspath(USERS_JSON).build();
@@ -108,6 +117,17 @@ class JsonDataSetTest {
 			.containsOnly("id", "name");
 	}
 
+	@Test
+	void it_should_keep_unknown_column_types_by_default() throws Exception {
+		final Resource resource = new ResourceMockBuilder().fromClasspath(USERS_JSON).build();
+		final JsonDataSet dataSet = new JsonDataSet(resource, false, parser);
+		final ITableMetaData metaData = dataSet.getTableMetaData("users");
+
+		assertThat(metaData.getColumns())
+			.extracting("dataType")
+			.containsExactly(DataType.UNKNOWN, DataType.UNKNOWN);
+	}
+
 	@Test
 	void it_should_get_table_data() throws Exception {
 		final Resource resource = new ResourceMockBuilder().fromClasspath(USERS_JSON).build();
@@ -0,0 +1,134 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015-2021 Mickael Jeanroy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.mjeanroy.dbunit.core.dataset;
+
+import org.dbunit.dataset.Column;
+import org.dbunit.dataset.DefaultTable;
+import org.dbunit.dataset.FilteredDataSet;
+import org.dbunit.dataset.IDataSet;
+import org.dbunit.dataset.ITable;
+import org.dbunit.dataset.ITableIterator;
+import org.dbunit.dataset.NoSuchTableException;
+import org.dbunit.dataset.datatype.DataType;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class LazyCompositeDataSetTest {
+
+	@Test
+	void it_should_index_table_names_without_reading_tables() throws Exception {
+		final IDataSet ds1 = mockDataSet("users", "movies");
+		final IDataSet ds2 = mockDataSet("movies", "users_movies");
+
+		final LazyCompositeDataSet dataSet = new LazyCompositeDataSet(new IDataSet[]{ds1, ds2}, false);
+
+		assertThat(dataSet.getTableNames()).containsExactly("users", "movies", "users_movies");
+		verify(ds1, never()).getTable(anyString());
+		verify(ds2, never()).getTable(anyString());
+	}
+
+	@Test
+	void it_should_materialize_requested_tables_only() throws Exception {
+		final IDataSet ds1 = mockDataSet("users", "movies");
+		final IDataSet ds2 = mockDataSet("users_movies");
+
+		final LazyCompositeDataSet dataSet = new LazyCompositeDataSet(new IDataSet[]{ds1, ds2}, false);
+		final IDataSet filtered = new FilteredDataSet(new String[]{"movies"}, dataSet);
+
+		assertThat(tableNames(filtered.iterator())).containsExactly("movies");
+		assertThat(dataSet.getTable("MOVIES")).isSameAs(dataSet.getTable("movies"));
+
+		verify(ds1, never()).getTable("users");
+		verify(ds1, times(1)).getTable("movies");
+		verify(ds2, never()).getTable(anyString());
+	}
+
+	@Test
+	void it_should_combine_tables_with_the_same_name() throws Exception {
+		final IDataSet ds1 = mockDataSet("users");
+		final IDataSet ds2 = mockDataSet("users");
+
+		final LazyCompositeDataSet dataSet = new LazyCompositeDataSet(new IDataSet[]{ds1, ds2}, false);
+		final ITable table = dataSet.getTable("users");
+
+		assertThat(dataSet.getTableNames()).containsExactly("users");
+		assertThat(table.getRowCount()).isEqualTo(2);
+		assertThat(table.getValue(0, "id")).isEqualTo(1);
+		assertThat(table.getValue(1, "id")).isEqualTo(1);
+		assertThat(table.getTableMetaData()).isSameAs(ds1.getTableMetaData("users"));
+	}
+
+	@Test
+	void it_should_iterate_in_both_directions() throws Exception {
+		final IDataSet ds1 = mockDataSet("users", "movies");
+		final IDataSet ds2 = mockDataSet("users_movies");
+
+		final LazyCompositeDataSet dataSet = new LazyCompositeDataSet(new IDataSet[]{ds1, ds2}, false);
+
+		assertThat(tableNames(dataSet.iterator())).containsExactly("users", "movies", "users_movies");
+		assertThat(tableNames(dataSet.reverseIterator())).containsExactly("users_movies", "movies", "users");
+	}
+
+	@Test
+	void it_should_fail_with_unknown_table() throws Exception {
+		final LazyCompositeDataSet dataSet = new LazyCompositeDataSet(new IDataSet[]{mockDataSet("users")}, false);
+
+		assertThatThrownBy(() -> dataSet.getTable("movies")).isExactlyInstanceOf(NoSuchTableException.class);
+		assertThatThrownBy(() -> dataSet.getTableMetaData("movies")).isExactlyInstanceOf(NoSuchTableException.class);
+	}
+
+	private static IDataSet mockDataSet(String... tableNames) throws Exception {
+		final IDataSet dataSet = mock(IDataSet.class);
+		when(dataSet.getTableNames()).thenReturn(tableNames);
+
+		for (String tableName : tableNames) {
+			final DefaultTable table = new DefaultTable(tableName, new Column[]{new Column("id", DataType.INTEGER)});
+			table.addRow(new Object[]{1});
+			when(dataSet.getTable(tableName)).thenReturn(table);
+			when(dataSet.getTableMetaData(tableName)).thenReturn(table.getTableMetaData());
+		}
+
+		return dataSet;
+	}
+
+	private static List<String> tableNames(ITableIterator it) throws Exception {
+		final List<String> tableNames = new ArrayList<>();
+		while (it.next()) {
+			tableNames.add(it.getTable().getTableMetaData().getTableName());
+		}
+
+		return tableNames;
+	}
+}
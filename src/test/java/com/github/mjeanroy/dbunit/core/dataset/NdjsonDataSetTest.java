@@ -0,0 +1,135 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015-2021 Mickael Jeanroy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.mjeanroy.dbunit.core.dataset;
+
+import com.github.mjeanroy.dbunit.core.resources.Resource;
+import com.github.mjeanroy.dbunit.core.resources.ResourceLoader;
+import org.dbunit.dataset.DataSetException;
+import org.dbunit.dataset.IDataSet;
+import org.dbunit.dataset.ITable;
+import org.dbunit.dataset.ITableIterator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class NdjsonDataSetTest {
+
+	@TempDir
+	Path tmp;
+
+	@Test
+	void it_should_read_one_table_per_file() throws Exception {
+		final Resource resource = write("users.ndjson",
+			"{\"id\": 1, \"name\": \"John Doe\"}\n" +
+			"\n" +
+			"{\"id\": 2, \"name\": \"Jane Doe\", \"active\": true}\n"
+		);
+
+		final NdjsonDataSet dataSet = new NdjsonDataSet(resource, false);
+
+		assertThat(dataSet.getResource()).isSameAs(resource);
+		assertThat(dataSet.getTableNames()).containsExactly("users");
+		assertThat(dataSet.getTableMetaData("users").getColumns()).extracting("columnName").containsExactly("id", "name", "active");
+
+		final ITable table = dataSet.getTable("users");
+		assertThat(table.getRowCount()).isEqualTo(2);
+		assertThat(table.getValue(0, "id")).isEqualTo(1);
+		assertThat(table.getValue(0, "name")).isEqualTo("John Doe");
+		assertThat(table.getValue(0, "active")).isNull();
+		assertThat(table.getValue(1, "id")).isEqualTo(2);
+		assertThat(table.getValue(1, "active")).isEqualTo(true);
+	}
+
+	@Test
+	void it_should_read_table_field() throws Exception {
+		final Resource resource = write("dataset.jsonl",
+			"{\"table\": \"users\", \"id\": 1, \"name\": \"John Doe\"}\n" +
+			"{\"id\": 1, \"table\": \"movies\", \"title\": \"Star Wars\"}\n" +
+			"{\"table\": \"users\", \"id\": 2, \"name\": \"Jane Doe\"}\n"
+		);
+
+		final IDataSet dataSet = DataSetFactory.createDataSet(resource);
+
+		assertThat(dataSet).isExactlyInstanceOf(NdjsonDataSet.class);
+		assertThat(dataSet.getTableNames()).containsExactly("users", "movies");
+		assertThat(dataSet.getTableMetaData("movies").getColumns()).extracting("columnName").containsExactly("id", "title");
+		assertThat(dataSet.getTable("users").getRowCount()).isEqualTo(2);
+		assertThat(dataSet.getTable("movies").getRowCount()).isEqualTo(1);
+	}
+
+	@Test
+	void it_should_stream_rows() throws Exception {
+		final StringBuilder ndjson = new StringBuilder();
+		for (int i = 0; i < 1000; i++) {
+			ndjson.append("{\"id\": ").append(i).append(", \"big\": 12345678901234567890}\n");
+		}
+
+		final Resource resource = write("users.ndjson", ndjson.toString());
+		final IDataSet dataSet = DataSetFactory.createStreamingDataSet(new String[]{
+			"file:" + resource.getPath()
+		});
+
+		assertThat(dataSet.getTableNames()).containsExactly("users");
+		assertThat(dataSet.getTableMetaData("users").getColumns()).extracting("columnName").containsExactly("id", "big");
+
+		// Streaming dataset can be iterated several times.
+		for (int n = 0; n < 2; n++) {
+			final List<Object> ids = new ArrayList<>();
+			final ITableIterator it = dataSet.iterator();
+			while (it.next()) {
+				final ITable table = it.getTable();
+				assertThat(table.getTableMetaData().getTableName()).isEqualTo("users");
+				assertThat(table.getValue(0, "big")).isEqualTo(new BigInteger("12345678901234567890"));
+				ids.add(table.getValue(999, "id"));
+			}
+
+			assertThat(ids).containsExactly(999);
+		}
+	}
+
+	@Test
+	void it_should_fail_with_invalid_line() throws Exception {
+		final Resource resource = write("users.ndjson", "{\"id\": 1}\n[1, 2]\n");
+
+		assertThatThrownBy(() -> new NdjsonDataSet(resource, false))
+			.isExactlyInstanceOf(DataSetException.class)
+			.hasMessageContaining("Unexpected JSON token START_ARRAY");
+	}
+
+	private Resource write(String fileName, String content) throws Exception {
+		final File file = tmp.resolve(fileName).toFile();
+		Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+		return ResourceLoader.FILE_SYSTEM.load(file.getAbsolutePath());
+	}
+}
@@ -0,0 +1,155 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015-2021 Mickael Jeanroy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.mjeanroy.dbunit.core.dataset;
+
+import com.github.mjeanroy.dbunit.core.resources.Resource;
+import com.github.mjeanroy.dbunit.core.resources.ResourceLoader;
+import org.dbunit.dataset.DataSetException;
+import org.dbunit.dataset.IDataSet;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+
+import static com.github.mjeanroy.dbunit.tests.utils.TestDatasets.JSON_DATASET;
+import static com.github.mjeanroy.dbunit.tests.utils.TestDatasets.XML_DATASET;
+import static com.github.mjeanroy.dbunit.tests.utils.TestDatasets.YAML_DATASET;
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.AdditionalAnswers.delegatesTo;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+class ParallelDataSetLoaderTest {
+
+	@TempDir
+	Path tmp;
+
+	@Test
+	void it_should_load_datasets_in_order() throws Exception {
+		final List<Resource> resources = asList(
+			ResourceLoader.CLASSPATH.load(JSON_DATASET + "/02-movies.json"),
+			ResourceLoader.CLASSPATH.load(XML_DATASET + "/01-users.xml"),
+			ResourceLoader.CLASSPATH.load(YAML_DATASET),
+			ResourceLoader.CLASSPATH.load(XML_DATASET + "/03-users-movies.xml")
+		);
+
+		final IDataSet[] dataSets = ParallelDataSetLoader.load(resources);
+
+		assertThat(dataSets).hasSize(4);
+		assertThat(dataSets[0].getTableNames()).containsExactly("movies");
+		assertThat(dataSets[1].getTableNames()).containsExactly("users");
+		assertThat(dataSets[2]).isExactlyInstanceOf(DirectoryDataSet.class);
+		assertThat(dataSets[2].getTableNames()).containsExactly("users", "movies");
+		assertThat(dataSets[3].getTableNames()).containsExactly("users_movies");
+	}
+
+	@Test
+	void it_should_load_many_datasets_in_order() throws Exception {
+		final List<Resource> resources = new ArrayList<>();
+		for (int i = 0; i < 64; ++i) {
+			final File file = tmp.resolve(String.format("%02d-table.json", i)).toFile();
+			final String json = "{\"table_" + i + "\": [{\"id\": " + i + "}]}";
+			Files.write(file.toPath(), json.getBytes(StandardCharsets.UTF_8));
+			resources.add(ResourceLoader.FILE_SYSTEM.load(file.getAbsolutePath()));
+		}
+
+		final IDataSet[] dataSets = ParallelDataSetLoader.load(resources);
+
+		assertThat(dataSets).hasSize(64);
+		for (int i = 0; i < 64; ++i) {
+			assertThat(dataSets[i].getTableNames()).containsExactly("table_" + i);
+		}
+
+		final IDataSet directory = DataSetFactory.createDataSet(ResourceLoader.FILE_SYSTEM.load(tmp.toString()));
+		assertThat(directory.getTableNames()).hasSize(64).startsWith("table_0", "table_1").endsWith("table_63");
+	}
+
+	@Test
+	void it_should_not_run_tasks_in_caller_pool() throws Exception {
+		final Set<Thread> threads = ConcurrentHashMap.newKeySet();
+		final List<Resource> resources = new ArrayList<>();
+		for (String path : asList(JSON_DATASET + "/01-users.json", JSON_DATASET + "/02-movies.json", XML_DATASET + "/01-users.xml")) {
+			final Resource delegate = ResourceLoader.CLASSPATH.load(path);
+			final Resource resource = mock(Resource.class, delegatesTo(delegate));
+			doAnswer(invocation -> {
+				threads.add(Thread.currentThread());
+				return delegate.openStream();
+			}).when(resource).openStream();
+
+			resources.add(resource);
+		}
+
+		final ForkJoinPool pool = new ForkJoinPool(2);
+		try {
+			final Thread caller = pool.submit(() -> {
+				ParallelDataSetLoader.load(resources);
+				return Thread.currentThread();
+			}).get();
+
+			for (Thread thread : threads) {
+				assertThat(thread == caller || !(thread instanceof ForkJoinWorkerThread) || ((ForkJoinWorkerThread) thread).getPool() != pool).isTrue();
+			}
+		}
+		finally {
+			pool.shutdownNow();
+		}
+	}
+
+	@Test
+	void it_should_load_single_dataset() throws Exception {
+		final IDataSet[] dataSets = ParallelDataSetLoader.load(singletonList(
+			ResourceLoader.CLASSPATH.load(JSON_DATASET + "/01-users.json")
+		));
+
+		assertThat(dataSets).hasSize(1);
+		assertThat(dataSets[0].getTableNames()).containsExactly("users");
+	}
+
+	@Test
+	void it_should_fail_with_data_set_exception() throws Exception {
+		final File file = tmp.resolve("users.txt").toFile();
+		Files.write(file.toPath(), "users".getBytes(StandardCharsets.UTF_8));
+
+		final List<Resource> resources = asList(
+			ResourceLoader.CLASSPATH.load(JSON_DATASET + "/01-users.json"),
+			ResourceLoader.FILE_SYSTEM.load(file.getAbsolutePath())
+		);
+
+		assertThatThrownBy(() -> ParallelDataSetLoader.load(resources))
+			.isExactlyInstanceOf(DataSetException.class)
+			.hasMessageContaining("Cannot extract type of resource");
+	}
+}
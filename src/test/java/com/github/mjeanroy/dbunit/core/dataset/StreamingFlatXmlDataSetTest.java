@@ -0,0 +1,143 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015-2021 Mickael Jeanroy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.mjeanroy.dbunit.core.dataset;
+
+import com.github.mjeanroy.dbunit.core.resources.Resource;
+import com.github.mjeanroy.dbunit.core.resources.ResourceLoader;
+import com.github.mjeanroy.dbunit.tests.jupiter.HsqldbTest;
+import org.dbunit.database.DatabaseConnection;
+import org.dbunit.dataset.DataSetException;
+import org.dbunit.dataset.ITable;
+import org.dbunit.dataset.ITableIterator;
+import org.dbunit.operation.DatabaseOperation;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.github.mjeanroy.dbunit.tests.db.TestDbUtils.countUsers;
+import static com.github.mjeanroy.dbunit.tests.utils.TestDatasets.USERS_XML;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@HsqldbTest
+class StreamingFlatXmlDataSetTest {
+
+	@Test
+	void it_should_sense_columns() throws Exception {
+		final File file = write("<dataset><movies id=\"1\" title=\"Star Wars\"/><movies id=\"2\" synopsys=\"Space\"/><users/></dataset>");
+		final Resource resource = ResourceLoader.FILE_SYSTEM.load(file.getAbsolutePath());
+		final StreamingFlatXmlDataSet dataSet = new StreamingFlatXmlDataSet(resource, false);
+
+		assertThat(dataSet.getResource()).isSameAs(resource);
+		assertThat(dataSet.getTableNames()).containsExactly("movies", "users");
+		assertThat(dataSet.getTableMetaData("movies").getColumns()).extracting("columnName").containsExactly("id", "title", "synopsys");
+		assertThat(dataSet.getTableMetaData("users").getColumns()).isEmpty();
+	}
+
+	@Test
+	void it_should_stream_rows_with_sensed_columns() throws Exception {
+		final File file = write("<dataset><movies id=\"1\" title=\"Star Wars\"/><movies id=\"2\" synopsys=\"Space\"/></dataset>");
+		final Resource resource = ResourceLoader.FILE_SYSTEM.load(file.getAbsolutePath());
+		final StreamingFlatXmlDataSet dataSet = new StreamingFlatXmlDataSet(resource, false);
+
+		final ITableIterator it = dataSet.iterator();
+		assertThat(it.next()).isTrue();
+
+		final ITable table = it.getTable();
+		assertThat(table.getTableMetaData().getTableName()).isEqualTo("movies");
+		assertThat(table.getValue(0, "id")).isEqualTo("1");
+		assertThat(table.getValue(0, "title")).isEqualTo("Star Wars");
+		assertThat(table.getValue(0, "synopsys")).isNull();
+		assertThat(table.getValue(1, "id")).isEqualTo("2");
+		assertThat(table.getValue(1, "title")).isNull();
+		assertThat(table.getValue(1, "synopsys")).isEqualTo("Space");
+
+		assertThat(it.next()).isFalse();
+	}
+
+	@Test
+	void it_should_iterate_several_times() throws Exception {
+		final Resource resource = ResourceLoader.CLASSPATH.load(USERS_XML);
+		final StreamingFlatXmlDataSet dataSet = new StreamingFlatXmlDataSet(resource, false);
+
+		assertThat(tableNames(dataSet.iterator())).containsExactly("users");
+		assertThat(tableNames(dataSet.iterator())).containsExactly("users");
+	}
+
+	@Test
+	void it_should_not_support_reverse_iteration_and_table_lookup() throws Exception {
+		final Resource resource = ResourceLoader.CLASSPATH.load(USERS_XML);
+		final StreamingFlatXmlDataSet dataSet = new StreamingFlatXmlDataSet(resource, false);
+
+		assertThatThrownBy(dataSet::reverseIterator).isExactlyInstanceOf(UnsupportedOperationException.class);
+		assertThatThrownBy(() -> dataSet.getTable("users")).isExactlyInstanceOf(UnsupportedOperationException.class);
+	}
+
+	@Test
+	void it_should_fail_with_invalid_root_element() throws Exception {
+		final File file = write("<users id=\"1\"/>");
+		final Resource resource = ResourceLoader.FILE_SYSTEM.load(file.getAbsolutePath());
+
+		assertThatThrownBy(() -> new StreamingFlatXmlDataSet(resource, false))
+			.isExactlyInstanceOf(DataSetException.class)
+			.hasMessageContaining("Unexpected root element 'users'");
+	}
+
+	@Test
+	void it_should_clean_insert_streamed_rows(EmbeddedDatabase db) throws Exception {
+		final Resource resource = ResourceLoader.CLASSPATH.load(USERS_XML);
+		final StreamingFlatXmlDataSet dataSet = new StreamingFlatXmlDataSet(resource, false);
+
+		try (Connection connection = db.getConnection()) {
+			DatabaseOperation.CLEAN_INSERT.execute(new DatabaseConnection(connection), dataSet);
+			assertThat(countUsers(connection)).isEqualTo(2);
+		}
+	}
+
+	@TempDir
+	Path tmp;
+
+	private File write(String content) throws Exception {
+		final File file = tmp.resolve("dataset.xml").toFile();
+		Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+		return file;
+	}
+
+	private static List<String> tableNames(ITableIterator it) throws Exception {
+		final List<String> tableNames = new ArrayList<>();
+		while (it.next()) {
+			tableNames.add(it.getTableMetaData().getTableName());
+		}
+
+		return tableNames;
+	}
+}
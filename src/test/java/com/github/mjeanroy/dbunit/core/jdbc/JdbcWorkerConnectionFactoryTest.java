@@ -0,0 +1,131 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015-2021 Mickael Jeanroy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.mjeanroy.dbunit.core.jdbc;
+
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.util.concurrent.CompletableFuture;
+
+import static com.github.mjeanroy.dbunit.core.jdbc.JdbcConfiguration.newJdbcConfiguration;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JdbcWorkerConnectionFactoryTest {
+
+	@Test
+	void it_should_compute_worker_url() {
+		assertThat(JdbcWorkerConnectionFactory.workerUrl("jdbc:hsqldb:mem:testdb", "7", 1)).isEqualTo("jdbc:hsqldb:mem:testdb_1");
+		assertThat(JdbcWorkerConnectionFactory.workerUrl("jdbc:h2:mem:testdb;DB_CLOSE_DELAY=-1", "7", 2)).isEqualTo("jdbc:h2:mem:testdb_2;DB_CLOSE_DELAY=-1");
+		assertThat(JdbcWorkerConnectionFactory.workerUrl("jdbc:postgresql://localhost:5432/testdb?ssl=true", "7", 3)).isEqualTo("jdbc:postgresql://localhost:5432/testdb_7_3?ssl=true");
+		assertThat(JdbcWorkerConnectionFactory.workerUrl("jdbc:h2:file:./target/testdb;AUTO_SERVER=TRUE", "7", 4)).isEqualTo("jdbc:h2:file:./target/testdb_7_4;AUTO_SERVER=TRUE");
+	}
+
+	@Test
+	void it_should_compute_worker_url_with_port() {
+		assertThat(JdbcWorkerConnectionFactory.workerUrl("jdbc:mysql://localhost:3306/testdb", "7", 1)).isEqualTo("jdbc:mysql://localhost:3306/testdb_7_1");
+		assertThat(JdbcWorkerConnectionFactory.workerUrl("jdbc:postgresql://localhost:5432/testdb", "7", 2)).isEqualTo("jdbc:postgresql://localhost:5432/testdb_7_2");
+		assertThat(JdbcWorkerConnectionFactory.workerUrl("jdbc:oracle:thin:@//localhost:1521/testdb", "7", 3)).isEqualTo("jdbc:oracle:thin:@//localhost:1521/testdb_7_3");
+	}
+
+	@Test
+	void it_should_compute_worker_url_with_sql_server() {
+		assertThat(JdbcWorkerConnectionFactory.workerUrl("jdbc:sqlserver://localhost:1433;databaseName=testdb;encrypt=false", "7", 1))
+			.isEqualTo("jdbc:sqlserver://localhost:1433;databaseName=testdb_7_1;encrypt=false");
+
+		assertThat(JdbcWorkerConnectionFactory.workerUrl("jdbc:sqlserver://localhost;encrypt=false;databaseName=testdb", "7", 2))
+			.isEqualTo("jdbc:sqlserver://localhost;encrypt=false;databaseName=testdb_7_2");
+	}
+
+	@Test
+	void it_should_reject_url_without_database_name() {
+		assertThatThrownBy(() -> JdbcWorkerConnectionFactory.workerUrl("jdbc:sqlserver://localhost:1433;encrypt=false", "7", 1))
+			.isExactlyInstanceOf(IllegalArgumentException.class)
+			.hasMessage("Cannot find database name in JDBC URL: jdbc:sqlserver://localhost:1433;encrypt=false");
+
+		assertThatThrownBy(() -> JdbcWorkerConnectionFactory.workerUrl("jdbc:h2:mem:", "7", 1))
+			.isExactlyInstanceOf(IllegalArgumentException.class)
+			.hasMessage("Cannot find database name in JDBC URL: jdbc:h2:mem:");
+
+		assertThatThrownBy(() -> JdbcWorkerConnectionFactory.workerUrl("jdbc:oracle:thin:@localhost:1521:testdb", "7", 1))
+			.isExactlyInstanceOf(IllegalArgumentException.class)
+			.hasMessage("Cannot find database name in JDBC URL: jdbc:oracle:thin:@localhost:1521:testdb");
+
+		assertThatThrownBy(() -> new JdbcWorkerConnectionFactory(newJdbcConfiguration("jdbc:mysql://localhost:3306/", "root", "")))
+			.isExactlyInstanceOf(IllegalArgumentException.class)
+			.hasMessage("Cannot find database name in JDBC URL: jdbc:mysql://localhost:3306/");
+	}
+
+	@Test
+	void it_should_create_connection_to_worker_database() throws Exception {
+		final JdbcWorkerConnectionFactory factory = new JdbcWorkerConnectionFactory(
+			newJdbcConfiguration("jdbc:hsqldb:mem:testdb", "SA", "")
+		);
+
+		final JdbcConnectionFactory workerFactory = factory.getWorkerFactory();
+		assertThat(factory.getWorkerFactory()).isSameAs(workerFactory);
+
+		final String url = readUrl(factory);
+		assertThat(url).startsWith("jdbc:hsqldb:mem:testdb_").isEqualTo(readUrl(workerFactory));
+
+		final JdbcConnectionFactory otherWorkerFactory = CompletableFuture.supplyAsync(factory::getWorkerFactory).get();
+		assertThat(otherWorkerFactory).isNotEqualTo(workerFactory);
+		assertThat(readUrl(otherWorkerFactory)).startsWith("jdbc:hsqldb:mem:testdb_").isNotEqualTo(url);
+	}
+
+	@Test
+	void it_should_implement_equals_hash_code() {
+		final JdbcConfiguration configuration = newJdbcConfiguration("jdbc:hsqldb:mem:testdb", "SA", "");
+		final JdbcWorkerConnectionFactory f1 = new JdbcWorkerConnectionFactory(configuration);
+		final JdbcWorkerConnectionFactory f2 = new JdbcWorkerConnectionFactory(configuration);
+		final JdbcWorkerConnectionFactory f3 = new JdbcWorkerConnectionFactory(newJdbcConfiguration("jdbc:hsqldb:mem:otherdb", "SA", ""));
+
+		assertThat(f1).isEqualTo(f2).hasSameHashCodeAs(f2).isNotEqualTo(f3);
+		assertThat(f1).isNotEqualTo(new JdbcDefaultConnectionFactory(configuration));
+	}
+
+	@Test
+	void it_should_implement_to_string() {
+		final JdbcWorkerConnectionFactory factory = new JdbcWorkerConnectionFactory(
+			newJdbcConfiguration("jdbc:hsqldb:mem:testdb", "SA", "")
+		);
+
+		assertThat(factory).hasToString(
+			"JdbcWorkerConnectionFactory{" +
+				"configuration: JdbcConfiguration{" +
+					"url: \"jdbc:hsqldb:mem:testdb\", " +
+					"user: \"SA\", " +
+					"password: \"\"" +
+				"}" +
+			"}"
+		);
+	}
+
+	private static String readUrl(JdbcConnectionFactory factory) throws Exception {
+		try (Connection connection = factory.getConnection()) {
+			return connection.getMetaData().getURL();
+		}
+	}
+}
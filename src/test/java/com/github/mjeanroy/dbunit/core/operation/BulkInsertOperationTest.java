@@ -0,0 +1,223 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015-2021 Mickael Jeanroy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.mjeanroy.dbunit.core.operation;
+
+import com.github.mjeanroy.dbunit.core.dataset.DataSetFactory;
+import com.github.mjeanroy.dbunit.tests.jupiter.HsqldbTest;
+import org.dbunit.database.DatabaseConnection;
+import org.dbunit.dataset.Column;
+import org.dbunit.dataset.DefaultDataSet;
+import org.dbunit.dataset.DefaultTable;
+import org.dbunit.dataset.IDataSet;
+import org.dbunit.dataset.ITable;
+import org.dbunit.dataset.datatype.DataType;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Timestamp;
+
+import static com.github.mjeanroy.dbunit.tests.db.TestDbUtils.countMovies;
+import static com.github.mjeanroy.dbunit.tests.db.TestDbUtils.countUsers;
+import static com.github.mjeanroy.dbunit.tests.db.TestDbUtils.countUsersMovies;
+import static com.github.mjeanroy.dbunit.tests.utils.TestDatasets.XML_DATASET;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@HsqldbTest
+class BulkInsertOperationTest {
+
+	@Test
+	void it_should_find_loader() {
+		assertThat(BulkLoader.of("jdbc:h2:mem:testdb")).isEqualTo(BulkLoader.H2);
+		assertThat(BulkLoader.of("jdbc:h2:file:/tmp/testdb")).isEqualTo(BulkLoader.H2);
+		assertThat(BulkLoader.of("jdbc:h2:tcp://localhost/testdb")).isEqualTo(BulkLoader.JDBC_BATCH);
+		assertThat(BulkLoader.of("jdbc:hsqldb:mem:testdb")).isEqualTo(BulkLoader.JDBC_BATCH);
+		assertThat(BulkLoader.of("jdbc:postgresql://localhost/testdb")).isEqualTo(BulkLoader.JDBC_BATCH);
+		assertThat(BulkLoader.of(null)).isEqualTo(BulkLoader.JDBC_BATCH);
+	}
+
+	@Test
+	void it_should_insert_dataset_with_jdbc_batches(EmbeddedDatabase db) throws Exception {
+		final IDataSet dataSet = DataSetFactory.createDataSet(new String[]{XML_DATASET});
+
+		try (Connection connection = db.getConnection()) {
+			new BulkInsertOperation().execute(new DatabaseConnection(connection), dataSet);
+
+			assertThat(countUsers(connection)).isEqualTo(2);
+			assertThat(countMovies(connection)).isEqualTo(3);
+			assertThat(countUsersMovies(connection)).isEqualTo(3);
+		}
+	}
+
+	@Test
+	void it_should_load_h2_table_from_csv() throws Exception {
+		verifyH2Load(0);
+	}
+
+	@Test
+	void it_should_load_small_h2_table_with_jdbc_batches() throws Exception {
+		verifyH2Load(BulkInsertOperation.DEFAULT_THRESHOLD);
+	}
+
+	@Test
+	void it_should_load_h2_binary_table_with_jdbc_batches() throws Exception {
+		final EmbeddedDatabase db = new EmbeddedDatabaseBuilder().setType(EmbeddedDatabaseType.H2).generateUniqueName(true).build();
+
+		try (Connection connection = db.getConnection()) {
+			execute(connection, "CREATE TABLE files (id INT PRIMARY KEY, content BLOB)");
+
+			final DefaultTable table = new DefaultTable("files", new Column[]{
+				new Column("id", DataType.UNKNOWN),
+				new Column("content", DataType.UNKNOWN),
+			});
+
+			table.addRow(new Object[]{"1", "AQID"});
+
+			new BulkInsertOperation(0).execute(new DatabaseConnection(connection), new DefaultDataSet(table));
+
+			try (Statement statement = connection.createStatement(); ResultSet rs = statement.executeQuery("SELECT content FROM files")) {
+				assertThat(rs.next()).isTrue();
+				assertThat(rs.getBytes(1)).containsExactly(1, 2, 3);
+			}
+		}
+		finally {
+			db.shutdown();
+		}
+	}
+
+	@Test
+	void it_should_load_h2_table_with_default_values_from_csv() throws Exception {
+		verifyH2DefaultValues(0);
+	}
+
+	@Test
+	void it_should_load_h2_table_with_default_values_with_jdbc_batches() throws Exception {
+		verifyH2DefaultValues(BulkInsertOperation.DEFAULT_THRESHOLD);
+	}
+
+	private static void verifyH2DefaultValues(int threshold) throws Exception {
+		final EmbeddedDatabase db = new EmbeddedDatabaseBuilder().setType(EmbeddedDatabaseType.H2).generateUniqueName(true).build();
+
+		try (Connection connection = db.getConnection()) {
+			execute(connection, "CREATE TABLE items (id INT PRIMARY KEY, name VARCHAR(100) DEFAULT 'none', active BOOLEAN DEFAULT TRUE)");
+
+			final DefaultTable table = new DefaultTable("items", new Column[]{
+				new Column("id", DataType.UNKNOWN),
+				new Column("name", DataType.UNKNOWN),
+				new Column("active", DataType.UNKNOWN),
+			});
+
+			table.addRow(new Object[]{"1", ITable.NO_VALUE, ITable.NO_VALUE});
+			table.addRow(new Object[]{"2", "Item 2", ITable.NO_VALUE});
+			table.addRow(new Object[]{"3", ITable.NO_VALUE, ITable.NO_VALUE});
+			table.addRow(new Object[]{"4", null, "false"});
+
+			new BulkInsertOperation(threshold).execute(new DatabaseConnection(connection), new DefaultDataSet(table));
+
+			try (Statement statement = connection.createStatement(); ResultSet rs = statement.executeQuery("SELECT * FROM items ORDER BY id")) {
+				assertThat(rs.next()).isTrue();
+				assertThat(rs.getString("name")).isEqualTo("none");
+				assertThat(rs.getBoolean("active")).isTrue();
+
+				assertThat(rs.next()).isTrue();
+				assertThat(rs.getString("name")).isEqualTo("Item 2");
+				assertThat(rs.getBoolean("active")).isTrue();
+
+				assertThat(rs.next()).isTrue();
+				assertThat(rs.getString("name")).isEqualTo("none");
+				assertThat(rs.getBoolean("active")).isTrue();
+
+				assertThat(rs.next()).isTrue();
+				assertThat(rs.getString("name")).isNull();
+				assertThat(rs.getBoolean("active")).isFalse();
+
+				assertThat(rs.next()).isFalse();
+			}
+		}
+		finally {
+			db.shutdown();
+		}
+	}
+
+	private static void verifyH2Load(int threshold) throws Exception {
+		final EmbeddedDatabase db = new EmbeddedDatabaseBuilder().setType(EmbeddedDatabaseType.H2).generateUniqueName(true).build();
+
+		try (Connection connection = db.getConnection()) {
+			execute(connection, "CREATE TABLE items (id INT PRIMARY KEY, name VARCHAR(100), price DECIMAL(10, 2), active BOOLEAN, created_at TIMESTAMP)");
+
+			final DefaultTable table = new DefaultTable("items", new Column[]{
+				new Column("id", DataType.UNKNOWN),
+				new Column("name", DataType.UNKNOWN),
+				new Column("price", DataType.UNKNOWN),
+				new Column("active", DataType.UNKNOWN),
+				new Column("created_at", DataType.UNKNOWN),
+			});
+
+			table.addRow(new Object[]{"1", "Say \"Hello\", World", "10.50", "true", "2020-01-01 10:00:00"});
+			table.addRow(new Object[]{"2", "", null, "false", null});
+			table.addRow(new Object[]{"3", null, "0.99", null, "2020-12-31 23:59:59"});
+			table.addRow(new Object[]{"4", "Multi\nLine", "1", "true", "2020-06-15 12:30:00"});
+
+			new BulkInsertOperation(threshold).execute(new DatabaseConnection(connection), new DefaultDataSet(table));
+
+			try (Statement statement = connection.createStatement(); ResultSet rs = statement.executeQuery("SELECT * FROM items ORDER BY id")) {
+				assertThat(rs.next()).isTrue();
+				assertThat(rs.getString("name")).isEqualTo("Say \"Hello\", World");
+				assertThat(rs.getBigDecimal("price")).isEqualTo(new BigDecimal("10.50"));
+				assertThat(rs.getBoolean("active")).isTrue();
+				assertThat(rs.getTimestamp("created_at")).isEqualTo(Timestamp.valueOf("2020-01-01 10:00:00"));
+
+				assertThat(rs.next()).isTrue();
+				assertThat(rs.getString("name")).isEmpty();
+				assertThat(rs.getBigDecimal("price")).isNull();
+				assertThat(rs.getBoolean("active")).isFalse();
+				assertThat(rs.getTimestamp("created_at")).isNull();
+
+				assertThat(rs.next()).isTrue();
+				assertThat(rs.getString("name")).isNull();
+				assertThat(rs.getBigDecimal("price")).isEqualTo(new BigDecimal("0.99"));
+				assertThat(rs.getObject("active")).isNull();
+
+				assertThat(rs.next()).isTrue();
+				assertThat(rs.getString("name")).isEqualTo("Multi\nLine");
+
+				assertThat(rs.next()).isFalse();
+			}
+		}
+		finally {
+			db.shutdown();
+		}
+	}
+
+	private static void execute(Connection connection, String sql) throws Exception {
+		try (Statement statement = connection.createStatement()) {
+			statement.execute(sql);
+		}
+	}
+}
@@ -24,6 +24,7 @@
 
 package com.github.mjeanroy.dbunit.core.operation;
 
+import org.dbunit.operation.CompositeOperation;
 import org.dbunit.operation.DatabaseOperation;
 import org.junit.jupiter.api.Test;
 
@@ -70,4 +71,29 @@ class DbUnitOperationTest {
 	void it_should_do_nothing() {
 		assertThat(DbUnitOperation.NONE.getOperation()).isSameAs(DatabaseOperation.NONE);
 	}
+
+	@Test
+	void it_should_sync() {
+		assertThat(DbUnitOperation.SYNC.getOperation()).isInstanceOf(SyncOperation.class);
+	}
+
+	@Test
+	void it_should_bulk_insert() {
+		assertThat(DbUnitOperation.BULK_INSERT.getOperation()).isInstanceOf(BulkInsertOperation.class);
+	}
+
+	@Test
+	void it_should_clean_bulk_insert() {
+		assertThat(DbUnitOperation.CLEAN_BULK_INSERT.getOperation()).isInstanceOf(CompositeOperation.class);
+	}
+
+	@Test
+	void it_should_multi_row_insert() {
+		assertThat(DbUnitOperation.MULTI_ROW_INSERT.getOperation()).isInstanceOf(MultiRowInsertOperation.class);
+	}
+
+	@Test
+	void it_should_clean_multi_row_insert() {
+		assertThat(DbUnitOperation.CLEAN_MULTI_ROW_INSERT.getOperation()).isInstanceOf(CompositeOperation.class);
+	}
 }
@@ -0,0 +1,161 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015-2021 Mickael Jeanroy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.mjeanroy.dbunit.core.operation;
+
+import com.github.mjeanroy.dbunit.core.dataset.DataSetFactory;
+import com.github.mjeanroy.dbunit.core.operation.MultiRowInsertOperation.Dialect;
+import com.github.mjeanroy.dbunit.tests.jupiter.HsqldbTest;
+import org.dbunit.database.DatabaseConnection;
+import org.dbunit.dataset.Column;
+import org.dbunit.dataset.DefaultDataSet;
+import org.dbunit.dataset.DefaultTable;
+import org.dbunit.dataset.IDataSet;
+import org.dbunit.dataset.ITable;
+import org.dbunit.dataset.datatype.DataType;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+import static com.github.mjeanroy.dbunit.tests.db.TestDbUtils.countMovies;
+import static com.github.mjeanroy.dbunit.tests.db.TestDbUtils.countUsers;
+import static com.github.mjeanroy.dbunit.tests.db.TestDbUtils.countUsersMovies;
+import static com.github.mjeanroy.dbunit.tests.jupiter.HsqldbTest.Lifecycle.BEFORE_EACH;
+import static com.github.mjeanroy.dbunit.tests.utils.TestDatasets.XML_DATASET;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@HsqldbTest(lifecycle = BEFORE_EACH)
+class MultiRowInsertOperationTest {
+
+	@Test
+	void it_should_find_dialect() {
+		assertThat(Dialect.of("jdbc:sqlserver://localhost;databaseName=testdb")).isEqualTo(Dialect.MSSQL);
+		assertThat(Dialect.of("jdbc:postgresql://localhost/testdb")).isEqualTo(Dialect.POSTGRESQL);
+		assertThat(Dialect.of("jdbc:oracle:thin:@localhost:1521:testdb")).isEqualTo(Dialect.ORACLE);
+		assertThat(Dialect.of("jdbc:hsqldb:mem:testdb")).isEqualTo(Dialect.HSQLDB);
+		assertThat(Dialect.of("jdbc:sqlite:testdb")).isEqualTo(Dialect.DEFAULT);
+		assertThat(Dialect.of(null)).isEqualTo(Dialect.DEFAULT);
+	}
+
+	@Test
+	void it_should_compute_rows_per_statement() {
+		assertThat(Dialect.MSSQL.rowsPerStatement(1)).isEqualTo(1000);
+		assertThat(Dialect.MSSQL.rowsPerStatement(7)).isEqualTo(285);
+		assertThat(Dialect.DEFAULT.rowsPerStatement(10)).isEqualTo(99);
+		assertThat(Dialect.DEFAULT.rowsPerStatement(2000)).isEqualTo(1);
+		assertThat(Dialect.ORACLE.rowsPerStatement(3)).isEqualTo(1);
+	}
+
+	@Test
+	void it_should_stay_below_mssql_parameter_limit() {
+		assertThat(Dialect.MSSQL.rowsPerStatement(2)).isEqualTo(1000);
+		assertThat(Dialect.MSSQL.rowsPerStatement(3)).isEqualTo(666);
+		assertThat(Dialect.MSSQL.rowsPerStatement(1000)).isEqualTo(2);
+		assertThat(Dialect.MSSQL.rowsPerStatement(1001)).isEqualTo(1);
+		assertThat(Dialect.MSSQL.rowsPerStatement(2100)).isEqualTo(1);
+
+		for (int columnCount = 1; columnCount <= 2100; ++columnCount) {
+			final int rows = Dialect.MSSQL.rowsPerStatement(columnCount);
+			if (rows > 1) {
+				assertThat(rows * columnCount).isLessThanOrEqualTo(2098);
+			}
+		}
+	}
+
+	@Test
+	void it_should_insert_dataset(EmbeddedDatabase db) throws Exception {
+		final IDataSet dataSet = DataSetFactory.createDataSet(new String[]{XML_DATASET});
+
+		try (Connection connection = db.getConnection()) {
+			new MultiRowInsertOperation().execute(new DatabaseConnection(connection), dataSet);
+
+			assertThat(countUsers(connection)).isEqualTo(2);
+			assertThat(countMovies(connection)).isEqualTo(3);
+			assertThat(countUsersMovies(connection)).isEqualTo(3);
+		}
+	}
+
+	@Test
+	void it_should_insert_full_chunks_and_remaining_rows(EmbeddedDatabase db) throws Exception {
+		final DefaultTable table = new DefaultTable("users", new Column[]{
+			new Column("id", DataType.UNKNOWN),
+			new Column("name", DataType.UNKNOWN),
+		});
+
+		for (int i = 1; i <= 2500; ++i) {
+			table.addRow(new Object[]{String.valueOf(i), i % 2 == 0 ? null : "User " + i});
+		}
+
+		try (Connection connection = db.getConnection()) {
+			new MultiRowInsertOperation().execute(new DatabaseConnection(connection), new DefaultDataSet(table));
+
+			assertThat(countUsers(connection)).isEqualTo(2500);
+
+			try (Statement statement = connection.createStatement(); ResultSet rs = statement.executeQuery("SELECT COUNT(*) FROM users WHERE name IS NULL")) {
+				assertThat(rs.next()).isTrue();
+				assertThat(rs.getInt(1)).isEqualTo(1250);
+			}
+
+			try (Statement statement = connection.createStatement(); ResultSet rs = statement.executeQuery("SELECT name FROM users WHERE id = 2499")) {
+				assertThat(rs.next()).isTrue();
+				assertThat(rs.getString(1)).isEqualTo("User 2499");
+			}
+		}
+	}
+
+	@Test
+	void it_should_leave_out_columns_without_value(EmbeddedDatabase db) throws Exception {
+		try (Connection connection = db.getConnection()) {
+			try (Statement statement = connection.createStatement()) {
+				statement.execute("CREATE TABLE items (id INT PRIMARY KEY, name VARCHAR(100) DEFAULT 'none')");
+			}
+
+			final DefaultTable table = new DefaultTable("items", new Column[]{
+				new Column("id", DataType.UNKNOWN),
+				new Column("name", DataType.UNKNOWN),
+			});
+
+			table.addRow(new Object[]{"1", ITable.NO_VALUE});
+			table.addRow(new Object[]{"2", ITable.NO_VALUE});
+			table.addRow(new Object[]{"3", "Item 3"});
+			table.addRow(new Object[]{"4", null});
+
+			new MultiRowInsertOperation().execute(new DatabaseConnection(connection), new DefaultDataSet(table));
+
+			try (Statement statement = connection.createStatement(); ResultSet rs = statement.executeQuery("SELECT name FROM items ORDER BY id")) {
+				assertThat(rs.next()).isTrue();
+				assertThat(rs.getString(1)).isEqualTo("none");
+				assertThat(rs.next()).isTrue();
+				assertThat(rs.getString(1)).isEqualTo("none");
+				assertThat(rs.next()).isTrue();
+				assertThat(rs.getString(1)).isEqualTo("Item 3");
+				assertThat(rs.next()).isTrue();
+				assertThat(rs.getString(1)).isNull();
+				assertThat(rs.next()).isFalse();
+			}
+		}
+	}
+}
@@ -0,0 +1,162 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015-2021 Mickael Jeanroy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.mjeanroy.dbunit.core.operation;
+
+import com.github.mjeanroy.dbunit.core.dataset.DataSetFactory;
+import com.github.mjeanroy.dbunit.tests.db.TestDbUtils.Movie;
+import com.github.mjeanroy.dbunit.tests.jupiter.HsqldbTest;
+import org.dbunit.database.DatabaseConnection;
+import org.dbunit.database.IDatabaseConnection;
+import org.dbunit.dataset.Column;
+import org.dbunit.dataset.DataSetException;
+import org.dbunit.dataset.DefaultDataSet;
+import org.dbunit.dataset.DefaultTable;
+import org.dbunit.dataset.IDataSet;
+import org.dbunit.dataset.datatype.DataType;
+import org.dbunit.operation.DatabaseOperation;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static com.github.mjeanroy.dbunit.tests.db.TestDbUtils.countMovies;
+import static com.github.mjeanroy.dbunit.tests.db.TestDbUtils.countUsers;
+import static com.github.mjeanroy.dbunit.tests.db.TestDbUtils.countUsersMovies;
+import static com.github.mjeanroy.dbunit.tests.db.TestDbUtils.findMovie;
+import static com.github.mjeanroy.dbunit.tests.utils.TestDatasets.XML_DATASET;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@HsqldbTest
+class SyncOperationTest {
+
+	@Test
+	void it_should_load_dataset_in_empty_tables(EmbeddedDatabase db) throws Exception {
+		final IDataSet dataSet = DataSetFactory.createDataSet(new String[]{XML_DATASET});
+
+		try (Connection connection = db.getConnection()) {
+			new SyncOperation().execute(new DatabaseConnection(connection), dataSet);
+
+			assertThat(countUsers(connection)).isEqualTo(2);
+			assertThat(countMovies(connection)).isEqualTo(3);
+			assertThat(countUsersMovies(connection)).isEqualTo(3);
+		}
+	}
+
+	@Test
+	void it_should_synchronize_tables_with_dataset(EmbeddedDatabase db) throws Exception {
+		final IDataSet dataSet = DataSetFactory.createDataSet(new String[]{XML_DATASET});
+
+		try (Connection connection = db.getConnection()) {
+			final IDatabaseConnection dbConnection = new DatabaseConnection(connection);
+			DatabaseOperation.CLEAN_INSERT.execute(dbConnection, dataSet);
+
+			execute(connection, "UPDATE movies SET title = 'Star Trek', synopsys = 'Space' WHERE id = 2");
+			execute(connection, "DELETE FROM movies WHERE id = 1");
+			execute(connection, "INSERT INTO movies VALUES (4, 'Titanic', NULL)");
+			execute(connection, "INSERT INTO users_movies VALUES (1, 4)");
+
+			new SyncOperation().execute(dbConnection, dataSet);
+
+			assertThat(countUsers(connection)).isEqualTo(2);
+			assertThat(countMovies(connection)).isEqualTo(3);
+			assertThat(countUsersMovies(connection)).isEqualTo(3);
+
+			final Movie movie1 = findMovie(connection, 1);
+			assertThat(movie1.getTitle()).isEqualTo("Lord Of The Rings");
+
+			final Movie movie2 = findMovie(connection, 2);
+			assertThat(movie2.getTitle()).isEqualTo("Star Wars");
+			assertThat(movie2.getSynopsys()).isNull();
+		}
+	}
+
+	@Test
+	void it_should_reset_columns_not_defined_in_dataset(EmbeddedDatabase db) throws Exception {
+		final DefaultTable items = new DefaultTable("sync_items", new Column[]{
+			new Column("id", DataType.INTEGER),
+			new Column("name", DataType.VARCHAR)
+		});
+
+		items.addRow(new Object[]{1, "foo"});
+		items.addRow(new Object[]{2, "bar"});
+
+		final IDataSet dataSet = new DefaultDataSet(items);
+
+		try (Connection connection = db.getConnection()) {
+			execute(connection, "CREATE TABLE sync_items (id INT PRIMARY KEY, name VARCHAR(10), status VARCHAR(10) DEFAULT 'new', note VARCHAR(10))");
+
+			try {
+				final IDatabaseConnection dbConnection = new DatabaseConnection(connection);
+				DatabaseOperation.CLEAN_INSERT.execute(dbConnection, dataSet);
+
+				execute(connection, "UPDATE sync_items SET status = 'done', note = 'foo' WHERE id = 1");
+
+				new SyncOperation().execute(dbConnection, dataSet);
+
+				try (Statement statement = connection.createStatement(); ResultSet rs = statement.executeQuery("SELECT status, note FROM sync_items ORDER BY id")) {
+					for (int i = 0; i < 2; ++i) {
+						assertThat(rs.next()).isTrue();
+						assertThat(rs.getString("status")).isEqualTo("new");
+						assertThat(rs.getString("note")).isNull();
+					}
+				}
+			}
+			finally {
+				execute(connection, "DROP TABLE sync_items");
+			}
+		}
+	}
+
+	@Test
+	void it_should_fail_with_duplicate_primary_keys_in_dataset(EmbeddedDatabase db) throws Exception {
+		final DefaultTable users = new DefaultTable("users", new Column[]{
+			new Column("id", DataType.INTEGER),
+			new Column("name", DataType.VARCHAR)
+		});
+
+		users.addRow(new Object[]{1, "John Doe"});
+		users.addRow(new Object[]{1, "Jane Doe"});
+
+		try (Connection connection = db.getConnection()) {
+			final long count = countUsers(connection);
+
+			assertThatThrownBy(() -> new SyncOperation().execute(new DatabaseConnection(connection), new DefaultDataSet(users)))
+				.isInstanceOf(DataSetException.class)
+				.hasMessage("Duplicate primary key [1] in dataset table USERS");
+
+			assertThat(countUsers(connection)).isEqualTo(count);
+		}
+	}
+
+	private static void execute(Connection connection, String sql) throws SQLException {
+		try (Statement statement = connection.createStatement()) {
+			statement.executeUpdate(sql);
+		}
+	}
+}
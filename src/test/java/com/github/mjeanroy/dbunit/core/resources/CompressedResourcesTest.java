@@ -0,0 +1,137 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015-2021 Mickael Jeanroy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.mjeanroy.dbunit.core.resources;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static com.github.mjeanroy.dbunit.tests.utils.TestUtils.readStream;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CompressedResourcesTest {
+
+	private static final String CONTENT = "{\"users\": [{\"id\": 1, \"name\": \"John Doe\"}]}";
+
+	@TempDir
+	Path tmp;
+
+	@Test
+	void it_should_decompress_gzip_resource() throws Exception {
+		final File file = tmp.resolve("users.json.gz").toFile();
+		try (OutputStream out = new GZIPOutputStream(new FileOutputStream(file))) {
+			out.write(CONTENT.getBytes(StandardCharsets.UTF_8));
+		}
+
+		final Resource resource = new FileResource(file);
+		final Resource decompressed = CompressedResources.decompress(resource);
+
+		assertThat(CompressedResources.isCompressed(resource)).isTrue();
+		assertThat(decompressed).isNotSameAs(resource).isEqualTo(CompressedResources.decompress(resource));
+		assertThat(decompressed.getFilename()).isEqualTo("users.json");
+		assertThat(decompressed.getPath()).isEqualTo(file.getAbsolutePath());
+		assertThat(decompressed.exists()).isTrue();
+		assertThat(decompressed.isDirectory()).isFalse();
+		assertThat(decompressed.listResources()).isEmpty();
+		assertThat(read(decompressed)).isEqualTo(CONTENT);
+		assertThat(read(decompressed)).isEqualTo(CONTENT);
+	}
+
+	@Test
+	void it_should_decompress_zip_resource() throws Exception {
+		final File file = tmp.resolve("USERS.JSON.ZIP").toFile();
+		try (ZipOutputStream out = new ZipOutputStream(new FileOutputStream(file))) {
+			out.putNextEntry(new ZipEntry("users.json"));
+			out.write(CONTENT.getBytes(StandardCharsets.UTF_8));
+			out.closeEntry();
+		}
+
+		final Resource decompressed = CompressedResources.decompress(new FileResource(file));
+
+		assertThat(decompressed.getFilename()).isEqualTo("USERS.JSON");
+		assertThat(read(decompressed)).isEqualTo(CONTENT);
+	}
+
+	@Test
+	void it_should_fail_to_read_empty_zip_resource() throws Exception {
+		final File file = tmp.resolve("users.json.zip").toFile();
+		try (ZipOutputStream out = new ZipOutputStream(new FileOutputStream(file))) {
+			out.setComment("empty");
+		}
+
+		final Resource decompressed = CompressedResources.decompress(new FileResource(file));
+
+		assertThatThrownBy(decompressed::openStream)
+			.isExactlyInstanceOf(IOException.class)
+			.hasMessage("Zip resource " + file.getAbsolutePath() + " does not contain any entry");
+	}
+
+	@Test
+	void it_should_not_read_compressed_resource_as_file() throws Exception {
+		final File file = tmp.resolve("users.json.gz").toFile();
+		final Resource decompressed = CompressedResources.decompress(new FileResource(file));
+
+		assertThatThrownBy(decompressed::toFile).isExactlyInstanceOf(UnsupportedOperationException.class);
+	}
+
+	@Test
+	void it_should_return_uncompressed_resource() throws Exception {
+		final File file = tmp.resolve("users.json").toFile();
+		Files.write(file.toPath(), CONTENT.getBytes(StandardCharsets.UTF_8));
+
+		final Resource resource = new FileResource(file);
+
+		assertThat(CompressedResources.isCompressed(resource)).isFalse();
+		assertThat(CompressedResources.decompress(resource)).isSameAs(resource);
+	}
+
+	@Test
+	void it_should_not_decompress_directory() {
+		final File directory = tmp.resolve("dataset.zip").toFile();
+		assertThat(directory.mkdir()).isTrue();
+
+		final Resource resource = new FileResource(directory);
+
+		assertThat(CompressedResources.isCompressed(resource)).isFalse();
+		assertThat(CompressedResources.decompress(resource)).isSameAs(resource);
+	}
+
+	private static String read(Resource resource) throws IOException {
+		try (InputStream stream = resource.openStream()) {
+			return readStream(stream);
+		}
+	}
+}
@@ -40,19 +40,21 @@ import com.github.mjeanroy.dbunit.core.configuration.DbUnitDatatypeWarningInterc
 import com.github.mjeanroy.dbunit.core.configuration.DbUnitFetchSizeInterceptor;
 import com.github.mjeanroy.dbunit.core.configuration.DbUnitMetadataHandlerInterceptor;
 import com.github.mjeanroy.dbunit.core.configuration.DbUnitQualifiedTableNamesInterceptor;
+import com.github.mjeanroy.dbunit.core.dataset.LazyCompositeDataSet;
 import com.github.mjeanroy.dbunit.core.jdbc.JdbcConnectionFactory;
 import com.github.mjeanroy.dbunit.core.jdbc.JdbcDefaultConnectionFactory;
+import com.github.mjeanroy.dbunit.core.jdbc.JdbcWorkerConnectionFactory;
 import com.github.mjeanroy.dbunit.core.replacement.Replacements;
 import com.github.mjeanroy.dbunit.tests.fixtures.WithCustomConfiguration;
 import com.github.mjeanroy.dbunit.tests.fixtures.WithCustomConfiguration.QualifiedTableNameConfigurationInterceptor;
 import com.github.mjeanroy.dbunit.tests.fixtures.WithDataSetAndLiquibase;
 import com.github.mjeanroy.dbunit.tests.fixtures.WithDataSetAndSqlInit;
 import com.github.mjeanroy.dbunit.tests.fixtures.WithDbUnitConnection;
+import com.github.mjeanroy.dbunit.tests.fixtures.WithPerWorkerConnection;
 import com.github.mjeanroy.dbunit.tests.fixtures.WithReplacementsProvidersDataSet;
 import org.dbunit.database.DatabaseConfig;
 import org.dbunit.database.DefaultMetadataHandler;
 import org.dbunit.database.IMetadataHandler;
-import org.dbunit.dataset.CompositeDataSet;
 import org.dbunit.dataset.IDataSet;
 import org.dbunit.dataset.datatype.DefaultDataTypeFactory;
 import org.dbunit.dataset.datatype.IDataTypeFactory;
@@ -75,7 +77,7 @@ class DbUnitAnnotationsParserTest {
 		final DbUnitDataSet annotation = testClass.getAnnotation(DbUnitDataSet.class);
 		final IDataSet dataSet = DbUnitAnnotationsParser.readDataSet(annotation);
 
-		assertThat(dataSet).isNotNull().isExactlyInstanceOf(CompositeDataSet.class);
+		assertThat(dataSet).isNotNull().isExactlyInstanceOf(LazyCompositeDataSet.class);
 	}
 
 	@Test
@@ -84,7 +86,7 @@ class DbUnitAnnotationsParserTest {
 		final DbUnitDataSet annotation = testClass.getAnnotation(DbUnitDataSet.class);
 		final IDataSet dataSet = DbUnitAnnotationsParser.readDataSet(singletonList(annotation), null);
 
-		assertThat(dataSet).isNotNull().isExactlyInstanceOf(CompositeDataSet.class);
+		assertThat(dataSet).isNotNull().isExactlyInstanceOf(LazyCompositeDataSet.class);
 	}
 
 	@Test
@@ -96,6 +98,15 @@ class DbUnitAnnotationsParserTest {
 		assertThat(factory).isNotNull().isExactlyInstanceOf(JdbcDefaultConnectionFactory.class);
 	}
 
+	@Test
+	void it_should_read_per_worker_connection_factory_from_annotation() {
+		final Class<WithPerWorkerConnection> testClass = WithPerWorkerConnection.class;
+		final DbUnitConnection annotation = testClass.getAnnotation(DbUnitConnection.class);
+		final JdbcConnectionFactory factory = DbUnitAnnotationsParser.extractJdbcConnectionFactory(annotation);
+
+		assertThat(factory).isNotNull().isExactlyInstanceOf(JdbcWorkerConnectionFactory.class);
+	}
+
 	@Test
 	void it_should_extract_sql_scripts_from_annotation() {
 		final Class<WithDataSetAndSqlInit> testClass = WithDataSetAndSqlInit.class;
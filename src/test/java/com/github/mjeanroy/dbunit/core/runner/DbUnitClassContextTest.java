@@ -24,6 +24,7 @@
 
 package com.github.mjeanroy.dbunit.core.runner;
 
+import com.github.mjeanroy.dbunit.core.annotations.DbUnitIsolationMode;
 import com.github.mjeanroy.dbunit.core.configuration.DbUnitConfigInterceptor;
 import com.github.mjeanroy.dbunit.core.jdbc.JdbcConfiguration;
 import com.github.mjeanroy.dbunit.core.jdbc.JdbcConnectionFactory;
@@ -73,6 +74,8 @@ class DbUnitClassContextTest {
 			connectionFactory,
 			sqlScripts,
 			liquibaseChangeLogs,
+			false,
+			DbUnitIsolationMode.ROLLBACK,
 			replacements,
 			interceptors
 		);
@@ -80,6 +83,8 @@ class DbUnitClassContextTest {
 		assertThat(ctx.getDataSet()).isEqualTo(dataSet);
 		assertThat(ctx.getInitScripts()).isEqualTo(sqlScripts);
 		assertThat(ctx.getLiquibaseChangeLogs()).isEqualTo(liquibaseChangeLogs);
+		assertThat(ctx.isInitSnapshot()).isFalse();
+		assertThat(ctx.getIsolation()).isEqualTo(DbUnitIsolationMode.ROLLBACK);
 	}
 
 	@Test
@@ -117,6 +122,8 @@ class DbUnitClassContextTest {
 			connectionFactory,
 			sqlScripts,
 			liquibaseChangeLogs,
+			false,
+			DbUnitIsolationMode.ROLLBACK,
 			replacements,
 			interceptors
 		);
@@ -138,16 +145,24 @@ class DbUnitClassContextTest {
 						"queries: [" +
 							"INSERT INTO foo VALUES(1, 'John Doe');, " +
 							"INSERT INTO foo VALUES(2, 'Jane Doe');" +
-						"]" +
+						"], " +
+						"resource: null, " +
+						"configuration: null, " +
+						"runOnce: false, " +
+						"batchSize: 1000" +
 					"}" +
 				"], " +
 
 				"liquibaseChangeLogs: [" +
 					"LiquibaseChangeLog{" +
-						"changeLog: \"/hsqldb/changelog.xml\"" +
+						"changeLog: \"/hsqldb/changelog.xml\", " +
+						"runOnce: false" +
 					"}" +
 				"], " +
 
+				"initSnapshot: false, " +
+				"isolation: ROLLBACK, " +
+
 				"replacements: [" +
 					"Replacements{" +
 						"replacements: {foo=bar}" +
@@ -0,0 +1,109 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015-2021 Mickael Jeanroy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.mjeanroy.dbunit.core.runner;
+
+import com.github.mjeanroy.dbunit.tests.fixtures.WithDirtyTablesIsolation;
+import com.github.mjeanroy.dbunit.tests.jupiter.HsqldbTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+
+import java.lang.reflect.Method;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static com.github.mjeanroy.dbunit.tests.db.TestDbUtils.countMovies;
+import static com.github.mjeanroy.dbunit.tests.db.TestDbUtils.countUsers;
+import static com.github.mjeanroy.dbunit.tests.db.TestDbUtils.countUsersMovies;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@HsqldbTest
+class DbUnitRunnerWithDirtyTablesIsolationTest {
+
+	@Test
+	void it_should_reload_dirty_tables_only(EmbeddedDatabase db) throws Exception {
+		final Class<WithDirtyTablesIsolation> klass = WithDirtyTablesIsolation.class;
+		final DbUnitRunner runner = new DbUnitRunner(klass, db);
+		final Method testMethod = klass.getMethod("method1");
+
+		runner.beforeTest(testMethod);
+
+		try (Connection connection = db.getConnection()) {
+			assertThat(countUsers(connection)).isEqualTo(2);
+			assertThat(countMovies(connection)).isEqualTo(3);
+			assertThat(countUsersMovies(connection)).isEqualTo(3);
+		}
+
+		try (Connection connection = runner.getConnection()) {
+			execute(connection, "DELETE FROM movies");
+		}
+
+		runner.afterTest(testMethod);
+
+		// Not tracked, since executed on a connection not handed out by the runner.
+		try (Connection connection = db.getConnection()) {
+			execute(connection, "INSERT INTO users VALUES(3, 'Jane Doe')");
+		}
+
+		runner.beforeTest(testMethod);
+
+		try (Connection connection = db.getConnection()) {
+			assertThat(countUsers(connection)).isEqualTo(3);
+			assertThat(countMovies(connection)).isEqualTo(3);
+			assertThat(countUsersMovies(connection)).isEqualTo(3);
+		}
+	}
+
+	@Test
+	void it_should_skip_setup_without_dirty_tables(EmbeddedDatabase db) throws Exception {
+		final Class<WithDirtyTablesIsolation> klass = WithDirtyTablesIsolation.class;
+		final DbUnitRunner runner = new DbUnitRunner(klass, db);
+		final Method testMethod = klass.getMethod("method1");
+
+		runner.beforeTest(testMethod);
+
+		try (Connection connection = runner.getConnection()) {
+			assertThat(countUsers(connection)).isEqualTo(2);
+		}
+
+		runner.afterTest(testMethod);
+
+		try (Connection connection = db.getConnection()) {
+			execute(connection, "INSERT INTO users VALUES(3, 'Jane Doe')");
+		}
+
+		runner.beforeTest(testMethod);
+
+		try (Connection connection = db.getConnection()) {
+			assertThat(countUsers(connection)).isEqualTo(3);
+		}
+	}
+
+	private static void execute(Connection connection, String sql) throws SQLException {
+		try (Statement statement = connection.createStatement()) {
+			statement.executeUpdate(sql);
+		}
+	}
+}
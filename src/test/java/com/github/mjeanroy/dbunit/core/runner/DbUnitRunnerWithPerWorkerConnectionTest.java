@@ -0,0 +1,70 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015-2021 Mickael Jeanroy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.mjeanroy.dbunit.core.runner;
+
+import com.github.mjeanroy.dbunit.tests.fixtures.WithPerWorkerConnection;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Method;
+import java.sql.Connection;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static com.github.mjeanroy.dbunit.tests.db.TestDbUtils.countUsers;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DbUnitRunnerWithPerWorkerConnectionTest {
+
+	@Test
+	void it_should_initialize_each_worker_database() throws Exception {
+		final Class<WithPerWorkerConnection> klass = WithPerWorkerConnection.class;
+		final DbUnitRunner runner = new DbUnitRunner(klass);
+		final Method testMethod = klass.getMethod("method1");
+
+		final String url1 = runTest(runner, testMethod);
+
+		final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+		try {
+			final String url2 = executor.submit(() -> runTest(runner, testMethod)).get();
+			assertThat(url2).isNotEqualTo(url1);
+		}
+		finally {
+			executor.shutdown();
+		}
+	}
+
+	private static String runTest(DbUnitRunner runner, Method testMethod) throws Exception {
+		runner.beforeTest(testMethod);
+
+		try (Connection connection = runner.getConnection()) {
+			assertThat(countUsers(connection)).isEqualTo(2);
+			return connection.getMetaData().getURL();
+		}
+		finally {
+			runner.afterTest(testMethod);
+		}
+	}
+}
@@ -0,0 +1,113 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015-2021 Mickael Jeanroy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.mjeanroy.dbunit.core.runner;
+
+import com.github.mjeanroy.dbunit.core.jdbc.JdbcConnectionFactory;
+import com.github.mjeanroy.dbunit.core.jdbc.JdbcDataSourceConnectionFactory;
+import com.github.mjeanroy.dbunit.tests.fixtures.WithRollbackIsolation;
+import com.github.mjeanroy.dbunit.tests.jupiter.HsqldbTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+
+import java.lang.reflect.Method;
+import java.sql.Connection;
+import java.sql.Statement;
+
+import static com.github.mjeanroy.dbunit.tests.db.TestDbUtils.countMovies;
+import static com.github.mjeanroy.dbunit.tests.db.TestDbUtils.countUsers;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@HsqldbTest
+class DbUnitRunnerWithRollbackIsolationTest {
+
+	@Test
+	void it_should_rollback_test_transaction(EmbeddedDatabase db) throws Exception {
+		final Class<WithRollbackIsolation> klass = WithRollbackIsolation.class;
+		final JdbcConnectionFactory factory = spy(new JdbcDataSourceConnectionFactory(db));
+		final DbUnitRunner runner = new DbUnitRunner(klass, factory);
+
+		final Method testMethod = klass.getMethod("method1");
+		runner.beforeTest(testMethod);
+
+		final Connection connection = runner.getConnection();
+		assertThat(runner.getConnection()).isSameAs(connection);
+		assertThat(countUsers(connection)).isEqualTo(2);
+
+		try (Statement statement = connection.createStatement()) {
+			statement.executeUpdate("DELETE FROM users");
+		}
+
+		connection.commit();
+		connection.close();
+		assertThat(countUsers(connection)).isZero();
+
+		runner.afterTest(testMethod);
+
+		try (Connection newConnection = db.getConnection()) {
+			assertThat(countUsers(newConnection)).isEqualTo(2);
+		}
+	}
+
+	@Test
+	void it_should_load_class_data_set_once(EmbeddedDatabase db) throws Exception {
+		final Class<WithRollbackIsolation> klass = WithRollbackIsolation.class;
+		final JdbcConnectionFactory factory = spy(new JdbcDataSourceConnectionFactory(db));
+		final DbUnitRunner runner = new DbUnitRunner(klass, factory);
+
+		final Method testMethod = klass.getMethod("method1");
+
+		// First test: class dataset is loaded, then the transaction is started.
+		runner.beforeTest(testMethod);
+		runner.afterTest(testMethod);
+		verify(factory, times(2)).getConnection();
+
+		// Second test: only the transaction is started.
+		runner.beforeTest(testMethod);
+		runner.afterTest(testMethod);
+		verify(factory, times(3)).getConnection();
+	}
+
+	@Test
+	void it_should_load_method_data_set_in_test_transaction(EmbeddedDatabase db) throws Exception {
+		final Class<WithRollbackIsolation> klass = WithRollbackIsolation.class;
+		final DbUnitRunner runner = new DbUnitRunner(klass, db);
+
+		final Method testMethod = klass.getMethod("method2");
+		runner.beforeTest(testMethod);
+
+		final Connection connection = runner.getConnection();
+		assertThat(countMovies(connection)).isEqualTo(3);
+
+		runner.afterTest(testMethod);
+
+		try (Connection newConnection = db.getConnection()) {
+			assertThat(countUsers(newConnection)).isEqualTo(2);
+			assertThat(countMovies(newConnection)).isZero();
+		}
+	}
+}
@@ -24,6 +24,8 @@
 
 package com.github.mjeanroy.dbunit.core.runner;
 
+import com.github.mjeanroy.dbunit.core.jdbc.JdbcConnectionFactory;
+import com.github.mjeanroy.dbunit.core.jdbc.JdbcDataSourceConnectionFactory;
 import com.github.mjeanroy.dbunit.tests.fixtures.WithDataSetAndSqlInit;
 import com.github.mjeanroy.dbunit.tests.jupiter.HsqldbTest;
 import org.junit.jupiter.api.Test;
@@ -35,6 +37,9 @@ import java.sql.Connection;
 import static com.github.mjeanroy.dbunit.tests.db.TestDbUtils.countMovies;
 import static com.github.mjeanroy.dbunit.tests.db.TestDbUtils.countUsers;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 @HsqldbTest(initScript = false)
 class DbUnitRunnerWithSqlInitTest {
@@ -61,4 +66,23 @@ class DbUnitRunnerWithSqlInitTest {
 		assertThat(countUsers(connection)).isZero();
 		assertThat(countMovies(connection)).isZero();
 	}
+
+	@Test
+	void it_should_not_execute_sql_script_twice_with_nested_class(EmbeddedDatabase db) throws Exception {
+		final JdbcConnectionFactory factory = spy(new JdbcDataSourceConnectionFactory(db));
+		final DbUnitRunner parent = new DbUnitRunner(WithDataSetAndSqlInit.class, factory);
+		verify(factory, times(1)).getConnection();
+
+		final Class<WithDataSetAndSqlInit.NestedClass> klass = WithDataSetAndSqlInit.NestedClass.class;
+		final DbUnitRunner runner = new DbUnitRunner(klass, parent);
+		verify(factory, times(1)).getConnection();
+		assertThat(runner.getFactory()).isSameAs(factory);
+
+		final Connection connection = db.getConnection();
+		final Method testMethod = klass.getMethod("method1");
+		runner.beforeTest(testMethod);
+
+		assertThat(countUsers(connection)).isEqualTo(2);
+		assertThat(countMovies(connection)).isEqualTo(3);
+	}
 }
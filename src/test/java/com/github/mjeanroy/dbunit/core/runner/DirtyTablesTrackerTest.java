@@ -0,0 +1,168 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015-2021 Mickael Jeanroy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.mjeanroy.dbunit.core.runner;
+
+import com.github.mjeanroy.dbunit.tests.jupiter.HsqldbTest;
+import org.dbunit.database.DatabaseConnection;
+import org.dbunit.database.IDatabaseConnection;
+import org.dbunit.dataset.IDataSet;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.List;
+
+import static java.util.Arrays.asList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+@HsqldbTest
+class DirtyTablesTrackerTest {
+
+	private static final String[] TABLES = new String[]{"users", "movies", "users_movies"};
+
+	@Test
+	void it_should_consider_all_tables_dirty_until_dataset_is_loaded() {
+		final DirtyTablesTracker tracker = new DirtyTablesTracker();
+		final IDataSet dataSet = mock(IDataSet.class);
+
+		assertThat(tracker.isLoaded(dataSet)).isFalse();
+		assertThat(tracker.findDirtyTables(mock(IDatabaseConnection.class), TABLES)).isEqualTo(TABLES);
+
+		tracker.loaded(dataSet);
+
+		assertThat(tracker.isLoaded(dataSet)).isTrue();
+		assertThat(tracker.isLoaded(mock(IDataSet.class))).isFalse();
+		assertThat(tracker.findDirtyTables(mock(IDatabaseConnection.class), TABLES)).isEmpty();
+	}
+
+	@Test
+	void it_should_ignore_read_only_statements() {
+		final DirtyTablesTracker tracker = new DirtyTablesTracker();
+		tracker.loaded(mock(IDataSet.class));
+
+		tracker.track("SELECT * FROM users");
+		tracker.track("  select count(*) from movies");
+
+		assertThat(tracker.findDirtyTables(mock(IDatabaseConnection.class), TABLES)).isEmpty();
+	}
+
+	@Test
+	void it_should_mark_all_tables_dirty_with_unknown_statement() {
+		final DirtyTablesTracker tracker = new DirtyTablesTracker();
+		tracker.loaded(mock(IDataSet.class));
+
+		tracker.track("DROP TABLE users");
+
+		assertThat(tracker.findDirtyTables(mock(IDatabaseConnection.class), TABLES)).isEqualTo(TABLES);
+	}
+
+	@Test
+	void it_should_mark_all_tables_dirty_with_multi_table_statements() {
+		final List<String> queries = asList(
+			"UPDATE users JOIN movies ON users.id = movies.id SET movies.title = 'foo'",
+			"UPDATE users u, movies m SET m.title = 'foo' WHERE u.id = m.id",
+			"UPDATE u SET name = 'foo' FROM users u INNER JOIN movies m ON u.id = m.id",
+			"DELETE FROM users USING users, movies WHERE users.id = movies.id",
+			"DELETE users, movies FROM users INNER JOIN movies ON users.id = movies.id"
+		);
+
+		for (String query : queries) {
+			final DirtyTablesTracker tracker = new DirtyTablesTracker();
+			tracker.loaded(mock(IDataSet.class));
+			tracker.track(query);
+			assertThat(tracker.findDirtyTables(mock(IDatabaseConnection.class), TABLES)).isEqualTo(TABLES);
+		}
+	}
+
+	@Test
+	void it_should_find_dirty_table_of_single_table_statements(EmbeddedDatabase db) throws Exception {
+		final DirtyTablesTracker tracker = new DirtyTablesTracker();
+		tracker.loaded(mock(IDataSet.class));
+
+		try (Connection connection = db.getConnection()) {
+			final IDatabaseConnection dbConnection = new DatabaseConnection(connection);
+
+			tracker.track("UPDATE users_movies um SET user_id = 1, movie_id = 2 WHERE um.user_id = 2");
+			tracker.track("MERGE INTO users_movies USING (VALUES (1, 1)) AS v (a, b) ON user_id = v.a WHEN NOT MATCHED THEN INSERT VALUES (v.a, v.b)");
+			assertThat(tracker.findDirtyTables(dbConnection, TABLES)).containsExactly("users_movies");
+		}
+	}
+
+	@Test
+	void it_should_find_dirty_tables_and_dependent_tables(EmbeddedDatabase db) throws Exception {
+		final DirtyTablesTracker tracker = new DirtyTablesTracker();
+		tracker.loaded(mock(IDataSet.class));
+
+		try (Connection connection = db.getConnection()) {
+			final IDatabaseConnection dbConnection = new DatabaseConnection(connection);
+
+			tracker.track("UPDATE \"PUBLIC\".\"MOVIES\" SET title = 'foo'");
+			assertThat(tracker.findDirtyTables(dbConnection, TABLES)).containsExactly("movies", "users_movies");
+
+			tracker.loaded(mock(IDataSet.class));
+			tracker.track("insert into users_movies values (1, 1)");
+			assertThat(tracker.findDirtyTables(dbConnection, TABLES)).containsExactly("users_movies");
+		}
+	}
+
+	@Test
+	void it_should_find_dirty_tables_with_only_keyword(EmbeddedDatabase db) throws Exception {
+		final DirtyTablesTracker tracker = new DirtyTablesTracker();
+		tracker.loaded(mock(IDataSet.class));
+
+		try (Connection connection = db.getConnection()) {
+			final IDatabaseConnection dbConnection = new DatabaseConnection(connection);
+
+			tracker.track("UPDATE ONLY movies SET title = 'foo'");
+			assertThat(tracker.findDirtyTables(dbConnection, TABLES)).containsExactly("movies", "users_movies");
+
+			tracker.loaded(mock(IDataSet.class));
+			tracker.track("DELETE FROM ONLY users_movies WHERE user_id = 1");
+			assertThat(tracker.findDirtyTables(dbConnection, TABLES)).containsExactly("users_movies");
+		}
+	}
+
+	@Test
+	void it_should_track_statements_executed_on_wrapped_connection(EmbeddedDatabase db) throws Exception {
+		final DirtyTablesTracker tracker = new DirtyTablesTracker();
+		tracker.loaded(mock(IDataSet.class));
+
+		try (Connection connection = tracker.wrap(db.getConnection())) {
+			final IDatabaseConnection dbConnection = new DatabaseConnection(connection);
+
+			try (Statement statement = connection.createStatement()) {
+				statement.executeQuery("SELECT * FROM users");
+				statement.executeUpdate("DELETE FROM users_movies");
+			}
+
+			assertThat(tracker.findDirtyTables(dbConnection, TABLES)).containsExactly("users_movies");
+
+			connection.prepareStatement("DELETE FROM movies WHERE id = ?").close();
+			assertThat(tracker.findDirtyTables(dbConnection, TABLES)).containsExactly("movies", "users_movies");
+		}
+	}
+}
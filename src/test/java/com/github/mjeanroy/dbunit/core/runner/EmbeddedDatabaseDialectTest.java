@@ -0,0 +1,150 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015-2021 Mickael Jeanroy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.mjeanroy.dbunit.core.runner;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EmbeddedDatabaseDialectTest {
+
+	@Test
+	void it_should_find_dialect() {
+		assertThat(EmbeddedDatabaseDialect.find("jdbc:hsqldb:mem:testdb")).isEqualTo(EmbeddedDatabaseDialect.HSQLDB);
+		assertThat(EmbeddedDatabaseDialect.find("jdbc:h2:mem:testdb")).isEqualTo(EmbeddedDatabaseDialect.H2);
+		assertThat(EmbeddedDatabaseDialect.find("jdbc:hsqldb:file:/tmp/testdb")).isNull();
+		assertThat(EmbeddedDatabaseDialect.find("jdbc:postgresql://localhost/testdb")).isNull();
+		assertThat(EmbeddedDatabaseDialect.find(null)).isNull();
+	}
+
+	@Test
+	void it_should_capture_and_restore_hsqldb_database() throws Exception {
+		verifyCaptureAndRestore(EmbeddedDatabaseType.HSQL, EmbeddedDatabaseDialect.HSQLDB);
+	}
+
+	@Test
+	void it_should_capture_and_restore_h2_database() throws Exception {
+		verifyCaptureAndRestore(EmbeddedDatabaseType.H2, EmbeddedDatabaseDialect.H2);
+	}
+
+	@Test
+	void it_should_reset_hsqldb_database() throws Exception {
+		verifyReset(EmbeddedDatabaseType.HSQL, EmbeddedDatabaseDialect.HSQLDB);
+	}
+
+	@Test
+	void it_should_reset_h2_database() throws Exception {
+		verifyReset(EmbeddedDatabaseType.H2, EmbeddedDatabaseDialect.H2);
+	}
+
+	private static void verifyCaptureAndRestore(EmbeddedDatabaseType type, EmbeddedDatabaseDialect dialect) throws Exception {
+		final EmbeddedDatabase source = createDatabase(type);
+		final EmbeddedDatabase target = createDatabase(type);
+
+		try (Connection sourceConnection = source.getConnection(); Connection targetConnection = target.getConnection()) {
+			assertThat(dialect.isEmpty(sourceConnection)).isTrue();
+			initialize(sourceConnection);
+			assertThat(dialect.isEmpty(sourceConnection)).isFalse();
+
+			final EmbeddedDatabaseSnapshot snapshot = dialect.capture(sourceConnection);
+
+			assertThat(dialect.isEmpty(targetConnection)).isTrue();
+			dialect.restore(targetConnection, snapshot);
+			assertThat(dialect.isEmpty(targetConnection)).isFalse();
+
+			try (Statement statement = targetConnection.createStatement()) {
+				try (ResultSet rs = statement.executeQuery("SELECT id, name, picture, bio FROM users ORDER BY id")) {
+					assertThat(rs.next()).isTrue();
+					assertThat(rs.getInt(1)).isEqualTo(1);
+					assertThat(rs.getString(2)).isEqualTo("John Doe");
+					assertThat(rs.getBytes(3)).containsExactly(1, 2, 3);
+					assertThat(rs.getString(4)).isEqualTo("Lorem Ipsum");
+
+					assertThat(rs.next()).isTrue();
+					assertThat(rs.getInt(1)).isEqualTo(2);
+					assertThat(rs.getString(2)).isEqualTo("Jane Doe");
+					assertThat(rs.getBytes(3)).isNull();
+					assertThat(rs.getString(4)).isNull();
+
+					assertThat(rs.next()).isFalse();
+				}
+
+				try (ResultSet rs = statement.executeQuery("SELECT COUNT(*) FROM foo.movies")) {
+					assertThat(rs.next()).isTrue();
+					assertThat(rs.getInt(1)).isEqualTo(1);
+				}
+
+				// Foreign keys must have been restored.
+				assertThat(statement.executeUpdate("DELETE FROM users WHERE id = 1")).isEqualTo(1);
+				try (ResultSet rs = statement.executeQuery("SELECT COUNT(*) FROM foo.movies")) {
+					assertThat(rs.next()).isTrue();
+					assertThat(rs.getInt(1)).isZero();
+				}
+			}
+		}
+		finally {
+			source.shutdown();
+			target.shutdown();
+		}
+	}
+
+	private static void verifyReset(EmbeddedDatabaseType type, EmbeddedDatabaseDialect dialect) throws Exception {
+		final EmbeddedDatabase db = createDatabase(type);
+
+		try (Connection connection = db.getConnection()) {
+			initialize(connection);
+			assertThat(dialect.isEmpty(connection)).isFalse();
+
+			dialect.reset(connection);
+			assertThat(dialect.isEmpty(connection)).isTrue();
+		}
+		finally {
+			db.shutdown();
+		}
+	}
+
+	private static EmbeddedDatabase createDatabase(EmbeddedDatabaseType type) {
+		return new EmbeddedDatabaseBuilder().setType(type).generateUniqueName(true).build();
+	}
+
+	private static void initialize(Connection connection) throws Exception {
+		try (Statement statement = connection.createStatement()) {
+			statement.execute("CREATE TABLE users (id INT PRIMARY KEY, name VARCHAR(100), picture BLOB, bio CLOB)");
+			statement.execute("CREATE SCHEMA foo");
+			statement.execute("CREATE TABLE foo.movies (id INT PRIMARY KEY, user_id INT, FOREIGN KEY (user_id) REFERENCES public.users(id) ON DELETE CASCADE)");
+			statement.execute("CREATE VIEW users_view AS SELECT id, name FROM users");
+			statement.execute("INSERT INTO users VALUES (1, 'John Doe', X'010203', 'Lorem Ipsum')");
+			statement.execute("INSERT INTO users VALUES (2, 'Jane Doe', NULL, NULL)");
+			statement.execute("INSERT INTO foo.movies VALUES (1, 1)");
+		}
+	}
+}
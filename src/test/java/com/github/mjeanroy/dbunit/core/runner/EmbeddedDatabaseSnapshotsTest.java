@@ -0,0 +1,132 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015-2021 Mickael Jeanroy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.mjeanroy.dbunit.core.runner;
+
+import com.github.mjeanroy.dbunit.core.jdbc.JdbcConnectionFactory;
+import com.github.mjeanroy.dbunit.core.jdbc.JdbcDataSourceConnectionFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static com.github.mjeanroy.dbunit.tests.db.TestDbUtils.countUsers;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class EmbeddedDatabaseSnapshotsTest {
+
+	@AfterEach
+	void tearDown() {
+		EmbeddedDatabaseSnapshots.clear();
+	}
+
+	@Test
+	void it_should_restore_snapshot_in_new_embedded_database() {
+		final EmbeddedDatabase db1 = createDatabase();
+		final EmbeddedDatabase db2 = createDatabase();
+
+		try {
+			final Runnable initialization1 = initialization(db1);
+			EmbeddedDatabaseSnapshots.initialize(new JdbcDataSourceConnectionFactory(db1), "fingerprint", initialization1);
+			verify(initialization1).run();
+			assertThat(countUsers(db1.getConnection())).isEqualTo(2);
+
+			final Runnable initialization2 = initialization(db2);
+			EmbeddedDatabaseSnapshots.initialize(new JdbcDataSourceConnectionFactory(db2), "fingerprint", initialization2);
+			verify(initialization2, times(0)).run();
+			assertThat(countUsers(db2.getConnection())).isEqualTo(2);
+		}
+		catch (SQLException ex) {
+			throw new AssertionError(ex);
+		}
+		finally {
+			db1.shutdown();
+			db2.shutdown();
+		}
+	}
+
+	@Test
+	void it_should_not_restore_snapshot_with_different_fingerprint() {
+		final EmbeddedDatabase db1 = createDatabase();
+		final EmbeddedDatabase db2 = createDatabase();
+
+		try {
+			EmbeddedDatabaseSnapshots.initialize(new JdbcDataSourceConnectionFactory(db1), "fingerprint1", initialization(db1));
+
+			final Runnable initialization2 = initialization(db2);
+			EmbeddedDatabaseSnapshots.initialize(new JdbcDataSourceConnectionFactory(db2), "fingerprint2", initialization2);
+			verify(initialization2).run();
+		}
+		finally {
+			db1.shutdown();
+			db2.shutdown();
+		}
+	}
+
+	@Test
+	void it_should_run_initialization_if_database_is_not_empty() {
+		final EmbeddedDatabase db = createDatabase();
+
+		try {
+			final JdbcConnectionFactory factory = new JdbcDataSourceConnectionFactory(db);
+			EmbeddedDatabaseSnapshots.initialize(factory, "fingerprint", initialization(db));
+
+			final Runnable initialization = mock(Runnable.class);
+			EmbeddedDatabaseSnapshots.initialize(factory, "fingerprint", initialization);
+			verify(initialization).run();
+		}
+		finally {
+			db.shutdown();
+		}
+	}
+
+	private static EmbeddedDatabase createDatabase() {
+		return new EmbeddedDatabaseBuilder().setType(EmbeddedDatabaseType.HSQL).generateUniqueName(true).build();
+	}
+
+	private static Runnable initialization(EmbeddedDatabase db) {
+		final Runnable initialization = mock(Runnable.class);
+		doAnswer(invocation -> {
+			try (Connection connection = db.getConnection(); Statement statement = connection.createStatement()) {
+				statement.execute("CREATE TABLE users (id INT PRIMARY KEY, name VARCHAR(100))");
+				statement.execute("CREATE TABLE movies (id INT PRIMARY KEY, title VARCHAR(100))");
+				statement.execute("INSERT INTO users VALUES (1, 'John Doe')");
+				statement.execute("INSERT INTO users VALUES (2, 'Jane Doe')");
+			}
+
+			return null;
+		}).when(initialization).run();
+
+		return initialization;
+	}
+}
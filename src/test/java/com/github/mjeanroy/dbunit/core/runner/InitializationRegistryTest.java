@@ -0,0 +1,135 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015-2021 Mickael Jeanroy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.mjeanroy.dbunit.core.runner;
+
+import com.github.mjeanroy.dbunit.core.jdbc.JdbcConnectionFactory;
+import com.github.mjeanroy.dbunit.core.jdbc.JdbcDefaultConnectionFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.github.mjeanroy.dbunit.core.jdbc.JdbcConfiguration.newJdbcConfiguration;
+import static java.util.Collections.singletonList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class InitializationRegistryTest {
+
+	@AfterEach
+	void tearDown() {
+		InitializationRegistry.clear();
+	}
+
+	@Test
+	void it_should_run_initialization_once_per_connection_and_fingerprint() {
+		final JdbcConnectionFactory factory1 = new JdbcDefaultConnectionFactory(newJdbcConfiguration("jdbc:hsqldb:mem:testdb", "SA", ""));
+		final JdbcConnectionFactory factory2 = new JdbcDefaultConnectionFactory(newJdbcConfiguration("jdbc:hsqldb:mem:testdb", "SA", ""));
+		final JdbcConnectionFactory factory3 = new JdbcDefaultConnectionFactory(newJdbcConfiguration("jdbc:hsqldb:mem:otherdb", "SA", ""));
+		final Runnable initialization = mock(Runnable.class);
+
+		InitializationRegistry.runOnce(factory1, singletonList("CREATE TABLE foo (id INT)"), initialization);
+		InitializationRegistry.runOnce(factory2, singletonList("CREATE TABLE foo (id INT)"), initialization);
+		verify(initialization, times(1)).run();
+
+		InitializationRegistry.runOnce(factory1, singletonList("CREATE TABLE bar (id INT)"), initialization);
+		verify(initialization, times(2)).run();
+
+		InitializationRegistry.runOnce(factory3, singletonList("CREATE TABLE foo (id INT)"), initialization);
+		verify(initialization, times(3)).run();
+	}
+
+	@Test
+	void it_should_run_initialization_again_if_it_failed() {
+		final JdbcConnectionFactory factory = new JdbcDefaultConnectionFactory(newJdbcConfiguration("jdbc:hsqldb:mem:testdb", "SA", ""));
+		final Runnable initialization = mock(Runnable.class);
+		doThrow(new IllegalStateException("Fail Test")).doNothing().when(initialization).run();
+
+		assertThatThrownBy(() -> InitializationRegistry.runOnce(factory, "fingerprint", initialization))
+			.isExactlyInstanceOf(IllegalStateException.class)
+			.hasMessage("Fail Test");
+
+		InitializationRegistry.runOnce(factory, "fingerprint", initialization);
+		InitializationRegistry.runOnce(factory, "fingerprint", initialization);
+		verify(initialization, times(2)).run();
+	}
+
+	@Test
+	void it_should_run_nested_initializations() {
+		final JdbcConnectionFactory factory = new JdbcDefaultConnectionFactory(newJdbcConfiguration("jdbc:hsqldb:mem:testdb", "SA", ""));
+		final Runnable nested = mock(Runnable.class);
+		final Runnable initialization = () -> InitializationRegistry.runOnce(factory, "nested", nested);
+
+		InitializationRegistry.runOnce(factory, "fingerprint", initialization);
+		InitializationRegistry.runOnce(factory, "fingerprint", initialization);
+		verify(nested, times(1)).run();
+	}
+
+	@Test
+	void it_should_run_initialization_once_with_concurrent_calls() throws Exception {
+		final JdbcConnectionFactory factory = new JdbcDefaultConnectionFactory(newJdbcConfiguration("jdbc:hsqldb:mem:testdb", "SA", ""));
+		final AtomicInteger count = new AtomicInteger(0);
+		final CountDownLatch started = new CountDownLatch(1);
+		final CountDownLatch release = new CountDownLatch(1);
+		final Runnable initialization = () -> {
+			count.incrementAndGet();
+			started.countDown();
+			await(release);
+		};
+
+		final ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			final Future<?> first = executor.submit(() -> InitializationRegistry.runOnce(factory, "fingerprint", initialization));
+			started.await();
+
+			final Future<?> second = executor.submit(() -> InitializationRegistry.runOnce(factory, "fingerprint", initialization));
+			release.countDown();
+
+			first.get();
+			second.get();
+			assertThat(count.get()).isEqualTo(1);
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await();
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
@@ -27,13 +27,17 @@ package com.github.mjeanroy.dbunit.core.runner;
 import com.github.mjeanroy.dbunit.core.jdbc.JdbcConnectionFactory;
 import com.github.mjeanroy.dbunit.tests.jupiter.HsqldbTest;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.stubbing.Answer;
 import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
 
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.sql.Connection;
 
 import static com.github.mjeanroy.dbunit.tests.db.TestDbUtils.countMovies;
 import static com.github.mjeanroy.dbunit.tests.db.TestDbUtils.countUsers;
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
@@ -60,4 +64,53 @@ class LiquibaseChangeLogExecutorTest {
 		assertThat(countMovies(connection)).isZero();
 		verify(factory).getConnection();
 	}
+
+	@Test
+	void it_should_load_liquibase_change_logs_once(EmbeddedDatabase db) {
+		final JdbcConnectionFactory factory = mock(JdbcConnectionFactory.class);
+		final LiquibaseChangeLogExecutor executor = new LiquibaseChangeLogExecutor(factory);
+		final String path = "/liquibase/changelog.xml";
+		final LiquibaseChangeLog changeLog = new LiquibaseChangeLog(path, true);
+
+		when(factory.getConnection()).thenAnswer((Answer<Connection>) invocationOnMock ->
+			db.getConnection()
+		);
+
+		try {
+			executor.execute(changeLog);
+			executor.execute(changeLog);
+			verify(factory).getConnection();
+		}
+		finally {
+			InitializationRegistry.clear();
+		}
+	}
+
+	@Test
+	void it_should_change_fingerprint_when_included_change_log_changes(@TempDir Path tmp) throws Exception {
+		final Path root = tmp.resolve("changelog.xml");
+		final Path included = tmp.resolve("01-create-table.xml");
+		write(root, "<include file=\"01-create-table.xml\" relativeToChangelogFile=\"true\"/>");
+		write(included, changeSet("CREATE TABLE foo (id INT)"));
+
+		final LiquibaseChangeLog changeLog = new LiquibaseChangeLog("file:" + root.toAbsolutePath());
+		final String fingerprint = LiquibaseChangeLogExecutor.fingerprint(changeLog);
+		assertThat(LiquibaseChangeLogExecutor.fingerprint(changeLog)).isEqualTo(fingerprint);
+
+		write(included, changeSet("CREATE TABLE foo (id INT, name VARCHAR(10))"));
+		assertThat(LiquibaseChangeLogExecutor.fingerprint(changeLog)).isNotEqualTo(fingerprint);
+	}
+
+	private static String changeSet(String sql) {
+		return "<changeSet id=\"1\" author=\"test\"><sql>" + sql + "</sql></changeSet>";
+	}
+
+	private static void write(Path path, String content) throws Exception {
+		final String xml = "<databaseChangeLog xmlns=\"http://www.liquibase.org/xml/ns/dbchangelog\" " +
+			"xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\" " +
+			"xsi:schemaLocation=\"http://www.liquibase.org/xml/ns/dbchangelog http://www.liquibase.org/xml/ns/dbchangelog/dbchangelog-3.1.xsd\">" +
+			content +
+			"</databaseChangeLog>";
+		Files.write(path, xml.getBytes(UTF_8));
+	}
 }
@@ -49,7 +49,8 @@ class LiquibaseChangeLogTest {
 		final LiquibaseChangeLog changeLog = new LiquibaseChangeLog(path);
 		assertThat(changeLog).hasToString(
 			"LiquibaseChangeLog{" +
-				"changeLog: \"/hsqldb/master-changelog.xml\"" +
+				"changeLog: \"/hsqldb/master-changelog.xml\", " +
+				"runOnce: false" +
 			"}"
 		);
 	}
@@ -0,0 +1,85 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015-2021 Mickael Jeanroy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.mjeanroy.dbunit.core.runner;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+
+import java.sql.Connection;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RollbackTransactionTest {
+
+	@Test
+	void it_should_begin_transaction() throws Exception {
+		final Connection connection = mock(Connection.class);
+		when(connection.getAutoCommit()).thenReturn(true);
+
+		final RollbackTransaction transaction = new RollbackTransaction(connection);
+
+		verify(connection).setAutoCommit(false);
+		assertThat(transaction.getConnection()).isNotSameAs(connection);
+	}
+
+	@Test
+	void it_should_ignore_commit_and_close() throws Exception {
+		final Connection connection = mock(Connection.class);
+		when(connection.getAutoCommit()).thenReturn(true);
+
+		final RollbackTransaction transaction = new RollbackTransaction(connection);
+		final Connection proxy = transaction.getConnection();
+
+		proxy.commit();
+		proxy.setAutoCommit(true);
+		proxy.close();
+		proxy.createStatement();
+
+		verify(connection, never()).commit();
+		verify(connection, never()).setAutoCommit(true);
+		verify(connection, never()).close();
+		verify(connection).createStatement();
+	}
+
+	@Test
+	void it_should_rollback_and_close_connection() throws Exception {
+		final Connection connection = mock(Connection.class);
+		when(connection.getAutoCommit()).thenReturn(true);
+
+		final RollbackTransaction transaction = new RollbackTransaction(connection);
+		transaction.rollback();
+
+		final InOrder inOrder = inOrder(connection);
+		inOrder.verify(connection).setAutoCommit(false);
+		inOrder.verify(connection).rollback();
+		inOrder.verify(connection).setAutoCommit(true);
+		inOrder.verify(connection).close();
+	}
+}
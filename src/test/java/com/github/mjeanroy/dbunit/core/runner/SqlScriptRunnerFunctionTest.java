@@ -25,28 +25,37 @@
 package com.github.mjeanroy.dbunit.core.runner;
 
 import com.github.mjeanroy.dbunit.core.jdbc.JdbcConnectionFactory;
+import com.github.mjeanroy.dbunit.core.resources.Resource;
+import com.github.mjeanroy.dbunit.core.resources.ResourceLoader;
+import com.github.mjeanroy.dbunit.core.sql.SqlBatchExecutor;
+import com.github.mjeanroy.dbunit.core.sql.SqlScriptParserConfiguration;
 import com.github.mjeanroy.dbunit.exception.DbUnitException;
 import com.github.mjeanroy.dbunit.tests.jupiter.HsqldbTest;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.stubbing.Answer;
 import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
 
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.sql.Connection;
 import java.sql.SQLException;
 
 import static com.github.mjeanroy.dbunit.tests.db.TestDbUtils.countMovies;
 import static com.github.mjeanroy.dbunit.tests.db.TestDbUtils.countUsers;
+import static com.github.mjeanroy.dbunit.tests.jupiter.HsqldbTest.Lifecycle.BEFORE_EACH;
 import static java.util.Arrays.asList;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
-import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @SuppressWarnings("SameParameterValue")
-@HsqldbTest
+@HsqldbTest(lifecycle = BEFORE_EACH)
 class SqlScriptRunnerFunctionTest {
 
 	private SqlScript sqlScript;
@@ -92,12 +101,52 @@ class SqlScriptRunnerFunctionTest {
 		verify(factory).getConnection();
 	}
 
+	@Test
+	void it_should_load_script_once(EmbeddedDatabase db) throws Exception {
+		final SqlScript script = new SqlScript(sqlScript.getQueries(), true);
+		final SqlScriptExecutor executor = new SqlScriptExecutor(factory);
+		final Connection connection = db.getConnection();
+
+		try {
+			executor.execute(script);
+			executor.execute(script);
+
+			assertThat(countUsers(connection)).isEqualTo(2);
+			assertThat(countMovies(connection)).isEqualTo(3);
+			verify(factory).getConnection();
+		}
+		finally {
+			InitializationRegistry.clear();
+		}
+	}
+
+	@Test
+	void it_should_load_script_from_large_resource(EmbeddedDatabase db, @TempDir Path tmp) throws Exception {
+		final StringBuilder sb = new StringBuilder();
+		int count = 0;
+		// Scripts larger than 1MB are not cached, they are parsed while they are executed.
+		while (sb.length() <= 1024 * 1024) {
+			sb.append("INSERT INTO users VALUES(").append(++count).append(", 'John Doe');\n");
+		}
+
+		final File file = tmp.resolve("script.sql").toFile();
+		Files.write(file.toPath(), sb.toString().getBytes(StandardCharsets.UTF_8));
+
+		final Resource resource = ResourceLoader.FILE_SYSTEM.load(file.getAbsolutePath());
+		final SqlScript script = new SqlScript(resource, SqlScriptParserConfiguration.defaultConfiguration(), false, SqlBatchExecutor.DEFAULT_BATCH_SIZE);
+		final SqlScriptExecutor executor = new SqlScriptExecutor(factory);
+
+		executor.execute(script);
+
+		assertThat(countUsers(db.getConnection())).isEqualTo(count);
+	}
+
 	@Test
 	void it_should_wrap_sql_exception() throws Exception {
 		final Connection connection = mock(Connection.class);
 		final SqlScriptExecutor executor = new SqlScriptExecutor(factory);
 
-		when(connection.prepareStatement(anyString())).thenThrow(new SQLException("Fail Test"));
+		when(connection.createStatement()).thenThrow(new SQLException("Fail Test"));
 		when(factory.getConnection()).thenReturn(connection);
 
 		assertThatThrownBy(() -> executor.execute(sqlScript)).isExactlyInstanceOf(DbUnitException.class);
@@ -24,9 +24,16 @@
 
 package com.github.mjeanroy.dbunit.core.runner;
 
+import com.github.mjeanroy.dbunit.core.resources.Resource;
+import com.github.mjeanroy.dbunit.core.resources.ResourceLoader;
+import com.github.mjeanroy.dbunit.core.sql.SqlScriptParserConfiguration;
 import nl.jqno.equalsverifier.EqualsVerifier;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.List;
 
 import static java.util.Arrays.asList;
@@ -46,6 +53,22 @@ class SqlScriptTest {
 		assertThat(sqlScript.getQueries()).isEqualTo(queries);
 	}
 
+	@Test
+	void it_should_compute_fingerprint_from_resource_content(@TempDir File tmpDir) throws Exception {
+		final File file = new File(tmpDir, "init.sql");
+		Files.write(file.toPath(), "CREATE TABLE foo (id INT);".getBytes(StandardCharsets.UTF_8));
+
+		final Resource resource = ResourceLoader.FILE_SYSTEM.load(file.getAbsolutePath());
+		final SqlScriptParserConfiguration configuration = SqlScriptParserConfiguration.defaultConfiguration();
+		final SqlScript sqlScript = new SqlScript(resource, configuration, true, 1000);
+		final Object fingerprint = sqlScript.getFingerprint();
+
+		assertThat(sqlScript.getFingerprint()).isEqualTo(fingerprint);
+
+		Files.write(file.toPath(), "CREATE TABLE bar (id INT);".getBytes(StandardCharsets.UTF_8));
+		assertThat(sqlScript.getFingerprint()).isNotEqualTo(fingerprint);
+	}
+
 	@Test
 	void it_should_implement_equals_hash_code() {
 		EqualsVerifier.forClass(SqlScript.class).verify();
@@ -65,7 +88,11 @@ class SqlScriptTest {
 				"queries: [" +
 					"INSERT INTO users(name) VALUES('John Doe');, " +
 					"INSERT INTO users(name) VALUES('Jane Doe');" +
-				"]" +
+				"], " +
+				"resource: null, " +
+				"configuration: null, " +
+				"runOnce: false, " +
+				"batchSize: 1000" +
 			"}"
 		);
 	}
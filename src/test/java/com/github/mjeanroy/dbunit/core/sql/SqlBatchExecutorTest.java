@@ -0,0 +1,155 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015-2021 Mickael Jeanroy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.mjeanroy.dbunit.core.sql;
+
+import com.github.mjeanroy.dbunit.tests.jupiter.HsqldbTest;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+import static com.github.mjeanroy.dbunit.tests.db.TestDbUtils.countMovies;
+import static com.github.mjeanroy.dbunit.tests.db.TestDbUtils.countUsers;
+import static com.github.mjeanroy.dbunit.tests.jupiter.HsqldbTest.Lifecycle.BEFORE_EACH;
+import static java.util.Arrays.asList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@HsqldbTest(lifecycle = BEFORE_EACH)
+class SqlBatchExecutorTest {
+
+	@Test
+	void it_should_batch_consecutive_dml_queries() throws Exception {
+		final Connection connection = mock(Connection.class);
+		final Statement statement = mock(Statement.class);
+		final DatabaseMetaData metaData = mock(DatabaseMetaData.class);
+
+		when(connection.createStatement()).thenReturn(statement);
+		when(connection.getMetaData()).thenReturn(metaData);
+		when(connection.getAutoCommit()).thenReturn(true);
+		when(metaData.supportsBatchUpdates()).thenReturn(true);
+		when(metaData.supportsTransactions()).thenReturn(true);
+
+		final List<String> queries = asList(
+			"CREATE TABLE foo (id INT);",
+			"INSERT INTO foo VALUES (1);",
+			"insert INTO foo VALUES (2);",
+			"INSERT INTO foo VALUES (3);",
+			"DROP TABLE bar;",
+			"DELETE FROM foo;"
+		);
+
+		SqlBatchExecutor.executeBatch(connection, queries, 2);
+
+		final InOrder inOrder = inOrder(connection, statement);
+		inOrder.verify(connection).setAutoCommit(false);
+		inOrder.verify(statement).execute("CREATE TABLE foo (id INT);");
+		inOrder.verify(statement).addBatch("INSERT INTO foo VALUES (1);");
+		inOrder.verify(statement).addBatch("insert INTO foo VALUES (2);");
+		inOrder.verify(statement).executeBatch();
+		inOrder.verify(statement).addBatch("INSERT INTO foo VALUES (3);");
+		inOrder.verify(statement).executeBatch();
+		inOrder.verify(statement).execute("DROP TABLE bar;");
+		inOrder.verify(statement).addBatch("DELETE FROM foo;");
+		inOrder.verify(statement).executeBatch();
+		inOrder.verify(connection).commit();
+		inOrder.verify(connection).setAutoCommit(true);
+		inOrder.verify(statement).close();
+	}
+
+	@Test
+	void it_should_keep_original_failure_if_auto_commit_cannot_be_restored() throws Exception {
+		final Connection connection = mock(Connection.class);
+		final Statement statement = mock(Statement.class);
+		final DatabaseMetaData metaData = mock(DatabaseMetaData.class);
+		final SQLException failure = new SQLException("Duplicated key");
+		final SQLException resetFailure = new SQLException("Connection closed");
+
+		when(connection.createStatement()).thenReturn(statement);
+		when(connection.getMetaData()).thenReturn(metaData);
+		when(connection.getAutoCommit()).thenReturn(true);
+		when(metaData.supportsBatchUpdates()).thenReturn(true);
+		when(metaData.supportsTransactions()).thenReturn(true);
+		when(statement.execute("CREATE TABLE foo (id INT);")).thenThrow(failure);
+		doThrow(resetFailure).when(connection).setAutoCommit(true);
+
+		assertThatThrownBy(() -> SqlBatchExecutor.executeBatch(connection, asList("CREATE TABLE foo (id INT);"), 2))
+			.isSameAs(failure)
+			.hasSuppressedException(resetFailure);
+	}
+
+	@Test
+	void it_should_execute_queries_in_a_transaction(EmbeddedDatabase db) throws Exception {
+		final List<String> queries = asList(
+			"INSERT INTO users VALUES(1, 'John Doe');",
+			"INSERT INTO users VALUES(2, 'Jane Doe');",
+			"INSERT INTO movies VALUES(1, 'Star Wars', NULL);"
+		);
+
+		try (Connection connection = db.getConnection()) {
+			SqlBatchExecutor.executeBatch(connection, queries, SqlBatchExecutor.DEFAULT_BATCH_SIZE);
+
+			assertThat(connection.getAutoCommit()).isTrue();
+			assertThat(countUsers(connection)).isEqualTo(2);
+			assertThat(countMovies(connection)).isEqualTo(1);
+		}
+	}
+
+	@Test
+	void it_should_rollback_if_a_query_failed(EmbeddedDatabase db) throws Exception {
+		final List<String> queries = asList(
+			"INSERT INTO users VALUES(1, 'John Doe');",
+			"INSERT INTO users VALUES(2, 'Jane Doe');",
+			"INSERT INTO users VALUES(2, 'Duplicated');"
+		);
+
+		try (Connection connection = db.getConnection()) {
+			assertThatThrownBy(() -> SqlBatchExecutor.executeBatch(connection, queries, 1))
+				.isInstanceOf(SQLException.class);
+
+			assertThat(connection.getAutoCommit()).isTrue();
+			assertThat(countUsers(connection)).isZero();
+		}
+	}
+
+	@Test
+	void it_should_detect_dml_queries() {
+		assertThat(SqlBatchExecutor.isDml("INSERT INTO foo VALUES (1);")).isTrue();
+		assertThat(SqlBatchExecutor.isDml("  update foo SET id = 1;")).isTrue();
+		assertThat(SqlBatchExecutor.isDml("Delete FROM foo;")).isTrue();
+		assertThat(SqlBatchExecutor.isDml("MERGE INTO foo USING bar ON (1 = 1);")).isTrue();
+		assertThat(SqlBatchExecutor.isDml("CREATE TABLE foo (id INT);")).isFalse();
+		assertThat(SqlBatchExecutor.isDml("INSERTED;")).isFalse();
+		assertThat(SqlBatchExecutor.isDml("SELECT 1;")).isFalse();
+	}
+}
@@ -0,0 +1,202 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015-2021 Mickael Jeanroy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.mjeanroy.dbunit.core.sql;
+
+import com.github.mjeanroy.dbunit.core.resources.Resource;
+import com.github.mjeanroy.dbunit.core.resources.ResourceLoader;
+import com.github.mjeanroy.dbunit.exception.SqlParserException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SqlScriptCacheTest {
+
+	private static final SqlScriptParserConfiguration CONFIGURATION = SqlScriptParserConfiguration.defaultConfiguration();
+
+	@BeforeEach
+	@AfterEach
+	void clear() {
+		SqlScriptCache.clear();
+	}
+
+	@Test
+	void it_should_parse_script_once() {
+		final Resource resource = ResourceLoader.CLASSPATH.load("/sql/init.sql");
+		final List<String> queries = SqlScriptCache.load(resource, CONFIGURATION);
+
+		assertThat(queries).hasSize(6);
+		assertThat(SqlScriptCache.load(resource, CONFIGURATION)).isSameAs(queries);
+		assertThat(SqlScriptCache.size()).isEqualTo(1);
+	}
+
+	@Test
+	void it_should_parse_script_once_with_concurrent_loads() throws Exception {
+		final Resource resource = ResourceLoader.CLASSPATH.load("/sql/init.sql");
+		final ExecutorService executor = Executors.newFixedThreadPool(4);
+		final CountDownLatch latch = new CountDownLatch(1);
+
+		try {
+			final List<Future<List<String>>> results = new ArrayList<>();
+			for (int i = 0; i < 4; i++) {
+				results.add(executor.submit(() -> {
+					latch.await();
+					return SqlScriptCache.load(resource, CONFIGURATION);
+				}));
+			}
+
+			latch.countDown();
+
+			final List<String> queries = results.get(0).get();
+			for (Future<List<String>> result : results) {
+				assertThat(result.get()).isSameAs(queries);
+			}
+
+			assertThat(SqlScriptCache.size()).isEqualTo(1);
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	void it_should_parse_script_again_with_another_configuration(@TempDir Path tmp) throws Exception {
+		final File file = tmp.resolve("script.sql").toFile();
+		write(file, "SELECT 1; SELECT 2| SELECT 3;");
+
+		final Resource resource = ResourceLoader.FILE_SYSTEM.load(file.getAbsolutePath());
+		final SqlScriptParserConfiguration configuration = SqlScriptParserConfiguration.builder().setDelimiter('|').build();
+
+		assertThat(SqlScriptCache.load(resource, CONFIGURATION)).containsExactly("SELECT 1;", "SELECT 2| SELECT 3;");
+		assertThat(SqlScriptCache.load(resource, configuration)).containsExactly("SELECT 1; SELECT 2|", "SELECT 3;");
+		assertThat(SqlScriptCache.size()).isEqualTo(2);
+	}
+
+	@Test
+	void it_should_parse_script_again_once_file_has_been_updated(@TempDir Path tmp) throws Exception {
+		final File file = tmp.resolve("script.sql").toFile();
+		write(file, "SELECT 1;");
+
+		final Resource resource = ResourceLoader.FILE_SYSTEM.load(file.getAbsolutePath());
+		final List<String> queries = SqlScriptCache.load(resource, CONFIGURATION);
+		assertThat(queries).containsExactly("SELECT 1;");
+
+		write(file, "SELECT 2;");
+		assertThat(file.setLastModified(file.lastModified() + 1000)).isTrue();
+
+		final List<String> updatedQueries = SqlScriptCache.load(resource, CONFIGURATION);
+		assertThat(updatedQueries).isNotSameAs(queries).containsExactly("SELECT 2;");
+		assertThat(SqlScriptCache.load(resource, CONFIGURATION)).isSameAs(updatedQueries);
+		assertThat(SqlScriptCache.size()).isEqualTo(1);
+	}
+
+	@Test
+	void it_should_not_cache_large_script(@TempDir Path tmp) throws Exception {
+		final StringBuilder sb = new StringBuilder();
+		while (sb.length() <= SqlScriptCache.MAX_SCRIPT_SIZE) {
+			sb.append("INSERT INTO users VALUES (1, 'John Doe');\n");
+		}
+
+		final File file = tmp.resolve("script.sql").toFile();
+		write(file, sb.toString());
+
+		final Resource resource = ResourceLoader.FILE_SYSTEM.load(file.getAbsolutePath());
+		final List<String> queries = SqlScriptCache.load(resource, CONFIGURATION);
+
+		assertThat(queries).isNotEmpty();
+		assertThat(SqlScriptCache.load(resource, CONFIGURATION)).isNotSameAs(queries).isEqualTo(queries);
+		assertThat(SqlScriptCache.size()).isZero();
+	}
+
+	@Test
+	void it_should_stream_large_script(@TempDir Path tmp) throws Exception {
+		final StringBuilder sb = new StringBuilder();
+		int count = 0;
+		while (sb.length() <= SqlScriptCache.MAX_SCRIPT_SIZE) {
+			sb.append("INSERT INTO users VALUES (1, 'John Doe');\n");
+			count++;
+		}
+
+		final File file = tmp.resolve("script.sql").toFile();
+		write(file, sb.toString());
+
+		final Resource resource = ResourceLoader.FILE_SYSTEM.load(file.getAbsolutePath());
+		try (Stream<String> queries = SqlScriptCache.stream(resource, CONFIGURATION)) {
+			assertThat(queries.count()).isEqualTo(count);
+		}
+
+		assertThat(SqlScriptCache.size()).isZero();
+	}
+
+	@Test
+	void it_should_stream_cached_script() {
+		final Resource resource = ResourceLoader.CLASSPATH.load("/sql/init.sql");
+		final List<String> queries = SqlScriptCache.load(resource, CONFIGURATION);
+
+		try (Stream<String> stream = SqlScriptCache.stream(resource, CONFIGURATION)) {
+			assertThat(stream).containsExactlyElementsOf(queries);
+		}
+
+		assertThat(SqlScriptCache.size()).isEqualTo(1);
+	}
+
+	@Test
+	void it_should_fail_with_invalid_script(@TempDir Path tmp) throws Exception {
+		final File file = tmp.resolve("script.sql").toFile();
+		write(file, "SELECT 'unterminated;");
+
+		final Resource resource = ResourceLoader.FILE_SYSTEM.load(file.getAbsolutePath());
+
+		assertThatThrownBy(() -> SqlScriptCache.load(resource, CONFIGURATION)).isInstanceOf(SqlParserException.class);
+	}
+
+	@Test
+	void it_should_not_cache_invalid_script(@TempDir Path tmp) throws Exception {
+		final File file = tmp.resolve("script.sql").toFile();
+		write(file, "SELECT 'unterminated;");
+
+		final Resource resource = ResourceLoader.FILE_SYSTEM.load(file.getAbsolutePath());
+		assertThatThrownBy(() -> SqlScriptCache.load(resource, CONFIGURATION)).isInstanceOf(SqlParserException.class);
+		assertThat(SqlScriptCache.size()).isZero();
+	}
+
+	private static void write(File file, String content) throws Exception {
+		Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+	}
+}
@@ -0,0 +1,152 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015-2021 Mickael Jeanroy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.mjeanroy.dbunit.core.sql;
+
+import com.github.mjeanroy.dbunit.exception.SqlParserException;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SqlScriptLexerTest {
+
+	private static final SqlScriptParserConfiguration CONFIGURATION = SqlScriptParserConfiguration.defaultConfiguration();
+
+	@Test
+	void it_should_read_statements() {
+		final List<String> queries = read("DROP TABLE users;\r\nDROP TABLE movies;\rDROP TABLE users_movies;\n");
+		assertThat(queries).containsExactly(
+				"DROP TABLE users;",
+				"DROP TABLE movies;",
+				"DROP TABLE users_movies;"
+		);
+	}
+
+	@Test
+	void it_should_replace_line_breaks_with_spaces() {
+		final List<String> queries = read("SELECT *\nFROM users\r\nWHERE id = 1;");
+		assertThat(queries).containsExactly("SELECT * FROM users WHERE id = 1;");
+	}
+
+	@Test
+	void it_should_ignore_comments() {
+		final List<String> queries = read("-- comment; \nSELECT /* comment; */ 1;\n/*\n comment;\n*/SELECT 2; -- comment");
+		assertThat(queries).containsExactly(
+				"SELECT  1;",
+				"SELECT 2;"
+		);
+	}
+
+	@Test
+	void it_should_keep_varchar_values() {
+		final List<String> queries = read("INSERT INTO users VALUES ('John; -- /* Doe', \"it's\", 'it''s', 'it\\'s');");
+		assertThat(queries).containsExactly(
+				"INSERT INTO users VALUES ('John; -- /* Doe', \"it's\", 'it''s', 'it\\'s');"
+		);
+	}
+
+	@Test
+	void it_should_read_multi_line_varchar_values() {
+		final List<String> queries = read("INSERT INTO users VALUES ('John\nDoe');");
+		assertThat(queries).containsExactly("INSERT INTO users VALUES ('John Doe');");
+	}
+
+	@Test
+	void it_should_read_patterns_across_buffer_boundaries() {
+		final StringBuilder sb = new StringBuilder();
+		final List<String> expected = new ArrayList<>();
+		for (int i = 0; i < 5000; i++) {
+			sb.append("INSERT INTO users VALUES (").append(i).append(", 'it''s'); /* comment */ -- comment\n");
+			expected.add("INSERT INTO users VALUES (" + i + ", 'it''s');");
+		}
+
+		final List<String> queries = read(sb.toString());
+		assertThat(queries).isEqualTo(expected);
+	}
+
+	@Test
+	void it_should_ignore_blank_statements() {
+		final List<String> queries = read(" ;\n\n;SELECT 1;  \n  ");
+		assertThat(queries).containsExactly(";", ";", "SELECT 1;");
+	}
+
+	@Test
+	void it_should_fail_with_unterminated_varchar() {
+		final SqlScriptLexer lexer = new SqlScriptLexer(new StringReader("SELECT 1; SELECT 'unterminated"), CONFIGURATION);
+
+		assertThat(lexer.next()).isEqualTo("SELECT 1;");
+		assertThatThrownBy(lexer::hasNext)
+				.isExactlyInstanceOf(SqlParserException.class)
+				.hasMessage("Cannot flush query:  SELECT 'unterminated ");
+	}
+
+	@Test
+	void it_should_close_reader_when_exhausted() {
+		final CloseTrackingReader reader = new CloseTrackingReader("SELECT 1;");
+		final SqlScriptLexer lexer = new SqlScriptLexer(reader, CONFIGURATION);
+
+		assertThat(lexer.next()).isEqualTo("SELECT 1;");
+		assertThat(reader.closed).isFalse();
+		assertThat(lexer.hasNext()).isFalse();
+		assertThat(reader.closed).isTrue();
+		assertThatThrownBy(lexer::next).isExactlyInstanceOf(NoSuchElementException.class);
+	}
+
+	private static List<String> read(String script) {
+		final SqlScriptLexer lexer = new SqlScriptLexer(new StringReader(script), CONFIGURATION);
+		final List<String> queries = new ArrayList<>();
+		while (lexer.hasNext()) {
+			queries.add(lexer.next());
+		}
+
+		return queries;
+	}
+
+	private static class CloseTrackingReader extends Reader {
+		private final Reader reader;
+		private boolean closed;
+
+		private CloseTrackingReader(String input) {
+			this.reader = new StringReader(input);
+		}
+
+		@Override
+		public int read(char[] cbuf, int off, int len) throws IOException {
+			return reader.read(cbuf, off, len);
+		}
+
+		@Override
+		public void close() throws IOException {
+			closed = true;
+			reader.close();
+		}
+	}
+}
@@ -37,6 +37,8 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
 import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static java.util.Arrays.asList;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -189,6 +191,28 @@ class SqlScriptParserTest {
 		verifyParsedQueries(queries);
 	}
 
+	@Test
+	void it_should_stream_file() {
+		final Resource resource = new ResourceMockBuilder().fromClasspath("/sql/init.sql").build();
+
+		try (Stream<String> queries = SqlScriptParser.streamScript(resource, configuration)) {
+			verifyParsedQueries(queries.collect(Collectors.toList()));
+		}
+	}
+
+	@Test
+	void it_should_stream_queries_lazily() {
+		final String query = "DROP TABLE users; DROP TABLE movies; unterminated 'varchar";
+		final InputStream stream = createStream(query);
+
+		try (Stream<String> queries = SqlScriptParser.streamScript(stream, configuration)) {
+			assertThat(queries.limit(2).collect(Collectors.toList())).containsExactly(
+					"DROP TABLE users;",
+					"DROP TABLE movies;"
+			);
+		}
+	}
+
 	@Test
 	void it_should_execute_sql_file() throws Exception {
 		final Resource resource = new ResourceMockBuilder().fromClasspath("/sql/init.sql").build();
@@ -255,8 +279,10 @@ class SqlScriptParserTest {
 		InOrder inOrder = inOrder(connection, statement);
 		inOrder.verify(connection).prepareStatement(q1);
 		inOrder.verify(statement).execute();
+		inOrder.verify(statement).close();
 		inOrder.verify(connection).prepareStatement(q2);
 		inOrder.verify(statement).execute();
+		inOrder.verify(statement).close();
 		inOrder.verifyNoMoreInteractions();
 	}
 
@@ -275,16 +301,22 @@ class SqlScriptParserTest {
 		InOrder inOrder = inOrder(connection, statement);
 		inOrder.verify(connection).prepareStatement("DROP TABLE IF EXISTS users CASCADE;");
 		inOrder.verify(statement).execute();
+		inOrder.verify(statement).close();
 		inOrder.verify(connection).prepareStatement("DROP TABLE IF EXISTS movies CASCADE;");
 		inOrder.verify(statement).execute();
+		inOrder.verify(statement).close();
 		inOrder.verify(connection).prepareStatement("DROP TABLE IF EXISTS users_movies CASCADE;");
 		inOrder.verify(statement).execute();
+		inOrder.verify(statement).close();
 		inOrder.verify(connection).prepareStatement("CREATE TABLE users (id INT PRIMARY KEY, name varchar(100));");
 		inOrder.verify(statement).execute();
+		inOrder.verify(statement).close();
 		inOrder.verify(connection).prepareStatement("CREATE TABLE movies (id INT PRIMARY KEY, title varchar(100), synopsys varchar(200));");
 		inOrder.verify(statement).execute();
+		inOrder.verify(statement).close();
 		inOrder.verify(connection).prepareStatement("CREATE TABLE users_movies (user_id INT, movie_id INT, PRIMARY KEY (user_id, movie_id), FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE, FOREIGN KEY (movie_id) REFERENCES movies(id) ON DELETE CASCADE);");
 		inOrder.verify(statement).execute();
+		inOrder.verify(statement).close();
 		inOrder.verifyNoMoreInteractions();
 	}
 
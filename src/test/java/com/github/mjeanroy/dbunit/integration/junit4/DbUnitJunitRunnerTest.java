@@ -25,9 +25,18 @@
 package com.github.mjeanroy.dbunit.integration.junit4;
 
 import com.github.mjeanroy.dbunit.tests.fixtures.WithRunner;
+import com.github.mjeanroy.dbunit.tests.fixtures.WithRunnerAndSqlInit;
 import org.assertj.core.api.Condition;
 import org.junit.jupiter.api.Test;
 import org.junit.rules.TestRule;
+import org.junit.runner.JUnitCore;
+import org.junit.runner.Result;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -46,4 +55,46 @@ class DbUnitJunitRunnerTest {
 				}
 			});
 	}
+
+	@Test
+	void it_should_share_rule_between_test_methods() throws Exception {
+		final DbUnitJunitRunner runner = new DbUnitJunitRunner(WithRunner.class);
+		final TestRule rule1 = findDbUnitRule(runner.getTestRules(new WithRunner()));
+		final TestRule rule2 = findDbUnitRule(runner.getTestRules(new WithRunner()));
+		assertThat(rule1).isNotNull().isSameAs(rule2);
+	}
+
+	@Test
+	void it_should_initialize_database_once_for_the_test_class() throws Exception {
+		try (Connection connection = DriverManager.getConnection("jdbc:hsqldb:mem:runnerinit", "SA", "")) {
+			execute(connection, "DROP TABLE IF EXISTS init_count");
+
+			final Result result = JUnitCore.runClasses(WithRunnerAndSqlInit.class);
+			assertThat(result.getFailures()).isEmpty();
+			assertThat(result.getRunCount()).isEqualTo(2);
+
+			try (Statement statement = connection.createStatement(); ResultSet rs = statement.executeQuery("SELECT COUNT(*) FROM init_count")) {
+				assertThat(rs.next()).isTrue();
+				assertThat(rs.getInt(1)).isEqualTo(1);
+			}
+
+			execute(connection, "DROP TABLE init_count");
+		}
+	}
+
+	private static void execute(Connection connection, String sql) throws Exception {
+		try (Statement statement = connection.createStatement()) {
+			statement.execute(sql);
+		}
+	}
+
+	private static TestRule findDbUnitRule(List<TestRule> testRules) {
+		for (TestRule testRule : testRules) {
+			if (testRule instanceof DbUnitRule) {
+				return testRule;
+			}
+		}
+
+		return null;
+	}
 }
@@ -29,6 +29,7 @@ import com.github.mjeanroy.dbunit.core.jdbc.JdbcConnectionFactory;
 import com.github.mjeanroy.dbunit.exception.DbUnitException;
 import com.github.mjeanroy.dbunit.tests.db.EmbeddedDatabaseConnectionFactory;
 import com.github.mjeanroy.dbunit.tests.fixtures.WithDataSet;
+import com.github.mjeanroy.dbunit.tests.fixtures.WithDataSetAndSqlInit;
 import com.github.mjeanroy.dbunit.tests.fixtures.WithDbUnitConnection;
 import com.github.mjeanroy.dbunit.tests.fixtures.WithRunnerWithoutConfiguration;
 import com.github.mjeanroy.dbunit.tests.jupiter.HsqldbTest;
@@ -50,6 +51,8 @@ import static org.junit.runner.Description.createSuiteDescription;
 import static org.junit.runner.Description.createTestDescription;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 
@@ -113,6 +116,40 @@ class DbUnitRuleTest {
 		applyAndVerifyRule(db, rule, statement, description, 2, 0);
 	}
 
+	@Test
+	void it_should_not_keep_runner_of_method_rule(EmbeddedDatabase db) throws Throwable {
+		final EmbeddedDatabaseConnectionFactory factory = spy(new EmbeddedDatabaseConnectionFactory(db));
+		final DbUnitRule rule = createRule(factory);
+		final Description description = createTestDescription(WithDataSetAndSqlInit.class, "method1");
+
+		applyAndVerifyRule(db, rule, mock(Statement.class), description, 2, 3);
+		verify(factory, times(3)).getConnection();
+
+		applyAndVerifyRule(db, rule, mock(Statement.class), description, 2, 3);
+		verify(factory, times(6)).getConnection();
+	}
+
+	@Test
+	void it_should_initialize_database_once_with_class_rule_and_method_rule(EmbeddedDatabase db) throws Throwable {
+		final EmbeddedDatabaseConnectionFactory factory = spy(new EmbeddedDatabaseConnectionFactory(db));
+		final DbUnitRule rule = createRule(factory);
+		final Description classDescription = createSuiteDescription(WithDataSetAndSqlInit.class);
+		final Description methodDescription = createTestDescription(WithDataSetAndSqlInit.class, "method1");
+		final Statement methodStatement = rule.apply(mock(Statement.class), methodDescription);
+		final Statement classStatement = mock(Statement.class);
+
+		doAnswer(invocation -> {
+			methodStatement.evaluate();
+			methodStatement.evaluate();
+			return null;
+		}).when(classStatement).evaluate();
+
+		rule.apply(classStatement, classDescription).evaluate();
+
+		verify(classStatement).evaluate();
+		verify(factory, times(7)).getConnection();
+	}
+
 	@Test
 	void it_should_fail_if_rule_is_built_without_parameter_and_without_annotation(EmbeddedDatabase db) {
 		final DbUnitRule rule = createRule();
@@ -36,6 +36,7 @@ import com.github.mjeanroy.dbunit.tests.jupiter.FakeStore;
 import com.github.mjeanroy.dbunit.tests.jupiter.HsqldbTest;
 import org.hsqldb.jdbc.JDBCConnection;
 import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
 import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
 
 import java.lang.reflect.Method;
@@ -90,7 +91,7 @@ class DbUnitExtensionTest {
 		verifyState(db, extensionContext, 2);
 
 		extension.afterEach(extensionContext);
-		verifyEmptyStore(db, extensionContext);
+		verifyState(db, extensionContext, 0);
 	}
 
 	@Test
@@ -107,7 +108,7 @@ class DbUnitExtensionTest {
 		verifyState(db, extensionContext, 2);
 
 		extension.afterEach(extensionContext);
-		verifyEmptyStore(db, extensionContext);
+		verifyState(db, extensionContext, 0);
 
 		extension.afterAll(extensionContext);
 		verifyEmptyStore(db, extensionContext);
@@ -125,7 +126,7 @@ class DbUnitExtensionTest {
 	}
 
 	@Test
-	void it_should_clean_db_and_store_after_each_test_when_use_as_instance_field(EmbeddedDatabase db) throws Exception {
+	void it_should_clean_db_after_each_test_when_use_as_instance_field(EmbeddedDatabase db) throws Exception {
 		final DbUnitExtension extension = new DbUnitExtension();
 		final TestFixtures testInstance = new TestFixtures();
 		final Method testMethod = lookupMethod(TestFixtures.class, "test_method");
@@ -135,7 +136,104 @@ class DbUnitExtensionTest {
 		verifyState(db, extensionContext, 2);
 
 		extension.afterEach(extensionContext);
-		verifyEmptyStore(db, extensionContext);
+		verifyState(db, extensionContext, 0);
+	}
+
+	@Test
+	void it_should_share_runner_between_test_methods(EmbeddedDatabase db) throws Exception {
+		final DbUnitExtension extension = new DbUnitExtension();
+		final TestFixtures testInstance = new TestFixtures();
+		final Method testMethod = lookupMethod(TestFixtures.class, "test_method");
+		final FakeExtensionContext classContext = new FakeExtensionContext(testInstance, null);
+		final FakeExtensionContext methodContext1 = new FakeExtensionContext(classContext, testInstance, testMethod);
+		final FakeExtensionContext methodContext2 = new FakeExtensionContext(classContext, testInstance, testMethod);
+
+		extension.beforeEach(methodContext1);
+		extension.afterEach(methodContext1);
+		extension.beforeEach(methodContext2);
+		verifyData(db.getConnection(), 2);
+
+		final FakeStore classStore = classContext.getSingleStore();
+		assertThat(classStore.size()).isEqualTo(1);
+
+		extension.afterEach(methodContext2);
+		extension.afterAll(classContext);
+		assertThat(classStore.isEmpty()).isTrue();
+	}
+
+	@Test
+	void it_should_not_share_runner_created_with_another_connection(EmbeddedDatabase db) throws Exception {
+		final DbUnitExtension extension1 = new DbUnitExtension(db);
+		final DbUnitExtension extension2 = new DbUnitExtension(new DelegatingDataSource(db));
+		final TestFixtures testInstance = new TestFixtures();
+		final Method testMethod = lookupMethod(TestFixtures.class, "test_method");
+		final FakeExtensionContext classContext = new FakeExtensionContext(testInstance, null);
+		final FakeExtensionContext methodContext1 = new FakeExtensionContext(classContext, testInstance, testMethod);
+		final FakeExtensionContext methodContext2 = new FakeExtensionContext(classContext, testInstance, testMethod);
+
+		extension1.beforeAll(classContext);
+		extension1.beforeEach(methodContext1);
+		extension1.afterEach(methodContext1);
+		extension2.beforeEach(methodContext2);
+		verifyData(db.getConnection(), 2);
+
+		final FakeStore classStore = classContext.getSingleStore();
+		assertThat(classStore.size()).isEqualTo(3);
+
+		extension2.afterEach(methodContext2);
+		extension1.afterAll(classContext);
+		extension2.afterAll(classContext);
+		assertThat(classStore.isEmpty()).isTrue();
+	}
+
+	@Test
+	void it_should_remove_runner_created_with_connection_of_each_test(EmbeddedDatabase db) throws Exception {
+		final TestFixtures testInstance = new TestFixtures();
+		final Method testMethod = lookupMethod(TestFixtures.class, "test_method");
+		final FakeExtensionContext classContext = new FakeExtensionContext(testInstance, null);
+
+		for (int i = 0; i < 3; ++i) {
+			final DbUnitExtension extension = new DbUnitExtension(new DelegatingDataSource(db));
+			final FakeExtensionContext methodContext = new FakeExtensionContext(classContext, testInstance, testMethod);
+
+			extension.beforeEach(methodContext);
+			verifyData(db.getConnection(), 2);
+
+			final FakeStore classStore = classContext.getSingleStore();
+			assertThat(classStore.size()).isEqualTo(1);
+
+			extension.afterEach(methodContext);
+			verifyData(db.getConnection(), 0);
+			assertThat(classStore.isEmpty()).isTrue();
+		}
+	}
+
+	@Test
+	void it_should_reuse_enclosing_runner_with_nested_class(EmbeddedDatabase db) throws Exception {
+		final DbUnitExtension extension = new DbUnitExtension();
+		final TestFixtures testInstance = new TestFixtures();
+		final TestFixtures.NestedTestFixtures nestedInstance = testInstance.new NestedTestFixtures();
+		final Method testMethod = lookupMethod(TestFixtures.NestedTestFixtures.class, "test_method");
+		final FakeExtensionContext classContext = new FakeExtensionContext(testInstance, null);
+		final FakeExtensionContext nestedContext = new FakeExtensionContext(classContext, nestedInstance, null);
+		final FakeExtensionContext methodContext = new FakeExtensionContext(nestedContext, nestedInstance, testMethod);
+
+		extension.beforeAll(classContext);
+		extension.beforeAll(nestedContext);
+		extension.beforeEach(methodContext);
+		verifyData(db.getConnection(), 2);
+
+		final DbUnitRunner runner = classContext.getSingleStore().get(TestFixtures.class, DbUnitRunner.class);
+		final DbUnitRunner nestedRunner = nestedContext.getSingleStore().get(TestFixtures.NestedTestFixtures.class, DbUnitRunner.class);
+		assertThat(nestedRunner).isNotNull().isNotSameAs(runner);
+		assertThat(nestedRunner.getFactory()).isSameAs(runner.getFactory());
+
+		extension.afterEach(methodContext);
+		extension.afterAll(nestedContext);
+		extension.afterAll(classContext);
+		assertThat(nestedContext.getSingleStore().isEmpty()).isTrue();
+		assertThat(classContext.getSingleStore().isEmpty()).isTrue();
+		verifyData(db.getConnection(), 0);
 	}
 
 	@Test
@@ -208,5 +306,10 @@ class DbUnitExtensionTest {
 
 		void test_method_with_jdbc_connection_parameter(JDBCConnection connection) {
 		}
+
+		private class NestedTestFixtures {
+			void test_method() {
+			}
+		}
 	}
 }
@@ -40,4 +40,9 @@ public class WithDataSetAndSqlInit {
 
 	public void method1() {
 	}
+
+	public class NestedClass {
+		public void method1() {
+		}
+	}
 }
@@ -61,7 +61,17 @@ public class FakeExtensionContext implements ExtensionContext {
 	 */
 	private final Method testMethod;
 
+	/**
+	 * The parent context, may be {@code null}.
+	 */
+	private final FakeExtensionContext parent;
+
 	public FakeExtensionContext(Object testInstance, Method testMethod) {
+		this(null, testInstance, testMethod);
+	}
+
+	public FakeExtensionContext(FakeExtensionContext parent, Object testInstance, Method testMethod) {
+		this.parent = parent;
 		this.stores = new HashMap<>();
 		this.id = UUID.randomUUID().toString();
 		this.testInstance = testInstance;
@@ -70,7 +80,7 @@ public class FakeExtensionContext implements ExtensionContext {
 
 	@Override
 	public Optional<ExtensionContext> getParent() {
-		throw new UnsupportedOperationException();
+		return Optional.ofNullable(parent);
 	}
 
 	@Override
@@ -100,7 +110,7 @@ public class FakeExtensionContext implements ExtensionContext {
 
 	@Override
 	public Optional<Class<?>> getTestClass() {
-		throw new UnsupportedOperationException();
+		return Optional.of(getRequiredTestClass());
 	}
 
 	@Override
@@ -139,7 +149,7 @@ public class FakeExtensionContext implements ExtensionContext {
 
 	@Override
 	public Optional<Method> getTestMethod() {
-		throw new UnsupportedOperationException();
+		return Optional.ofNullable(testMethod);
 	}
 
 	@Override
@@ -184,7 +194,7 @@ public class FakeExtensionContext implements ExtensionContext {
 	@Override
 	public Store getStore(Namespace namespace) {
 		if (!stores.containsKey(namespace)) {
-			stores.put(namespace, new FakeStore());
+			stores.put(namespace, new FakeStore(parent == null ? null : (FakeStore) parent.getStore(namespace)));
 		}
 
 		return stores.get(namespace);
@@ -40,12 +40,26 @@ public class FakeStore implements Store {
 	 */
 	private final Map<Object, Object> map;
 
+	/**
+	 * The parent store, may be {@code null}.
+	 */
+	private final FakeStore parent;
+
 	FakeStore() {
-		map = new HashMap<>();
+		this(null);
+	}
+
+	FakeStore(FakeStore parent) {
+		this.map = new HashMap<>();
+		this.parent = parent;
 	}
 
 	@Override
 	public Object get(Object key) {
+		if (!map.containsKey(key) && parent != null) {
+			return parent.get(key);
+		}
+
 		return map.get(key);
 	}
 
@@ -57,10 +71,12 @@ public class FakeStore implements Store {
 
 	@Override
 	public <K, V> Object getOrComputeIfAbsent(K key, Function<K, V> defaultCreator) {
-		if (!map.containsKey(key)) {
-			map.put(key, defaultCreator.apply(key));
+		final Object value = get(key);
+		if (value != null) {
+			return value;
 		}
 
+		map.put(key, defaultCreator.apply(key));
 		return map.get(key);
 	}
 
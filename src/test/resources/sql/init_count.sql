@@ -0,0 +1,2 @@
+CREATE TABLE IF NOT EXISTS init_count (id INT);
+INSERT INTO init_count VALUES (1);